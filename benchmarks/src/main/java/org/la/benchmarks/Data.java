@@ -0,0 +1,43 @@
+package org.la.benchmarks;
+
+import java.util.Random;
+
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Random operands of the benchmarks, seeded so every run measures the same data
+ */
+final class Data {
+    private Data() {}
+
+    static Vector vector(int length, long seed) {
+        Random random = new Random(seed);
+        Vector res = Vector.blankOfLength(length);
+
+        for (int i = 0; i < length; i++)
+            res.set(i, random.nextDouble() - 0.5);
+        return res;
+    }
+
+    static Matrix matrix(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        Matrix res = Matrix.fromSize(rows, cols);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                res.set(i, j, random.nextDouble() - 0.5);
+        return res;
+    }
+
+    /**
+     * Returns a random square matrix made diagonally dominant, so it is well conditioned
+     */
+    static Matrix invertible(int n, long seed) {
+        Matrix res = matrix(n, n, seed);
+
+        for (int i = 0; i < n; i++)
+            res.set(i, i, res.get(i, i) + n);
+        return res;
+    }
+}
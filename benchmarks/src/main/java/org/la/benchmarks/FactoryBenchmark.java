@@ -0,0 +1,79 @@
+package org.la.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.la.Linear;
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.io.CsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of text: the {@code fromString} factories against the streaming CSV reader on the same values
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FactoryBenchmark {
+    @Param({"16", "128"})
+    int size;
+
+    String matrixString;
+    String vectorString;
+    String csv;
+
+    @Setup
+    public void setup() {
+        Matrix a = Data.matrix(size, size, 1);
+        StringBuilder mat = new StringBuilder("[");
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                String value = Double.toString(a.get(i, j));
+
+                mat.append(j == 0 ? "" : Linear.COL_DELIMITER).append(value);
+                text.append(j == 0 ? "" : ",").append(value);
+            }
+            mat.append(i < size - 1 ? Linear.ROW_DELIMITER + " " : "]");
+            text.append('\n');
+        }
+        matrixString = mat.toString();
+        csv = text.toString();
+
+        StringBuilder vec = new StringBuilder("[");
+        for (int i = 0; i < size * size; i++)
+            vec.append(i == 0 ? "" : Linear.COL_DELIMITER).append(a.get(i / size, i % size));
+        vectorString = vec.append(']').toString();
+    }
+
+    @Benchmark
+    public Matrix matrixFromString() {
+        return Matrix.fromString(matrixString);
+    }
+
+    @Benchmark
+    public Vector vectorFromString() {
+        return Vector.fromString(vectorString);
+    }
+
+    @Benchmark
+    public Matrix csvReader() throws IOException {
+        return CsvReader.csv().read(new StringReader(csv));
+    }
+}
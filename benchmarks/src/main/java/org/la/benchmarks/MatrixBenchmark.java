@@ -0,0 +1,86 @@
+package org.la.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.iterator.MatrixIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Products, transpose, decompositions and traversal of square {@link Matrix} operands
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MatrixBenchmark {
+    @Param({"32", "128", "512"})
+    int size;
+
+    Matrix a;
+    Matrix b;
+    Vector x;
+
+    @Setup
+    public void setup() {
+        a = Data.invertible(size, 1);
+        b = Data.matrix(size, size, 2);
+        x = Data.vector(size, 3);
+    }
+
+    @Benchmark
+    public Matrix mulMatrix() {
+        return a.mul(b);
+    }
+
+    @Benchmark
+    public Vector mulVector() {
+        return a.mul(x);
+    }
+
+    @Benchmark
+    public Matrix transpose() {
+        return a.transpose();
+    }
+
+    @Benchmark
+    public double det() {
+        return a.det();
+    }
+
+    @Benchmark
+    public Matrix inverse() {
+        return a.inverse();
+    }
+
+    @Benchmark
+    public double iterate() {
+        double sum = 0;
+
+        for (MatrixIterator it = a.iterator(); it.hasNext(); )
+            sum += it.nextDouble();
+        return sum;
+    }
+
+    @Benchmark
+    public double iterateBoxed() {
+        double sum = 0;
+
+        for (double value : a)
+            sum += value;
+        return sum;
+    }
+}
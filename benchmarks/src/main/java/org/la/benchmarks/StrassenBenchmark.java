@@ -0,0 +1,57 @@
+package org.la.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.la.Matrix;
+import org.la.kernel.Gemm;
+import org.la.kernel.Strassen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Classical and Strassen-Winograd products of large square {@link Matrix} operands over
+ * several cutoffs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+public class StrassenBenchmark {
+    @Param({"1024", "2048"})
+    int size;
+
+    @Param({"128", "256", "512"})
+    int cutoff;
+
+    Matrix a;
+    Matrix b;
+    Strassen strassen;
+
+    @Setup
+    public void setup() {
+        a = Data.matrix(size, size, 1);
+        b = Data.matrix(size, size, 2);
+        strassen = new Strassen(Gemm.getDefault(), cutoff, 0);
+    }
+
+    @Benchmark
+    public Matrix classical() {
+        return a.mul(b, Gemm.getDefault());
+    }
+
+    @Benchmark
+    public Matrix strassen() {
+        return a.mul(b, strassen);
+    }
+}
@@ -0,0 +1,71 @@
+package org.la.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.la.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Element-wise operations and reductions of {@link Vector}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class VectorBenchmark {
+    @Param({"64", "4096", "262144"})
+    int length;
+
+    Vector u;
+    Vector v;
+    Vector out;
+
+    @Setup
+    public void setup() {
+        u = Data.vector(length, 1);
+        v = Data.vector(length, 2);
+        out = Vector.blankOfLength(length);
+    }
+
+    @Benchmark
+    public double dot() {
+        return u.dot(v);
+    }
+
+    @Benchmark
+    public Vector add() {
+        return u.add(v);
+    }
+
+    @Benchmark
+    public Vector addInto() {
+        return u.add(v, out);
+    }
+
+    @Benchmark
+    public Vector mul() {
+        return u.mul(1.5);
+    }
+
+    @Benchmark
+    public Vector mulInto() {
+        return u.mul(1.5, out);
+    }
+
+    @Benchmark
+    public double norm() {
+        return u.norm();
+    }
+}
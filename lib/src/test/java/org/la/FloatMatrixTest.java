@@ -0,0 +1,138 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix.Layout;
+import org.la.iterator.MatrixIterator;
+import org.la.kernel.Accumulation;
+
+/**
+ * Single precision matrices and vectors against the double precision ones
+ */
+class FloatMatrixTest {
+
+    @Test
+    void productsMatchDoubleProducts() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(70, 50, 1));
+        FloatMatrix B = FloatMatrix.fromMatrix(random(50, 40, 2));
+        Matrix expected = A.toMatrix().mul(B.toMatrix());
+
+        assertClose(expected, A.mul(B).toMatrix(), 1e-4);
+        assertClose(expected, A.mul(B, Accumulation.DOUBLE).toMatrix(), 1e-5);
+        assertClose(expected, A.transposeView().transpose().mul(B.transposeView().transpose()).toMatrix(), 1e-4);
+    }
+
+    @Test
+    void doubleAccumulationBoundsTheError() {
+        int n = 200_000;
+        Random r = new Random(3);
+        float[] x = new float[n];
+        double exact = 0;
+
+        for (int i = 0; i < n; i++) {
+            x[i] = r.nextFloat();
+            exact += (double) x[i] * x[i];
+        }
+        FloatVector v = new FloatVector(x, false);
+        double floatError = Math.abs(v.dot(v, Accumulation.FLOAT) - exact);
+        double doubleError = Math.abs(v.dot(v, Accumulation.DOUBLE) - exact);
+
+        assertTrue(doubleError < floatError);
+        assertTrue(doubleError <= Math.ulp((float) exact));
+    }
+
+    @Test
+    void matrixVectorProductsWithAccumulation() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(30, 4000, 4));
+        FloatVector v = FloatVector.fromVector(randomVector(4000, 5));
+        Vector expected = A.toMatrix().mul(v.toVector());
+
+        assertClose(expected, A.mul(v, Accumulation.DOUBLE).toVector(), 1e-5);
+        assertClose(expected, A.mul(v).toVector(), 1e-3);
+    }
+
+    @Test
+    void actsAsRealMatrix() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(6, 5, Layout.COLUMN_MAJOR, new Random(6)));
+        RealMatrix M = A;
+        Vector v = randomVector(5, 7);
+        Matrix B = random(5, 3, 8);
+
+        assertEquals(Layout.COLUMN_MAJOR, A.layout());
+        assertClose(A.toMatrix().mul(v), M.mul(v), 1e-12);
+        assertClose(A.toMatrix().mul(B), M.mul(B), 1e-12);
+        assertClose(A.toMatrix(), M.toDense(), 0);
+        assertThrows(IllegalArgumentException.class, () -> M.mul(B.transposeView()));
+        assertThrows(IllegalArgumentException.class, () -> M.mul(v, Vector.blankOfLength(5)));
+    }
+
+    @Test
+    void iteratesRowByRowAndRoundsWrites() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(4, 3, 9)).transposeView();
+        MatrixIterator it = A.iterator();
+        int count = 0;
+
+        while (it.hasNext()) {
+            double value = it.nextDouble();
+            assertEquals(count / A.cols(), it.rowIndex());
+            assertEquals(count % A.cols(), it.colIndex());
+            assertEquals(A.get(it.rowIndex(), it.colIndex()), value, 0);
+            it.set(0.1);
+            count++;
+        }
+        assertEquals(12, count);
+        assertEquals((float) 0.1, A.get(2, 3), 0);
+    }
+
+    @Test
+    void viewsShareStorage() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(5, 4, 10));
+
+        A.block(1, 1, 2, 2).mulInPlace(2);
+        A.transposeView().set(3, 0, 7);
+        A.colView(2).setAll(1);
+
+        assertEquals(7, A.get(0, 3), 0);
+        assertEquals(1, A.get(4, 2), 0);
+        assertEquals(A.transposeView().get(1, 2), A.get(2, 1), 0);
+    }
+
+    @Test
+    void equalsIsExactAndConsistentWithHashCode() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(4, 4, 11));
+        FloatMatrix B = A.transpose().transposeView();
+        FloatMatrix C = A.clone();
+        C.set(2, 2, Math.nextUp((float) A.get(2, 2)));
+
+        assertEquals(A, B);
+        assertEquals(A.hashCode(), B.hashCode());
+        assertNotEquals(A, C);
+        assertTrue(A.equals(C, 1e-6));
+
+        FloatMatrix zero = new FloatMatrix(2, 2);
+        FloatMatrix negativeZero = zero.negate();
+        assertEquals(zero, negativeZero);
+        assertEquals(zero.hashCode(), negativeZero.hashCode());
+        assertNotEquals(zero.hashCode(), new FloatMatrix(2, 3).hashCode());
+        assertEquals(A.rowView(1), B.rowView(1));
+        assertEquals(A.rowView(1).hashCode(), B.rowView(1).hashCode());
+    }
+
+    @Test
+    void rejectsOverlappingOutputs() {
+        FloatMatrix A = FloatMatrix.fromMatrix(random(4, 4, 12));
+
+        assertThrows(IllegalArgumentException.class, () -> A.mul(A, A));
+        assertSame(A, A.addInPlace(1));
+    }
+}
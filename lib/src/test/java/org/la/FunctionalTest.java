@@ -0,0 +1,97 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix.Layout;
+import org.la.iterator.MatrixIterator;
+
+/**
+ * Primitive map, zip, reduce, forEachIndexed, streams and iterators of matrices and vectors
+ */
+class FunctionalTest {
+    private static final double TOL = 1e-12;
+
+    @Test
+    void mapAndZipMatchElementWiseOperations() {
+        Matrix A = random(9, 7, Layout.COLUMN_MAJOR, new Random(1));
+        Matrix B = random(7, 9, 2).transposeView();
+        Vector v = randomVector(20, 3);
+
+        assertClose(A.mul(3).add(1), A.map(x -> 3 * x + 1), TOL);
+        Matrix product = A.zip(B, (x, y) -> x * y);
+        for (int i = 0; i < 9; i++)
+            for (int j = 0; j < 7; j++)
+                assertEquals(A.get(i, j) * B.get(i, j), product.get(i, j));
+        assertClose(v.mul(v), v.map(x -> x * x), TOL);
+        assertClose(v.sub(v.mul(2)), v.zip(v.mul(2), (x, y) -> x - y), TOL);
+
+        Matrix C = A.add(0);
+        assertSame(C, C.mapInPlace(Math::abs));
+        assertClose(A.map(Math::abs), C, 0);
+    }
+
+    @Test
+    void reduceAndStreamsAgreeWithIteration() {
+        for (Matrix A : new Matrix[] {random(13, 11, 4), random(11, 13, 5).transposeView(), random(20, 20, 6).block(3, 4, 13, 11)}) {
+            double sum = 0;
+            for (MatrixIterator it = A.iterator(); it.hasNext(); )
+                sum += it.nextDouble();
+
+            assertEquals(sum, A.reduce(0, Double::sum), TOL);
+            assertEquals(sum, A.stream().sum(), TOL);
+            assertEquals(sum, A.stream().parallel().sum(), TOL);
+            assertEquals(A.rows() * A.cols(), A.stream().count());
+            assertEquals(A.reduce(Double.NEGATIVE_INFINITY, Math::max), A.stream().max().getAsDouble());
+        }
+        Vector v = randomVector(1000, 7).slice(100, 900);
+        assertEquals(v.reduce(0, Double::sum), v.stream().parallel().sum(), TOL);
+    }
+
+    @Test
+    void streamVisitsElementsRowByRow() {
+        Matrix A = Matrix.fromArray(new double[][] {{1, 2, 3}, {4, 5, 6}});
+
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, A.stream().toArray());
+        assertArrayEquals(new double[] {1, 4, 2, 5, 3, 6}, A.transposeView().stream().toArray());
+        assertArrayEquals(new double[] {1, 4, 2, 5, 3, 6}, A.transposeView().stream().parallel().toArray());
+    }
+
+    @Test
+    void forEachIndexedVisitsEveryElementOnce() {
+        Matrix A = random(6, 5, Layout.COLUMN_MAJOR, new Random(8));
+        List<double[]> seen = new ArrayList<>();
+
+        A.forEachIndexed((i, j, x) -> seen.add(new double[] {i, j, x}));
+        assertEquals(30, seen.size());
+        for (double[] e : seen)
+            assertEquals(A.get((int) e[0], (int) e[1]), e[2]);
+
+        Vector v = randomVector(8, 9);
+        v.forEachIndexed((i, x) -> assertEquals(v.get(i), x));
+    }
+
+    @Test
+    void iteratorTracksRowAndColumn() {
+        Matrix A = random(3, 4, 10);
+        MatrixIterator it = A.iterator();
+
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < 4; j++) {
+                assertEquals(A.get(i, j), it.nextDouble());
+                assertEquals(i, it.rowIndex());
+                assertEquals(j, it.colIndex());
+            }
+        assertFalse(it.hasNext());
+    }
+}
@@ -0,0 +1,55 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.assertSmall;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Linear systems and inverses computed from the LU factors
+ */
+class MatrixSolveTest {
+    private static final double TOL = 1e-9;
+
+    @Test
+    void solvesVectorRightHandSide() {
+        Matrix A = random(60, 60, 1);
+        Vector b = randomVector(60, 2);
+
+        assertSmall(A.mul(A.solve(b)).sub(b), TOL);
+    }
+
+    @Test
+    void solvesSeveralRightHandSides() {
+        Matrix A = random(30, 30, 3);
+        Matrix B = random(30, 7, 4);
+        Matrix X = A.solve(B);
+
+        assertSmall(A.mul(X).sub(B), TOL);
+        for (int j = 0; j < 7; j++)
+            assertClose(A.solve(B.getCol(j)), X.getCol(j), TOL);
+    }
+
+    @Test
+    void inverseIsTwoSided() {
+        Matrix A = random(25, 25, 5);
+        Matrix inverse = A.inverse();
+
+        assertSmall(A.mul(inverse).sub(Matrix.eye(25)), TOL);
+        assertSmall(inverse.mul(A).sub(Matrix.eye(25)), TOL);
+        assertClose(Matrix.fromArray(new double[][] {{-2, 1}, {1.5, -0.5}}),
+                    Matrix.fromArray(new double[][] {{1, 2}, {3, 4}}).inverse(), TOL);
+    }
+
+    @Test
+    void rejectsSingularAndMismatchedSystems() {
+        Matrix singular = Matrix.fromArray(new double[][] {{1, 2}, {2, 4}});
+
+        assertThrows(ArithmeticException.class, singular::inverse);
+        assertThrows(ArithmeticException.class, () -> singular.solve(Vector.fromArray(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> random(3, 3, 6).solve(Vector.fromArray(1, 2)));
+    }
+}
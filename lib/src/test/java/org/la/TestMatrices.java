@@ -0,0 +1,82 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.la.Matrix.Layout;
+
+/**
+ * Random operands and residual checks shared by the tests
+ */
+public final class TestMatrices {
+
+    private TestMatrices() {}
+
+    /**
+     * Returns a row-major {@code rows x cols} matrix of values uniform in [-0.5, 0.5)
+     */
+    public static Matrix random(int rows, int cols, long seed) {
+        return random(rows, cols, Layout.ROW_MAJOR, new Random(seed));
+    }
+
+    /**
+     * Returns a {@code rows x cols} matrix laid out in {@code layout} of values uniform in [-0.5, 0.5)
+     */
+    public static Matrix random(int rows, int cols, Layout layout, Random r) {
+        Matrix A = Matrix.fromSize(rows, cols, layout);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                A.set(i, j, r.nextDouble() - 0.5);
+        return A;
+    }
+
+    /**
+     * Returns a vector of {@code length} values uniform in [-0.5, 0.5)
+     */
+    public static Vector randomVector(int length, long seed) {
+        Random r = new Random(seed);
+        Vector v = Vector.blankOfLength(length);
+
+        for (int i = 0; i < length; i++)
+            v.set(i, r.nextDouble() - 0.5);
+        return v;
+    }
+
+    /**
+     * Checks that every element of {@code actual} is within {@code tol} of {@code expected}
+     */
+    public static void assertClose(RealMatrix expected, RealMatrix actual, double tol) {
+        assertEquals(expected.rows(), actual.rows(), "rows");
+        assertEquals(expected.cols(), actual.cols(), "cols");
+
+        for (int i = 0; i < expected.rows(); i++)
+            for (int j = 0; j < expected.cols(); j++)
+                assertEquals(expected.get(i, j), actual.get(i, j), tol, "at " + i + "," + j);
+    }
+
+    /**
+     * Checks that every element of {@code actual} is within {@code tol} of {@code expected}
+     */
+    public static void assertClose(Vector expected, Vector actual, double tol) {
+        assertEquals(expected.length(), actual.length(), "length");
+
+        for (int i = 0; i < expected.length(); i++)
+            assertEquals(expected.get(i), actual.get(i), tol, "at " + i);
+    }
+
+    /**
+     * Checks that every element of {@code residual} is within {@code tol} of zero
+     */
+    public static void assertSmall(RealMatrix residual, double tol) {
+        assertClose(Matrix.fromSize(residual.rows(), residual.cols()), residual, tol);
+    }
+
+    /**
+     * Checks that every element of {@code residual} is within {@code tol} of zero
+     */
+    public static void assertSmall(Vector residual, double tol) {
+        assertClose(Vector.blankOfLength(residual.length()), residual, tol);
+    }
+}
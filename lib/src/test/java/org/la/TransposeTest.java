@@ -0,0 +1,75 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix.Layout;
+
+/**
+ * Transposes, transpose views and transposed-operand products
+ */
+class TransposeTest {
+    private static final double TOL = 1e-12;
+
+    @Test
+    void viewSwapsIndicesAndWritesThrough() {
+        Matrix A = random(7, 4, 1);
+        Matrix T = A.transposeView();
+
+        assertEquals(4, T.rows());
+        assertEquals(7, T.cols());
+        for (int i = 0; i < 7; i++)
+            for (int j = 0; j < 4; j++)
+                assertEquals(A.get(i, j), T.get(j, i));
+
+        T.set(3, 6, 42);
+        assertEquals(42, A.get(6, 3));
+        assertClose(A, T.transposeView(), 0);
+    }
+
+    @Test
+    void copiesMatchTheViewAcrossBlockBoundaries() {
+        for (Layout layout : Layout.values())
+            for (int[] shape : new int[][] {{1, 1}, {31, 33}, {64, 65}, {100, 3}, {3, 100}}) {
+                Matrix A = random(shape[0], shape[1], layout, new Random(shape[0]));
+
+                assertClose(A.transposeView(), A.transpose(), 0);
+                assertClose(A.transposeView(), A.transpose(Matrix.fromSize(shape[1], shape[0], Layout.COLUMN_MAJOR)), 0);
+            }
+        assertThrows(IllegalArgumentException.class, () -> random(3, 4, 2).transpose(Matrix.fromSize(3, 4)));
+    }
+
+    @Test
+    void transposesSquareMatricesInPlace() {
+        for (int n : new int[] {1, 2, 31, 70}) {
+            Matrix A = random(n, n, n);
+            Matrix expected = A.transpose();
+
+            assertClose(expected, A.transposeInPlace(), 0);
+        }
+        Matrix B = random(10, 10, 3);
+        Matrix expected = B.block(2, 2, 5, 5).transpose();
+        assertClose(expected, B.block(2, 2, 5, 5).transposeInPlace(), 0);
+        assertThrows(IllegalArgumentException.class, () -> random(2, 3, 4).transposeInPlace());
+    }
+
+    @Test
+    void transposedOperandProductsMatchExplicitTransposes() {
+        Matrix A = random(40, 30, 5);
+        Matrix B = random(40, 20, 6);
+        Matrix C = random(25, 30, 7);
+        Vector u = randomVector(40, 8);
+
+        assertClose(A.transpose().mul(B), A.transposeMul(B), TOL);
+        assertClose(A.mul(C.transpose()), A.mulTranspose(C), TOL);
+        assertClose(A.transpose().mul(u), A.transposeMul(u), TOL);
+        assertClose(A.transpose().mul(u), A.transposeView().mul(u), TOL);
+        assertClose(A.transpose().mul(A), A.transposeView().mul(A), TOL);
+    }
+}
@@ -0,0 +1,120 @@
+package org.la;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix.Layout;
+
+/**
+ * Row, column, block, slice and minor views sharing the storage of their matrix
+ */
+class ViewTest {
+
+    @Test
+    void rowAndColumnViewsWriteThrough() {
+        for (Layout layout : Layout.values()) {
+            Matrix A = random(5, 4, layout, new Random(1));
+            Vector row = A.rowView(2);
+            Vector col = A.colView(1);
+
+            assertArrayEquals(A.getRow(2).toArray(), row.toArray());
+            assertArrayEquals(A.getCol(1).toArray(), col.toArray());
+
+            row.set(1, 42);
+            assertEquals(42, A.get(2, 1));
+            assertEquals(42, col.get(2));
+            col.mulInPlace(2);
+            assertEquals(84, A.get(2, 1));
+        }
+    }
+
+    @Test
+    void blocksAndSlicesShareStorage() {
+        Matrix A = random(8, 9, 2);
+        Matrix B = A.block(2, 3, 4, 5);
+
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 5; j++)
+                assertEquals(A.get(2 + i, 3 + j), B.get(i, j));
+
+        double outside = A.get(6, 7);
+        B.setAll(Matrix.fromConstant(4, 5, 1));
+        assertEquals(1, A.get(5, 7));
+        assertEquals(outside, A.get(6, 7));
+
+        Vector v = randomVector(10, 3);
+        Vector s = v.slice(3, 8);
+        s.set(0, -7);
+        assertEquals(-7, v.get(3));
+        assertEquals(5, s.length());
+        assertThrows(IndexOutOfBoundsException.class, () -> A.block(5, 5, 4, 4));
+    }
+
+    @Test
+    void disjointViewsOfOneMatrixCanBeCombined() {
+        Matrix A = random(6, 6, 4);
+        Matrix top = A.block(0, 0, 3, 6);
+        Matrix bottom = A.block(3, 0, 3, 6);
+        Matrix expected = top.add(bottom);
+
+        top.add(bottom, top);
+        assertClose(expected, A.block(0, 0, 3, 6), 0);
+        assertThrows(IllegalArgumentException.class, () -> A.block(0, 0, 4, 6).add(A.block(2, 0, 4, 6), A.block(1, 0, 4, 6)));
+    }
+
+    @Test
+    void minorViewsSkipOneRowAndColumn() {
+        for (Layout layout : Layout.values()) {
+            Matrix A = random(6, 5, layout, new Random(5));
+            MinorView M = A.without(2, 3);
+
+            assertEquals(5, M.rows());
+            assertEquals(4, M.cols());
+            for (int i = 0; i < 5; i++)
+                for (int j = 0; j < 4; j++)
+                    assertEquals(A.get(i < 2 ? i : i + 1, j < 3 ? j : j + 1), M.get(i, j));
+
+            assertClose(M.toDense(), A.subMatrix(2, 3), 0);
+            assertClose(A.withoutRow(0).toDense(), A.removeRow(0), 0);
+            assertClose(A.withoutCol(4).toDense(), A.removeCol(4), 0);
+
+            M.set(4, 3, 9);
+            assertEquals(9, A.get(5, 4));
+        }
+    }
+
+    @Test
+    void minorViewProductsMatchDenseProducts() {
+        Matrix A = random(7, 6, Layout.COLUMN_MAJOR, new Random(6));
+        Vector v = randomVector(12, 7);
+
+        for (int j = 0; j < 6; j++) {
+            MinorView M = A.without(3, j);
+            Vector x = random(5, 2, j).colView(1);
+
+            assertClose(M.toDense().mul(x), M.mul(x), 1e-14);
+        }
+        MinorView rowsOnly = A.withoutRow(6);
+        assertClose(rowsOnly.toDense().mul(v.slice(0, 6)), rowsOnly.mul(v.slice(0, 6)), 1e-14);
+        Matrix B = random(5, 3, 9);
+        assertClose(A.without(1, 1).toDense().mul(B), A.without(1, 1).mul(B), 1e-14);
+    }
+
+    @Test
+    void minorViewsRejectInvalidIndices() {
+        Matrix A = random(4, 4, 8);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> A.withoutRow(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> A.withoutCol(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> A.without(0, -5));
+        assertThrows(IndexOutOfBoundsException.class, () -> A.removeRow(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> A.without(1, 1).get(3, 0));
+    }
+}
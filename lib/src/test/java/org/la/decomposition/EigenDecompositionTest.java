@@ -0,0 +1,60 @@
+package org.la.decomposition;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.assertSmall;
+import static org.la.TestMatrices.random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Eigenvalues and eigenvectors of symmetric matrices computed by {@link EigenDecomposition}
+ */
+class EigenDecompositionTest {
+    private static final double TOL = 1e-10;
+
+    @Test
+    void diagonalizesSymmetricMatrices() {
+        Matrix B = random(30, 30, 1);
+        Matrix S = B.add(B.transpose());
+        EigenDecomposition eig = new EigenDecomposition(S);
+        Matrix V = eig.getEigenvectors();
+
+        assertSmall(S.mul(V).sub(V.mul(eig.getD())), TOL);
+        assertSmall(V.transposeMul(V).sub(Matrix.eye(30)), TOL);
+
+        Vector v = eig.getEigenvector(4);
+        assertClose(v.mul(eig.getEigenvalues().get(4)), S.mul(v), TOL);
+    }
+
+    @Test
+    void eigenvaluesAscendAndMatchTheValuesOnlyMode() {
+        Matrix B = random(25, 25, 2);
+        Matrix S = B.transposeMul(B);
+        double[] values = new EigenDecomposition(S).getEigenvalues().toArray();
+
+        for (int i = 1; i < values.length; i++)
+            assertTrue(values[i - 1] <= values[i]);
+        assertTrue(values[0] > -TOL);
+
+        EigenDecomposition valuesOnly = new EigenDecomposition(S, false);
+        assertFalse(valuesOnly.hasEigenvectors());
+        assertArrayEquals(values, valuesOnly.getEigenvalues().toArray(), TOL);
+        assertThrows(IllegalStateException.class, valuesOnly::getEigenvectors);
+    }
+
+    @Test
+    void knownSpectrum() {
+        Matrix A = Matrix.fromArray(new double[][] {{2, -1, 0}, {-1, 2, -1}, {0, -1, 2}});
+        double r = Math.sqrt(2);
+
+        assertArrayEquals(new double[] {2 - r, 2, 2 + r}, A.eigenvalues().toArray(), TOL);
+        assertEquals(3, A.eig().getEigenvalues().length());
+    }
+}
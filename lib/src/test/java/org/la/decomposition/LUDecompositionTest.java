@@ -0,0 +1,62 @@
+package org.la.decomposition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertSmall;
+import static org.la.TestMatrices.random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+
+/**
+ * Factors and determinants of {@link LUDecomposition}
+ */
+class LUDecompositionTest {
+    private static final double TOL = 1e-10;
+
+    @Test
+    void factorsThePermutedMatrix() {
+        Matrix A = random(40, 40, 1);
+        LUDecomposition lu = new LUDecomposition(A);
+        Matrix L = lu.getL();
+        Matrix U = lu.getU();
+
+        assertSmall(lu.getP().mul(A).sub(L.mul(U)), TOL);
+        for (int i = 0; i < 40; i++) {
+            assertEquals(1, L.get(i, i));
+            for (int j = i + 1; j < 40; j++) {
+                assertEquals(0, L.get(i, j));
+                assertEquals(0, U.get(j, i));
+            }
+        }
+        assertFalse(lu.isSingular());
+    }
+
+    @Test
+    void determinantMatchesCofactorExpansion() {
+        Matrix A = Matrix.fromArray(new double[][] {{2, 1, 1}, {4, -6, 0}, {-2, 7, 2}});
+
+        assertEquals(-16, A.det(), TOL);
+        assertEquals(-16, new LUDecomposition(A).det(), TOL);
+        assertEquals(6, Matrix.fromArray(new double[][] {{0, 2}, {-3, 5}}).det(), TOL);
+    }
+
+    @Test
+    void determinantOfProductIsProductOfDeterminants() {
+        Matrix A = random(12, 12, 2);
+        Matrix B = random(12, 12, 3);
+
+        assertEquals(A.det() * B.det(), A.mul(B).det(), 1e-12);
+    }
+
+    @Test
+    void detectsSingularMatrices() {
+        LUDecomposition lu = new LUDecomposition(Matrix.fromArray(new double[][] {{1, 2, 3}, {2, 4, 6}, {1, 0, 1}}));
+
+        assertTrue(lu.isSingular());
+        assertEquals(0, lu.det(), 0);
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(random(3, 4, 4)));
+    }
+}
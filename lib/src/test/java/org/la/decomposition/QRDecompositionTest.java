@@ -0,0 +1,70 @@
+package org.la.decomposition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.assertSmall;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Householder factors and least-squares solutions of {@link QRDecomposition}
+ */
+class QRDecompositionTest {
+    private static final double TOL = 1e-10;
+
+    @Test
+    void factorsTallMatrices() {
+        Matrix A = random(50, 20, 1);
+        QRDecomposition qr = new QRDecomposition(A);
+        Matrix Q = qr.getQ();
+        Matrix R = qr.getR();
+
+        assertEquals(50, Q.rows());
+        assertEquals(20, Q.cols());
+        assertSmall(Q.mul(R).sub(A), TOL);
+        assertSmall(Q.transposeMul(Q).sub(Matrix.eye(20)), TOL);
+        for (int i = 0; i < R.rows(); i++)
+            for (int j = 0; j < i; j++)
+                assertEquals(0, R.get(i, j));
+        assertTrue(qr.isFullRank());
+    }
+
+    @Test
+    void appliesQWithoutFormingIt() {
+        Matrix A = random(30, 30, 2);
+        QRDecomposition qr = new QRDecomposition(A);
+        Vector b = randomVector(30, 3);
+
+        assertClose(qr.getQ().transposeMul(b), qr.applyQt(b), TOL);
+        assertClose(b, qr.applyQ(qr.applyQt(b)), TOL);
+    }
+
+    @Test
+    void leastSquaresSolvesTheNormalEquations() {
+        Matrix A = random(60, 10, 4);
+        Vector b = randomVector(60, 5);
+        QRDecomposition qr = new QRDecomposition(A);
+        Vector x = qr.leastSquares(b);
+
+        assertSmall(A.transposeMul(A.mul(x).sub(b)), TOL);
+
+        Matrix B = random(60, 3, 6);
+        assertSmall(A.transposeMul(A.mul(qr.leastSquares(B)).sub(B)), TOL);
+    }
+
+    @Test
+    void rejectsRankDeficientAndWideSystems() {
+        Matrix deficient = Matrix.fromArray(new double[][] {{1, 2}, {2, 4}, {3, 6}});
+
+        assertFalse(new QRDecomposition(deficient).isFullRank());
+        assertThrows(ArithmeticException.class, () -> new QRDecomposition(deficient).leastSquares(Vector.fromArray(1, 2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new QRDecomposition(random(2, 3, 7)).leastSquares(Vector.fromArray(1, 2)));
+    }
+}
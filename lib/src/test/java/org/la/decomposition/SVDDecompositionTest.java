@@ -0,0 +1,73 @@
+package org.la.decomposition;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertSmall;
+import static org.la.TestMatrices.random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.decomposition.SVDDecomposition.Mode;
+
+/**
+ * Thin, full and values-only singular value decompositions of {@link SVDDecomposition}
+ */
+class SVDDecompositionTest {
+    private static final double TOL = 1e-10;
+
+    @Test
+    void thinDecompositionReconstructsTallAndWideMatrices() {
+        for (Matrix A : new Matrix[] {random(40, 15, 1), random(15, 40, 2)}) {
+            SVDDecomposition svd = new SVDDecomposition(A);
+            Matrix U = svd.getU();
+            Matrix V = svd.getV();
+
+            assertSmall(U.mul(svd.getS()).mulTranspose(V).sub(A), TOL);
+            assertSmall(U.transposeMul(U).sub(Matrix.eye(U.cols())), TOL);
+            assertSmall(V.transposeMul(V).sub(Matrix.eye(V.cols())), TOL);
+            assertEquals(15, svd.rank());
+        }
+    }
+
+    @Test
+    void fullDecompositionHasSquareFactors() {
+        Matrix A = random(20, 8, 3);
+        SVDDecomposition svd = new SVDDecomposition(A, Mode.FULL);
+        Matrix U = svd.getU();
+
+        assertEquals(20, U.rows());
+        assertEquals(20, U.cols());
+        assertSmall(U.transposeMul(U).sub(Matrix.eye(20)), TOL);
+        assertSmall(U.mul(svd.getS()).mulTranspose(svd.getV()).sub(A), TOL);
+    }
+
+    @Test
+    void singularValuesDescendAndMatchTheValuesOnlyMode() {
+        Matrix A = random(30, 12, 4);
+        double[] values = new SVDDecomposition(A).getSingularValues().toArray();
+
+        for (int i = 1; i < values.length; i++)
+            assertTrue(values[i - 1] >= values[i]);
+
+        SVDDecomposition valuesOnly = new SVDDecomposition(A, Mode.VALUES);
+        assertArrayEquals(values, valuesOnly.getSingularValues().toArray(), TOL);
+        assertEquals(values[0], valuesOnly.norm2(), TOL);
+        assertEquals(values[0] / values[values.length - 1], valuesOnly.cond(), 1e-8);
+        assertThrows(IllegalStateException.class, valuesOnly::getU);
+    }
+
+    @Test
+    void pseudoInverseAndLowRankApproximation() {
+        Matrix A = random(30, 12, 5);
+        SVDDecomposition svd = new SVDDecomposition(A);
+
+        assertSmall(svd.pseudoInverse().mul(A).sub(Matrix.eye(12)), TOL);
+
+        Matrix rankTwo = random(20, 2, 6).mulTranspose(random(10, 2, 7));
+        SVDDecomposition low = new SVDDecomposition(rankTwo);
+        assertEquals(2, low.rank());
+        assertSmall(low.approximation(2).sub(rankTwo), TOL);
+    }
+}
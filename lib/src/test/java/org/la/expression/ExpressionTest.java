@@ -0,0 +1,109 @@
+package org.la.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Matrix.Layout;
+import org.la.Vector;
+
+/**
+ * Fused lazy expressions against the eager operations they replace
+ */
+class ExpressionTest {
+    private static final double TOL = 1e-12;
+
+    @Test
+    void vectorChainMatchesEagerChain() {
+        int n = 3 * VectorExpression.CHUNK + 17;
+        Vector p = randomVector(n, 1);
+        Vector q = randomVector(n, 2);
+        Vector s = randomVector(n, 3);
+
+        Vector expected = p.mul(2).add(q).sub(s).mul(q).add(1).div(4).mul(-1);
+        Vector actual = p.lazy().mul(2).add(q).sub(s).mul(q).add(1).div(4).negate().eval();
+        assertClose(expected, actual, TOL);
+        assertClose(q.add(s.mul(3)), q.lazy().add(s.lazy().mul(3)).eval(), TOL);
+        assertClose(q.sub(s.mul(3).add(1)), q.lazy().sub(s.lazy().mul(3).add(1)).eval(), TOL);
+    }
+
+    @Test
+    void evaluatesIntoAnOperand() {
+        Vector p = randomVector(2500, 4);
+        Vector q = randomVector(2500, 5);
+        Vector expected = p.mul(q).add(p);
+
+        assertSame(p, p.lazy().mul(q).add(p).eval(p));
+        assertClose(expected, p, TOL);
+    }
+
+    @Test
+    void partiallyOverlappingOutputFallsBackToATemporary() {
+        Vector v = randomVector(3000, 6);
+        Vector head = v.slice(0, 2000);
+        Vector tail = v.slice(1000, 3000);
+        Vector expected = head.add(tail).mul(2);
+
+        head.lazy().add(tail).mul(2).eval(tail);
+        assertClose(expected, v.slice(1000, 3000), TOL);
+    }
+
+    @Test
+    void matrixChainMixesLayoutsAndViews() {
+        Matrix A = random(70, 50, Layout.ROW_MAJOR, new Random(7));
+        Matrix B = random(70, 50, Layout.COLUMN_MAJOR, new Random(8));
+        Matrix C = random(50, 70, 9).transposeView();
+        Matrix D = random(90, 60, 10).block(5, 3, 70, 50);
+
+        Matrix expected = A.mul(3).add(B).sub(C).add(D);
+        Matrix actual = A.lazy().mul(3).add(B).sub(C).add(D).eval();
+        assertClose(expected, actual, TOL);
+        assertEquals(Layout.ROW_MAJOR, actual.layout());
+
+        assertClose(expected, D.lazy().add(A.mul(3)).add(B).sub(C).eval(), TOL);
+        assertClose(expected, A.lazy().mul(3).add(B.lazy().sub(C)).add(D).eval(Matrix.fromSize(70, 50, Layout.COLUMN_MAJOR)), TOL);
+    }
+
+    @Test
+    void narrowViewsAreReadElementByElement() {
+        Matrix A = random(200, 3, 11);
+        Matrix T = random(3, 200, 12).transposeView();
+
+        assertClose(A.add(T), A.lazy().add(T).eval(), TOL);
+        assertClose(T.add(A), T.lazy().add(A).eval(), TOL);
+    }
+
+    @Test
+    void viewsAreReadWhenEvaluated() {
+        Matrix A = random(40, 40, 13);
+        Matrix B = random(40, 40, 14);
+        MatrixExpression e = A.lazy().add(B.transposeView()).add(B.block(0, 0, 40, 40));
+
+        B.set(3, 5, 100);
+        assertClose(A.add(B.transpose()).add(B), e.eval(), TOL);
+    }
+
+    @Test
+    void evaluatesIntoTheTransposeOfAnOperand() {
+        Matrix A = random(30, 30, 15);
+        Matrix B = random(30, 30, 16);
+        Matrix expected = B.add(A.transpose());
+
+        B.lazy().add(A.transposeView()).eval(A);
+        assertClose(expected, A, TOL);
+    }
+
+    @Test
+    void rejectsMismatchedOperands() {
+        assertThrows(IllegalArgumentException.class, () -> randomVector(3, 1).lazy().add(randomVector(4, 2)));
+        assertThrows(IllegalArgumentException.class, () -> random(3, 4, 1).lazy().add(random(4, 3, 2)));
+        assertThrows(ArithmeticException.class, () -> randomVector(3, 1).lazy().div(0));
+    }
+}
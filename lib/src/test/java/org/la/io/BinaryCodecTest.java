@@ -0,0 +1,180 @@
+package org.la.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Round trips through {@link BinaryWriter} and {@link BinaryReader}
+ */
+class BinaryCodecTest {
+
+    @Test
+    void roundTripsMatricesAndVectors() throws IOException {
+        Matrix A = random(37, 19, new Random(1));
+        Vector v = Vector.fromArray(1, -2, Math.PI, Double.NaN, Double.NEGATIVE_INFINITY);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (BinaryWriter out = new BinaryWriter(bytes)) {
+            out.write(A);
+            out.write(v);
+            out.write(A.transposeView());
+        }
+        try (BinaryReader in = new BinaryReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertArrayEquals(A.toArray(), in.readMatrix().toArray());
+            Header header = in.header();
+            assertFalse(header.isVector());
+            assertEquals(37, header.rows());
+            assertEquals(19, header.cols());
+
+            assertArrayEquals(v.toArray(), in.readVector().toArray());
+            assertTrue(in.header().isVector());
+
+            assertArrayEquals(A.transposeView().toArray(), in.readMatrix().toArray());
+            assertNull(in.next());
+        }
+    }
+
+    @Test
+    void roundTripsEmptyShapes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (BinaryWriter out = new BinaryWriter(bytes)) {
+            out.write(Matrix.fromSize(5, 0));
+            out.write(Matrix.fromSize(0, 5));
+            out.write(Vector.blankOfLength(0));
+        }
+        try (BinaryReader in = new BinaryReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Matrix A = in.readMatrix();
+            assertEquals(5, A.rows());
+            assertEquals(0, A.cols());
+
+            Matrix B = in.readMatrix();
+            assertEquals(0, B.rows());
+            assertEquals(5, B.cols());
+
+            assertEquals(0, in.readVector().length());
+            assertNull(in.next());
+        }
+    }
+
+    @Test
+    void rejectsRowsOfVectors() throws IOException {
+        BinaryWriter out = new BinaryWriter(new ByteArrayOutputStream());
+
+        out.beginVector(0);
+        assertThrows(IllegalArgumentException.class, () -> out.writeRow(new double[0]));
+        out.beginMatrix(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> out.writeRow(1, 2, 3));
+    }
+
+    @Test
+    void streamsRowsInEitherByteOrder() throws IOException {
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            Matrix A = random(5, 3, new Random(2));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (BinaryWriter out = new BinaryWriter(Channels.newChannel(bytes), order)) {
+                out.beginMatrix(5, 3);
+                for (double[] row : A.toArray())
+                    out.writeRow(row);
+            }
+            try (BinaryReader in = new BinaryReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertEquals(order, in.next().order());
+                for (double[] row : A.toArray())
+                    assertArrayEquals(row, in.readRow().toArray());
+                assertNull(in.next());
+            }
+        }
+    }
+
+    @Test
+    void rejectsIncompleteElements() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryWriter out = new BinaryWriter(bytes);
+
+        assertThrows(IOException.class, () -> {
+            out.beginMatrix(2, 2);
+            out.writeRow(1, 2);
+            out.close();
+        });
+    }
+
+    @Test
+    void headerRoundTrips() throws IOException {
+        Header header = Header.ofMatrix(DataType.FLOAT64, ByteOrder.LITTLE_ENDIAN, 1L << 20, 3);
+        ByteBuffer buffer = ByteBuffer.allocate(Header.SIZE);
+
+        header.write(buffer);
+        buffer.flip();
+        Header read = Header.read(buffer);
+        assertEquals(header.rows(), read.rows());
+        assertEquals(header.cols(), read.cols());
+        assertEquals(header.dataBytes(), read.dataBytes());
+    }
+
+    @Test
+    void rejectsOverflowingSizes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Header.SIZE);
+
+        Header.ofMatrix(DataType.FLOAT64, ByteOrder.BIG_ENDIAN, 1L << 32, 1L << 30).write(buffer);
+        buffer.flip();
+        assertThrows(IOException.class, () -> Header.read(buffer));
+        assertThrows(IOException.class, () -> new BinaryReader(new ByteArrayInputStream(buffer.array())).next());
+    }
+
+    @Test
+    void rejectsMatricesWithTooManyRows() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Header.SIZE);
+
+        Header.ofMatrix(DataType.FLOAT64, ByteOrder.BIG_ENDIAN, 1L << 31, 0).write(buffer);
+        try (BinaryReader in = new BinaryReader(new ByteArrayInputStream(buffer.array()))) {
+            assertThrows(IOException.class, in::readMatrix);
+        }
+    }
+
+    @Test
+    void countsOnlyTheValuesRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (BinaryWriter out = new BinaryWriter(bytes)) {
+            out.write(Matrix.fromArray(new double[][] {{1, 2, 3}, {4, 5, 6}}));
+        }
+        byte[] truncated = new byte[bytes.size() - 2 * Double.BYTES];
+        System.arraycopy(bytes.toByteArray(), 0, truncated, 0, truncated.length);
+
+        try (BinaryReader in = new BinaryReader(new ByteArrayInputStream(truncated))) {
+            in.next();
+            assertArrayEquals(new double[] {1, 2, 3}, in.readRow().toArray());
+            assertThrows(IOException.class, in::readRow);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                                                   () -> in.readValues(Vector.blankOfLength(3)));
+            assertEquals("Only 2 values are left", e.getMessage());
+        }
+    }
+
+    private static Matrix random(int rows, int cols, Random r) {
+        Matrix A = Matrix.fromSize(rows, cols);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                A.set(i, j, r.nextGaussian());
+        return A;
+    }
+}
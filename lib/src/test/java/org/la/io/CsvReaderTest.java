@@ -0,0 +1,64 @@
+package org.la.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.la.Matrix;
+
+/**
+ * Text round trips of {@link CsvReader}
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsFormattedValues() throws IOException {
+        String text = "a,b,c\n1,-2.5,3e2\n  0.125 ,1E-3,-0\r\n7,8,9\n";
+        Matrix A = CsvReader.csv().setHeaderLines(1).read(new StringReader(text));
+
+        assertArrayEquals(new double[][] {{1, -2.5, 300}, {0.125, 0.001, -0.0}, {7, 8, 9}}, A.toArray());
+        assertArrayEquals(new double[] {1, 2, 3},
+                          CsvReader.tsv().readVector(new StringReader("1\n2\n3\n")).toArray());
+    }
+
+    @Test
+    void rejectsRaggedRows() {
+        assertThrows(IOException.class, () -> CsvReader.csv().read(new StringReader("1,2\n3\n")));
+    }
+
+    @Test
+    void roundTripsRandomValues(@TempDir Path dir) throws IOException {
+        double[][] values = random(2000, 300, new Random(3));
+        Path path = dir.resolve("values.csv");
+        StringBuilder text = new StringBuilder();
+
+        for (double[] row : values) {
+            for (int j = 0; j < row.length; j++)
+                text.append(j == 0 ? "" : ",").append(row[j]);
+            text.append('\n');
+        }
+        Files.writeString(path, text);
+
+        assertArrayEquals(values, CsvReader.csv().read(path).toArray());
+        assertArrayEquals(values, CsvReader.csv().read(path, ForkJoinPool.commonPool()).toArray());
+        assertEquals(values.length, CsvReader.csv().read(Files.newBufferedReader(path)).rows());
+    }
+
+    private static double[][] random(int rows, int cols, Random r) {
+        double[][] values = new double[rows][cols];
+
+        for (double[] row : values)
+            for (int j = 0; j < cols; j++)
+                row[j] = (r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(40) - 20);
+        return values;
+    }
+}
@@ -0,0 +1,58 @@
+package org.la.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Conversions of {@link DoubleParser} against {@link Double#parseDouble(String)}
+ */
+class DoubleParserTest {
+
+    @Test
+    void fastPathIsExact() {
+        assertEquals(0.1, DoubleParser.toDouble(false, 1, -1));
+        assertEquals(-123.456, DoubleParser.toDouble(true, 123456, -3));
+        assertEquals(9007199254740992e22, DoubleParser.toDouble(false, 1L << 53, 22));
+        assertEquals(-0.0, DoubleParser.toDouble(true, 0, 5));
+    }
+
+    @Test
+    void matchesParseDoubleOrDeclines() {
+        Random r = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long significand = r.nextLong() >>> r.nextInt(64);
+            int power = r.nextInt(700) - 360;
+            double d = DoubleParser.toDouble(false, significand, power);
+
+            if (!Double.isNaN(d))
+                assertEquals(Double.parseDouble(Long.toUnsignedString(significand) + "e" + power), d,
+                             significand + "e" + power);
+        }
+    }
+
+    @Test
+    void roundTripsShortestRepresentations() {
+        Random r = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            double x = Double.longBitsToDouble(r.nextLong() & 0x7FEF_FFFF_FFFF_FFFFL);
+            String s = Double.toString(x);
+            int e = s.indexOf('E');
+            String mantissa = e < 0 ? s : s.substring(0, e);
+            int power = e < 0 ? 0 : Integer.parseInt(s.substring(e + 1));
+            int dot = mantissa.indexOf('.');
+            String digits = mantissa.substring(0, dot) + mantissa.substring(dot + 1);
+
+            power -= mantissa.length() - dot - 1;
+            if (digits.length() > 19)
+                continue;
+            double d = DoubleParser.toDouble(false, Long.parseLong(digits), power);
+            if (!Double.isNaN(d))
+                assertEquals(x, d, s);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.la.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.RealMatrix;
+import org.la.sparse.SparseMatrix;
+
+/**
+ * Parsing of the coordinate and array formats of {@link MatrixMarket}
+ */
+class MatrixMarketTest {
+
+    @Test
+    void readsGeneralCoordinates() throws IOException {
+        RealMatrix A = MatrixMarket.read(new StringReader(
+            "%%MatrixMarket matrix coordinate real general\n" +
+            "% comment\n" +
+            "3 4 4\n" +
+            "1 1 1.5\n" +
+            "2 3 -2\n" +
+            "3 4 1e3\n" +
+            "3 1 4\n"));
+
+        assertTrue(A instanceof SparseMatrix);
+        assertArrayEquals(new double[][] {{1.5, 0, 0, 0}, {0, 0, -2, 0}, {4, 0, 0, 1000}}, toArray(A));
+    }
+
+    @Test
+    void mirrorsSymmetricEntries() throws IOException {
+        RealMatrix A = MatrixMarket.read(new StringReader(
+            "%%MatrixMarket matrix coordinate real symmetric\n" +
+            "3 3 4\n" +
+            "1 1 2\n" +
+            "2 1 -1\n" +
+            "3 2 -1\n" +
+            "3 3 2\n"));
+
+        assertArrayEquals(new double[][] {{2, -1, 0}, {-1, 0, -1}, {0, -1, 2}}, toArray(A));
+    }
+
+    @Test
+    void readsArraysInColumnMajorOrder() throws IOException {
+        RealMatrix A = MatrixMarket.read(new StringReader(
+            "%%MatrixMarket matrix array real general\n" +
+            "2 3\n" +
+            "1\n2\n3\n4\n5\n6\n"));
+
+        assertTrue(A instanceof Matrix);
+        assertArrayEquals(new double[][] {{1, 3, 5}, {2, 4, 6}}, toArray(A));
+    }
+
+    @Test
+    void rejectsMissingEntries() {
+        assertThrows(IOException.class, () -> MatrixMarket.read(new StringReader(
+            "%%MatrixMarket matrix coordinate real general\n" +
+            "2 2 3\n" +
+            "1 1 1\n" +
+            "2 2 1\n")));
+    }
+
+    private static double[][] toArray(RealMatrix A) {
+        double[][] values = new double[A.rows()][A.cols()];
+
+        for (int i = 0; i < A.rows(); i++)
+            for (int j = 0; j < A.cols(); j++)
+                values[i][j] = A.get(i, j);
+        assertEquals(values.length, A.rows());
+        return values;
+    }
+}
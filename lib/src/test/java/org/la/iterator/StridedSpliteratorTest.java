@@ -0,0 +1,103 @@
+package org.la.iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Traversal and splitting of {@link StridedSpliterator} over strided grids
+ */
+class StridedSpliteratorTest {
+    private static final int ROWS = 7;
+    private static final int COLS = 5;
+
+    /** Column-major storage of a 7x5 grid inside a larger array, element (i, j) = 10*i + j */
+    private static double[] grid() {
+        double[] arr = new double[3 + 8 * COLS];
+
+        for (int i = 0; i < ROWS; i++)
+            for (int j = 0; j < COLS; j++)
+                arr[3 + i + 8 * j] = 10 * i + j;
+        return arr;
+    }
+
+    private static StridedSpliterator spliterator() {
+        return new StridedSpliterator(grid(), 3, ROWS, COLS, 1, 8);
+    }
+
+    private static double[] expected(int from, int to) {
+        return DoubleStream.iterate(0, k -> k + 1).limit(ROWS * COLS)
+                           .map(k -> 10 * ((int) k / COLS) + (int) k % COLS)
+                           .skip(from).limit(to - from).toArray();
+    }
+
+    private static double[] drainByAdvance(Spliterator.OfDouble s) {
+        DoubleStream.Builder out = DoubleStream.builder();
+        while (s.tryAdvance((double x) -> out.add(x)))
+            ;
+        return out.build().toArray();
+    }
+
+    private static double[] drainByForEach(Spliterator.OfDouble s) {
+        DoubleStream.Builder out = DoubleStream.builder();
+        s.forEachRemaining((double x) -> out.add(x));
+        return out.build().toArray();
+    }
+
+    @Test
+    void advancesRowByRow() {
+        StridedSpliterator s = spliterator();
+
+        assertEquals(ROWS * COLS, s.estimateSize());
+        assertArrayEquals(expected(0, ROWS * COLS), drainByAdvance(s));
+        assertEquals(0, s.estimateSize());
+        assertFalse(s.tryAdvance((double x) -> { }));
+    }
+
+    @Test
+    void mixesAdvanceAndForEach() {
+        for (int first = 0; first <= ROWS * COLS; first++) {
+            StridedSpliterator s = spliterator();
+            double[] head = new double[first];
+
+            for (int k = 0; k < first; k++) {
+                int at = k;
+                s.tryAdvance((double x) -> head[at] = x);
+            }
+            assertArrayEquals(expected(0, first), head);
+            assertArrayEquals(expected(first, ROWS * COLS), drainByForEach(s));
+        }
+    }
+
+    @Test
+    void splitsIntoContiguousRanges() {
+        StridedSpliterator s = spliterator();
+        s.tryAdvance((double x) -> { });
+        s.tryAdvance((double x) -> { });
+
+        Spliterator.OfDouble prefix = s.trySplit();
+        long split = 2 + prefix.estimateSize();
+        assertArrayEquals(expected(2, (int) split), drainByAdvance(prefix));
+
+        Spliterator.OfDouble middle = s.trySplit();
+        long split2 = split + middle.estimateSize();
+        assertArrayEquals(expected((int) split, (int) split2), drainByForEach(middle));
+        assertArrayEquals(expected((int) split2, ROWS * COLS), drainByAdvance(s));
+    }
+
+    @Test
+    void emptyGridsNeitherAdvanceNorSplit() {
+        StridedSpliterator s = new StridedSpliterator(new double[0], 0, 0, 4, 4, 1);
+
+        assertEquals(0, s.estimateSize());
+        assertFalse(s.tryAdvance((double x) -> { }));
+        assertNull(s.trySplit());
+        assertEquals(0, new StridedSpliterator(new double[0], 0, 3, 0, 0, 1).estimateSize());
+    }
+}
@@ -0,0 +1,97 @@
+package org.la.kernel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Blocked products of {@link FloatGemm} against sums computed in double
+ */
+class FloatGemmTest {
+
+    @Test
+    void blockedProductMatchesReference() {
+        Random r = new Random(1);
+        int m = 37, n = 29, k = 53;
+        float[] a = values(m * k, r);
+        float[] b = values(k * n, r);
+        double[] expected = reference(m, n, k, a, b);
+
+        for (Accumulation acc : Accumulation.values()) {
+            float[] c = new float[m * n];
+            new FloatGemm(8, 16, 8, 0, acc).multiply(m, n, k, a, 0, k, 1, b, 0, n, 1, c, 0, 1, m);
+
+            for (int i = 0; i < m; i++)
+                for (int j = 0; j < n; j++)
+                    assertEquals(expected[i * n + j], c[i + j * m], 1e-5);
+        }
+    }
+
+    @Test
+    void doubleAccumulationRoundsOncePerPanel() {
+        Random r = new Random(2);
+        int m = 8, n = 8, k = 20_000;
+        float[] a = new float[m * k];
+        float[] b = new float[k * n];
+
+        for (int i = 0; i < a.length; i++)
+            a[i] = r.nextFloat();
+        for (int i = 0; i < b.length; i++)
+            b[i] = r.nextFloat();
+        double[] expected = reference(m, n, k, a, b);
+        float[] single = new float[m * n];
+        float[] wide = new float[m * n];
+
+        new FloatGemm(8, k, 8, 0, Accumulation.FLOAT).multiply(m, n, k, a, 0, k, 1, b, 0, n, 1, single, 0, n, 1);
+        new FloatGemm(8, k, 8, 0, Accumulation.DOUBLE).multiply(m, n, k, a, 0, k, 1, b, 0, n, 1, wide, 0, n, 1);
+
+        double singleError = 0, wideError = 0;
+        for (int i = 0; i < m * n; i++) {
+            singleError = Math.max(singleError, Math.abs(single[i] - expected[i]));
+            wideError = Math.max(wideError, Math.abs(wide[i] - expected[i]));
+            assertEquals((float) expected[i], wide[i], Math.ulp(wide[i]));
+        }
+        assertTrue(wideError < singleError);
+    }
+
+    @Test
+    void smallProductsAccumulateIntoC() {
+        float[] a = { 1, 2, 3, 4 };
+        float[] b = { 5, 6, 7, 8 };
+        float[] c = { 1, 1, 1, 1 };
+
+        FloatGemm.getDefault().multiply(2, 2, 2, a, 0, 2, 1, b, 0, 2, 1, c, 0, 2, 1);
+
+        assertEquals(20, c[0], 0);
+        assertEquals(23, c[1], 0);
+        assertEquals(44, c[2], 0);
+        assertEquals(51, c[3], 0);
+    }
+
+    /**
+     * Returns the row-major product of row-major {@code a} and {@code b} with double sums
+     */
+    private static double[] reference(int m, int n, int k, float[] a, float[] b) {
+        double[] c = new double[m * n];
+
+        for (int i = 0; i < m; i++)
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = 0; p < k; p++)
+                    sum += (double) a[i * k + p] * b[p * n + j];
+                c[i * n + j] = sum;
+            }
+        return c;
+    }
+
+    private static float[] values(int length, Random r) {
+        float[] values = new float[length];
+
+        for (int i = 0; i < length; i++)
+            values[i] = r.nextFloat() - 0.5f;
+        return values;
+    }
+}
@@ -0,0 +1,69 @@
+package org.la.kernel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+
+/**
+ * Parallel products of {@link Gemm} against the same products on the calling thread
+ */
+class GemmTest {
+
+    @Test
+    void parallelProductIsBitIdentical() {
+        Random r = new Random(1);
+        Matrix A = random(300, 280, r);
+        Matrix B = random(280, 310, r);
+        Matrix expected = A.mul(B);
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        try {
+            assertArrayEquals(expected.toArray(), A.mul(B, pool).toArray());
+            assertArrayEquals(expected.toArray(), A.mul(B, 2).toArray());
+            assertArrayEquals(expected.toArray(), A.mul(B, 2).toArray());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void smallBlocksSplitIntoManyTasks() {
+        Random r = new Random(2);
+        int m = 131, n = 157, k = 97;
+        double[] a = values(m * k, r);
+        double[] b = values(k * n, r);
+        double[] serial = new double[m * n];
+        double[] parallel = new double[m * n];
+        Gemm gemm = new Gemm(16, 32, 64, 0, 0);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            gemm.multiply(m, n, k, a, 0, k, 1, b, 0, 1, k, serial, 0, n, 1);
+            gemm.multiply(m, n, k, a, 0, k, 1, b, 0, 1, k, parallel, 0, n, 1, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(serial, parallel);
+    }
+
+    private static Matrix random(int rows, int cols, Random r) {
+        Matrix A = Matrix.fromSize(rows, cols);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                A.set(i, j, r.nextDouble() - 0.5);
+        return A;
+    }
+
+    private static double[] values(int length, Random r) {
+        double[] values = new double[length];
+
+        for (int i = 0; i < length; i++)
+            values[i] = r.nextDouble() - 0.5;
+        return values;
+    }
+}
@@ -0,0 +1,77 @@
+package org.la.kernel;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Matrix.Layout;
+
+/**
+ * Strassen-Winograd products against the classical kernel, with a small cutoff so that odd
+ * dimensions are peeled at several levels
+ */
+class StrassenTest {
+    private static final double TOL = 1e-10;
+    private static final int[][] SHAPES = {
+        {64, 64, 64}, {65, 67, 63}, {33, 100, 17}, {127, 129, 131}, {1, 50, 50}, {50, 1, 50}, {50, 50, 1}, {200, 7, 300}
+    };
+
+    private final Strassen strassen = new Strassen(Gemm.getDefault(), 8, 0);
+
+    @AfterEach
+    void restoreDefaults() {
+        Strassen.setDefault(null);
+    }
+
+    @Test
+    void matchesClassicalProductOnOddShapes() {
+        Random r = new Random(1);
+
+        for (int[] shape : SHAPES)
+            for (Layout la : Layout.values())
+                for (Layout lb : Layout.values()) {
+                    Matrix A = random(shape[0], shape[2], la, r);
+                    Matrix B = random(shape[2], shape[1], lb, r);
+
+                    assertClose(A.mul(B, Gemm.getDefault()), A.mul(B, strassen), TOL);
+                }
+    }
+
+    @Test
+    void overwritesStridedOutput() {
+        Random r = new Random(2);
+        Matrix A = random(65, 70, Layout.ROW_MAJOR, r);
+        Matrix B = random(70, 33, Layout.ROW_MAJOR, r);
+        Matrix out = Matrix.fromConstant(33, 65, 7).transposeView();
+
+        Strassen.setDefault(new Strassen(Gemm.getDefault(), 8, 16));
+        assertSame(out, A.mul(B, out));
+        assertClose(A.mul(B, Gemm.getDefault()), out, TOL);
+    }
+
+    @Test
+    void multipliesTransposedViews() {
+        Matrix A = random(100, 90, Layout.ROW_MAJOR, new Random(3));
+
+        assertClose(A.transposeView().mul(A, Gemm.getDefault()), A.transposeView().mul(A, strassen), TOL);
+    }
+
+    @Test
+    void defaultKernelFollowsGemmDefault() {
+        Gemm previous = Gemm.getDefault();
+        Gemm gemm = new Gemm(32, 64, 128, 1);
+
+        try {
+            Strassen lazy = new Strassen();
+            Gemm.setDefault(gemm);
+            assertSame(gemm, lazy.gemm());
+        } finally {
+            Gemm.setDefault(previous);
+        }
+    }
+}
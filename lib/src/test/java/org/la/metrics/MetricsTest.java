@@ -0,0 +1,90 @@
+package org.la.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.decomposition.SVDDecomposition;
+
+/**
+ * Counters of the instrumented operations, with the tests run with {@code -Dorg.la.metrics=true}
+ */
+class MetricsTest {
+
+    @BeforeEach
+    void reset() {
+        assertTrue(Metrics.isEnabled());
+        Metrics.reset();
+    }
+
+    @Test
+    void vectorOperationsAreCounted() {
+        Vector v = randomVector(100, 1);
+        Vector u = randomVector(100, 2);
+
+        v.mul(u, Vector.blankOfLength(100));
+        v.normSq();
+        v.manhattanNorm();
+        v.euclideanNorm();
+
+        assertEquals(1, Metrics.stats(Operation.VECTOR_MUL).count());
+        assertEquals(100, Metrics.stats(Operation.VECTOR_MUL).flops());
+        assertEquals(3, Metrics.stats(Operation.VECTOR_NORM).count());
+        assertEquals(3 * 200, Metrics.stats(Operation.VECTOR_NORM).flops());
+        assertEquals(0, Metrics.stats(Operation.VECTOR_DOT).count());
+    }
+
+    @Test
+    void nestedOperationsAreNotCountedTwice() {
+        Matrix A = random(40, 30, 3);
+        Metrics.reset();
+
+        long start = System.nanoTime();
+        new SVDDecomposition(A);
+        long elapsed = System.nanoTime() - start;
+
+        Map<Operation, OperationStats> snapshot = Metrics.snapshot();
+        long flops = snapshot.values().stream().mapToLong(OperationStats::flops).sum();
+        long nanos = snapshot.values().stream().mapToLong(OperationStats::totalNanos).sum();
+        long svd = Operation.SVD.flops(40, 30, 0);
+
+        assertEquals(1, snapshot.get(Operation.SVD).count());
+        assertEquals(1, snapshot.get(Operation.QR).count());
+        assertEquals(svd, flops);
+        assertTrue(snapshot.get(Operation.SVD).flops() <= svd - Operation.QR.flops(40, 30, 0));
+        assertTrue(nanos <= elapsed);
+    }
+
+    @Test
+    void inverseIsCreditedWithoutItsDecomposition() {
+        Matrix A = random(20, 20, 4).add(Matrix.eye(20).mul(20));
+        Metrics.reset();
+
+        A.inverse();
+
+        OperationStats inverse = Metrics.stats(Operation.INVERSE);
+        long flops = Metrics.snapshot().values().stream().mapToLong(OperationStats::flops).sum();
+
+        assertEquals(1, Metrics.stats(Operation.LU).count());
+        assertEquals(Operation.INVERSE.flops(20, 20, 0), flops);
+        assertTrue(inverse.flops() <= Operation.INVERSE.flops(20, 20, 0) - Operation.LU.flops(20, 20, 0));
+        // the histogram counts the whole call, including the decomposition
+        assertTrue(inverse.percentileNanos(1) >= Metrics.stats(Operation.LU).totalNanos());
+    }
+
+    @Test
+    void reportListsEachOperationOnce() {
+        randomVector(10, 5).dot(randomVector(10, 6));
+
+        String report = Metrics.report();
+        assertEquals(1, report.lines().count());
+        assertTrue(report.startsWith("Vector.dot: 1 calls"));
+    }
+}
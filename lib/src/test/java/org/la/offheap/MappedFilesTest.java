@@ -0,0 +1,104 @@
+package org.la.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.io.Header;
+
+/**
+ * Matrices and vectors written to files and mapped back in each mode
+ */
+class MappedFilesTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenMatrixMapsBack() throws IOException {
+        Path path = dir.resolve("a.bin");
+        Matrix A = random(6, 5, 1);
+        MappedFiles.write(path, A);
+
+        Header header = MappedFiles.readHeader(path);
+        assertEquals(6, header.rows());
+        assertEquals(5, header.cols());
+        assertEquals(Header.SIZE + 6 * 5 * Double.BYTES, Files.size(path));
+
+        try (OffHeapMatrix M = MappedFiles.open(path, MapMode.READ_ONLY)) {
+            assertClose(A, M.toDense(), 0);
+            assertThrows(UnsupportedOperationException.class, () -> M.set(0, 0, 1));
+        }
+    }
+
+    @Test
+    void readWriteChangesReachTheFile() throws IOException {
+        Path path = dir.resolve("b.bin");
+
+        try (OffHeapMatrix M = MappedFiles.create(path, 3, 4)) {
+            M.set(2, 3, 7);
+            M.force();
+        }
+        try (OffHeapMatrix M = MappedFiles.open(path, MapMode.READ_WRITE)) {
+            assertEquals(7, M.get(2, 3), 0);
+            M.set(0, 1, -2);
+        }
+        try (OffHeapMatrix M = MappedFiles.open(path, MapMode.READ_ONLY)) {
+            assertEquals(-2, M.get(0, 1), 0);
+        }
+    }
+
+    @Test
+    void privateChangesStayInMemory() throws IOException {
+        Path path = dir.resolve("c.bin");
+        Matrix A = random(4, 4, 2);
+        MappedFiles.write(path, A);
+
+        try (OffHeapMatrix M = MappedFiles.open(path, MapMode.PRIVATE)) {
+            M.mulInPlace(0);
+            assertEquals(0, M.get(3, 3), 0);
+        }
+        try (OffHeapMatrix M = MappedFiles.open(path, MapMode.READ_ONLY)) {
+            assertClose(A, M.toDense(), 0);
+        }
+    }
+
+    @Test
+    void vectorsMapBack() throws IOException {
+        Path path = dir.resolve("v.bin");
+        Vector v = randomVector(OffHeapVector.CHUNK + 3, 3);
+        MappedFiles.write(path, v);
+
+        try (OffHeapVector x = MappedFiles.openVector(path, MapMode.READ_ONLY)) {
+            assertClose(v, x.toVector(), 0);
+        }
+        assertThrows(IOException.class, () -> MappedFiles.open(path, MapMode.READ_ONLY));
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path path = dir.resolve("d.bin");
+        MappedFiles.write(path, random(3, 3, 4));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - Double.BYTES);
+        }
+        long size = Files.size(path);
+
+        assertThrows(IOException.class, () -> MappedFiles.open(path, MapMode.READ_WRITE));
+        assertEquals(size, Files.size(path));
+        assertThrows(IOException.class, () -> MappedFiles.openVector(path, MapMode.READ_ONLY));
+    }
+}
@@ -0,0 +1,121 @@
+package org.la.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import jdk.incubator.foreign.ResourceScope;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.iterator.MatrixIterator;
+
+/**
+ * Off-heap matrices and vectors against the same operations on the heap
+ */
+class OffHeapMatrixTest {
+    private static final double TOL = 1e-10;
+
+    @Test
+    void productsMatchDenseProducts() {
+        // more columns than a chunk, so rows are streamed in several pieces
+        Matrix A = random(7, OffHeapVector.CHUNK * 2 + 100, 1);
+        Vector v = randomVector(A.cols(), 2);
+        Vector u = randomVector(A.rows(), 3);
+        Matrix B = random(A.cols(), 3, 4);
+
+        try (OffHeapMatrix M = OffHeapMatrix.fromMatrix(A)) {
+            assertClose(A.mul(v), M.mul(v), TOL);
+            assertClose(A.transpose().mul(u), M.transposeMul(u), TOL);
+            assertClose(A.mul(B), M.mul(B), TOL);
+            assertClose(A, M.toDense(), 0);
+
+            Vector out = Vector.blankOfLength(A.rows()).add(5);
+            M.mul(v, out);
+            assertClose(A.mul(v), out, TOL);
+        }
+    }
+
+    @Test
+    void elementWiseOperationsMatchDense() {
+        Matrix A = random(5, 6, 5);
+        Matrix B = random(5, 6, 6);
+
+        try (OffHeapMatrix M = OffHeapMatrix.fromMatrix(A); OffHeapMatrix N = OffHeapMatrix.fromMatrix(B)) {
+            M.addInPlace(N).mulInPlace(2).axpy(-1, N).addInPlace(0.5);
+            assertClose(A.add(B).mul(2).sub(B).add(0.5), M.toDense(), TOL);
+
+            M.setRow(2, B.getRow(4));
+            assertClose(B.getRow(4), M.getRow(2), 0);
+            assertClose(B.getRow(4), M.rowView(2).toVector(), 0);
+        }
+    }
+
+    @Test
+    void iteratorVisitsAndSetsEveryElement() {
+        Matrix A = random(3, 4, 7);
+
+        try (OffHeapMatrix M = OffHeapMatrix.fromMatrix(A)) {
+            MatrixIterator it = M.iterator();
+            int count = 0;
+
+            while (it.hasNext()) {
+                assertEquals(A.get(count / 4, count % 4), it.nextDouble(), 0);
+                it.set(it.get() * 3);
+                count++;
+            }
+            assertEquals(12, count);
+            assertClose(A.mul(3), M.toDense(), 0);
+        }
+    }
+
+    @Test
+    void vectorsMatchHeapVectors() {
+        Vector v = randomVector(OffHeapVector.CHUNK * 3 + 7, 8);
+        Vector u = randomVector(v.length(), 9);
+
+        try (OffHeapVector x = OffHeapVector.fromVector(v); OffHeapVector y = OffHeapVector.fromVector(u)) {
+            assertEquals(v.dot(u), x.dot(y), TOL);
+            assertEquals(v.norm(), x.norm(), TOL);
+
+            x.axpy(2, y);
+            assertClose(v.add(u.mul(2)), x.toVector(), TOL);
+            assertClose(u.slice(10, 20), y.slice(10, 20).toVector(), 0);
+        }
+    }
+
+    @Test
+    void closingReleasesOwnedMemoryOnly() {
+        OffHeapMatrix M = new OffHeapMatrix(3, 3);
+        M.close();
+
+        assertFalse(M.isAlive());
+        assertThrows(IllegalStateException.class, () -> M.get(0, 0));
+
+        try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+            OffHeapMatrix N = new OffHeapMatrix(2, 2, scope);
+            N.set(1, 1, 4);
+
+            assertTrue(N.isAlive());
+            assertEquals(4, N.get(1, 1), 0);
+            assertThrows(IllegalStateException.class, N::close);
+            assertThrows(IllegalStateException.class, N::force);
+        }
+    }
+
+    @Test
+    void rejectsMismatchedOperands() {
+        try (OffHeapMatrix M = new OffHeapMatrix(3, 4)) {
+            assertThrows(IllegalArgumentException.class, () -> M.mul(Vector.blankOfLength(3)));
+            assertThrows(IllegalArgumentException.class, () -> M.mul(Matrix.fromSize(3, 2)));
+
+            Vector v = Vector.blankOfLength(4);
+            assertThrows(IllegalArgumentException.class, () -> M.mul(v, v.slice(0, 3)));
+        }
+    }
+}
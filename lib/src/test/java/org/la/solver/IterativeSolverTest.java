@@ -0,0 +1,158 @@
+package org.la.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.RealMatrix;
+import org.la.Vector;
+import org.la.sparse.SparseMatrix;
+
+/**
+ * Convergence of the Krylov solvers and preconditioners on model problems
+ */
+class IterativeSolverTest {
+    private static final int GRID = 20;
+
+    @Test
+    void conjugateGradientSolvesPoisson() {
+        SparseMatrix A = poisson(GRID, 0);
+        Vector b = randomVector(A.rows(), 1);
+
+        Vector x = new ConjugateGradient().setTolerance(1e-10).solve(A, b);
+        assertResidual(A, b, x, 1e-8);
+    }
+
+    @Test
+    void nonSymmetricSolversSolveConvectionDiffusion() {
+        SparseMatrix A = poisson(GRID, 0.4);
+        Vector b = randomVector(A.rows(), 2);
+
+        assertResidual(A, b, new BiCGSTAB().solve(A, b), 1e-8);
+        assertResidual(A, b, new GMRES(30).solve(A, b), 1e-8);
+        assertResidual(A, b, new GMRES(30).setPreconditioner(new ILU0Preconditioner(A)).solve(A, b), 1e-8);
+    }
+
+    @Test
+    void preconditionersCutIterations() {
+        SparseMatrix A = poisson(GRID, 0);
+        Vector b = randomVector(A.rows(), 3);
+
+        int plain = iterations(new ConjugateGradient(), A, b);
+        int jacobi = iterations(new ConjugateGradient().setPreconditioner(new JacobiPreconditioner(A)), A, b);
+        int ilu = iterations(new ConjugateGradient().setPreconditioner(new ILU0Preconditioner(A)), A, b);
+
+        assertTrue(jacobi <= plain, jacobi + " > " + plain);
+        assertTrue(ilu < plain, ilu + " >= " + plain);
+    }
+
+    @Test
+    void ilu0IsExactOnTridiagonalMatrices() {
+        SparseMatrix A = poisson(1, 0);
+        Vector r = randomVector(A.rows(), 4);
+        Vector z = Vector.blankOfLength(A.rows());
+
+        new ILU0Preconditioner(A).apply(r, z);
+        assertClose(r, A.mul(z), 1e-12);
+    }
+
+    @Test
+    void solvesDenseOperatorsFromAnInitialGuess() {
+        Matrix A = poisson(6, 0).toDense();
+        Vector b = randomVector(A.rows(), 5);
+        Vector x = A.solve(b).add(1e-3);
+
+        SolverResult result = new BiCGSTAB().solve(A, b, x);
+        assertTrue(result.converged());
+        assertResidual(A, b, x, 1e-8);
+    }
+
+    @Test
+    void listenerSeesDecreasingResidualsAndCanStop() {
+        SparseMatrix A = poisson(GRID, 0);
+        Vector b = randomVector(A.rows(), 6);
+        List<Double> residuals = new ArrayList<>();
+        IterativeSolver solver = new ConjugateGradient().setListener((i, residual) -> {
+            residuals.add(residual);
+            return i < 5;
+        });
+
+        SolverResult result = solver.solve(A, b, Vector.blankOfLength(A.rows()));
+        assertFalse(result.converged());
+        assertEquals(5, residuals.size());
+        assertTrue(residuals.get(4) < residuals.get(0));
+        assertThrows(ArithmeticException.class, () -> new ConjugateGradient().setMaxIterations(3).solve(A, b));
+    }
+
+    @Test
+    void zeroRightHandSideGivesZero() {
+        SparseMatrix A = poisson(4, 0);
+        Vector x = Vector.fromConstant(A.rows(), 1);
+
+        assertTrue(new GMRES().solve(A, Vector.blankOfLength(A.rows()), x).converged());
+        assertEquals(0, x.norm());
+    }
+
+    private static int iterations(IterativeSolver solver, RealMatrix A, Vector b) {
+        SolverResult result = solver.solve(A, b, Vector.blankOfLength(A.rows()));
+
+        assertTrue(result.converged(), result.toString());
+        return result.iterations();
+    }
+
+    private static void assertResidual(RealMatrix A, Vector b, Vector x, double tol) {
+        assertTrue(A.mul(x).sub(b).norm() <= tol * b.norm());
+    }
+
+    /**
+     * Returns the 5-point Laplacian on a {@code n x n} grid, or the 3-point one on a line of
+     * 50 points when {@code n} is 1, with a first order convection term of strength {@code c}
+     */
+    private static SparseMatrix poisson(int n, double c) {
+        int size = n == 1 ? 50 : n * n;
+        int width = n == 1 ? size : n;
+        List<int[]> at = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+
+        for (int k = 0; k < size; k++) {
+            int i = k / width, j = k % width;
+
+            at.add(new int[] {k, k});
+            values.add(n == 1 ? 2.0 : 4.0);
+            if (j > 0) {
+                at.add(new int[] {k, k - 1});
+                values.add(-1 - c);
+            }
+            if (j < width - 1) {
+                at.add(new int[] {k, k + 1});
+                values.add(-1 + c);
+            }
+            if (n > 1 && i > 0) {
+                at.add(new int[] {k, k - width});
+                values.add(-1.0);
+            }
+            if (n > 1 && i < n - 1) {
+                at.add(new int[] {k, k + width});
+                values.add(-1.0);
+            }
+        }
+
+        int[] rows = new int[at.size()];
+        int[] cols = new int[at.size()];
+        double[] vals = new double[at.size()];
+        for (int k = 0; k < rows.length; k++) {
+            rows[k] = at.get(k)[0];
+            cols[k] = at.get(k)[1];
+            vals[k] = values.get(k);
+        }
+        return SparseMatrix.fromTriplets(size, size, rows, cols, vals);
+    }
+}
@@ -0,0 +1,107 @@
+package org.la.sparse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.random;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Kernels of the CSR {@link SparseMatrix} against the same operations on its dense copy
+ */
+class SparseMatrixTest {
+    private static final double TOL = 1e-12;
+
+    @Test
+    void tripletsAreSortedAndDuplicatesSummed() {
+        SparseMatrix S = SparseMatrix.fromTriplets(3, 4,
+                                                   new int[] {2, 0, 2, 0, 1},
+                                                   new int[] {3, 1, 0, 1, 2},
+                                                   new double[] {5, 1, 4, 2, 3});
+
+        assertEquals(4, S.nnz());
+        assertArrayEquals(new int[] {0, 1, 2, 4}, S.rowPointers());
+        assertArrayEquals(new int[] {1, 2, 0, 3}, S.columnIndices());
+        assertArrayEquals(new double[][] {{0, 3, 0, 0}, {0, 0, 3, 0}, {4, 0, 0, 5}}, S.toDense().toArray());
+    }
+
+    @Test
+    void productsMatchDenseProducts() {
+        SparseMatrix S = randomSparse(80, 60, 0.05, 1);
+        Matrix D = S.toDense();
+        Vector v = randomVector(60, 2);
+        Vector u = randomVector(80, 3);
+        Matrix A = random(60, 25, 4);
+
+        assertClose(D.mul(v), S.mul(v), TOL);
+        assertClose(D.transposeMul(u), S.transposeMul(u), TOL);
+        assertClose(D.mul(A), S.mul(A), TOL);
+        assertClose(D.mul(2.5), S.mul(2.5), TOL);
+    }
+
+    @Test
+    void productWithStridedOperand() {
+        SparseMatrix S = randomSparse(30, 40, 0.1, 5);
+        Matrix A = random(50, 40, 6).transposeView();
+
+        assertClose(S.toDense().mul(A), S.mul(A), TOL);
+    }
+
+    @Test
+    void sumsTakeTheUnionOfStoredElements() {
+        SparseMatrix S = randomSparse(40, 40, 0.05, 7);
+        SparseMatrix T = randomSparse(40, 40, 0.05, 8);
+        Matrix A = random(40, 40, 9);
+
+        assertClose(S.toDense().add(T.toDense()), S.add(T), TOL);
+        assertClose(S.toDense().sub(T.toDense()), S.sub(T), TOL);
+        assertClose(S.toDense().add(A), S.add(A), TOL);
+    }
+
+    @Test
+    void transposeSharesTheColumnCopyUntilSet() {
+        SparseMatrix S = randomSparse(20, 30, 0.1, 10);
+
+        assertClose(S.toDense().transpose(), S.transpose(), 0);
+        assertClose(S, S.transpose().transpose(), 0);
+
+        int j = S.columnIndices()[0];
+        S.set(0, j, 42);
+        assertEquals(42, S.transpose().get(j, 0));
+        assertThrows(IllegalArgumentException.class, () -> SparseMatrix.eye(3).set(0, 1, 1));
+    }
+
+    @Test
+    void equalityIsLimitedToSparseMatrices() {
+        SparseMatrix S = randomSparse(10, 10, 0.2, 11);
+        Matrix D = S.toDense();
+
+        assertEquals(S, SparseMatrix.fromDense(D));
+        assertNotEquals(S, D);
+        assertNotEquals(D, S);
+        assertTrue(S.equals(D, TOL));
+        assertFalse(S.equals(D.add(1), TOL));
+    }
+
+    static SparseMatrix randomSparse(int rows, int cols, double density, long seed) {
+        Random r = new Random(seed);
+        Matrix D = Matrix.fromSize(rows, cols);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (r.nextDouble() < density)
+                    D.set(i, j, r.nextDouble() - 0.5);
+        D.set(0, cols - 1, 1);
+        return SparseMatrix.fromDense(D);
+    }
+}
@@ -0,0 +1,82 @@
+package org.la.sparse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.la.TestMatrices.assertClose;
+import static org.la.TestMatrices.randomVector;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.la.Vector;
+
+/**
+ * Operations of {@link SparseVector} against the same operations on its dense copy
+ */
+class SparseVectorTest {
+    private static final double TOL = 1e-12;
+
+    @Test
+    void pairsAreSortedAndDuplicatesSummed() {
+        SparseVector v = SparseVector.fromPairs(10, new int[] {7, 2, 7, 0}, new double[] {1, 2, 3, 4});
+
+        assertEquals(3, v.nnz());
+        assertArrayEquals(new int[] {0, 2, 7}, v.indices());
+        assertArrayEquals(new double[] {4, 2, 4}, v.values());
+        assertEquals(0, v.get(5));
+        assertThrows(IllegalArgumentException.class, () -> v.set(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SparseVector(10, new int[] {3, 1}, new double[] {1, 1}));
+    }
+
+    @Test
+    void dotProductsMatchDenseOnes() {
+        SparseVector u = randomSparse(500, 0.05, 1);
+        SparseVector w = randomSparse(500, 0.05, 2);
+        Vector d = randomVector(500, 3);
+
+        assertEquals(u.toDense().dot(w.toDense()), u.dot(w), TOL);
+        assertEquals(u.toDense().dot(d), u.dot(d), TOL);
+        assertEquals(u.toDense().dot(u.toDense()), u.normSq(), TOL);
+        assertEquals(1, u.normalize().norm(), TOL);
+    }
+
+    @Test
+    void arithmeticMatchesDenseArithmetic() {
+        SparseVector u = randomSparse(200, 0.1, 4);
+        SparseVector w = randomSparse(200, 0.1, 5);
+        Vector d = randomVector(200, 6);
+
+        assertClose(u.toDense().add(w.toDense()), u.add(w).toDense(), TOL);
+        assertClose(u.toDense().sub(w.toDense()), u.sub(w).toDense(), TOL);
+        assertClose(u.toDense().add(d), u.add(d), TOL);
+        assertClose(u.toDense().mul(d), u.mul(d).toDense(), TOL);
+        assertClose(u.toDense().mul(3), u.mul(3).toDense(), TOL);
+
+        Vector y = d.add(0);
+        assertClose(d.add(u.toDense().mul(2)), u.axpy(2, y), TOL);
+    }
+
+    @Test
+    void denseRoundTripKeepsOnlyNonZeros() {
+        Vector d = Vector.fromArray(0, 1.5, 0, 0, -2, 0);
+        SparseVector v = SparseVector.fromDense(d);
+
+        assertEquals(2, v.nnz());
+        assertClose(d, v.toDense(), 0);
+        assertTrue(SparseVector.fromLength(4).isZero());
+        assertThrows(IllegalArgumentException.class, () -> v.dot(SparseVector.fromLength(5)));
+    }
+
+    private static SparseVector randomSparse(int length, double density, long seed) {
+        Random r = new Random(seed);
+        Vector d = Vector.blankOfLength(length);
+
+        for (int i = 0; i < length; i++)
+            if (r.nextDouble() < density)
+                d.set(i, r.nextDouble() - 0.5);
+        d.set(length / 2, 1);
+        return SparseVector.fromDense(d);
+    }
+}
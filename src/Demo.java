@@ -24,8 +24,8 @@ public class Demo {
     
         hideCursor();
         while (!quit) {
-            vel = vel.add(gravity.mul(DT));
-            pos = pos.add(vel.mul(DT));
+            vel.axpy(DT, gravity);
+            pos.axpy(DT, vel);
             
             if (pos.tail() > HEIGHT - RADIUS) {
                 pos.set(1, HEIGHT - RADIUS); 
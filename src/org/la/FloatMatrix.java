@@ -0,0 +1,886 @@
+package org.la;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
+
+import org.la.Matrix.Layout;
+import org.la.factory.FloatMatrixFactory;
+import org.la.function.IntIntDoubleConsumer;
+import org.la.iterator.MatrixIterator;
+import org.la.kernel.Accumulation;
+import org.la.kernel.FloatGemm;
+import org.la.kernel.FloatKernels;
+
+/**
+ * Single precision counterpart of {@link Matrix}, storing its elements as floats in a flat
+ * array. It uses half the memory of a {@code Matrix} of the same size
+ * <p>The element at row {@code i} and col {@code j} is stored at
+ * {@code data[offset + i*rowStride + j*colStride]} as in {@code Matrix}, so rows, columns,
+ * blocks and the transpose are available as views. Products run on {@link FloatGemm}, which
+ * can keep its running sums in double, see {@link #mul(FloatMatrix, Accumulation)}</p>
+ * <p>It implements {@link RealMatrix}, so it can be passed wherever a matrix is only read or
+ * multiplied, like the iterative solvers: products with double precision {@link Vector}s and
+ * {@link Matrix}es keep their sums in double. Beyond that it covers a subset of {@code Matrix}:
+ * storage, views, element-wise arithmetic, {@code map} and products, which is what large single
+ * precision workloads run. Minors, parsing from strings and decompositions are only on
+ * {@code Matrix}, whose algorithms need double precision anyway: convert with {@link #toMatrix()}
+ * and back with {@link #fromMatrix(Matrix)}</p>
+ */
+public class FloatMatrix implements RealMatrix {
+    private float[] data;
+    private int offset;
+    private int rowStride;
+    private int colStride;
+    private int rows;
+    private int cols;
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros
+     * and laid out in row-major order
+     */
+    public FloatMatrix(int rows, int cols) {
+        this(rows, cols, Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros
+     * and laid out according to {@code layout}
+     */
+    public FloatMatrix(int rows, int cols, Layout layout) {
+        this(rows, cols, new float[checkedSize(rows, cols)], layout);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} backed by {@code data} which is
+     * laid out according to {@code layout}. The array is not copied
+     */
+    public FloatMatrix(int rows, int cols, float[] data, Layout layout) {
+        this(data, 0, rows, cols,
+             layout == Layout.ROW_MAJOR ? cols : 1,
+             layout == Layout.ROW_MAJOR ? 1 : rows);
+
+        if (data.length < (long) rows * cols)
+            fail("Array is too short for a " + rows + "x" + cols + " matrix");
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} backed by {@code data} where
+     * the element at row {@code i} and col {@code j} is {@code data[offset + i*rowStride + j*colStride]}.
+     * The array is not copied
+     */
+    protected FloatMatrix(float[] data, int offset, int rows, int cols, int rowStride, int colStride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+    }
+
+    /**
+     * Creates a new matrix from given array {@code arr} while copying the given array
+     * @see org.la.factory.FloatMatrixFactory
+     */
+    public static FloatMatrix fromArray(float[][] arr) {
+        return FloatMatrixFactory.fromArray(arr);
+    }
+
+    /**
+     * Creates a new matrix of given size {@code rows x cols}
+     * @see org.la.factory.FloatMatrixFactory
+     */
+    public static FloatMatrix fromSize(int rows, int cols) {
+        return FloatMatrixFactory.fromSize(rows, cols);
+    }
+
+    /**
+     * Creates a new matrix of given size {@code rows x cols} laid out according to {@code layout}
+     * @see org.la.factory.FloatMatrixFactory
+     */
+    public static FloatMatrix fromSize(int rows, int cols, Layout layout) {
+        return FloatMatrixFactory.fromSize(rows, cols, layout);
+    }
+
+    /**
+     * Creates a new matrix of the elements of {@code A} rounded to float, with the same layout
+     * @see org.la.factory.FloatMatrixFactory
+     */
+    public static FloatMatrix fromMatrix(Matrix A) {
+        return FloatMatrixFactory.fromMatrix(A);
+    }
+
+    /**
+     * Creates an identitiy matrix of size {@code n x n}
+     * @see org.la.factory.FloatMatrixFactory
+     */
+    public static FloatMatrix eye(int n) {
+        return FloatMatrixFactory.identity(n);
+    }
+
+    /**
+     * Returns the number of rows of the matrix
+     */
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the matrix
+     */
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the layout of the storage of the matrix
+     */
+    public Layout layout() {
+        return (rowStride == 1 && colStride != 1) ? Layout.COLUMN_MAJOR : Layout.ROW_MAJOR;
+    }
+
+    /**
+     * Returns value at row {@code i} and col {@code j}
+     */
+    @Override
+    public double get(int i, int j) {
+        return data[offset + i * rowStride + j * colStride];
+    }
+
+    /**
+     * Sets the value at row {@code i} and col {@code j} to {@code value}
+     */
+    public void set(int i, int j, float value) {
+        data[offset + i * rowStride + j * colStride] = value;
+    }
+
+    /**
+     * Sets the values of the matrix to the values of {@code A}
+     * @param A a matrix of the same size
+     */
+    public void setAll(FloatMatrix A) {
+        checkSizes(A);
+
+        if (isFlatWith(A)) {
+            System.arraycopy(A.data, A.offset, data, offset, rows * cols);
+            return;
+        }
+        A.checkOverlap(this);
+
+        for (int i = 0; i < rows; i++)
+            rowView(i).setAll(A.rowView(i));
+    }
+
+    /**
+     * Checks if the instance matrix is empty
+     */
+    public boolean isEmpty() {
+        return (rows == 0) || (cols == 0);
+    }
+
+    /**
+     * Checks if the elements of the matrix fill a contiguous range of its array
+     */
+    public boolean isContiguous() {
+        return (colStride == 1 && rowStride == cols) || (rowStride == 1 && colStride == rows);
+    }
+
+    /**
+     * Returns a {@code FloatVector} of elements of at row {@code i}
+     */
+    public FloatVector getRow(int i) {
+        return rowView(i).clone();
+    }
+
+    /**
+     * Returns a {@code FloatVector} of elements of at col {@code j}
+     */
+    public FloatVector getCol(int j) {
+        return colView(j).clone();
+    }
+
+    /**
+     * Returns a view of row {@code i} sharing the storage of the matrix
+     */
+    public FloatVector rowView(int i) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        return new FloatVector(data, rowOffset(i), cols, colStride);
+    }
+
+    /**
+     * Returns a view of col {@code j} sharing the storage of the matrix
+     */
+    public FloatVector colView(int j) {
+        if (j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid column index");
+        return new FloatVector(data, offset + j * colStride, rows, rowStride);
+    }
+
+    /**
+     * Returns a view of the {@code r x c} block starting at row {@code r0} and col {@code c0}
+     * sharing the storage of the matrix
+     */
+    public FloatMatrix block(int r0, int c0, int r, int c) {
+        if (r0 < 0 || c0 < 0 || r < 0 || c < 0 || r0 + r > rows || c0 + c > cols)
+            throw new IndexOutOfBoundsException("Invalid block " + r + "x" + c + " at " + r0 + "," + c0);
+        return new FloatMatrix(data, offset + r0 * rowStride + c0 * colStride, r, c, rowStride, colStride);
+    }
+
+    /**
+     * Returns the transpose of the matrix as a view sharing its storage
+     */
+    public FloatMatrix transposeView() {
+        return new FloatMatrix(data, offset, cols, rows, colStride, rowStride);
+    }
+
+    /**
+     * Returns the transpose of the matrix
+     */
+    public FloatMatrix transpose() {
+        FloatMatrix res = fromSize(cols, rows, layout());
+        res.setAll(transposeView());
+        return res;
+    }
+
+    /**
+     * Creates a new matrix of instance size {@code rows x cols} and layout initialized to all zeros
+     */
+    public FloatMatrix blank() {
+        return fromSize(rows, cols, layout());
+    }
+
+    /**
+     * Returns negation of instance matrix {@code M}
+     * @return -M
+     */
+    public FloatMatrix negate() {
+        return mul(-1);
+    }
+
+    /**
+     * Negates instance matrix {@code M} in place
+     * @return M = -M
+     */
+    public FloatMatrix negateInPlace() {
+        return mul(-1, this);
+    }
+
+    /**
+     * Returns a new matrix with {@code a} added to all elements of instance {@code M}
+     * @return M + a
+     */
+    public FloatMatrix add(float a) {
+        return add(a, blank());
+    }
+
+    /**
+     * Writes instance matrix {@code M} with {@code a} added to all elements into {@code out}
+     * @return out = M + a
+     */
+    public FloatMatrix add(float a, FloatMatrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        if (isFlatWith(out)) {
+            FloatKernels.add(data, offset, 1, a, out.data, out.offset, 1, rows * cols);
+            return out;
+        }
+
+        for (int i = 0; i < rows; i++)
+            FloatKernels.add(data, rowOffset(i), colStride, a, out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance matrix {@code M} in place
+     * @return M = M + a
+     */
+    public FloatMatrix addInPlace(float a) {
+        return add(a, this);
+    }
+
+    /**
+     * Returns the sum of instance matrix {@code M} and {@code A}
+     * @return M + A
+     */
+    public FloatMatrix add(FloatMatrix A) {
+        return add(A, blank());
+    }
+
+    /**
+     * Writes the sum of instance matrix {@code M} and {@code A} into {@code out}
+     * @param out destination matrix, may be {@code M} or {@code A}
+     * @return out = M + A
+     */
+    public FloatMatrix add(FloatMatrix A, FloatMatrix out) {
+        checkSizes(A);
+        checkSizes(out);
+        checkOverlap(out);
+        A.checkOverlap(out);
+
+        if (isFlatWith(A) && isFlatWith(out)) {
+            FloatKernels.add(data, offset, 1, A.data, A.offset, 1, out.data, out.offset, 1, rows * cols);
+            return out;
+        }
+
+        for (int i = 0; i < rows; i++)
+            FloatKernels.add(data, rowOffset(i), colStride, A.data, A.rowOffset(i), A.colStride,
+                             out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Adds {@code A} to instance matrix {@code M} in place
+     * @return M = M + A
+     */
+    public FloatMatrix addInPlace(FloatMatrix A) {
+        return add(A, this);
+    }
+
+    /**
+     * Adds {@code X} scaled by {@code a} to instance matrix {@code M} in place
+     * @return M = a*X + M
+     */
+    public FloatMatrix axpy(float a, FloatMatrix X) {
+        checkSizes(X);
+        X.checkOverlap(this);
+
+        if (isFlatWith(X)) {
+            FloatKernels.axpy(a, X.data, X.offset, 1, data, offset, 1, rows * cols);
+            return this;
+        }
+
+        for (int i = 0; i < rows; i++)
+            FloatKernels.axpy(a, X.data, X.rowOffset(i), X.colStride, data, rowOffset(i), colStride, cols);
+        return this;
+    }
+
+    /**
+     * Returns new matrix with {@code a} subtracted from all elements of instance {@code M}
+     * @return M - a
+     */
+    public FloatMatrix sub(float a) {
+        return add(-a);
+    }
+
+    /**
+     * Subtracts {@code a} from all elements of instance matrix {@code M} in place
+     * @return M = M - a
+     */
+    public FloatMatrix subInPlace(float a) {
+        return add(-a, this);
+    }
+
+    /**
+     * Returns the difference of instance matrix {@code M} and {@code A}
+     * @return M - A
+     */
+    public FloatMatrix sub(FloatMatrix A) {
+        return sub(A, blank());
+    }
+
+    /**
+     * Writes the difference of instance matrix {@code M} and {@code A} into {@code out}
+     * @param out destination matrix, may be {@code M} or {@code A}
+     * @return out = M - A
+     */
+    public FloatMatrix sub(FloatMatrix A, FloatMatrix out) {
+        checkSizes(A);
+        checkSizes(out);
+        checkOverlap(out);
+        A.checkOverlap(out);
+
+        if (isFlatWith(A) && isFlatWith(out)) {
+            FloatKernels.sub(data, offset, 1, A.data, A.offset, 1, out.data, out.offset, 1, rows * cols);
+            return out;
+        }
+
+        for (int i = 0; i < rows; i++)
+            FloatKernels.sub(data, rowOffset(i), colStride, A.data, A.rowOffset(i), A.colStride,
+                             out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Subtracts {@code A} from instance matrix {@code M} in place
+     * @return M = M - A
+     */
+    public FloatMatrix subInPlace(FloatMatrix A) {
+        return sub(A, this);
+    }
+
+    /**
+     * Returns a new matrix of instance {@code M} multiplied with {@code a}
+     * @return M * a
+     */
+    public FloatMatrix mul(float a) {
+        return mul(a, blank());
+    }
+
+    /**
+     * Writes instance matrix {@code M} multiplied with {@code a} into {@code out}
+     * @return out = M * a
+     */
+    public FloatMatrix mul(float a, FloatMatrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        if (isFlatWith(out)) {
+            FloatKernels.mul(data, offset, 1, a, out.data, out.offset, 1, rows * cols);
+            return out;
+        }
+
+        for (int i = 0; i < rows; i++)
+            FloatKernels.mul(data, rowOffset(i), colStride, a, out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Multiplies instance matrix {@code M} with {@code a} in place
+     * @return M = M * a
+     */
+    public FloatMatrix mulInPlace(float a) {
+        return mul(a, this);
+    }
+
+    /**
+     * Returns a new matrix of instance {@code M} divided by {@code a}
+     * @param a a non-zero value
+     * @return M / a
+     */
+    public FloatMatrix div(float a) {
+        return mul(1.0f/a);
+    }
+
+    /**
+     * Divides instance matrix {@code M} by {@code a} in place
+     * @return M = M / a
+     */
+    public FloatMatrix divInPlace(float a) {
+        return mul(1.0f/a, this);
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by instance matrix {@code M}
+     * with float sums
+     * @return M * v
+     */
+    public FloatVector mul(FloatVector v) {
+        return mul(v, FloatVector.blankOfLength(rows), Accumulation.FLOAT);
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by instance matrix {@code M}
+     * with sums kept in the precision of {@code acc}
+     * @return M * v
+     */
+    public FloatVector mul(FloatVector v, Accumulation acc) {
+        return mul(v, FloatVector.blankOfLength(rows), acc);
+    }
+
+    /**
+     * Writes {@code v} multiplied/transformed by instance matrix {@code M} into {@code out}
+     * with sums kept in the precision of {@code acc}
+     * @param out destination vector, must not share storage with {@code v} or the instance
+     * @return out = M * v
+     */
+    public FloatVector mul(FloatVector v, FloatVector out, Accumulation acc) {
+        if (v.length() != cols || out.length() != rows)
+            fail("Vectors have different sizes");
+        if (out.overlaps(v) || overlaps(out))
+            fail("Output vector must not share storage with the operands");
+
+        for (int i = 0; i < rows; i++)
+            out.set(i, (float) FloatKernels.dot(data, rowOffset(i), colStride,
+                                                v.data(), v.offset(), v.stride(), cols, acc));
+        return out;
+    }
+
+    /**
+     * Returns a new double precision vector of {@code v} multiplied/transformed by instance
+     * matrix {@code M}, with double sums
+     * @return M * v
+     */
+    @Override
+    public Vector mul(Vector v) {
+        return mul(v, Vector.blankOfLength(rows));
+    }
+
+    /**
+     * Writes {@code v} multiplied/transformed by instance matrix {@code M} into {@code out},
+     * with double sums
+     * @param out destination vector, must not share storage with {@code v}
+     * @return out = M * v
+     */
+    @Override
+    public Vector mul(Vector v, Vector out) {
+        if (v.length() != cols || out.length() != rows)
+            fail("Vectors have different sizes");
+        if (out.overlaps(v))
+            fail("Output vector must not share storage with the operands");
+
+        double[] x = v.data();
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int j = 0, k = rowOffset(i), l = v.offset(); j < cols; j++, k += colStride, l += v.stride())
+                sum += data[k] * x[l];
+            out.set(i, sum);
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new double precision matrix of the product of the instance {@code M} and
+     * {@code A}, computed by the double {@link org.la.kernel.Gemm} on a converted copy of the instance
+     * @return M x A
+     */
+    @Override
+    public Matrix mul(Matrix A) {
+        if (cols != A.rows())
+            fail("Matrices have different sizes");
+        return toMatrix().mul(A);
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed by the default {@link FloatGemm}
+     * @return M x A
+     */
+    public FloatMatrix mul(FloatMatrix A) {
+        return mul(A, FloatGemm.getDefault());
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A} with
+     * sums kept in the precision of {@code acc}
+     * @return M x A
+     */
+    public FloatMatrix mul(FloatMatrix A, Accumulation acc) {
+        return mul(A, FloatGemm.getDefault().withAccumulation(acc));
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed by the given {@code gemm} kernel
+     * @return M x A
+     */
+    public FloatMatrix mul(FloatMatrix A, FloatGemm gemm) {
+        return mul(A, null, gemm);
+    }
+
+    /**
+     * Writes the product of the instance {@code M} and {@code A} into {@code out}
+     * @param out destination matrix, must not share storage with {@code M} or {@code A}
+     * @return out = M x A
+     */
+    public FloatMatrix mul(FloatMatrix A, FloatMatrix out) {
+        return mul(A, out, FloatGemm.getDefault());
+    }
+
+    /**
+     * Multiplies instance {@code M} by {@code A} into {@code out}, or a new matrix when it is null
+     */
+    private FloatMatrix mul(FloatMatrix A, FloatMatrix out, FloatGemm gemm) {
+        if (cols != A.rows)
+            fail("Matrices have different sizes");
+
+        if (out == null) {
+            out = fromSize(rows, A.cols);
+        } else {
+            if (out.rows != rows || out.cols != A.cols)
+                fail("Output matrix has a different size");
+            if (out.overlaps(this) || out.overlaps(A))
+                fail("Output matrix must not share storage with the operands");
+            out.fill(0);
+        }
+
+        gemm.multiply(rows, A.cols, cols,
+                      data, offset, rowStride, colStride,
+                      A.data, A.offset, A.rowStride, A.colStride,
+                      out.data, out.offset, out.rowStride, out.colStride);
+        return out;
+    }
+
+    /**
+     * Returns a new matrix of {@code f} applied to each element of instance matrix {@code M}
+     * @return f(M)
+     */
+    public FloatMatrix map(DoubleUnaryOperator f) {
+        return map(f, blank());
+    }
+
+    /**
+     * Writes {@code f} applied to each element of instance matrix {@code M} into {@code out}
+     * @return out = f(M)
+     */
+    public FloatMatrix map(DoubleUnaryOperator f, FloatMatrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        for (int i = 0; i < rows; i++) {
+            int k = rowOffset(i), o = out.rowOffset(i);
+
+            for (int j = 0; j < cols; j++, k += colStride, o += out.colStride)
+                out.data[o] = (float) f.applyAsDouble(data[k]);
+        }
+        return out;
+    }
+
+    /**
+     * Applies {@code f} to each element of instance matrix {@code M} in place
+     * @return M = f(M)
+     */
+    public FloatMatrix mapInPlace(DoubleUnaryOperator f) {
+        return map(f, this);
+    }
+
+    /**
+     * Calls {@code action} with the row index, the column index and the value of each element
+     * row by row
+     */
+    public void forEachIndexed(IntIntDoubleConsumer action) {
+        for (int i = 0; i < rows; i++)
+            for (int j = 0, k = rowOffset(i); j < cols; j++, k += colStride)
+                action.accept(i, j, data[k]);
+    }
+
+    /**
+     * Returns a new double precision matrix holding the elements of the instance, with the same layout
+     */
+    public Matrix toMatrix() {
+        Matrix res = Matrix.fromSize(rows, cols, layout());
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0, k = rowOffset(i); j < cols; j++, k += colStride)
+                res.set(i, j, data[k]);
+        return res;
+    }
+
+    /**
+     * Returns a new double precision matrix holding the elements of the instance
+     * @see #toMatrix()
+     */
+    @Override
+    public Matrix toDense() {
+        return toMatrix();
+    }
+
+    /**
+     * Creates a new matrix iterator over the elements row by row. Values set through it
+     * are rounded to float
+     * @see org.la.iterator.MatrixIterator
+     */
+    @Override
+    public MatrixIterator iterator() {
+        return new MatrixIterator() {
+            private int i = 0;
+            private int j = -1;
+            private int k = offset - colStride;
+
+            @Override
+            public int rowIndex() {
+                return i;
+            }
+
+            @Override
+            public int colIndex() {
+                return j;
+            }
+
+            @Override
+            public double get() {
+                return data[k];
+            }
+
+            @Override
+            public void set(double value) {
+                data[k] = (float) value;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cols > 0 && (i < rows - 1 || (i == rows - 1 && j < cols - 1));
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                if (++j == cols) {
+                    j = 0;
+                    i++;
+                    k = rowOffset(i);
+                } else {
+                    k += colStride;
+                }
+                return data[k];
+            }
+        };
+    }
+
+    /**
+     * Converts instance matrix to an array
+     */
+    public float[][] toArray() {
+        float[][] res = new float[rows][];
+
+        for (int i = 0; i < rows; i++)
+            res[i] = rowView(i).toArray();
+        return res;
+    }
+
+    /**
+     * Returns conventional string representation of matrix
+     */
+    @Override
+    public String toString() {
+        return toMatrix().toString();
+    }
+
+    /**
+     * Clones the matrix
+     */
+    @Override
+    public FloatMatrix clone() {
+        FloatMatrix res = blank();
+        res.setAll(this);
+        return res;
+    }
+
+    /**
+     * Checks if matrix is equal to {@code obj} element by element. A tolerance of
+     * {@link Linear#EPS} is below the precision of most floats, so unlike {@link Matrix#equals(Object)}
+     * it compares exactly, which keeps it consistent with {@link #hashCode()}. Use
+     * {@link #equals(FloatMatrix, double)} to compare with a tolerance
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof FloatMatrix)
+            return equals((FloatMatrix) obj, 0);
+        return false;
+    }
+
+    /**
+     * Checks if matrix {@code M} equals {@code A} by given {@code tolerance}
+     * @return M = A
+     */
+    public boolean equals(FloatMatrix A, double tolerance) {
+        if (this == A)
+            return true;
+        if (rows != A.rows || cols != A.cols)
+            return false;
+
+        for (int i = 0; i < rows; i++)
+            if (!rowView(i).equals(A.rowView(i), tolerance))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns a hash code of the sizes and the elements, consistent with {@link #equals(Object)}
+     */
+    @Override
+    public int hashCode() {
+        int h = 31 * rows + cols;
+
+        for (int i = 0; i < rows; i++)
+            h = 31 * h + rowView(i).hashCode();
+        return h;
+    }
+
+    /**
+     * Verifies that the instance and {@code A} have the same sizes
+     */
+    private void checkSizes(FloatMatrix A) {
+        if (rows != A.rows || cols != A.cols)
+            fail("Matrices have different sizes");
+    }
+
+    /**
+     * Makes sure element-wise operations writing into {@code out} do not read elements
+     * of the instance that were already overwritten
+     */
+    private void checkOverlap(FloatMatrix out) {
+        if (out != this && out.overlaps(this)
+                && (out.offset != offset || out.rowStride != rowStride || out.colStride != colStride))
+            fail("Output matrix shares storage with an operand");
+    }
+
+    /**
+     * Checks if instance matrix and {@code A} may share elements of their storage, which is
+     * assumed as soon as their ranges of the array overlap
+     */
+    private boolean overlaps(FloatMatrix A) {
+        if (data != A.data || isEmpty() || A.isEmpty())
+            return false;
+        return lastIndex() >= A.offset && A.lastIndex() >= offset;
+    }
+
+    /**
+     * Checks if instance matrix and {@code v} may share elements of their storage
+     */
+    private boolean overlaps(FloatVector v) {
+        if (data != v.data() || isEmpty() || v.length() == 0)
+            return false;
+
+        int last = v.offset() + (v.length() - 1) * v.stride();
+        return lastIndex() >= v.offset() && last >= offset;
+    }
+
+    /**
+     * Checks if the instance and {@code A} are contiguous with the same layout
+     */
+    private boolean isFlatWith(FloatMatrix A) {
+        return isContiguous() && A.isContiguous() && rowStride == A.rowStride && colStride == A.colStride;
+    }
+
+    /**
+     * Sets all elements of the matrix to {@code value}
+     */
+    private void fill(float value) {
+        if (isContiguous()) {
+            Arrays.fill(data, offset, offset + rows * cols, value);
+            return;
+        }
+
+        for (int i = 0; i < rows; i++)
+            rowView(i).setAll(value);
+    }
+
+    /**
+     * Returns the index of the last element of the matrix in its array
+     */
+    private int lastIndex() {
+        return offset + (rows - 1) * rowStride + (cols - 1) * colStride;
+    }
+
+    /**
+     * Returns the index of the first element of row {@code i} in the array
+     */
+    private int rowOffset(int i) {
+        return offset + i * rowStride;
+    }
+
+    /**
+     * Returns the number of elements of a {@code rows x cols} matrix, making sure it fits in an array
+     */
+    private static int checkedSize(int rows, int cols) {
+        long size = (long) rows * cols;
+
+        if (rows < 0 || cols < 0 || size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid matrix size " + rows + "x" + cols);
+        return (int) size;
+    }
+
+    /**
+     * Fails with an {@code IllegalArgumentException}
+     * @param message error message
+     */
+    private static void fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+}
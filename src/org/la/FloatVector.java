@@ -0,0 +1,612 @@
+package org.la;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.la.factory.FloatVectorFactory;
+import org.la.function.IntDoubleConsumer;
+import org.la.kernel.Accumulation;
+import org.la.kernel.FloatKernels;
+
+/**
+ * Single precision counterpart of {@link Vector}, storing its elements as floats.
+ * It uses half the memory of a {@code Vector} of the same length
+ * <p>Element {@code i} is stored at {@code v[offset + i*stride]}, so a vector can be a view
+ * sharing the storage of a {@link FloatMatrix} or of another vector. Arithmetic runs on the
+ * kernels of {@link org.la.kernel.FloatKernels}. Dot products can keep their sums in double,
+ * see {@link #dot(FloatVector, Accumulation)}</p>
+ * <p>It deliberately covers a subset of {@code Vector}: storage, views, element-wise arithmetic,
+ * dot products, norms, {@code map} and streams. Iteration, {@code zip}/{@code reduce},
+ * {@code min}/{@code max}, normalization and parsing from strings are only on {@code Vector}:
+ * convert with {@link #toVector()} and back with {@link #fromVector(Vector)}</p>
+ */
+public class FloatVector {
+    private float[] v;
+    private int offset;
+    private int stride;
+    private int length;
+
+    /**
+     * @see {@link #FloatVector(float[], boolean)}
+     */
+    public FloatVector(float ... v) {
+        this(v, true);
+    }
+
+    /**
+     * Creates a new vector from given array {@code arr}. If {@code copy} is set to true it copies the array
+     * otherwise it points the internal vector array to the same array
+     */
+    public FloatVector(float[] arr, boolean copy) {
+        this(copy ? Arrays.copyOf(arr, arr.length) : arr, 0, arr.length, 1);
+    }
+
+    /**
+     * Creates a new vector of length {@code length} backed by {@code v} where element {@code i}
+     * is {@code v[offset + i*stride]}. The array is not copied
+     */
+    protected FloatVector(float[] v, int offset, int length, int stride) {
+        this.v = v;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
+    }
+
+    /**
+     * Creates a new vector from given array {@code v} while copying the given array
+     * @see org.la.factory.FloatVectorFactory
+     */
+    public static FloatVector fromArray(float ... v) {
+        return new FloatVector(v, true);
+    }
+
+    /**
+     * Creates a new vector of given length {@code length}
+     * @see org.la.factory.FloatVectorFactory
+     */
+    public static FloatVector fromLength(int length) {
+        return FloatVectorFactory.fromLength(length);
+    }
+
+    /**
+     * Creates a new vector of {@code value}s of length {@code length}
+     * @see org.la.factory.FloatVectorFactory
+     */
+    public static FloatVector fromConstant(int length, float value) {
+        return FloatVectorFactory.fromConstant(length, value);
+    }
+
+    /**
+     * Creates a new vector of the elements of {@code u} rounded to float
+     * @see org.la.factory.FloatVectorFactory
+     */
+    public static FloatVector fromVector(Vector u) {
+        return FloatVectorFactory.fromVector(u);
+    }
+
+    /**
+     * Returns the value at {@code index}
+     */
+    public float get(int index) {
+        return v[offset + index * stride];
+    }
+
+    /**
+     * Sets the value at {@code index} to {@code value}
+     */
+    public void set(int index, float value) {
+        v[offset + index * stride] = value;
+    }
+
+    /**
+     * Sets all values of the vector to {@code value}
+     */
+    public void setAll(float value) {
+        if (stride == 1) {
+            Arrays.fill(v, offset, offset + length, value);
+            return;
+        }
+
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            v[k] = value;
+    }
+
+    /**
+     * Sets all values of the vector to the values of {@code u}
+     * @param u a vector of the same length
+     */
+    public void setAll(FloatVector u) {
+        checkLengths(u);
+
+        if (stride == 1 && u.stride == 1) {
+            System.arraycopy(u.v, u.offset, v, offset, length);
+            return;
+        }
+        checkOutput(u);
+
+        for (int i = 0; i < length; i++)
+            set(i, u.get(i));
+    }
+
+    /**
+     * Returns a view of the elements from {@code from} to {@code to} (exclusive) sharing the
+     * storage of the vector, writes through the view update the vector
+     */
+    public FloatVector slice(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("Invalid slice " + from + ":" + to);
+        return new FloatVector(v, offset + from * stride, to - from, stride);
+    }
+
+    /**
+     * Returns the length of the vector
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Creates a new vector of instance {@code length} initialized to all zeros
+     */
+    public FloatVector blank() {
+        return blankOfLength(length);
+    }
+
+    /**
+     * Creates a new vector of length {@code length} initialized to all zeros
+     */
+    public static FloatVector blankOfLength(int length) {
+        return fromLength(length);
+    }
+
+    /**
+     * Returns negation of instance vector {@code v}
+     * @return -v
+     */
+    public FloatVector negate() {
+        return mul(-1);
+    }
+
+    /**
+     * Negates instance vector {@code v} in place
+     * @return v = -v
+     */
+    public FloatVector negateInPlace() {
+        return mul(-1, this);
+    }
+
+    /**
+     * Returns new vector with {@code a} added to all elements of instance {@code v}
+     * @return v + a
+     */
+    public FloatVector add(float a) {
+        return add(a, blank());
+    }
+
+    /**
+     * Writes instance vector {@code v} with {@code a} added to all elements into {@code out}
+     * @return out = v + a
+     */
+    public FloatVector add(float a, FloatVector out) {
+        checkOutput(out);
+        FloatKernels.add(v, offset, stride, a, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance vector {@code v} in place
+     * @return v = v + a
+     */
+    public FloatVector addInPlace(float a) {
+        return add(a, this);
+    }
+
+    /**
+     * Returns sum of instance vector {@code v} and {@code u}
+     * @return v + u
+     */
+    public FloatVector add(FloatVector u) {
+        return add(u, blank());
+    }
+
+    /**
+     * Writes the sum of instance vector {@code v} and {@code u} into {@code out}
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v + u
+     */
+    public FloatVector add(FloatVector u, FloatVector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+        FloatKernels.add(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Adds {@code u} to instance vector {@code v} in place
+     * @return v = v + u
+     */
+    public FloatVector addInPlace(FloatVector u) {
+        return add(u, this);
+    }
+
+    /**
+     * Adds {@code x} scaled by {@code a} to instance vector {@code v} in place
+     * @return v = a*x + v
+     */
+    public FloatVector axpy(float a, FloatVector x) {
+        checkLengths(x);
+        checkOutput(this, x);
+        FloatKernels.axpy(a, x.v, x.offset, x.stride, v, offset, stride, length);
+        return this;
+    }
+
+    /**
+     * Returns new vector with {@code a} subtracted from all elements of instance {@code v}
+     * @return v - a
+     */
+    public FloatVector sub(float a) {
+        return add(-a);
+    }
+
+    /**
+     * Subtracts {@code a} from all elements of instance vector {@code v} in place
+     * @return v = v - a
+     */
+    public FloatVector subInPlace(float a) {
+        return add(-a, this);
+    }
+
+    /**
+     * Returns difference of instance vector {@code v} and {@code u}
+     * @return v - u
+     */
+    public FloatVector sub(FloatVector u) {
+        return sub(u, blank());
+    }
+
+    /**
+     * Writes the difference of instance vector {@code v} and {@code u} into {@code out}
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v - u
+     */
+    public FloatVector sub(FloatVector u, FloatVector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+        FloatKernels.sub(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Subtracts {@code u} from instance vector {@code v} in place
+     * @return v = v - u
+     */
+    public FloatVector subInPlace(FloatVector u) {
+        return sub(u, this);
+    }
+
+    /**
+     * Returns new vector of instance {@code v} multiplied with {@code a}
+     * @return v * a
+     */
+    public FloatVector mul(float a) {
+        return mul(a, blank());
+    }
+
+    /**
+     * Writes instance vector {@code v} multiplied with {@code a} into {@code out}
+     * @return out = v * a
+     */
+    public FloatVector mul(float a, FloatVector out) {
+        checkOutput(out);
+        FloatKernels.mul(v, offset, stride, a, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Multiplies instance vector {@code v} with {@code a} in place
+     * @return v = v * a
+     */
+    public FloatVector mulInPlace(float a) {
+        return mul(a, this);
+    }
+
+    /**
+     * Returns a new vector of instance {@code v} multiplied by elements of vector {@code u}
+     * @return v * u
+     */
+    public FloatVector mul(FloatVector u) {
+        return mul(u, blank());
+    }
+
+    /**
+     * Writes instance vector {@code v} multiplied by elements of vector {@code u} into {@code out}
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v * u
+     */
+    public FloatVector mul(FloatVector u, FloatVector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+        FloatKernels.mul(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Multiplies instance vector {@code v} by elements of vector {@code u} in place
+     * @return v = v * u
+     */
+    public FloatVector mulInPlace(FloatVector u) {
+        return mul(u, this);
+    }
+
+    /**
+     * Returns new vector of instance {@code v} divided by {@code a}
+     * @param a a non zero value
+     * @return v / a
+     */
+    public FloatVector div(float a) {
+        return div(a, blank());
+    }
+
+    /**
+     * Writes instance vector {@code v} divided by {@code a} into {@code out}
+     * @param a a non zero value
+     * @return out = v / a
+     */
+    public FloatVector div(float a, FloatVector out) {
+        if (a == 0)
+            throw new ArithmeticException("Can't divide by zero");
+        return mul(1.0f/a, out);
+    }
+
+    /**
+     * Divides instance vector {@code v} by {@code a} in place
+     * @return v = v / a
+     */
+    public FloatVector divInPlace(float a) {
+        return div(a, this);
+    }
+
+    /**
+     * Calculates the dot product of instance vector {@code v} and {@code u} with float sums
+     * @return v.u
+     */
+    public float dot(FloatVector u) {
+        return (float) dot(u, Accumulation.FLOAT);
+    }
+
+    /**
+     * Calculates the dot product of instance vector {@code v} and {@code u} with sums kept
+     * in the precision of {@code acc}
+     * @return v.u
+     */
+    public double dot(FloatVector u, Accumulation acc) {
+        checkLengths(u);
+        return FloatKernels.dot(v, offset, stride, u.v, u.offset, u.stride, length, acc);
+    }
+
+    /**
+     * Calculates the euclidean norm of the instance vector, summing the squares in double
+     */
+    public float norm() {
+        return (float) Math.sqrt(dot(this, Accumulation.DOUBLE));
+    }
+
+    /**
+     * Calculates the manhattan norm of the instance vector
+     */
+    public float manhattanNorm() {
+        return FloatKernels.sumAbs(v, offset, stride, length);
+    }
+
+    /**
+     * Returns a new vector of {@code f} applied to each element of instance vector {@code v}
+     * @return f(v)
+     */
+    public FloatVector map(DoubleUnaryOperator f) {
+        return map(f, blank());
+    }
+
+    /**
+     * Writes {@code f} applied to each element of instance vector {@code v} into {@code out}
+     * @return out = f(v)
+     */
+    public FloatVector map(DoubleUnaryOperator f, FloatVector out) {
+        checkOutput(out);
+
+        for (int i = 0, k = offset, o = out.offset; i < length; i++, k += stride, o += out.stride)
+            out.v[o] = (float) f.applyAsDouble(v[k]);
+        return out;
+    }
+
+    /**
+     * Applies {@code f} to each element of instance vector {@code v} in place
+     * @return v = f(v)
+     */
+    public FloatVector mapInPlace(DoubleUnaryOperator f) {
+        return map(f, this);
+    }
+
+    /**
+     * Calls {@code action} with the index and the value of each element, in order
+     */
+    public void forEachIndexed(IntDoubleConsumer action) {
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            action.accept(i, v[k]);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the vector widened to double
+     */
+    public DoubleStream stream() {
+        return IntStream.range(0, length).mapToDouble(this::get);
+    }
+
+    /**
+     * Converts instance vector to an array
+     */
+    public float[] toArray() {
+        float[] res = new float[length];
+
+        if (stride == 1) {
+            System.arraycopy(v, offset, res, 0, length);
+        } else {
+            for (int i = 0, k = offset; i < length; i++, k += stride)
+                res[i] = v[k];
+        }
+        return res;
+    }
+
+    /**
+     * Returns a new double precision vector holding the elements of the instance
+     */
+    public Vector toVector() {
+        double[] res = new double[length];
+
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            res[i] = v[k];
+        return new Vector(res, false);
+    }
+
+    /**
+     * Returns conventional string representation of vector
+     */
+    @Override
+    public String toString() {
+        return toVector().toString();
+    }
+
+    /**
+     * Checks if instance vector is equal to {@code obj} element by element. A tolerance of
+     * {@link Linear#EPS} is below the precision of most floats, so unlike {@link Vector#equals(Object)}
+     * it compares exactly, which keeps it consistent with {@link #hashCode()}. Use
+     * {@link #equals(FloatVector, double)} to compare with a tolerance
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof FloatVector)
+            return equals((FloatVector) obj, 0);
+        return false;
+    }
+
+    /**
+     * Checks if instance vector {@code v} equals {@code u} by given {@code tolerance}
+     * @return v = u
+     */
+    public boolean equals(FloatVector u, double tolerance) {
+        if (this == u)
+            return true;
+        if (length != u.length)
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            float a = get(i), b = u.get(i);
+            if (a != b && !(Math.abs(a - b) < tolerance))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code of the elements, consistent with {@link #equals(Object)}
+     */
+    @Override
+    public int hashCode() {
+        int h = 1;
+
+        for (int i = 0; i < length; i++) {
+            float a = get(i);
+            h = 31 * h + (a == 0 ? 0 : Float.floatToIntBits(a));
+        }
+        return h;
+    }
+
+    /**
+     * Clones the instance vector
+     */
+    @Override
+    public FloatVector clone() {
+        return new FloatVector(toArray(), false);
+    }
+
+    /**
+     * Checks if instance vector and {@code u} are views of the same elements of the same array
+     */
+    public boolean sameView(FloatVector u) {
+        return v == u.v && offset == u.offset && (stride == u.stride || length <= 1);
+    }
+
+    /**
+     * Checks if instance vector and {@code u} share any element of their storage. Views with
+     * different strides are assumed to overlap as soon as their ranges of the array do
+     */
+    public boolean overlaps(FloatVector u) {
+        if (v != u.v || length == 0 || u.length == 0)
+            return false;
+
+        int last = offset + (length - 1) * stride;
+        int uLast = u.offset + (u.length - 1) * u.stride;
+        if (last < u.offset || uLast < offset)
+            return false;
+
+        return stride != u.stride || (offset - u.offset) % stride == 0;
+    }
+
+    /**
+     * Returns the backing array of the vector, used by the kernels of the package
+     */
+    float[] data() {
+        return v;
+    }
+
+    /**
+     * Returns the index of the first element in the backing array
+     */
+    int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the distance between two consecutive elements in the backing array
+     */
+    int stride() {
+        return stride;
+    }
+
+    /**
+     * Makes sure instance vector and {@code u} have same length
+     */
+    private void checkLengths(FloatVector u) {
+        if (length != u.length)
+            fail("Vectors have different sizes");
+    }
+
+    /**
+     * Makes sure {@code out} can hold the result of an element-wise operation on the instance
+     * and {@code u}
+     */
+    private void checkOutput(FloatVector out, FloatVector u) {
+        checkOutput(out);
+        if (!out.sameView(u) && out.overlaps(u))
+            fail("Output vector partially overlaps an operand");
+    }
+
+    /**
+     * Makes sure {@code out} can hold the result of an element-wise operation on the instance
+     */
+    private void checkOutput(FloatVector out) {
+        if (length != out.length)
+            fail("Output vector has a different size");
+        if (!out.sameView(this) && out.overlaps(this))
+            fail("Output vector partially overlaps an operand");
+    }
+
+    /**
+     * Fails with an {@code IllegalArgumentException}
+     * @param message error message
+     */
+    private void fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+}
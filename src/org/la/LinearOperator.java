@@ -0,0 +1,28 @@
+package org.la;
+
+/**
+ * A linear map from vectors of length {@code cols()} to vectors of length {@code rows()},
+ * known only through its product with a vector
+ * <p>Every {@link RealMatrix} is a linear operator, and matrix-free operators can be
+ * written by implementing this interface directly</p>
+ * @see org.la.solver.IterativeSolver
+ */
+public interface LinearOperator {
+    /**
+     * Returns the length of the vectors produced by the operator
+     */
+    int rows();
+
+    /**
+     * Returns the length of the vectors accepted by the operator
+     */
+    int cols();
+
+    /**
+     * Writes {@code v} transformed by the operator into {@code out}
+     * @param v a vector of length {@code cols()}
+     * @param out destination vector of length {@code rows()}, must not share storage with {@code v}
+     * @return out
+     */
+    Vector mul(Vector v, Vector out);
+}
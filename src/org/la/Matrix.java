@@ -1,16 +1,57 @@
 package org.la;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
-
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+import org.la.decomposition.EigenDecomposition;
+import org.la.decomposition.LUDecomposition;
+import org.la.decomposition.QRDecomposition;
+import org.la.decomposition.SVDDecomposition;
+import org.la.expression.MatrixExpression;
 import org.la.factory.MatrixFactory;
+import org.la.function.IntIntDoubleConsumer;
 import org.la.iterator.MatrixIterator;
+import org.la.iterator.StridedSpliterator;
 import org.la.iterator.VectorIterator;
+import org.la.kernel.Gemm;
+import org.la.kernel.Strassen;
+import org.la.kernel.Transpose;
+import org.la.kernel.VectorKernels;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
 
 /**
- * A matrix is represented by a 2D array of real numbers. It has a fixed size
+ * A matrix is represented by a flat array of real numbers. It has a fixed size
+ * <p>The element at row {@code i} and col {@code j} is stored at
+ * {@code data[offset + i*rowStride + j*colStride]}, which allows the same storage
+ * to be laid out either row by row or column by column</p>
  */
-public class Matrix implements Iterable<Double> {
-    private double[][] mat;
+public class Matrix implements RealMatrix {
+    /**
+     * Order in which the elements of a matrix are laid out in its flat storage
+     */
+    public enum Layout {
+        /** Elements of a row are adjacent in memory */
+        ROW_MAJOR,
+        /** Elements of a column are adjacent in memory */
+        COLUMN_MAJOR
+    }
+
+    /** Pools of {@link #mul(Matrix, int)} by parallelism, created on first use and then reused */
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private double[] data;
+    private int offset;
+    private int rowStride;
+    private int colStride;
     private int rows;
     private int cols;
 
@@ -22,16 +63,57 @@ public class Matrix implements Iterable<Double> {
     }
 
     /**
-     * Creates a new matrix from given array {@code arr}. If {@code copy} is set to true it copies the array
-     * otherwise it points the internal matrix array to the same array. It is true by default
+     * Creates a new matrix from given array {@code arr}. The rows of {@code arr} are always
+     * copied into a single row-major array, so {@code copy} only exists for compatibility
      */
     public Matrix(double[][] arr, boolean copy) {
-        if (!copy)
-            this.mat = arr;
-        else
-            mat = ArrayUtils.deepCopyOf(arr);
-        this.rows = arr.length;
-        this.cols = arr[0].length;
+        this(arr.length, arr[0].length, Layout.ROW_MAJOR);
+
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(arr[i], 0, data, i * cols, cols);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros
+     * and laid out in row-major order
+     */
+    public Matrix(int rows, int cols) {
+        this(rows, cols, Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros
+     * and laid out according to {@code layout}
+     */
+    public Matrix(int rows, int cols, Layout layout) {
+        this(rows, cols, new double[checkedSize(rows, cols)], layout);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} backed by {@code data} which is
+     * laid out according to {@code layout}. The array is not copied
+     */
+    public Matrix(int rows, int cols, double[] data, Layout layout) {
+        this(data, 0, rows, cols,
+             layout == Layout.ROW_MAJOR ? cols : 1,
+             layout == Layout.ROW_MAJOR ? 1 : rows);
+
+        if (data.length < (long) rows * cols)
+            fail("Array is too short for a " + rows + "x" + cols + " matrix");
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} backed by {@code data} where
+     * the element at row {@code i} and col {@code j} is {@code data[offset + i*rowStride + j*colStride]}.
+     * The array is not copied
+     */
+    protected Matrix(double[] data, int offset, int rows, int cols, int rowStride, int colStride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
     }
     /**
 	 * Parses matrix from string of the format {@code [1 2 3; 4 5 6; 7 8 9]}
@@ -77,6 +159,14 @@ public class Matrix implements Iterable<Double> {
         return MatrixFactory.fromSize(rows, cols);
     }
 
+    /**
+     * Creates a new matrix of given size {@code rows x cols} laid out according to {@code layout}
+     * @see org.la.factory.MatrixFactory
+     */
+    public static Matrix fromSize(int rows, int cols, Layout layout) {
+        return MatrixFactory.fromSize(rows, cols, layout);
+    }
+
     /**
      * Creates a new matrix of given size {@code size x size}
      * @see org.la.factory.MatrixFactory
@@ -125,30 +215,32 @@ public class Matrix implements Iterable<Double> {
         return cols;
     }
 
+    /**
+     * Returns the layout of the storage of the matrix
+     */
+    public Layout layout() {
+        return (rowStride == 1 && colStride != 1) ? Layout.COLUMN_MAJOR : Layout.ROW_MAJOR;
+    }
+
     /**
      * Returns value at row {@code i} and col {@code j}
      */
     public double get(int i, int j) {
-        return mat[i][j];
+        return data[offset + i * rowStride + j * colStride];
     }
 
     /**
      * Sets the value at row {@code i} and col {@code j} to {@code value}
      */
     public void set(int i, int j, double value) {
-        mat[i][j] = value;
+        data[offset + i * rowStride + j * colStride] = value;
     }
 
     /**
      * Sets all values at {@code row} to {@code value}
      */
     public void setRow(int row, int value) {
-        VectorIterator it = rowIterator(row);
-
-        while (it.hasNext()) {
-            it.next();
-            it.set(value);
-        }
+        rowView(row).setAll(value);
     }
 
     /**
@@ -158,20 +250,14 @@ public class Matrix implements Iterable<Double> {
         if (cols != v.length())
             fail("Invalid row length");
 
-        for (int i = 0; i < v.length(); i++)
-            set(row, i, v.get(i));
+        rowView(row).setAll(v);
     }
 
     /**
      * Sets all values at {@code col} to {@code value}
      */
     public void setCol(int col, int value) {
-        VectorIterator it = colIterator(col);
-
-        while (it.hasNext()) {
-            it.next();
-            it.set(value);
-        }
+        colView(col).setAll(value);
     }
 
     /**
@@ -181,15 +267,35 @@ public class Matrix implements Iterable<Double> {
         if (rows != v.length())
             fail("Invalid column length");
 
-        for (int i = 0; i < v.length(); i++) 
-            set(i, col, v.get(i));
+        colView(col).setAll(v);
+    }
+
+    /**
+     * Sets the values of the matrix to the values of {@code A}
+     * @param A a matrix of the same size
+     */
+    public void setAll(Matrix A) {
+        checkSizes(A);
+
+        if (isFlatWith(A)) {
+            System.arraycopy(A.data, A.offset, data, offset, rows * cols);
+            return;
+        }
+        A.checkOverlap(this);
+
+        for (int i = 0; i < rows; i++)
+            rowView(i).setAll(A.rowView(i));
     }
 
     /**
      * Converts instance matrix to an array
      */
     public double[][] toArray() {
-        return ArrayUtils.deepCopyOf(mat);
+        double[][] res = new double[rows][];
+
+        for (int i = 0; i < rows; i++)
+            res[i] = rowView(i).toArray();
+        return res;
     }
 
     /**
@@ -199,6 +305,14 @@ public class Matrix implements Iterable<Double> {
         return rows == cols;
     }
 
+    /**
+     * Returns the instance itself, which is already dense
+     */
+    @Override
+    public Matrix toDense() {
+        return this;
+    }
+
     /**
      * Checks if the instance matrix is empty
      */
@@ -208,24 +322,100 @@ public class Matrix implements Iterable<Double> {
 
     /**
      * Returns a {@code Vector} of elements of at row {@code i}
+     * @see {@link #rowView(int)}
      */
     public Vector getRow(int i) {
-        return new Vector(mat[i]);
+        return rowView(i).clone();
     }
 
     /**
      * Returns a {@code Vector} of elements of at col {@code j}
+     * @see {@link #colView(int)}
      */
     public Vector getCol(int j) {
-        VectorIterator it = colIterator(j);
-        Vector v = Vector.blankOfLength(rows);
+        return colView(j).clone();
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i  = it.index();
-            v.set(i, x);
-        }
-        return v;
+    /**
+     * Returns a view of row {@code i} sharing the storage of the matrix, writes through
+     * the view update the matrix
+     */
+    public Vector rowView(int i) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        return new Vector(data, rowOffset(i), cols, colStride);
+    }
+
+    /**
+     * Returns a view of col {@code j} sharing the storage of the matrix, writes through
+     * the view update the matrix
+     */
+    public Vector colView(int j) {
+        if (j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid column index");
+        return new Vector(data, offset + j * colStride, rows, rowStride);
+    }
+
+    /**
+     * Returns a view of the {@code r x c} block starting at row {@code r0} and col {@code c0}
+     * sharing the storage of the matrix, writes through the view update the matrix
+     */
+    public Matrix block(int r0, int c0, int r, int c) {
+        if (r0 < 0 || c0 < 0 || r < 0 || c < 0 || r0 + r > rows || c0 + c > cols)
+            throw new IndexOutOfBoundsException("Invalid block " + r + "x" + c + " at " + r0 + "," + c0);
+        return new Matrix(data, offset + r0 * rowStride + c0 * colStride, r, c, rowStride, colStride);
+    }
+
+    /**
+     * Returns the elements of the contiguous matrix as a view in storage order, so row by row
+     * for a row-major matrix and column by column for a column-major one
+     * @see {@link #isContiguous()}
+     */
+    public Vector flatView() {
+        if (!isContiguous())
+            fail("Matrix is not contiguous");
+        return new Vector(data, offset, rows * cols, 1);
+    }
+
+    /**
+     * Returns a lazy expression of the matrix, whose element-wise operations are evaluated
+     * in a single fused pass
+     * @see org.la.expression.MatrixExpression
+     */
+    public MatrixExpression lazy() {
+        return MatrixExpression.of(this);
+    }
+
+    /**
+     * Returns a view of the matrix without row {@code i}, sharing its storage
+     * @see org.la.MinorView
+     */
+    public MinorView withoutRow(int i) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        return new MinorView(this, i, -1);
+    }
+
+    /**
+     * Returns a view of the matrix without col {@code j}, sharing its storage
+     * @see org.la.MinorView
+     */
+    public MinorView withoutCol(int j) {
+        if (j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid column index");
+        return new MinorView(this, -1, j);
+    }
+
+    /**
+     * Returns a view of the matrix without row {@code i} and col {@code j}, sharing its storage
+     * @see org.la.MinorView
+     */
+    public MinorView without(int i, int j) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        if (j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid column index");
+        return new MinorView(this, i, j);
     }
 
     /**
@@ -237,13 +427,30 @@ public class Matrix implements Iterable<Double> {
         return mul(-1);
     }
 
+    /**
+     * Writes the negation of instance matrix {@code M} into {@code out}
+     * @param out destination matrix
+     * @return out = -M
+     */
+    public Matrix negate(Matrix out) {
+        return mul(-1, out);
+    }
+
+    /**
+     * Negates instance matrix {@code M} in place
+     * @return M = -M
+     */
+    public Matrix negateInPlace() {
+        return mul(-1, this);
+    }
+
     /**
      * Creates a new matrix of instance size initalized to all zeros
      * @return blank matrix
      * @see {@link #blankOfSize(int, int)}
      */
     public Matrix blank() {
-        return blankOfSize(rows, cols);
+        return fromSize(rows, cols, layout());
     }
 
     /**
@@ -261,16 +468,37 @@ public class Matrix implements Iterable<Double> {
      * @return m + a
      */
     public Matrix add(double a) {
-        MatrixIterator it = iterator();
-        Matrix res = blank();
+        return add(a, blank());
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.rowIndex();
-            int j = it.colIndex();
-            res.set(i, j, x + a);
+    /**
+     * Writes instance matrix {@code M} with {@code a} added to all elements into {@code out}
+     * @param a a value
+     * @param out destination matrix
+     * @return out = M + a
+     */
+    public Matrix add(double a, Matrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        if (isFlatWith(out)) {
+            VectorKernels.add(data, offset, a, out.data, out.offset, rows * cols);
+            return out;
         }
-        return res;
+
+        for (int i = 0; i < rows; i++)
+            VectorKernels.add(data, rowOffset(i), colStride, a,
+                              out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance matrix {@code M} in place
+     * @param a a value
+     * @return M = M + a
+     */
+    public Matrix addInPlace(double a) {
+        return add(a, this);
     }
 
     /**
@@ -279,18 +507,59 @@ public class Matrix implements Iterable<Double> {
      * @return M + A
      */
     public Matrix add(Matrix A) {
+        return add(A, blank());
+    }
+
+    /**
+     * Writes the sum of instance matrix {@code M} and {@code A} into {@code out}
+     * @param A a matrix
+     * @param out destination matrix, may be {@code M} or {@code A}
+     * @return out = M + A
+     */
+    public Matrix add(Matrix A, Matrix out) {
         checkSizes(A);
+        checkSizes(out);
+        checkOverlap(out);
+        A.checkOverlap(out);
 
-        MatrixIterator it = iterator();
-        Matrix res = blank();
+        if (isFlatWith(A) && isFlatWith(out)) {
+            VectorKernels.add(data, offset, A.data, A.offset, out.data, out.offset, rows * cols);
+            return out;
+        }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.rowIndex();
-            int j = it.colIndex();
-            res.set(i, j, x + A.get(i, j));
+        for (int i = 0; i < rows; i++)
+            VectorKernels.add(data, rowOffset(i), colStride, A.data, A.rowOffset(i), A.colStride,
+                              out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Adds {@code A} to instance matrix {@code M} in place
+     * @param A a matrix
+     * @return M = M + A
+     */
+    public Matrix addInPlace(Matrix A) {
+        return add(A, this);
+    }
+
+    /**
+     * Adds {@code X} scaled by {@code a} to instance matrix {@code M} in place
+     * @param a a value
+     * @param X a matrix
+     * @return M = a*X + M
+     */
+    public Matrix axpy(double a, Matrix X) {
+        checkSizes(X);
+        X.checkOverlap(this);
+
+        if (isFlatWith(X)) {
+            VectorKernels.axpy(a, X.data, X.offset, data, offset, rows * cols);
+            return this;
         }
-        return res;
+
+        for (int i = 0; i < rows; i++)
+            VectorKernels.axpy(a, X.data, X.rowOffset(i), X.colStride, data, rowOffset(i), colStride, cols);
+        return this;
     }
 
     /**
@@ -303,15 +572,64 @@ public class Matrix implements Iterable<Double> {
         return add(-a);
     }
 
+    /**
+     * Writes instance matrix {@code M} with {@code a} subtracted from all elements into {@code out}
+     * @param a a value
+     * @param out destination matrix
+     * @return out = M - a
+     */
+    public Matrix sub(double a, Matrix out) {
+        return add(-a, out);
+    }
+
+    /**
+     * Subtracts {@code a} from all elements of instance matrix {@code M} in place
+     * @param a a value
+     * @return M = M - a
+     */
+    public Matrix subInPlace(double a) {
+        return add(-a, this);
+    }
+
     /**
      * Returns difference of instance matrix {@code M} and {@code A}
      * @param A a matrix
      * @return M - A
-     * @see {@link #add(Matrix)}
-     * @see {@link #negate()}
      */
     public Matrix sub(Matrix A) {
-        return add(A.negate());
+        return sub(A, blank());
+    }
+
+    /**
+     * Writes the difference of instance matrix {@code M} and {@code A} into {@code out}
+     * @param A a matrix
+     * @param out destination matrix, may be {@code M} or {@code A}
+     * @return out = M - A
+     */
+    public Matrix sub(Matrix A, Matrix out) {
+        checkSizes(A);
+        checkSizes(out);
+        checkOverlap(out);
+        A.checkOverlap(out);
+
+        if (isFlatWith(A) && isFlatWith(out)) {
+            VectorKernels.sub(data, offset, A.data, A.offset, out.data, out.offset, rows * cols);
+            return out;
+        }
+
+        for (int i = 0; i < rows; i++)
+            VectorKernels.sub(data, rowOffset(i), colStride, A.data, A.rowOffset(i), A.colStride,
+                              out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Subtracts {@code A} from instance matrix {@code M} in place
+     * @param A a matrix
+     * @return M = M - A
+     */
+    public Matrix subInPlace(Matrix A) {
+        return sub(A, this);
     }
 
     /**
@@ -320,16 +638,37 @@ public class Matrix implements Iterable<Double> {
      * @return M x a
      */
     public Matrix mul(double a) {
-        MatrixIterator it = iterator();
-        Matrix res = blank();
+        return mul(a, blank());
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.rowIndex();
-            int j = it.colIndex();
-            res.set(i, j, x * a);
+    /**
+     * Writes instance matrix {@code M} multiplied by {@code a} into {@code out}
+     * @param a a value
+     * @param out destination matrix
+     * @return out = M x a
+     */
+    public Matrix mul(double a, Matrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        if (isFlatWith(out)) {
+            VectorKernels.mul(data, offset, a, out.data, out.offset, rows * cols);
+            return out;
         }
-        return res;
+
+        for (int i = 0; i < rows; i++)
+            VectorKernels.mul(data, rowOffset(i), colStride, a,
+                              out.data, out.rowOffset(i), out.colStride, cols);
+        return out;
+    }
+
+    /**
+     * Multiplies instance matrix {@code M} by {@code a} in place
+     * @param a a value
+     * @return M = M x a
+     */
+    public Matrix mulInPlace(double a) {
+        return mul(a, this);
     }
 
     /**
@@ -338,45 +677,209 @@ public class Matrix implements Iterable<Double> {
      * @return M * v
      */
     public Vector mul(Vector v) {
-        Vector res = Vector.blankOfLength(rows);
-        VectorIterator it = res.iterator();
+        return mul(v, Vector.blankOfLength(rows));
+    }
 
-        if (!isSquare())
-            // TODO non square matrices?
-            throw new IllegalArgumentException("Linear transformation matrix must be square for now");
+    /**
+     * Writes {@code v} multiplied/transformed by instance matrix {@code M} into {@code out}
+     * @param v a vector
+     * @param out destination vector, must not share storage with {@code v} or the instance
+     * @return out = M * v
+     */
+    public Vector mul(Vector v, Vector out) {
+        if (v.length() != cols || out.length() != rows)
+            fail("Vectors have different sizes");
+
+        if (out.overlaps(v) || overlaps(out))
+            fail("Output vector must not share storage with the operands");
+
+        Probe probe = Probe.begin(Operation.MATRIX_VECTOR_MUL, rows, cols, 1);
+        try {
+            if (colStride == 1 || rowStride != 1) {
+                for (int i = 0; i < rows; i++)
+                    out.set(i, VectorKernels.dot(data, rowOffset(i), colStride, v.data(), v.offset(), v.stride(), cols));
+                return out;
+            }
 
-        while (it.hasNext()) {
-            it.next();
-            it.set(v.dot(getRow(it.index())));
+            out.setAll(0);
+            for (int j = 0; j < cols; j++)
+                VectorKernels.axpy(v.get(j), data, offset + j * colStride, 1, out.data(), out.offset(), out.stride(), rows);
+            return out;
+        } finally {
+            Probe.end(probe);
         }
-        return res;
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by the transpose of instance matrix {@code M}
+     * without copying the transpose
+     * @param v a vector of length {@code rows}
+     * @return transpose(M) * v
+     */
+    public Vector transposeMul(Vector v) {
+        return transposeView().mul(v);
+    }
+
+    /**
+     * Writes {@code v} multiplied/transformed by the transpose of instance matrix {@code M} into {@code out}
+     * @param v a vector of length {@code rows}
+     * @param out destination vector, must not share storage with {@code v} or the instance
+     * @return out = transpose(M) * v
+     */
+    public Vector transposeMul(Vector v, Vector out) {
+        return transposeView().mul(v, out);
+    }
+
+    /**
+     * Returns a new matrix of the product of the transpose of instance {@code M} and {@code A}.
+     * The multiplication kernel reads {@code M} through its strides, so the transpose is not copied
+     * @param A a matrix with {@code rows} rows
+     * @return transpose(M) x A
+     */
+    public Matrix transposeMul(Matrix A) {
+        return transposeView().mul(A);
+    }
+
+    /**
+     * Returns a new matrix of the product of instance {@code M} and the transpose of {@code A}.
+     * The multiplication kernel reads {@code A} through its strides, so the transpose is not copied
+     * @param A a matrix with {@code cols} columns
+     * @return M x transpose(A)
+     */
+    public Matrix mulTranspose(Matrix A) {
+        return mul(A.transposeView());
     }
 
     /**
      * Returns a new matrix of the product of the instance {@code M} and {@code A}
      * @param A a matrix
      * @return M x A
+     * @see org.la.kernel.Gemm
+     * @see org.la.kernel.Strassen#setDefault(Strassen)
      */
     public Matrix mul(Matrix A) {
-        int rows = A.rows();
-        int cols = A.cols();
+        return mul(A, null, Gemm.getDefault(), bySize(A), null);
+    }
 
-        if (this.cols != rows) {
+    /**
+     * Writes the product of the instance {@code M} and {@code A} into {@code out}
+     * @param A a matrix
+     * @param out destination matrix, must not share storage with {@code M} or {@code A}
+     * @return out = M x A
+     */
+    public Matrix mul(Matrix A, Matrix out) {
+        return mul(A, out, Gemm.getDefault(), bySize(A), null);
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed by the given {@code gemm} kernel
+     * @param A a matrix
+     * @param gemm multiplication kernel with its block sizes
+     * @return M x A
+     */
+    public Matrix mul(Matrix A, Gemm gemm) {
+        return mul(A, null, gemm, null, null);
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed by the Strassen-Winograd kernel {@code strassen}, whatever the size
+     * @param A a matrix
+     * @param strassen multiplication kernel with its cutoff
+     * @return M x A
+     */
+    public Matrix mul(Matrix A, Strassen strassen) {
+        if (strassen == null)
+            fail("Kernel must not be null");
+
+        return mul(A, null, strassen.gemm(), strassen, null);
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed in parallel on {@code pool}. The result is bit-identical to {@link #mul(Matrix)}
+     * and products below the parallel threshold of the kernel stay on the calling thread
+     * @param A a matrix
+     * @param pool pool running the blocks of the product
+     * @return M x A
+     */
+    public Matrix mul(Matrix A, ForkJoinPool pool) {
+        return mul(A, null, Gemm.getDefault(), bySize(A), pool);
+    }
+
+    /**
+     * Returns a new matrix of the product of the instance {@code M} and {@code A}
+     * computed in parallel by {@code parallelism} threads. The common pool is used when
+     * it has the requested parallelism. Otherwise the product runs on a pool of that
+     * parallelism which is created by the first call and shared by all the later ones,
+     * so no threads are started per product. Its workers are daemon threads and stay idle
+     * between products; callers managing their own threads should use
+     * {@link #mul(Matrix, ForkJoinPool)}
+     * @param A a matrix
+     * @param parallelism number of threads
+     * @return M x A
+     * @see {@link #mul(Matrix, ForkJoinPool)}
+     */
+    public Matrix mul(Matrix A, int parallelism) {
+        if (parallelism < 1)
+            fail("Parallelism must be positive");
+
+        if (parallelism == 1 || parallelism == ForkJoinPool.getCommonPoolParallelism())
+            return mul(A, parallelism == 1 ? null : ForkJoinPool.commonPool());
+
+        return mul(A, POOLS.computeIfAbsent(parallelism, ForkJoinPool::new));
+    }
+
+    /**
+     * Multiplies instance {@code M} by {@code A} into {@code out}, or a new matrix when it is null,
+     * with {@code gemm} on {@code pool} if it is not null, or with {@code strassen} if it is not null
+     */
+    private Matrix mul(Matrix A, Matrix out, Gemm gemm, Strassen strassen, ForkJoinPool pool) {
+        if (cols != A.rows()) {
             fail("Matrices have different sizes");
         }
 
-        double[][] mult = new double[this.rows][cols];
+        Probe probe = Probe.begin(Operation.MATRIX_MUL, rows, A.cols, cols);
+        try {
+            if (out == null) {
+                out = fromSize(rows, A.cols());
+            } else {
+                if (out.rows() != rows || out.cols() != A.cols())
+                    fail("Output matrix has a different size");
+                if (out.overlaps(this) || out.overlaps(A))
+                    fail("Output matrix must not share storage with the operands");
+                out.fill(0);
+            }
 
-        for (int k = 0; k < this.cols; k++) {
-            for (int i = 0; i < this.rows; i++) {
-                for (int j = 0; j < cols; j++) {
-                    mult[i][j] += get(i, k) * A.get(k, j);
-                }
+            if (strassen != null) {
+                strassen.multiply(rows, A.cols, cols,
+                                  data, offset, rowStride, colStride,
+                                  A.data, A.offset, A.rowStride, A.colStride,
+                                  out.data, out.offset, out.rowStride, out.colStride,
+                                  pool);
+                return out;
             }
+
+            gemm.multiply(rows, A.cols, cols,
+                          data, offset, rowStride, colStride,
+                          A.data, A.offset, A.rowStride, A.colStride,
+                          out.data, out.offset, out.rowStride, out.colStride,
+                          pool);
+            return out;
+        } finally {
+            Probe.end(probe);
         }
-        return fromArray(mult);
     } 
 
+    /**
+     * Returns the default Strassen-Winograd kernel if the product by {@code A} is large enough for it
+     */
+    private Strassen bySize(Matrix A) {
+        Strassen strassen = Strassen.getDefault();
+        return strassen != null && strassen.isLarge(rows, A.cols, cols) ? strassen : null;
+    }
+
     /**
      * Returns a new matrix of instance {@code M} divided by {@code a}
      * @param a a non-zero value
@@ -387,20 +890,72 @@ public class Matrix implements Iterable<Double> {
         return mul(1.0/a);
     }
 
+    /**
+     * Writes instance matrix {@code M} divided by {@code a} into {@code out}
+     * @param a a non-zero value
+     * @param out destination matrix
+     * @return out = M / a
+     */
+    public Matrix div(double a, Matrix out) {
+        return mul(1.0/a, out);
+    }
+
+    /**
+     * Divides instance matrix {@code M} by {@code a} in place
+     * @param a a non-zero value
+     * @return M = M / a
+     */
+    public Matrix divInPlace(double a) {
+        return mul(1.0/a, this);
+    }
+
     /**
      * Returns the transpose of the matrix
+     * @see {@link #transposeView()}
      */
     public Matrix transpose() {
-        MatrixIterator it = iterator();
-        Matrix res = blankOfSize(cols, rows);
+        return transpose(fromSize(cols, rows, layout()));
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.rowIndex();
-            int j = it.colIndex();
-            res.set(j, i, x);
+    /**
+     * Returns the transpose of the matrix as a view sharing its storage, built in constant time
+     * by swapping the strides. Writes through the view update the matrix
+     */
+    public Matrix transposeView() {
+        return new Matrix(data, offset, cols, rows, colStride, rowStride);
+    }
+
+    /**
+     * Transposes the square matrix in place
+     * @return M = transpose
+     */
+    public Matrix transposeInPlace() {
+        if (!isSquare())
+            fail("Cannot transpose non-square matrix in place");
+
+        Transpose.transposeInPlace(rows, data, offset, rowStride, colStride);
+        return this;
+    }
+
+    /**
+     * Writes the transpose of the matrix into {@code out}
+     * @param out destination matrix of size {@code cols x rows}, must not share storage with the instance
+     * @return out = transpose
+     */
+    public Matrix transpose(Matrix out) {
+        if (out.rows() != cols || out.cols() != rows)
+            fail("Output matrix has a different size");
+        if (out.overlaps(this))
+            fail("Output matrix must not share storage with the instance");
+
+        Probe probe = Probe.begin(Operation.TRANSPOSE, rows, cols, 0);
+        try {
+            Transpose.transpose(rows, cols, data, offset, rowStride, colStride,
+                                out.data, out.offset, out.rowStride, out.colStride);
+            return out;
+        } finally {
+            Probe.end(probe);
         }
-        return res;
     }
 
     /**
@@ -409,23 +964,28 @@ public class Matrix implements Iterable<Double> {
      * @param j col index
      */
     public Matrix subMatrix(int i, int j) {
-        return removeRow(i).removeCol(j);
+        return without(i, j).toDense();
     }
 
     /**
      * Calculates the determinant of the matrix
+     * @see org.la.decomposition.LUDecomposition
      */
     public double det() {
-        if (rows == 1) return get(0, 0);
-        if (rows == 2) 
-            return get(0,0) * get(1,1) - get(0,1)*get(1,0);
-
-        double det = 0;
-
-        for (int i = 0; i < cols; i++) {
-            det += (Math.pow(-1, i) * get(0, i) * subMatrix(0, i).det());
+        Probe probe = Probe.begin(Operation.DET, rows, cols, 0);
+        try {
+            return lu().det();
+        } finally {
+            Probe.end(probe);
         }
-        return det;
+    }
+
+    /**
+     * Returns the LU decomposition with partial pivoting of the matrix
+     * @see org.la.decomposition.LUDecomposition
+     */
+    public LUDecomposition lu() {
+        return new LUDecomposition(this);
     }
 
     /**
@@ -439,7 +999,7 @@ public class Matrix implements Iterable<Double> {
         MatrixIterator it = res.iterator();
 
         while (it.hasNext()) {
-            it.next();
+            it.nextDouble();
             int i = it.rowIndex();
             int j = it.colIndex();
 
@@ -448,12 +1008,109 @@ public class Matrix implements Iterable<Double> {
         return res;
     }
 
+    /**
+     * Returns the QR decomposition of the matrix
+     * @see org.la.decomposition.QRDecomposition
+     */
+    public QRDecomposition qr() {
+        return new QRDecomposition(this);
+    }
+
+    /**
+     * Finds {@code x} minimizing {@code ||M*x - b||} for a matrix with at least as many rows as columns
+     * @param b right hand side
+     * @return least squares solution
+     * @throws ArithmeticException if the matrix is rank deficient
+     * @see org.la.decomposition.QRDecomposition
+     */
+    public Vector leastSquares(Vector b) {
+        return qr().leastSquares(b);
+    }
+
+    /**
+     * Returns the eigenvalue decomposition of the matrix, which must be symmetric
+     * @see org.la.decomposition.EigenDecomposition
+     */
+    public EigenDecomposition eig() {
+        return new EigenDecomposition(this);
+    }
+
+    /**
+     * Returns the eigenvalues of the matrix in ascending order, which must be symmetric.
+     * The eigenvectors are not computed
+     * @see org.la.decomposition.EigenDecomposition
+     */
+    public Vector eigenvalues() {
+        return new EigenDecomposition(this, false).getEigenvalues();
+    }
+
+    /**
+     * Returns the thin singular value decomposition of the matrix
+     * @see org.la.decomposition.SVDDecomposition
+     */
+    public SVDDecomposition svd() {
+        return new SVDDecomposition(this);
+    }
+
+    /**
+     * Returns the singular values of the matrix in descending order.
+     * The singular vectors are not computed
+     * @see org.la.decomposition.SVDDecomposition
+     */
+    public Vector singularValues() {
+        return new SVDDecomposition(this, SVDDecomposition.Mode.VALUES).getSingularValues();
+    }
+
+    /**
+     * Returns the numerical rank of the matrix
+     * @see org.la.decomposition.SVDDecomposition
+     */
+    public int rank() {
+        return new SVDDecomposition(this, SVDDecomposition.Mode.VALUES).rank();
+    }
+
+    /**
+     * Returns the Moore-Penrose pseudo-inverse of the matrix
+     * @see org.la.decomposition.SVDDecomposition
+     */
+    public Matrix pseudoInverse() {
+        return svd().pseudoInverse();
+    }
+
     /**
      * Returns the inverse of the matrix
-     * @return
+     * @throws ArithmeticException if the matrix is singular
+     * @see org.la.decomposition.LUDecomposition
      */
     public Matrix inverse() {
-        return cofactor().transpose().mul(1.0/det());
+        Probe probe = Probe.begin(Operation.INVERSE, rows, cols, 0);
+        try {
+            return lu().inverse();
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Solves the linear system {@code M*x = b} for {@code x}
+     * @param b right hand side
+     * @return x
+     * @throws ArithmeticException if the matrix is singular
+     * @see org.la.decomposition.LUDecomposition
+     */
+    public Vector solve(Vector b) {
+        return lu().solve(b);
+    }
+
+    /**
+     * Solves the linear systems {@code M*X = B} for {@code X}, one for every column of {@code B}
+     * @param B right hand sides
+     * @return X
+     * @throws ArithmeticException if the matrix is singular
+     * @see org.la.decomposition.LUDecomposition
+     */
+    public Matrix solve(Matrix B) {
+        return lu().solve(B);
     }
 
     /**
@@ -461,39 +1118,153 @@ public class Matrix implements Iterable<Double> {
      * @param i row index
      */
     public Matrix removeRow(int i) {
-        if (i < 0 || i >= rows)
-            throw new IndexOutOfBoundsException("Invalid row index");
+        return withoutRow(i).toDense();
+    }
+
+    /**
+     * Returns a new matrix without column {@code j}
+     * @param j column index
+     */
+    public Matrix removeCol(int j) {
+        return withoutCol(j).toDense();
+    }
 
-        Matrix res = blankOfSize(rows - 1, cols);
+    /**
+     * Returns a new matrix of {@code f} applied to each element of instance matrix {@code M}
+     * @param f a function
+     * @return f(M)
+     */
+    public Matrix map(DoubleUnaryOperator f) {
+        return map(f, blank());
+    }
 
-        for (int j = 0; j < i; j++) {
-            res.setRow(j, getRow(j));
+    /**
+     * Writes {@code f} applied to each element of instance matrix {@code M} into {@code out}
+     * @param f a function
+     * @param out destination matrix
+     * @return out = f(M)
+     */
+    public Matrix map(DoubleUnaryOperator f, Matrix out) {
+        checkSizes(out);
+        checkOverlap(out);
+
+        if (isFlatWith(out)) {
+            for (int k = 0, n = rows * cols; k < n; k++)
+                out.data[out.offset + k] = f.applyAsDouble(data[offset + k]);
+            return out;
         }
 
-        for (int j = i + 1; j < rows; j++) {
-            res.setRow(j - 1, getRow(j));
+        for (int i = 0; i < rows; i++) {
+            int k = rowOffset(i), o = out.rowOffset(i);
+
+            for (int j = 0; j < cols; j++, k += colStride, o += out.colStride)
+                out.data[o] = f.applyAsDouble(data[k]);
         }
-        return res;
+        return out;
     }
 
     /**
-     * Returns a new matrix without column {@code j}
-     * @param j column index
+     * Applies {@code f} to each element of instance matrix {@code M} in place
+     * @param f a function
+     * @return M = f(M)
      */
-    public Matrix removeCol(int j) {
-        if (j < 0 || j >= cols)
-            throw new IndexOutOfBoundsException("Invalid column index");
+    public Matrix mapInPlace(DoubleUnaryOperator f) {
+        return map(f, this);
+    }
 
-        Matrix res = blankOfSize(rows, cols - 1);
+    /**
+     * Returns a new matrix of {@code f} applied to the elements of instance matrix {@code M}
+     * and {@code A} at the same position
+     * @param A a matrix
+     * @param f a function
+     * @return f(M, A)
+     */
+    public Matrix zip(Matrix A, DoubleBinaryOperator f) {
+        return zip(A, f, blank());
+    }
 
-        for (int i = 0; i < j; i++) {
-            res.setCol(i, getCol(i));
+    /**
+     * Writes {@code f} applied to the elements of instance matrix {@code M} and {@code A}
+     * at the same position into {@code out}
+     * @param A a matrix
+     * @param f a function
+     * @param out destination matrix, may be {@code M} or {@code A}
+     * @return out = f(M, A)
+     */
+    public Matrix zip(Matrix A, DoubleBinaryOperator f, Matrix out) {
+        checkSizes(A);
+        checkSizes(out);
+        checkOverlap(out);
+        A.checkOverlap(out);
+
+        if (isFlatWith(A) && isFlatWith(out)) {
+            for (int k = 0, n = rows * cols; k < n; k++)
+                out.data[out.offset + k] = f.applyAsDouble(data[offset + k], A.data[A.offset + k]);
+            return out;
         }
-        
-        for (int i = j + 1; i < cols; i++) {
-            res.setCol(i - 1, getCol(i));
+
+        for (int i = 0; i < rows; i++) {
+            int k = rowOffset(i), l = A.rowOffset(i), o = out.rowOffset(i);
+
+            for (int j = 0; j < cols; j++, k += colStride, l += A.colStride, o += out.colStride)
+                out.data[o] = f.applyAsDouble(data[k], A.data[l]);
         }
-        return res;
+        return out;
+    }
+
+    /**
+     * Folds the elements of the matrix starting from {@code identity}, row by row or
+     * column by column for a column-major matrix
+     * @param identity initial value
+     * @param op a function of the result so far and an element
+     * @return op(...op(op(identity, m0), m1)..., mn)
+     */
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        double result = identity;
+
+        if (layout() == Layout.COLUMN_MAJOR) {
+            for (int j = 0; j < cols; j++)
+                for (int i = 0, k = offset + j * colStride; i < rows; i++, k += rowStride)
+                    result = op.applyAsDouble(result, data[k]);
+        } else {
+            for (int i = 0; i < rows; i++)
+                for (int j = 0, k = rowOffset(i); j < cols; j++, k += colStride)
+                    result = op.applyAsDouble(result, data[k]);
+        }
+        return result;
+    }
+
+    /**
+     * Calls {@code action} with the row index, the column index and the value of each element,
+     * row by row or column by column for a column-major matrix
+     * @param action an operation
+     */
+    public void forEachIndexed(IntIntDoubleConsumer action) {
+        if (layout() == Layout.COLUMN_MAJOR) {
+            for (int j = 0; j < cols; j++)
+                for (int i = 0, k = offset + j * colStride; i < rows; i++, k += rowStride)
+                    action.accept(i, j, data[k]);
+        } else {
+            for (int i = 0; i < rows; i++)
+                for (int j = 0, k = rowOffset(i); j < cols; j++, k += colStride)
+                    action.accept(i, j, data[k]);
+        }
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the matrix row by row, which can be made parallel
+     * @see java.util.stream.DoubleStream#parallel()
+     */
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Creates a new spliterator over the elements of the matrix row by row
+     */
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return new StridedSpliterator(data, offset, rows, cols, rowStride, colStride);
     }
 
     /**
@@ -502,41 +1273,48 @@ public class Matrix implements Iterable<Double> {
      */
     public MatrixIterator iterator() {
         return new MatrixIterator() {
-            private long limit = (long) rows * cols;
-            private int  index = -1;
+            private int i = 0;
+            private int j = -1;
+            private int k = offset - colStride;
 
             @Override
             public int rowIndex() {
-                return index / cols;
+                return i;
             }
 
             @Override 
             public int colIndex() {
-                return index - rowIndex() * cols;
+                return j;
             }
 
             @Override
             public double get() {
-                return Matrix.this.get(rowIndex(), colIndex());
+                return data[k];
             }
 
             @Override
             public void set(double value) {
-                Matrix.this.set(rowIndex(), colIndex(), value);
+                data[k] = value;
             }
 
             @Override
             public boolean hasNext() {
-                return index + 1 < limit;
+                return cols > 0 && (i < rows - 1 || (i == rows - 1 && j < cols - 1));
             }
 
             @Override
-            public Double next() {
+            public double nextDouble() {
                 if (!hasNext())
                     throw new NoSuchElementException();
 
-                index++;
-                return get();
+                if (++j == cols) {
+                    j = 0;
+                    i++;
+                    k = offset + i * rowStride;
+                } else {
+                    k += colStride;
+                }
+                return data[k];
             }
         };
     }
@@ -570,7 +1348,7 @@ public class Matrix implements Iterable<Double> {
             }
 
             @Override
-            public Double next() {
+            public double nextDouble() {
                 if (!hasNext())
                     throw new NoSuchElementException();
 
@@ -609,7 +1387,7 @@ public class Matrix implements Iterable<Double> {
             }
 
             @Override
-            public Double next() {
+            public double nextDouble() {
                 if (!hasNext())
                     throw new NoSuchElementException();
 
@@ -628,11 +1406,133 @@ public class Matrix implements Iterable<Double> {
             fail("Matrices have different sizes");
     }
 
+    /**
+     * Makes sure element-wise operations writing into {@code out} do not read elements
+     * of the instance that were already overwritten, which happens when both share storage
+     * with a different offset or layout
+     */
+    private void checkOverlap(Matrix out) {
+        if (out != this && out.overlaps(this)
+                && (out.offset != offset || out.rowStride != rowStride || out.colStride != colStride))
+            fail("Output matrix shares storage with an operand");
+    }
+
+    /**
+     * Checks if instance matrix and {@code A} share any element of their storage. Blocks of
+     * the same matrix are compared exactly, other views sharing the array are assumed to
+     * overlap as soon as their ranges of the array do
+     */
+    boolean overlaps(Matrix A) {
+        if (data != A.data || isEmpty() || A.isEmpty())
+            return false;
+        if (lastIndex() < A.offset || A.lastIndex() < offset)
+            return false;
+
+        if (rowStride == A.rowStride && colStride == A.colStride) {
+            if (colStride == 1 && rowStride >= Math.max(cols, A.cols))
+                return blocksIntersect(rowStride, A.offset - offset, rows, cols, A.rows, A.cols);
+            if (rowStride == 1 && colStride >= Math.max(rows, A.rows))
+                return blocksIntersect(colStride, A.offset - offset, cols, rows, A.cols, A.rows);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if instance matrix and {@code v} may share elements of their storage, which is
+     * assumed as soon as their ranges of the array overlap
+     */
+    boolean overlaps(Vector v) {
+        if (data != v.data() || isEmpty() || v.length() == 0)
+            return false;
+
+        int last = v.offset() + (v.length() - 1) * v.stride();
+        return lastIndex() >= v.offset() && last >= offset;
+    }
+
+    /**
+     * Checks if a {@code m1 x n1} block and a {@code m2 x n2} block starting {@code d} elements
+     * later in an array with leading dimension {@code ld} share an element
+     */
+    private static boolean blocksIntersect(int ld, int d, int m1, int n1, int m2, int n2) {
+        int dr = Math.floorDiv(d, ld);
+        int dc = d - dr * ld;
+
+        return (dr < m1 && dr + m2 > 0 && dc < n1 && dc + n2 > 0)
+            || (dr + 1 < m1 && dr + 1 + m2 > 0 && dc - ld < n1 && dc - ld + n2 > 0);
+    }
+
+    /**
+     * Returns the index of the last element of the matrix in its array
+     */
+    private int lastIndex() {
+        return offset + (rows - 1) * rowStride + (cols - 1) * colStride;
+    }
+
+    /**
+     * Returns the index of the first element of row {@code i} in the array
+     */
+    int rowOffset(int i) {
+        return offset + i * rowStride;
+    }
+
+    /**
+     * Returns the backing array of the matrix, used by the views of the package
+     */
+    double[] data() {
+        return data;
+    }
+
+    /**
+     * Returns the distance between two consecutive elements of a row in the backing array
+     */
+    int colStride() {
+        return colStride;
+    }
+
+    /**
+     * Checks if the elements of the matrix fill a contiguous range of its array
+     */
+    public boolean isContiguous() {
+        return (colStride == 1 && rowStride == cols) || (rowStride == 1 && colStride == rows);
+    }
+
+    /**
+     * Checks if the instance and {@code A} are contiguous with the same layout, so
+     * element-wise operations can run over their arrays as flat ranges
+     */
+    private boolean isFlatWith(Matrix A) {
+        return isContiguous() && A.isContiguous() && rowStride == A.rowStride && colStride == A.colStride;
+    }
+
+    /**
+     * Sets all elements of the matrix to {@code value}
+     */
+    private void fill(double value) {
+        if (isContiguous()) {
+            Arrays.fill(data, offset, offset + rows * cols, value);
+            return;
+        }
+
+        for (int i = 0; i < rows; i++)
+            rowView(i).setAll(value);
+    }
+
+    /**
+     * Returns the number of elements of a {@code rows x cols} matrix, making sure it fits in an array
+     */
+    private static int checkedSize(int rows, int cols) {
+        long size = (long) rows * cols;
+
+        if (rows < 0 || cols < 0 || size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid matrix size " + rows + "x" + cols);
+        return (int) size;
+    }
+
     /**
      * Fails with an {@code IllegalArgumentException}
      * @param message error message
      */
-    private void fail(String message) {
+    private static void fail(String message) {
         throw new IllegalArgumentException(message);
     }
 
@@ -677,7 +1577,9 @@ public class Matrix implements Iterable<Double> {
      */
     @Override
     public Matrix clone() {
-        return fromArray(mat);
+        Matrix res = blank();
+        res.setAll(this);
+        return res;
     }
 
     /**
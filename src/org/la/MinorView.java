@@ -0,0 +1,194 @@
+package org.la;
+
+import java.util.NoSuchElementException;
+
+import org.la.iterator.MatrixIterator;
+import org.la.kernel.VectorKernels;
+
+/**
+ * View of a matrix with one of its rows, one of its columns, or both left out. It shares
+ * the storage of the matrix, so writes through the view update the matrix
+ * <p>A single stride cannot skip a row or a column, so the view maps its indices onto the
+ * matrix instead of being a {@link Matrix} itself. {@link #toDense()} copies it into a new
+ * matrix with one block copy per contiguous part</p>
+ * @see org.la.Matrix#withoutRow(int)
+ * @see org.la.Matrix#withoutCol(int)
+ * @see org.la.Matrix#without(int, int)
+ */
+public class MinorView implements RealMatrix {
+    private final Matrix parent;
+    private final int row;
+    private final int col;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * Creates a view of {@code parent} without row {@code row} and col {@code col}, where
+     * a negative index leaves all rows or columns in. Only the factories of {@link Matrix}
+     * use the negative index, after checking the indices they were given
+     */
+    MinorView(Matrix parent, int row, int col) {
+        if (row >= parent.rows())
+            throw new IndexOutOfBoundsException("Invalid row index");
+        if (col >= parent.cols())
+            throw new IndexOutOfBoundsException("Invalid column index");
+
+        this.parent = parent;
+        this.row = row < 0 ? parent.rows() : row;
+        this.col = col < 0 ? parent.cols() : col;
+        this.rows = row < 0 ? parent.rows() : parent.rows() - 1;
+        this.cols = col < 0 ? parent.cols() : parent.cols() - 1;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return parent.get(parentRow(i), parentCol(j));
+    }
+
+    /**
+     * Sets the value at row {@code i} and col {@code j} to {@code value}
+     */
+    public void set(int i, int j, double value) {
+        parent.set(parentRow(i), parentCol(j), value);
+    }
+
+    @Override
+    public Vector mul(Vector v) {
+        return mul(v, Vector.blankOfLength(rows));
+    }
+
+    @Override
+    public Vector mul(Vector v, Vector out) {
+        if (v.length() != cols || out.length() != rows)
+            throw new IllegalArgumentException("Vectors have different sizes");
+        if (out.overlaps(v) || parent.overlaps(out))
+            throw new IllegalArgumentException("Output vector must not share storage with the operands");
+
+        double[] a = parent.data();
+        int aInc = parent.colStride();
+        double[] x = v.data();
+        int xOff = v.offset(), xInc = v.stride();
+        int right = parent.cols() - col - 1;
+
+        for (int i = 0; i < rows; i++) {
+            int aOff = parent.rowOffset(parentRow(i));
+            double sum = VectorKernels.dot(a, aOff, aInc, x, xOff, xInc, col);
+
+            if (right > 0)
+                sum += VectorKernels.dot(a, aOff + (col + 1) * aInc, aInc, x, xOff + col * xInc, xInc, right);
+            out.set(i, sum);
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new matrix of the product of the view and {@code A}, computed on a dense copy
+     */
+    @Override
+    public Matrix mul(Matrix A) {
+        return toDense().mul(A);
+    }
+
+    /**
+     * Returns a new matrix holding the elements of the view
+     */
+    @Override
+    public Matrix toDense() {
+        Matrix res = Matrix.fromSize(rows, cols, parent.layout());
+        int top = row, left = col;
+        int bottom = rows - top, right = cols - left;
+        int below = parent.rows() - bottom, after = parent.cols() - right;
+
+        res.block(0, 0, top, left).setAll(parent.block(0, 0, top, left));
+        res.block(0, left, top, right).setAll(parent.block(0, after, top, right));
+        res.block(top, 0, bottom, left).setAll(parent.block(below, 0, bottom, left));
+        res.block(top, left, bottom, right).setAll(parent.block(below, after, bottom, right));
+        return res;
+    }
+
+    /**
+     * Calculates the determinant of the view
+     * @see {@link Matrix#det()}
+     */
+    public double det() {
+        return toDense().det();
+    }
+
+    @Override
+    public MatrixIterator iterator() {
+        return new MatrixIterator() {
+            private int i = 0;
+            private int j = -1;
+
+            @Override
+            public int rowIndex() {
+                return i;
+            }
+
+            @Override
+            public int colIndex() {
+                return j;
+            }
+
+            @Override
+            public double get() {
+                return MinorView.this.get(i, j);
+            }
+
+            @Override
+            public void set(double value) {
+                MinorView.this.set(i, j, value);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cols > 0 && (i < rows - 1 || (i == rows - 1 && j < cols - 1));
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                if (++j == cols) {
+                    j = 0;
+                    i++;
+                }
+                return get();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return toDense().toString();
+    }
+
+    /**
+     * Returns the row of the matrix holding row {@code i} of the view
+     */
+    private int parentRow(int i) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        return i < row ? i : i + 1;
+    }
+
+    /**
+     * Returns the col of the matrix holding col {@code j} of the view
+     */
+    private int parentCol(int j) {
+        if (j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid column index");
+        return j < col ? j : j + 1;
+    }
+}
@@ -0,0 +1,68 @@
+package org.la;
+
+import org.la.iterator.MatrixIterator;
+
+/**
+ * Common interface of the matrices of real numbers, whatever their storage
+ * <p>It covers what every storage can do efficiently: reading elements, multiplying
+ * dense vectors and matrices and iterating over the stored elements</p>
+ * @see org.la.Matrix
+ * @see org.la.sparse.SparseMatrix
+ */
+public interface RealMatrix extends LinearOperator, Iterable<Double> {
+    /**
+     * Returns the number of rows of the matrix
+     */
+    @Override
+    int rows();
+
+    /**
+     * Returns the number of columns of the matrix
+     */
+    @Override
+    int cols();
+
+    /**
+     * Returns value at row {@code i} and col {@code j}
+     */
+    double get(int i, int j);
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by the matrix
+     * @param v a vector of length {@code cols()}
+     */
+    Vector mul(Vector v);
+
+    /**
+     * Writes {@code v} multiplied/transformed by the matrix into {@code out}
+     * @param v a vector of length {@code cols()}
+     * @param out destination vector of length {@code rows()}, must not share storage with {@code v}
+     * @return out
+     */
+    @Override
+    Vector mul(Vector v, Vector out);
+
+    /**
+     * Returns a new dense matrix of the product of the matrix and {@code A}
+     * @param A a dense matrix with {@code cols()} rows
+     */
+    Matrix mul(Matrix A);
+
+    /**
+     * Returns a dense matrix holding the same elements
+     */
+    Matrix toDense();
+
+    /**
+     * Creates a new iterator over the stored elements of the matrix
+     */
+    @Override
+    MatrixIterator iterator();
+
+    /**
+     * Checks if the matrix is a square matrix
+     */
+    default boolean isSquare() {
+        return rows() == cols();
+    }
+}
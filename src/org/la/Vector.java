@@ -1,15 +1,33 @@
 package org.la;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
 
+import org.la.expression.VectorExpression;
 import org.la.factory.VectorFactory;
+import org.la.function.IntDoubleConsumer;
+import org.la.iterator.StridedSpliterator;
 import org.la.iterator.VectorIterator;
+import org.la.kernel.VectorKernels;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
 
 /**
  * A vector is represented by an array of real numbers. It has a fixed size
+ * <p>Element {@code i} is stored at {@code v[offset + i*stride]}, so a vector can be a view
+ * sharing the storage of a matrix or of another vector, see {@link Matrix#rowView(int)}</p>
+ * <p>Arithmetic runs on the kernels of {@link org.la.kernel.VectorKernels}, which use
+ * SIMD instructions when the {@code jdk.incubator.vector} module is available</p>
  */
 public class Vector implements Iterable<Double> {
     private double[] v;
+    private int offset;
+    private int stride;
     private int length;
 
     /**
@@ -29,6 +47,18 @@ public class Vector implements Iterable<Double> {
         else
             this.v = ArrayUtils.copyOf(arr);
         this.length = v.length;
+        this.stride = 1;
+    }
+
+    /**
+     * Creates a new vector of length {@code length} backed by {@code v} where element {@code i}
+     * is {@code v[offset + i*stride]}. The array is not copied
+     */
+    protected Vector(double[] v, int offset, int length, int stride) {
+        this.v = v;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
     }
 
     /**
@@ -108,7 +138,7 @@ public class Vector implements Iterable<Double> {
      * @return value at index
      */
     public double get(int index) {
-        return this.v[index];
+        return this.v[offset + index * stride];
     }
 
     /**
@@ -117,7 +147,7 @@ public class Vector implements Iterable<Double> {
      * @param value a value
      */
     public void set(int index, double value) {
-        this.v[index] = value;
+        this.v[offset + index * stride] = value;
     }
 
     /**
@@ -125,12 +155,49 @@ public class Vector implements Iterable<Double> {
      * @param value a value
      */
     public void setAll(double value) {
-        VectorIterator it = iterator();
+        if (stride == 1) {
+            Arrays.fill(v, offset, offset + length, value);
+            return;
+        }
 
-        while (it.hasNext()) {
-            it.next();
-            it.set(value);
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            v[k] = value;
+    }
+
+    /**
+     * Sets all values of the vector to the values of {@code u}
+     * @param u a vector of the same length
+     */
+    public void setAll(Vector u) {
+        checkLengths(u);
+
+        if (stride == 1 && u.stride == 1) {
+            System.arraycopy(u.v, u.offset, v, offset, length);
+            return;
         }
+        checkOutput(u);
+
+        for (int i = 0; i < length; i++)
+            set(i, u.get(i));
+    }
+
+    /**
+     * Returns a view of the elements from {@code from} to {@code to} (exclusive) sharing the
+     * storage of the vector, writes through the view update the vector
+     */
+    public Vector slice(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("Invalid slice " + from + ":" + to);
+        return new Vector(v, offset + from * stride, to - from, stride);
+    }
+
+    /**
+     * Returns a lazy expression of the vector, whose element-wise operations are evaluated
+     * in a single fused pass
+     * @see org.la.expression.VectorExpression
+     */
+    public VectorExpression lazy() {
+        return VectorExpression.of(this);
     }
 
     /**
@@ -144,14 +211,14 @@ public class Vector implements Iterable<Double> {
      * Returns the first element of the vector
      */
     public double head() {
-        return v[0];
+        return get(0);
     }
 
     /**
      * Returns the last element of the vector
      */
     public double tail() {
-        return v[length-1];
+        return get(length-1);
     }
 
     /**
@@ -161,7 +228,7 @@ public class Vector implements Iterable<Double> {
         VectorIterator it = iterator();
         
         while (it.hasNext()) {
-            if (it.next() != 0) 
+            if (it.nextDouble() != 0) 
                 return false;
         }
         return true;
@@ -193,21 +260,51 @@ public class Vector implements Iterable<Double> {
         return mul(-1);
     }
 
+    /**
+     * Writes the negation of instance vector {@code v} into {@code out}
+     * @param out destination vector
+     * @return out = -v
+     */
+    public Vector negate(Vector out) {
+        return mul(-1, out);
+    }
+
+    /**
+     * Negates instance vector {@code v} in place
+     * @return v = -v
+     */
+    public Vector negateInPlace() {
+        return mul(-1, this);
+    }
+
     /**
      * Returns new vector with {@code a} added to all elements of instance {@code v}
      * @param a a value
      * @return v + a
      */
     public Vector add(double a) {
-        VectorIterator it = iterator();
-        Vector result = blank();
+        return add(a, blank());
+    }
 
-        while(it.hasNext()) {
-            double x = it.next();
-            int i = it.index();
-            result.set(i, x + a);
-        }
-        return result;
+    /**
+     * Writes instance vector {@code v} with {@code a} added to all elements into {@code out}
+     * @param a a value
+     * @param out destination vector
+     * @return out = v + a
+     */
+    public Vector add(double a, Vector out) {
+        checkOutput(out);
+        VectorKernels.add(v, offset, stride, a, out.v, out.offset, out.stride, length);
+        return out;
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance vector {@code v} in place
+     * @param a a value
+     * @return v = v + a
+     */
+    public Vector addInPlace(double a) {
+        return add(a, this);
     }
 
     /**
@@ -216,17 +313,54 @@ public class Vector implements Iterable<Double> {
      * @return v + u
      */
     public Vector add(Vector u) {
+        return add(u, blank());
+    }
+
+    /**
+     * Writes the sum of instance vector {@code v} and {@code u} into {@code out}
+     * @param u a vector
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v + u
+     */
+    public Vector add(Vector u, Vector out) {
         checkLengths(u);
+        checkOutput(out, u);
+
+        Probe probe = Probe.begin(Operation.VECTOR_ADD, length, 1, 0);
+        try {
+            VectorKernels.add(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+            return out;
+        } finally {
+            Probe.end(probe);
+        }
+    }
 
-        VectorIterator it = iterator();
-        Vector result = blank();
+    /**
+     * Adds {@code u} to instance vector {@code v} in place
+     * @param u a vector
+     * @return v = v + u
+     */
+    public Vector addInPlace(Vector u) {
+        return add(u, this);
+    }
 
-        while(it.hasNext()) {
-            double x = it.next();
-            int i = it.index();
-            result.set(i, x + u.get(i));
+    /**
+     * Adds {@code x} scaled by {@code a} to instance vector {@code v} in place
+     * @param a a value
+     * @param x a vector
+     * @return v = a*x + v
+     */
+    public Vector axpy(double a, Vector x) {
+        checkLengths(x);
+        checkOutput(this, x);
+
+        Probe probe = Probe.begin(Operation.VECTOR_AXPY, length, 1, 0);
+        try {
+            VectorKernels.axpy(a, x.v, x.offset, x.stride, v, offset, stride, length);
+            return this;
+        } finally {
+            Probe.end(probe);
         }
-        return result;
     }
 
     /**
@@ -239,15 +373,60 @@ public class Vector implements Iterable<Double> {
         return add(-a);
     }
 
+    /**
+     * Writes instance vector {@code v} with {@code a} subtracted from all elements into {@code out}
+     * @param a a value
+     * @param out destination vector
+     * @return out = v - a
+     */
+    public Vector sub(double a, Vector out) {
+        return add(-a, out);
+    }
+
+    /**
+     * Subtracts {@code a} from all elements of instance vector {@code v} in place
+     * @param a a value
+     * @return v = v - a
+     */
+    public Vector subInPlace(double a) {
+        return add(-a, this);
+    }
+
     /**
      * Returns difference of instance vector {@code v} and {@code u}
      * @param u a vector
      * @return v - u
-     * @see {@link #add(Vector)}
-     * @see {@link #negate()}
      */
     public Vector sub(Vector u) {
-        return add(u.negate());
+        return sub(u, blank());
+    }
+
+    /**
+     * Writes the difference of instance vector {@code v} and {@code u} into {@code out}
+     * @param u a vector
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v - u
+     */
+    public Vector sub(Vector u, Vector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+
+        Probe probe = Probe.begin(Operation.VECTOR_SUB, length, 1, 0);
+        try {
+            VectorKernels.sub(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+            return out;
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Subtracts {@code u} from instance vector {@code v} in place
+     * @param u a vector
+     * @return v = v - u
+     */
+    public Vector subInPlace(Vector u) {
+        return sub(u, this);
     }
 
     /**
@@ -256,15 +435,34 @@ public class Vector implements Iterable<Double> {
      * @return v * a
      */
     public Vector mul(double a) {
-        VectorIterator it = iterator();
-        Vector result = blank();
+        return mul(a, blank());
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.index();
-            result.set(i, x * a);
+    /**
+     * Writes instance vector {@code v} multiplied with {@code a} into {@code out}
+     * @param a a value
+     * @param out destination vector
+     * @return out = v * a
+     */
+    public Vector mul(double a, Vector out) {
+        checkOutput(out);
+
+        Probe probe = Probe.begin(Operation.VECTOR_MUL, length, 1, 0);
+        try {
+            VectorKernels.mul(v, offset, stride, a, out.v, out.offset, out.stride, length);
+            return out;
+        } finally {
+            Probe.end(probe);
         }
-        return result;
+    }
+
+    /**
+     * Multiplies instance vector {@code v} with {@code a} in place
+     * @param a a value
+     * @return v = v * a
+     */
+    public Vector mulInPlace(double a) {
+        return mul(a, this);
     }
 
     /**
@@ -273,38 +471,56 @@ public class Vector implements Iterable<Double> {
      * @return v * u
      */
     public Vector mul(Vector u) {
-        checkLengths(u);
-
-        VectorIterator it = iterator();
-        Vector result = blank();
+        return mul(u, blank());
+    }
 
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.index();
-            result.set(i, x * u.get(i));
+    /**
+     * Writes instance vector {@code v} multiplied by elements of vector {@code u} into {@code out}
+     * @param u a vector
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = v * u
+     */
+    public Vector mul(Vector u, Vector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+
+        Probe probe = Probe.begin(Operation.VECTOR_MUL, length, 1, 0);
+        try {
+            VectorKernels.mul(v, offset, stride, u.v, u.offset, u.stride, out.v, out.offset, out.stride, length);
+            return out;
+        } finally {
+            Probe.end(probe);
         }
-        return result;
+    }
+
+    /**
+     * Multiplies instance vector {@code v} by elements of vector {@code u} in place
+     * @param u a vector
+     * @return v = v * u
+     */
+    public Vector mulInPlace(Vector u) {
+        return mul(u, this);
     }
 
     /**
      * Returns a new vector of instance vector {@code v} multiplied/transformed by matrix {@code m} 
-     * @param m a square matrix
+     * @param m a matrix with {@code length} columns
      * @return v * m
+     * @see {@link Matrix#mul(Vector)}
      */
     public Vector mul(Matrix m) {
-        VectorIterator it = iterator();
-        Vector res = blank();
-
-        if (!m.isSquare())
-            // TODO non square matrices?
-            throw new IllegalArgumentException("Linear transformation matrix must be square for now");
+        return m.mul(this);
+    }
 
-        while (it.hasNext()) {
-            it.next();
-            int i = it.index();
-            res.set(i, dot(m.getRow(i)));
-        }
-        return res;
+    /**
+     * Writes instance vector {@code v} multiplied/transformed by matrix {@code m} into {@code out}
+     * @param m a matrix with {@code length} columns
+     * @param out destination vector, must not share storage with {@code v}
+     * @return out = v * m
+     * @see {@link Matrix#mul(Vector, Vector)}
+     */
+    public Vector mul(Matrix m, Vector out) {
+        return m.mul(this, out);
     }
 
     /**
@@ -315,15 +531,12 @@ public class Vector implements Iterable<Double> {
     public double dot(Vector u) {
         checkLengths(u);
 
-        VectorIterator it = iterator();
-        double result = 0;
-
-        while (it.hasNext()) {
-            double x = it.next();
-            int i = it.index();
-            result += x * u.get(i);
+        Probe probe = Probe.begin(Operation.VECTOR_DOT, length, 1, 0);
+        try {
+            return VectorKernels.dot(v, offset, stride, u.v, u.offset, u.stride, length);
+        } finally {
+            Probe.end(probe);
         }
-        return result;
     }
 
     /**
@@ -332,9 +545,28 @@ public class Vector implements Iterable<Double> {
      * @return v / a
      */
     public Vector div(double a) {
+        return div(a, blank());
+    }
+
+    /**
+     * Writes instance vector {@code v} divided by {@code a} into {@code out}
+     * @param a a non zero value
+     * @param out destination vector
+     * @return out = v / a
+     */
+    public Vector div(double a, Vector out) {
         if (a == 0)
             throw new ArithmeticException("Can't divide by zero");
-        return mul(1.0/a);
+        return mul(1.0/a, out);
+    }
+
+    /**
+     * Divides instance vector {@code v} by {@code a} in place
+     * @param a a non zero value
+     * @return v = v / a
+     */
+    public Vector divInPlace(double a) {
+        return div(a, this);
     }
 
     /**
@@ -351,14 +583,12 @@ public class Vector implements Iterable<Double> {
      * @return eucliedean norm squared
      */
     public double normSq() {
-        VectorIterator it = iterator();
-        double result = 0;
-
-        while (it.hasNext()) {
-            double x = it.next();
-            result += x*x;
+        Probe probe = Probe.begin(Operation.VECTOR_NORM, length, 1, 0);
+        try {
+            return VectorKernels.sumSq(v, offset, stride, length);
+        } finally {
+            Probe.end(probe);
         }
-        return result;
     }
 
     /**
@@ -366,14 +596,12 @@ public class Vector implements Iterable<Double> {
      * @return euclidean norm
      */
     public double euclideanNorm() {
-        VectorIterator it = iterator();
-        double result = 0;
-
-        while (it.hasNext()) {
-            double x = it.next();
-            result += x*x;
+        Probe probe = Probe.begin(Operation.VECTOR_NORM, length, 1, 0);
+        try {
+            return Math.sqrt(VectorKernels.sumSq(v, offset, stride, length));
+        } finally {
+            Probe.end(probe);
         }
-        return Math.sqrt(result);
     }
 
     /**
@@ -381,13 +609,12 @@ public class Vector implements Iterable<Double> {
      * @return manhattan norm
      */
     public double manhattanNorm() {
-        VectorIterator it = iterator();
-        double result = 0;
-
-        while (it.hasNext()) {
-            result += Math.abs(it.next());
+        Probe probe = Probe.begin(Operation.VECTOR_NORM, length, 1, 0);
+        try {
+            return VectorKernels.sumAbs(v, offset, stride, length);
+        } finally {
+            Probe.end(probe);
         }
-        return result;
     }
 
     /**
@@ -399,10 +626,10 @@ public class Vector implements Iterable<Double> {
         double result = 0;
 
         if (it.hasNext())
-            result = it.next();
+            result = it.nextDouble();
 
         while (it.hasNext()) {
-            double x = Math.abs(it.next());
+            double x = Math.abs(it.nextDouble());
             if (x > result)
                 result = x;
         }
@@ -436,12 +663,12 @@ public class Vector implements Iterable<Double> {
         double x = 0;
 
         if (length > 0)
-            x = it.next();
+            x = it.nextDouble();
         else
             fail("Can't find min of vector with length 0");
 
         while (it.hasNext()) {
-            double y = it.next();
+            double y = it.nextDouble();
             if (y < x)
                 x = y;
         }
@@ -456,12 +683,12 @@ public class Vector implements Iterable<Double> {
         double x = 0;
 
         if (length > 0)
-            x = it.next();
+            x = it.nextDouble();
         else
             fail("Can't find min of vector with length 0");
 
         while (it.hasNext()) {
-            double y = it.next();
+            double y = it.nextDouble();
             if (y > x)
                 x = y;
         }
@@ -472,7 +699,15 @@ public class Vector implements Iterable<Double> {
      * Converts instance vector to an array
      */
     public double[] toArray() {
-        return ArrayUtils.copyOf(v);
+        double[] res = new double[length];
+
+        if (stride == 1) {
+            System.arraycopy(v, offset, res, 0, length);
+        } else {
+            for (int i = 0, k = offset; i < length; i++, k += stride)
+                res[i] = v[k];
+        }
+        return res;
     }
 
     /**
@@ -483,9 +718,9 @@ public class Vector implements Iterable<Double> {
         String vec = "[";
 
         for (int i = 0; i < length; i++) {
-            String fmt = String.format("%.3f", v[i]);
+            String fmt = String.format("%.3f", get(i));
 
-            if (v[0] < 0 && i != 0)
+            if (get(0) < 0 && i != 0)
                 vec += " ";
 
             if (fmt.charAt(0) != '-' && i != 0)
@@ -526,7 +761,7 @@ public class Vector implements Iterable<Double> {
         boolean res = true;
 
         while (it.hasNext() && res) {
-            double a = it.next();
+            double a = it.nextDouble();
             double b = u.get(it.index());
             double d = Math.abs(a - b);
 
@@ -535,12 +770,112 @@ public class Vector implements Iterable<Double> {
         return res;
     }
 
+    /**
+     * Returns a new vector of {@code f} applied to each element of instance vector {@code v}
+     * @param f a function
+     * @return f(v)
+     */
+    public Vector map(DoubleUnaryOperator f) {
+        return map(f, blank());
+    }
+
+    /**
+     * Writes {@code f} applied to each element of instance vector {@code v} into {@code out}
+     * @param f a function
+     * @param out destination vector
+     * @return out = f(v)
+     */
+    public Vector map(DoubleUnaryOperator f, Vector out) {
+        checkOutput(out);
+
+        for (int i = 0, k = offset, o = out.offset; i < length; i++, k += stride, o += out.stride)
+            out.v[o] = f.applyAsDouble(v[k]);
+        return out;
+    }
+
+    /**
+     * Applies {@code f} to each element of instance vector {@code v} in place
+     * @param f a function
+     * @return v = f(v)
+     */
+    public Vector mapInPlace(DoubleUnaryOperator f) {
+        return map(f, this);
+    }
+
+    /**
+     * Returns a new vector of {@code f} applied to the elements of instance vector {@code v}
+     * and {@code u} at the same index
+     * @param u a vector
+     * @param f a function
+     * @return f(v, u)
+     */
+    public Vector zip(Vector u, DoubleBinaryOperator f) {
+        return zip(u, f, blank());
+    }
+
+    /**
+     * Writes {@code f} applied to the elements of instance vector {@code v} and {@code u}
+     * at the same index into {@code out}
+     * @param u a vector
+     * @param f a function
+     * @param out destination vector, may be {@code v} or {@code u}
+     * @return out = f(v, u)
+     */
+    public Vector zip(Vector u, DoubleBinaryOperator f, Vector out) {
+        checkLengths(u);
+        checkOutput(out, u);
+
+        for (int i = 0, k = offset, l = u.offset, o = out.offset; i < length;
+                i++, k += stride, l += u.stride, o += out.stride)
+            out.v[o] = f.applyAsDouble(v[k], u.v[l]);
+        return out;
+    }
+
+    /**
+     * Folds the elements of the vector from first to last, starting from {@code identity}
+     * @param identity initial value
+     * @param op a function of the result so far and an element
+     * @return op(...op(op(identity, v0), v1)..., vn)
+     */
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        double result = identity;
+
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            result = op.applyAsDouble(result, v[k]);
+        return result;
+    }
+
+    /**
+     * Calls {@code action} with the index and the value of each element, in order
+     * @param action an operation
+     */
+    public void forEachIndexed(IntDoubleConsumer action) {
+        for (int i = 0, k = offset; i < length; i++, k += stride)
+            action.accept(i, v[k]);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the vector, which can be made parallel
+     * @see java.util.stream.DoubleStream#parallel()
+     */
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Creates a new spliterator over the elements of the vector
+     */
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return new StridedSpliterator(v, offset, 1, length, 0, stride);
+    }
+
     /**
      * Clones the instance vector
      */
     @Override
     public Vector clone() {
-        return new Vector(v);
+        return new Vector(toArray(), false);
     }
 
     /**
@@ -572,7 +907,7 @@ public class Vector implements Iterable<Double> {
             }
 
             @Override
-            public Double next() {
+            public double nextDouble() {
                 if (!hasNext()) {
                     throw new NoSuchElementException();
                 }
@@ -592,6 +927,76 @@ public class Vector implements Iterable<Double> {
             fail("Vectors have different sizes");
     }
     
+    /**
+     * Makes sure {@code out} can hold the result of an element-wise operation on the instance
+     * and {@code u}. Element-wise operations read each element before writing it, so {@code out}
+     * may be one of the operands but must not partially overlap them
+     * @param out destination vector
+     * @param u other operand
+     */
+    private void checkOutput(Vector out, Vector u) {
+        checkOutput(out);
+        if (!out.sameView(u) && out.overlaps(u))
+            fail("Output vector partially overlaps an operand");
+    }
+
+    /**
+     * Makes sure {@code out} can hold the result of an element-wise operation on the instance
+     * @param out destination vector
+     */
+    private void checkOutput(Vector out) {
+        if (length != out.length())
+            fail("Output vector has a different size");
+        if (!out.sameView(this) && out.overlaps(this))
+            fail("Output vector partially overlaps an operand");
+    }
+
+    /**
+     * Checks if instance vector and {@code u} are views of the same elements of the same array
+     * @param u a vector
+     */
+    public boolean sameView(Vector u) {
+        return v == u.v && offset == u.offset && (stride == u.stride || length <= 1);
+    }
+
+    /**
+     * Checks if instance vector and {@code u} share any element of their storage. Views with
+     * different strides are assumed to overlap as soon as their ranges of the array do
+     * @param u a vector
+     */
+    public boolean overlaps(Vector u) {
+        if (v != u.v || length == 0 || u.length == 0)
+            return false;
+
+        int last = offset + (length - 1) * stride;
+        int uLast = u.offset + (u.length - 1) * u.stride;
+        if (last < u.offset || uLast < offset)
+            return false;
+
+        return stride != u.stride || (offset - u.offset) % stride == 0;
+    }
+
+    /**
+     * Returns the backing array of the vector, used by the kernels of the package
+     */
+    double[] data() {
+        return v;
+    }
+
+    /**
+     * Returns the index of the first element in the backing array
+     */
+    int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the distance between two consecutive elements in the backing array
+     */
+    int stride() {
+        return stride;
+    }
+
     /**
      * Fails with an {@code IllegalArgumentException}
      * @param message error message
@@ -0,0 +1,336 @@
+package org.la.decomposition;
+
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * Eigenvalue decomposition of a real symmetric matrix {@code A}, such that
+ * {@code A = V*D*V^T} where {@code D} is diagonal and {@code V} is orthogonal
+ * <p>The matrix is reduced to tridiagonal form with Householder similarity transforms and
+ * the tridiagonal matrix is diagonalized with the implicit QL algorithm. When the
+ * eigenvectors are not needed the transforms are not accumulated, which makes the
+ * decomposition about three times cheaper</p>
+ * <p>Only the lower triangle of {@code A} is read. Eigenvalues are sorted in ascending order
+ * and column {@code i} of {@code V} is the eigenvector of eigenvalue {@code i}</p>
+ */
+public class EigenDecomposition {
+    private final int n;
+    private final double[] d;
+    private final double[] e;
+    private final double[][] V;
+
+    /**
+     * Computes the eigenvalues and eigenvectors of the symmetric matrix {@code A}
+     * @param A a symmetric matrix
+     * @see {@link #EigenDecomposition(Matrix, boolean)}
+     */
+    public EigenDecomposition(Matrix A) {
+        this(A, true);
+    }
+
+    /**
+     * Computes the eigenvalues of the symmetric matrix {@code A}, and its eigenvectors
+     * if {@code computeVectors} is set to true
+     * @param A a symmetric matrix
+     * @param computeVectors whether to accumulate the eigenvectors
+     */
+    public EigenDecomposition(Matrix A, boolean computeVectors) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("Cannot compute eigenvalues of non-square matrix");
+
+        Probe probe = Probe.begin(Operation.EIGEN, A.rows(), A.cols(), 0);
+        try {
+            n = A.rows();
+            d = new double[n];
+            e = new double[n];
+
+            double[][] a = A.toArray();
+            tred2(a, computeVectors);
+            tql2(computeVectors ? a : null);
+            V = computeVectors ? a : null;
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Returns the eigenvalues in ascending order
+     */
+    public Vector getEigenvalues() {
+        return new Vector(d);
+    }
+
+    /**
+     * Returns the matrix {@code V} whose columns are the eigenvectors
+     * @throws IllegalStateException if the eigenvectors were not computed
+     */
+    public Matrix getEigenvectors() {
+        checkVectors();
+        return new Matrix(V);
+    }
+
+    /**
+     * Returns the eigenvector of the eigenvalue at {@code index}
+     * @throws IllegalStateException if the eigenvectors were not computed
+     */
+    public Vector getEigenvector(int index) {
+        checkVectors();
+
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++)
+            v[i] = V[i][index];
+        return new Vector(v, false);
+    }
+
+    /**
+     * Returns the diagonal matrix {@code D} of eigenvalues
+     */
+    public Matrix getD() {
+        Matrix D = Matrix.fromSize(n);
+
+        for (int i = 0; i < n; i++)
+            D.set(i, i, d[i]);
+        return D;
+    }
+
+    /**
+     * Checks if the eigenvectors were computed
+     */
+    public boolean hasEigenvectors() {
+        return V != null;
+    }
+
+    private void checkVectors() {
+        if (V == null)
+            throw new IllegalStateException("Eigenvectors were not computed");
+    }
+
+    /**
+     * Reduces {@code a} to a symmetric tridiagonal matrix with diagonal {@code d} and
+     * subdiagonal {@code e[1..n)}. With {@code vectors} the orthogonal transform is
+     * accumulated in {@code a}, otherwise only the lower triangle of {@code a} is used
+     * as scratch space. Derived from the Algol procedure tred2 by Bowdler, Martin,
+     * Reinsch and Wilkinson, Handbook for Auto. Comp., Vol.ii-Linear Algebra
+     */
+    private void tred2(double[][] a, boolean vectors) {
+        if (n == 0)
+            return;
+
+        for (int j = 0; j < n; j++)
+            d[j] = a[n - 1][j];
+
+        for (int i = n - 1; i > 0; i--) {
+            double scale = 0;
+            double h = 0;
+
+            for (int k = 0; k < i; k++)
+                scale += Math.abs(d[k]);
+
+            if (scale == 0) {
+                e[i] = d[i - 1];
+                for (int j = 0; j < i; j++) {
+                    d[j] = a[i - 1][j];
+                    a[i][j] = 0;
+                    a[j][i] = 0;
+                }
+            } else {
+                for (int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    h += d[k] * d[k];
+                }
+
+                double f = d[i - 1];
+                double g = Math.sqrt(h);
+                if (f > 0)
+                    g = -g;
+
+                e[i] = scale * g;
+                h -= f * g;
+                d[i - 1] = f - g;
+
+                for (int j = 0; j < i; j++)
+                    e[j] = 0;
+
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    a[j][i] = f;
+                    g = e[j] + a[j][j] * f;
+
+                    for (int k = j + 1; k <= i - 1; k++) {
+                        g += a[k][j] * d[k];
+                        e[k] += a[k][j] * f;
+                    }
+                    e[j] = g;
+                }
+
+                f = 0;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+
+                double hh = f / (h + h);
+                for (int j = 0; j < i; j++)
+                    e[j] -= hh * d[j];
+
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+
+                    for (int k = j; k <= i - 1; k++)
+                        a[k][j] -= (f * e[k] + g * d[k]);
+
+                    d[j] = a[i - 1][j];
+                    a[i][j] = 0;
+                }
+            }
+            d[i] = h;
+        }
+
+        if (!vectors) {
+            for (int j = 0; j < n; j++)
+                d[j] = a[j][j];
+            e[0] = 0;
+            return;
+        }
+
+        for (int i = 0; i < n - 1; i++) {
+            a[n - 1][i] = a[i][i];
+            a[i][i] = 1;
+            double h = d[i + 1];
+
+            if (h != 0) {
+                for (int k = 0; k <= i; k++)
+                    d[k] = a[k][i + 1] / h;
+
+                for (int j = 0; j <= i; j++) {
+                    double g = 0;
+                    for (int k = 0; k <= i; k++)
+                        g += a[k][i + 1] * a[k][j];
+                    for (int k = 0; k <= i; k++)
+                        a[k][j] -= g * d[k];
+                }
+            }
+
+            for (int k = 0; k <= i; k++)
+                a[k][i + 1] = 0;
+        }
+
+        for (int j = 0; j < n; j++) {
+            d[j] = a[n - 1][j];
+            a[n - 1][j] = 0;
+        }
+        a[n - 1][n - 1] = 1;
+        e[0] = 0;
+    }
+
+    /**
+     * Diagonalizes the tridiagonal matrix {@code (d, e)} with the implicit QL algorithm and sorts
+     * the eigenvalues, applying the rotations to the columns of {@code v} when it is not null.
+     * Derived from the Algol procedure tql2 by Bowdler, Martin, Reinsch and Wilkinson,
+     * Handbook for Auto. Comp., Vol.ii-Linear Algebra
+     */
+    private void tql2(double[][] v) {
+        for (int i = 1; i < n; i++)
+            e[i - 1] = e[i];
+        if (n > 0)
+            e[n - 1] = 0;
+
+        double f = 0;
+        double tst1 = 0;
+        double eps = Math.ulp(1.0);
+
+        for (int l = 0; l < n; l++) {
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+
+            while (m < n) {
+                if (Math.abs(e[m]) <= eps * tst1)
+                    break;
+                m++;
+            }
+
+            if (m > l) {
+                do {
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2 * e[l]);
+                    double r = Math.hypot(p, 1);
+                    if (p < 0)
+                        r = -r;
+
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double h = g - d[l];
+
+                    for (int i = l + 2; i < n; i++)
+                        d[i] -= h;
+                    f += h;
+
+                    p = d[m];
+                    double c = 1;
+                    double c2 = c;
+                    double c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0;
+                    double s2 = 0;
+
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = Math.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+
+                        if (v != null) {
+                            for (int k = 0; k < n; k++) {
+                                h = v[k][i + 1];
+                                v[k][i + 1] = s * v[k][i] + c * h;
+                                v[k][i] = c * v[k][i] - s * h;
+                            }
+                        }
+                    }
+
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (Math.abs(e[l]) > eps * tst1);
+            }
+            d[l] += f;
+            e[l] = 0;
+        }
+
+        for (int i = 0; i < n - 1; i++) {
+            int k = i;
+            double p = d[i];
+
+            for (int j = i + 1; j < n; j++) {
+                if (d[j] < p) {
+                    k = j;
+                    p = d[j];
+                }
+            }
+
+            if (k != i) {
+                d[k] = d[i];
+                d[i] = p;
+
+                if (v != null) {
+                    for (int j = 0; j < n; j++) {
+                        double t = v[j][i];
+                        v[j][i] = v[j][k];
+                        v[j][k] = t;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.la.decomposition;
+
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.kernel.VectorKernels;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * LU decomposition with partial pivoting of a square matrix {@code A}, such that
+ * {@code P*A = L*U} where {@code P} is a row permutation, {@code L} is unit lower
+ * triangular and {@code U} is upper triangular
+ * <p>The factors are computed once in {@code O(n^3)} when the decomposition is created
+ * and are kept packed in a single array</p>
+ */
+public class LUDecomposition {
+    private final double[] lu;
+    private final int[] pivot;
+    private final int n;
+    private int pivotSign;
+    private boolean singular;
+
+    /**
+     * Decomposes the square matrix {@code A}
+     * @param A a square matrix
+     * @throws IllegalArgumentException if {@code A} is not square
+     */
+    public LUDecomposition(Matrix A) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("Cannot compute LU decomposition of non-square matrix");
+
+        Probe probe = Probe.begin(Operation.LU, A.rows(), A.cols(), 0);
+        try {
+            n = A.rows();
+            lu = new double[n * n];
+            pivot = new int[n];
+            pivotSign = 1;
+
+            for (int i = 0; i < n; i++) {
+                pivot[i] = i;
+                for (int j = 0; j < n; j++)
+                    lu[i * n + j] = A.get(i, j);
+            }
+            factor();
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Returns the unit lower triangular factor {@code L}
+     */
+    public Matrix getL() {
+        Matrix L = Matrix.fromSize(n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++)
+                L.set(i, j, lu[i * n + j]);
+            L.set(i, i, 1);
+        }
+        return L;
+    }
+
+    /**
+     * Returns the upper triangular factor {@code U}
+     */
+    public Matrix getU() {
+        Matrix U = Matrix.fromSize(n);
+
+        for (int i = 0; i < n; i++)
+            for (int j = i; j < n; j++)
+                U.set(i, j, lu[i * n + j]);
+        return U;
+    }
+
+    /**
+     * Returns the pivot permutation, row {@code i} of {@code P*A} is row {@code pivot[i]} of {@code A}
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Returns the permutation matrix {@code P}
+     */
+    public Matrix getP() {
+        Matrix P = Matrix.fromSize(n);
+
+        for (int i = 0; i < n; i++)
+            P.set(i, pivot[i], 1);
+        return P;
+    }
+
+    /**
+     * Returns the determinant of the decomposed matrix
+     */
+    public double det() {
+        double det = pivotSign;
+
+        for (int i = 0; i < n; i++)
+            det *= lu[i * n + i];
+        return det;
+    }
+
+    /**
+     * Checks if the decomposed matrix is singular, meaning {@code U} has a zero on its diagonal
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Solves {@code A*x = b} for {@code x}
+     * @param b right hand side of length {@code n}
+     * @return x
+     * @throws ArithmeticException if the decomposed matrix is singular
+     */
+    public Vector solve(Vector b) {
+        if (b.length() != n)
+            throw new IllegalArgumentException("Vector has a different size than the matrix");
+        checkSingular();
+
+        double[] x = new double[n];
+
+        for (int i = 0; i < n; i++)
+            x[i] = b.get(pivot[i]) - VectorKernels.dot(lu, i * n, x, 0, i);
+
+        for (int i = n - 1; i >= 0; i--) {
+            int row = i * n;
+            x[i] = (x[i] - VectorKernels.dot(lu, row + i + 1, x, i + 1, n - i - 1)) / lu[row + i];
+        }
+        return new Vector(x, false);
+    }
+
+    /**
+     * Solves {@code A*X = B} for {@code X}, each column of {@code B} being a right hand side
+     * @param B right hand sides with {@code n} rows
+     * @return X
+     * @throws ArithmeticException if the decomposed matrix is singular
+     */
+    public Matrix solve(Matrix B) {
+        if (B.rows() != n)
+            throw new IllegalArgumentException("Matrix has a different number of rows than the decomposed matrix");
+        checkSingular();
+
+        int m = B.cols();
+        double[] x = new double[n * m];
+
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < m; j++)
+                x[i * m + j] = B.get(pivot[i], j);
+
+        for (int k = 0; k < n; k++)
+            for (int i = k + 1; i < n; i++) {
+                double f = lu[i * n + k];
+                if (f != 0)
+                    VectorKernels.axpy(-f, x, k * m, x, i * m, m);
+            }
+
+        for (int k = n - 1; k >= 0; k--) {
+            VectorKernels.mul(x, k * m, 1.0 / lu[k * n + k], x, k * m, m);
+
+            for (int i = 0; i < k; i++) {
+                double f = lu[i * n + k];
+                if (f != 0)
+                    VectorKernels.axpy(-f, x, k * m, x, i * m, m);
+            }
+        }
+        return new Matrix(n, m, x, Matrix.Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Returns the inverse of the decomposed matrix
+     * @throws ArithmeticException if the decomposed matrix is singular
+     */
+    public Matrix inverse() {
+        return solve(Matrix.eye(n));
+    }
+
+    /**
+     * Returns the size of the decomposed matrix
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Factors {@code lu} in place with right-looking elimination, swapping in the row with
+     * the largest pivot at every step
+     */
+    private void factor() {
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+
+            for (int i = k + 1; i < n; i++) {
+                double x = Math.abs(lu[i * n + k]);
+                if (x > max) {
+                    max = x;
+                    p = i;
+                }
+            }
+
+            if (p != k) {
+                swapRows(p, k);
+                int t = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = t;
+                pivotSign = -pivotSign;
+            }
+
+            double d = lu[k * n + k];
+            if (d == 0) {
+                singular = true;
+                continue;
+            }
+
+            int rowK = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                double f = lu[rowI + k] / d;
+                lu[rowI + k] = f;
+
+                if (f != 0)
+                    VectorKernels.axpy(-f, lu, rowK + k + 1, lu, rowI + k + 1, n - k - 1);
+            }
+        }
+    }
+
+    private void checkSingular() {
+        if (singular)
+            throw new ArithmeticException("Matrix is singular");
+    }
+
+    private void swapRows(int a, int b) {
+        for (int j = 0, ia = a * n, ib = b * n; j < n; j++, ia++, ib++) {
+            double t = lu[ia];
+            lu[ia] = lu[ib];
+            lu[ib] = t;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.la.decomposition;
+
+import java.util.Arrays;
+
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.kernel.VectorKernels;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * QR decomposition of a {@code m x n} matrix {@code A} computed with Householder reflections,
+ * such that {@code A = Q*R} where {@code Q} has orthonormal columns and {@code R} is upper triangular
+ * <p>{@code Q} is never formed: the Householder vectors are kept below the diagonal of a
+ * column-major copy of {@code A} and applied on demand, so a tall matrix only costs its
+ * own storage. The factors are computed once in {@code O(m*n^2)} when the decomposition
+ * is created</p>
+ */
+public class QRDecomposition {
+    private final double[] qr;
+    private final double[] rDiag;
+    private final int m;
+    private final int n;
+    private final int k;
+
+    /**
+     * Decomposes the matrix {@code A}
+     * @param A a matrix
+     */
+    public QRDecomposition(Matrix A) {
+        Probe probe = Probe.begin(Operation.QR, A.rows(), A.cols(), 0);
+        try {
+            m = A.rows();
+            n = A.cols();
+            k = Math.min(m, n);
+            qr = new double[m * n];
+            rDiag = new double[k];
+
+            for (int j = 0; j < n; j++)
+                for (int i = 0; i < m; i++)
+                    qr[j * m + i] = A.get(i, j);
+            factor();
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Returns the upper triangular factor {@code R} of size {@code min(m, n) x n}
+     */
+    public Matrix getR() {
+        Matrix R = Matrix.fromSize(k, n);
+
+        for (int i = 0; i < k; i++) {
+            R.set(i, i, rDiag[i]);
+            for (int j = i + 1; j < n; j++)
+                R.set(i, j, qr[j * m + i]);
+        }
+        return R;
+    }
+
+    /**
+     * Returns the thin factor {@code Q} of size {@code m x min(m, n)}
+     * <p>Prefer {@link #applyQt(Vector)} and {@link #applyQ(Vector)} which do not form it</p>
+     */
+    public Matrix getQ() {
+        Matrix Q = Matrix.fromSize(m, k, Matrix.Layout.COLUMN_MAJOR);
+        double[] col = new double[m];
+
+        for (int j = 0; j < k; j++) {
+            Arrays.fill(col, 0);
+            col[j] = 1;
+            applyQ(col);
+
+            for (int i = 0; i < m; i++)
+                Q.set(i, j, col[i]);
+        }
+        return Q;
+    }
+
+    /**
+     * Returns {@code Q^T * b} of length {@code m}
+     * @param b a vector of length {@code m}
+     */
+    public Vector applyQt(Vector b) {
+        checkLength(b);
+
+        double[] y = b.toArray();
+        applyQt(y);
+        return new Vector(y, false);
+    }
+
+    /**
+     * Returns {@code Q * y} of length {@code m}, where {@code Q} is the full {@code m x m} orthogonal factor
+     * @param y a vector of length {@code m}
+     */
+    public Vector applyQ(Vector y) {
+        checkLength(y);
+
+        double[] x = y.toArray();
+        applyQ(x);
+        return new Vector(x, false);
+    }
+
+    /**
+     * Checks if {@code R}, and therefore {@code A}, has full rank
+     */
+    public boolean isFullRank() {
+        for (int j = 0; j < k; j++)
+            if (rDiag[j] == 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Finds {@code x} minimizing {@code ||A*x - b||} without forming the normal equations
+     * @param b right hand side of length {@code m}
+     * @return least squares solution of length {@code n}
+     * @throws IllegalArgumentException if {@code A} has fewer rows than columns
+     * @throws ArithmeticException if {@code A} is rank deficient
+     */
+    public Vector leastSquares(Vector b) {
+        checkLength(b);
+        checkSolvable();
+
+        double[] y = b.toArray();
+        applyQt(y);
+        backSubstitute(y);
+        return new Vector(Arrays.copyOf(y, n), false);
+    }
+
+    /**
+     * Finds {@code X} minimizing {@code ||A*X - B||} column by column
+     * @param B right hand sides with {@code m} rows
+     * @return least squares solution of size {@code n x B.cols()}
+     * @throws IllegalArgumentException if {@code A} has fewer rows than columns
+     * @throws ArithmeticException if {@code A} is rank deficient
+     */
+    public Matrix leastSquares(Matrix B) {
+        if (B.rows() != m)
+            throw new IllegalArgumentException("Matrix has a different number of rows than the decomposed matrix");
+        checkSolvable();
+
+        Matrix X = Matrix.fromSize(n, B.cols());
+        double[] y = new double[m];
+
+        for (int j = 0; j < B.cols(); j++) {
+            for (int i = 0; i < m; i++)
+                y[i] = B.get(i, j);
+
+            applyQt(y);
+            backSubstitute(y);
+
+            for (int i = 0; i < n; i++)
+                X.set(i, j, y[i]);
+        }
+        return X;
+    }
+
+    /**
+     * Returns the number of rows of the decomposed matrix
+     */
+    public int rows() {
+        return m;
+    }
+
+    /**
+     * Returns the number of columns of the decomposed matrix
+     */
+    public int cols() {
+        return n;
+    }
+
+    /**
+     * Reduces the columns of {@code qr} one after the other. Column {@code j} is scaled so the
+     * reflection is {@code H = I - v*v^T / v[j]}, and stored in place of the eliminated entries
+     */
+    private void factor() {
+        for (int j = 0; j < k; j++) {
+            int col = j * m + j;
+            int len = m - j;
+            double norm = Math.sqrt(VectorKernels.sumSq(qr, col, len));
+
+            if (norm != 0) {
+                if (qr[col] < 0)
+                    norm = -norm;
+
+                VectorKernels.mul(qr, col, 1.0 / norm, qr, col, len);
+                qr[col] += 1;
+
+                for (int c = j + 1; c < n; c++) {
+                    int other = c * m + j;
+                    double s = -VectorKernels.dot(qr, col, qr, other, len) / qr[col];
+                    VectorKernels.axpy(s, qr, col, qr, other, len);
+                }
+            }
+            rDiag[j] = -norm;
+        }
+    }
+
+    /**
+     * Overwrites {@code y} with {@code Q^T * y}
+     */
+    private void applyQt(double[] y) {
+        for (int j = 0; j < k; j++)
+            reflect(j, y);
+    }
+
+    /**
+     * Overwrites {@code y} with {@code Q * y}
+     */
+    private void applyQ(double[] y) {
+        for (int j = k - 1; j >= 0; j--)
+            reflect(j, y);
+    }
+
+    /**
+     * Applies the {@code j}th Householder reflection to {@code y}
+     */
+    private void reflect(int j, double[] y) {
+        int col = j * m + j;
+        if (qr[col] == 0)
+            return;
+
+        double s = -VectorKernels.dot(qr, col, y, j, m - j) / qr[col];
+        VectorKernels.axpy(s, qr, col, y, j, m - j);
+    }
+
+    /**
+     * Solves {@code R*x = y} in place over the first {@code n} elements of {@code y}
+     */
+    private void backSubstitute(double[] y) {
+        for (int j = n - 1; j >= 0; j--) {
+            double x = y[j] / rDiag[j];
+            y[j] = x;
+            VectorKernels.axpy(-x, qr, j * m, y, 0, j);
+        }
+    }
+
+    private void checkLength(Vector b) {
+        if (b.length() != m)
+            throw new IllegalArgumentException("Vector has a different size than the matrix rows");
+    }
+
+    private void checkSolvable() {
+        if (m < n)
+            throw new IllegalArgumentException("Least squares needs at least as many rows as columns");
+        if (!isFullRank())
+            throw new ArithmeticException("Matrix is rank deficient");
+    }
+}
@@ -0,0 +1,385 @@
+package org.la.decomposition;
+
+import java.util.Arrays;
+
+import org.la.Linear;
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.kernel.VectorKernels;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * Singular value decomposition of a {@code m x n} matrix {@code A}, such that
+ * {@code A = U*S*V^T} where {@code S} is diagonal with the singular values in descending order
+ * and {@code U} and {@code V} have orthonormal columns
+ * <p>The matrix is first reduced to the square triangular factor {@code R} of its QR
+ * decomposition, whose columns are then orthogonalized with one-sided Jacobi rotations.
+ * {@code U} is obtained by applying the implicit {@code Q} to the left singular vectors of
+ * {@code R}, so a tall matrix never needs more than {@code O(m*n)} memory. Wide matrices
+ * are handled through their transpose</p>
+ * @see Mode
+ */
+public class SVDDecomposition {
+    /**
+     * Which singular vectors are computed
+     */
+    public enum Mode {
+        /** {@code U} is {@code m x m} and {@code V} is {@code n x n} */
+        FULL,
+        /** Economy size, {@code U} is {@code m x k} and {@code V} is {@code n x k} with {@code k = min(m, n)} */
+        THIN,
+        /** Only the singular values are computed */
+        VALUES
+    }
+
+    private static final int MAX_SWEEPS = 60;
+
+    private final int m;
+    private final int n;
+    private final Mode mode;
+    private final double[] s;
+    private Matrix U;
+    private Matrix V;
+
+    /**
+     * Computes the thin singular value decomposition of {@code A}
+     * @param A a matrix
+     * @see {@link #SVDDecomposition(Matrix, Mode)}
+     */
+    public SVDDecomposition(Matrix A) {
+        this(A, Mode.THIN);
+    }
+
+    /**
+     * Computes the singular value decomposition of {@code A} in the given {@code mode}
+     * @param A a matrix
+     * @param mode which singular vectors to compute
+     */
+    public SVDDecomposition(Matrix A, Mode mode) {
+        Probe probe = Probe.begin(Operation.SVD, A.rows(), A.cols(), 0);
+        try {
+            this.m = A.rows();
+            this.n = A.cols();
+            this.mode = mode;
+
+            boolean wide = m < n;
+            Matrix tall = wide ? A.transpose() : A;
+            int rows = tall.rows();
+            int k = tall.cols();
+
+            QRDecomposition qr = new QRDecomposition(tall);
+            double[] w = columnMajor(qr.getR());
+            double[] v = mode == Mode.VALUES ? null : identity(k);
+
+            jacobi(w, v, k);
+            s = new double[k];
+            for (int j = 0; j < k; j++)
+                s[j] = Math.sqrt(VectorKernels.sumSq(w, j * k, k));
+
+            int[] order = descending(s);
+            sortValues(order);
+
+            if (mode == Mode.VALUES)
+                return;
+
+            double[] u = leftVectors(w, k, order);
+            Matrix left = applyQ(qr, u, rows, k, mode == Mode.FULL ? rows : k);
+            Matrix right = toMatrix(v, k, order);
+
+            U = wide ? right : left;
+            V = wide ? left : right;
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Returns the singular values in descending order
+     */
+    public Vector getSingularValues() {
+        return new Vector(s);
+    }
+
+    /**
+     * Returns the diagonal matrix {@code S} of singular values. It is {@code m x n} in
+     * {@link Mode#FULL} mode and {@code k x k} otherwise
+     */
+    public Matrix getS() {
+        Matrix S = mode == Mode.FULL ? Matrix.fromSize(m, n) : Matrix.fromSize(s.length);
+
+        for (int i = 0; i < s.length; i++)
+            S.set(i, i, s[i]);
+        return S;
+    }
+
+    /**
+     * Returns the left singular vectors as columns
+     * @throws IllegalStateException in {@link Mode#VALUES} mode
+     */
+    public Matrix getU() {
+        checkVectors();
+        return U.clone();
+    }
+
+    /**
+     * Returns the right singular vectors as columns
+     * @throws IllegalStateException in {@link Mode#VALUES} mode
+     */
+    public Matrix getV() {
+        checkVectors();
+        return V.clone();
+    }
+
+    /**
+     * Returns the mode of the decomposition
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Returns the two norm of the matrix, its largest singular value
+     */
+    public double norm2() {
+        return s.length == 0 ? 0 : s[0];
+    }
+
+    /**
+     * Returns the two norm condition number, the ratio of the largest to the smallest singular value
+     */
+    public double cond() {
+        return s.length == 0 ? 0 : s[0] / s[s.length - 1];
+    }
+
+    /**
+     * Returns the default tolerance under which singular values are treated as zero
+     */
+    public double tolerance() {
+        return Math.max(m, n) * norm2() * Math.ulp(1.0);
+    }
+
+    /**
+     * Returns the numerical rank of the matrix using the default {@link #tolerance()}
+     */
+    public int rank() {
+        return rank(tolerance());
+    }
+
+    /**
+     * Returns the number of singular values above {@code tolerance}
+     */
+    public int rank(double tolerance) {
+        int r = 0;
+
+        while (r < s.length && s[r] > tolerance)
+            r++;
+        return r;
+    }
+
+    /**
+     * Returns the Moore-Penrose pseudo-inverse {@code V*S^+*U^T} of size {@code n x m},
+     * dropping singular values below the default {@link #tolerance()}
+     * @throws IllegalStateException in {@link Mode#VALUES} mode
+     */
+    public Matrix pseudoInverse() {
+        checkVectors();
+
+        int r = rank();
+        Matrix res = Matrix.fromSize(n, m);
+
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < m; j++) {
+                double x = 0;
+                for (int l = 0; l < r; l++)
+                    x += V.get(i, l) * U.get(j, l) / s[l];
+                res.set(i, j, x);
+            }
+        return res;
+    }
+
+    /**
+     * Returns the best rank {@code r} approximation {@code U_r*S_r*V_r^T} of the matrix
+     * @param r number of singular values to keep
+     * @throws IllegalStateException in {@link Mode#VALUES} mode
+     */
+    public Matrix approximation(int r) {
+        checkVectors();
+
+        if (r < 0 || r > s.length)
+            throw new IllegalArgumentException("Invalid rank " + r);
+
+        Matrix US = Matrix.fromSize(m, r);
+        Matrix Vt = Matrix.fromSize(r, n);
+
+        for (int l = 0; l < r; l++) {
+            for (int i = 0; i < m; i++)
+                US.set(i, l, U.get(i, l) * s[l]);
+            for (int j = 0; j < n; j++)
+                Vt.set(l, j, V.get(j, l));
+        }
+        return US.mul(Vt);
+    }
+
+    private void checkVectors() {
+        if (mode == Mode.VALUES)
+            throw new IllegalStateException("Singular vectors were not computed");
+    }
+
+    /**
+     * Orthogonalizes the columns of the {@code k x k} column-major matrix {@code w} with
+     * one-sided Jacobi rotations, applying them to the columns of {@code v} when it is not null
+     */
+    private static void jacobi(double[] w, double[] v, int k) {
+        double eps = Math.ulp(1.0);
+
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            boolean rotated = false;
+
+            for (int p = 0; p < k - 1; p++) {
+                for (int q = p + 1; q < k; q++) {
+                    double alpha = VectorKernels.sumSq(w, p * k, k);
+                    double beta = VectorKernels.sumSq(w, q * k, k);
+                    double gamma = VectorKernels.dot(w, p * k, w, q * k, k);
+
+                    if (gamma == 0 || Math.abs(gamma) <= eps * Math.sqrt(alpha * beta))
+                        continue;
+
+                    rotated = true;
+                    double zeta = (beta - alpha) / (2 * gamma);
+                    double t = Math.signum(zeta) / (Math.abs(zeta) + Math.sqrt(1 + zeta * zeta));
+                    if (zeta == 0)
+                        t = 1;
+
+                    double c = 1 / Math.sqrt(1 + t * t);
+                    double sn = c * t;
+
+                    rotate(w, p * k, q * k, k, c, sn);
+                    if (v != null)
+                        rotate(v, p * k, q * k, k, c, sn);
+                }
+            }
+
+            if (!rotated)
+                return;
+        }
+    }
+
+    /**
+     * Rotates the columns starting at {@code p} and {@code q} of {@code a}
+     */
+    private static void rotate(double[] a, int p, int q, int len, double c, double sn) {
+        for (int i = 0; i < len; i++) {
+            double x = a[p + i];
+            double y = a[q + i];
+            a[p + i] = c * x - sn * y;
+            a[q + i] = sn * x + c * y;
+        }
+    }
+
+    /**
+     * Normalizes the columns of {@code w} in the order of the singular values. Columns of
+     * zero singular values are completed to an orthonormal basis
+     */
+    private double[] leftVectors(double[] w, int k, int[] order) {
+        double[] u = new double[k * k];
+        double tol = tolerance();
+
+        for (int j = 0; j < k; j++) {
+            int src = order[j] * k;
+
+            if (s[j] > tol && s[j] > 0) {
+                VectorKernels.mul(w, src, 1.0 / s[j], u, j * k, k);
+                continue;
+            }
+
+            for (int e = 0; e < k; e++) {
+                Arrays.fill(u, j * k, (j + 1) * k, 0);
+                u[j * k + e] = 1;
+
+                for (int l = 0; l < j; l++)
+                    VectorKernels.axpy(-VectorKernels.dot(u, l * k, u, j * k, k), u, l * k, u, j * k, k);
+
+                double norm = Math.sqrt(VectorKernels.sumSq(u, j * k, k));
+                if (norm > Linear.EPS) {
+                    VectorKernels.mul(u, j * k, 1.0 / norm, u, j * k, k);
+                    break;
+                }
+            }
+        }
+        return u;
+    }
+
+    /**
+     * Returns {@code Q * [u; 0]} with {@code cols} columns, the columns past {@code k} being
+     * the matching columns of {@code Q} itself
+     */
+    private static Matrix applyQ(QRDecomposition qr, double[] u, int rows, int k, int cols) {
+        Matrix res = Matrix.fromSize(rows, cols, Matrix.Layout.COLUMN_MAJOR);
+        double[] col = new double[rows];
+
+        for (int j = 0; j < cols; j++) {
+            Arrays.fill(col, 0);
+            if (j < k)
+                System.arraycopy(u, j * k, col, 0, k);
+            else
+                col[j] = 1;
+
+            Vector x = qr.applyQ(new Vector(col, false));
+            for (int i = 0; i < rows; i++)
+                res.set(i, j, x.get(i));
+        }
+        return res;
+    }
+
+    /**
+     * Builds a matrix from the {@code k x k} column-major {@code v} with its columns reordered by {@code order}
+     */
+    private static Matrix toMatrix(double[] v, int k, int[] order) {
+        Matrix res = Matrix.fromSize(k, k, Matrix.Layout.COLUMN_MAJOR);
+
+        for (int j = 0; j < k; j++)
+            for (int i = 0; i < k; i++)
+                res.set(i, j, v[order[j] * k + i]);
+        return res;
+    }
+
+    private void sortValues(int[] order) {
+        double[] sorted = new double[s.length];
+
+        for (int j = 0; j < s.length; j++)
+            sorted[j] = s[order[j]];
+        System.arraycopy(sorted, 0, s, 0, s.length);
+    }
+
+    private static int[] descending(double[] values) {
+        Integer[] idx = new Integer[values.length];
+
+        for (int i = 0; i < idx.length; i++)
+            idx[i] = i;
+        Arrays.sort(idx, (a, b) -> Double.compare(values[b], values[a]));
+
+        int[] res = new int[idx.length];
+        for (int i = 0; i < idx.length; i++)
+            res[i] = idx[i];
+        return res;
+    }
+
+    private static double[] columnMajor(Matrix A) {
+        int rows = A.rows();
+        double[] res = new double[rows * A.cols()];
+
+        for (int j = 0; j < A.cols(); j++)
+            for (int i = 0; i < rows; i++)
+                res[j * rows + i] = A.get(i, j);
+        return res;
+    }
+
+    private static double[] identity(int k) {
+        double[] res = new double[k * k];
+
+        for (int i = 0; i < k; i++)
+            res[i * k + i] = 1;
+        return res;
+    }
+}
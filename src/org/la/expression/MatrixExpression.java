@@ -0,0 +1,178 @@
+package org.la.expression;
+
+import org.la.Matrix;
+import org.la.Matrix.Layout;
+
+/**
+ * Lazy element-wise expression over matrices of the same size.
+ * <p>Operations only build an expression tree, which {@link #eval()} computes in a single
+ * fused pass over the flat storage of the operands, see {@link VectorExpression}. The
+ * layout of the first matrix of the expression is the layout of the result. Operands that
+ * are not contiguous or are laid out differently, such as blocks and transpose views, are
+ * read through their rows or columns chunk by chunk during the same pass. Like other
+ * operands they are read when the expression is evaluated, so later writes to their
+ * matrix are seen. Only an expression built in the other layout is evaluated when it is
+ * combined with this one</p>
+ * @see org.la.Matrix#lazy()
+ */
+public final class MatrixExpression {
+    private final Node node;
+    private final int rows;
+    private final int cols;
+    private final Layout layout;
+
+    private MatrixExpression(Node node, int rows, int cols, Layout layout) {
+        this.node = node;
+        this.rows = rows;
+        this.cols = cols;
+        this.layout = layout;
+    }
+
+    /**
+     * Creates an expression reading the elements of {@code A}
+     */
+    public static MatrixExpression of(Matrix A) {
+        return new MatrixExpression(leaf(A, A.layout()), A.rows(), A.cols(), A.layout());
+    }
+
+    /**
+     * Returns the number of rows of the value of the expression
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the value of the expression
+     */
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the expression with {@code a} added to all elements
+     */
+    public MatrixExpression add(double a) {
+        return with(Node.Affine.of(node, 1, a));
+    }
+
+    /**
+     * Returns the sum of the expression and {@code A}
+     */
+    public MatrixExpression add(Matrix A) {
+        return with(new Node.Binary(Node.Binary.Op.ADD, node, leaf(A)));
+    }
+
+    /**
+     * Returns the sum of the expression and {@code e}
+     */
+    public MatrixExpression add(MatrixExpression e) {
+        return with(new Node.Binary(Node.Binary.Op.ADD, node, operand(e)));
+    }
+
+    /**
+     * Returns the expression with {@code a} subtracted from all elements
+     */
+    public MatrixExpression sub(double a) {
+        return add(-a);
+    }
+
+    /**
+     * Returns the difference of the expression and {@code A}
+     */
+    public MatrixExpression sub(Matrix A) {
+        return with(new Node.Binary(Node.Binary.Op.SUB, node, leaf(A)));
+    }
+
+    /**
+     * Returns the difference of the expression and {@code e}
+     */
+    public MatrixExpression sub(MatrixExpression e) {
+        return with(new Node.Binary(Node.Binary.Op.SUB, node, operand(e)));
+    }
+
+    /**
+     * Returns the expression multiplied with {@code a}
+     */
+    public MatrixExpression mul(double a) {
+        return with(Node.Affine.of(node, a, 0));
+    }
+
+    /**
+     * Returns the expression divided by {@code a}
+     * @param a a non zero value
+     */
+    public MatrixExpression div(double a) {
+        if (a == 0)
+            throw new ArithmeticException("Can't divide by zero");
+        return mul(1.0/a);
+    }
+
+    /**
+     * Returns the negation of the expression
+     */
+    public MatrixExpression negate() {
+        return mul(-1);
+    }
+
+    /**
+     * Evaluates the expression into a new matrix
+     */
+    public Matrix eval() {
+        return eval(Matrix.fromSize(rows, cols, layout));
+    }
+
+    /**
+     * Evaluates the expression into {@code out}, which may be one of its operands
+     * @param out destination matrix
+     * @return out
+     */
+    public Matrix eval(Matrix out) {
+        if (out.rows() != rows || out.cols() != cols)
+            throw new IllegalArgumentException("Output matrix has a different size");
+
+        if (out.isContiguous() && out.layout() == layout) {
+            new VectorExpression(node).eval(out.flatView());
+        } else {
+            out.setAll(eval());
+        }
+        return out;
+    }
+
+    /**
+     * Returns an expression of the same size with {@code node} as its tree
+     */
+    private MatrixExpression with(Node node) {
+        return new MatrixExpression(node, rows, cols, layout);
+    }
+
+    /**
+     * Returns the tree of {@code e}, which must have the size and layout of the instance
+     */
+    private Node operand(MatrixExpression e) {
+        if (e.rows != rows || e.cols != cols)
+            throw new IllegalArgumentException("Matrices have different sizes");
+        if (e.layout != layout)
+            return leaf(e.eval());
+        return e.node;
+    }
+
+    /**
+     * Returns a leaf reading {@code A}, which must have the size of the instance
+     */
+    private Node leaf(Matrix A) {
+        if (A.rows() != rows || A.cols() != cols)
+            throw new IllegalArgumentException("Matrices have different sizes");
+        return leaf(A, layout);
+    }
+
+    /**
+     * Returns a leaf reading the flat storage of {@code A}, or reading its rows or columns
+     * chunk by chunk when it is not contiguous in {@code layout}
+     */
+    private static Node leaf(Matrix A, Layout layout) {
+        if (A.isContiguous() && A.layout() == layout)
+            return new Node.Leaf(A.flatView());
+        return new Node.MatrixLeaf(A, layout);
+    }
+}
@@ -0,0 +1,272 @@
+package org.la.expression;
+
+import org.la.Matrix;
+import org.la.Matrix.Layout;
+import org.la.Vector;
+
+/**
+ * Node of an element-wise expression tree over vectors of the same length.
+ * <p>A node is evaluated a chunk at a time: {@link #eval(int, Vector)} writes the elements
+ * from {@code from} to {@code from + out.length()} of its value into {@code out}. Chunks
+ * are small enough to stay in cache, so the intermediate values of the tree never go
+ * back to memory</p>
+ * <p>Nodes keep scratch buffers between chunks and must not be evaluated by several
+ * threads at once</p>
+ */
+abstract class Node {
+    /**
+     * Returns the number of elements of the value of the node
+     */
+    abstract int length();
+
+    /**
+     * Writes the elements from {@code from} to {@code from + out.length()} into {@code out}
+     */
+    abstract void eval(int from, Vector out);
+
+    /**
+     * Checks if the node reads elements of {@code v}
+     */
+    abstract boolean reads(Vector v);
+
+    /**
+     * Checks if the node reads elements of {@code v} through a view that is not {@code v}
+     * itself, so element {@code i} of the node may depend on another element of {@code v}
+     */
+    abstract boolean aliases(Vector v);
+
+    /**
+     * Leaf node reading the elements of a vector
+     */
+    static final class Leaf extends Node {
+        final Vector v;
+
+        Leaf(Vector v) {
+            this.v = v;
+        }
+
+        @Override
+        int length() {
+            return v.length();
+        }
+
+        @Override
+        void eval(int from, Vector out) {
+            out.setAll(slice(from, out.length()));
+        }
+
+        @Override
+        boolean reads(Vector u) {
+            return v.overlaps(u);
+        }
+
+        @Override
+        boolean aliases(Vector u) {
+            return v.overlaps(u) && !v.sameView(u);
+        }
+
+        /**
+         * Returns the view of the elements from {@code from} to {@code from + n}
+         */
+        Vector slice(int from, int n) {
+            return v.slice(from, from + n);
+        }
+    }
+
+    /**
+     * Leaf node reading the elements of a matrix in the order of {@code layout}, used for
+     * matrices whose storage is not contiguous in that order. Each chunk is copied from the
+     * rows, or the columns, of the matrix it covers when the expression is evaluated
+     */
+    static final class MatrixLeaf extends Node {
+        /** Lines shorter than this are read element by element rather than through views */
+        private static final int MIN_VIEW = 8;
+
+        final Matrix A;
+        private final boolean byRow;
+        private final int lines;
+        private final int width;
+
+        MatrixLeaf(Matrix A, Layout layout) {
+            this.A = A;
+            this.byRow = layout == Layout.ROW_MAJOR;
+            this.lines = byRow ? A.rows() : A.cols();
+            this.width = byRow ? A.cols() : A.rows();
+        }
+
+        @Override
+        int length() {
+            return lines * width;
+        }
+
+        @Override
+        void eval(int from, Vector out) {
+            int n = out.length();
+            int line = from / width;
+            int pos = from - line * width;
+
+            for (int k = 0; k < n; line++, pos = 0) {
+                int len = Math.min(width - pos, n - k);
+
+                if (len < MIN_VIEW) {
+                    for (int p = pos; p < pos + len; p++)
+                        out.set(k++, byRow ? A.get(line, p) : A.get(p, line));
+                } else {
+                    out.slice(k, k + len).setAll(line(line).slice(pos, pos + len));
+                    k += len;
+                }
+            }
+        }
+
+        /**
+         * Any shared element is read at another position than the one it is written to,
+         * since the storage of the matrix is not in the order of the expression
+         */
+        @Override
+        boolean reads(Vector v) {
+            for (int i = 0; i < lines; i++)
+                if (line(i).overlaps(v))
+                    return true;
+            return false;
+        }
+
+        @Override
+        boolean aliases(Vector v) {
+            return reads(v);
+        }
+
+        private Vector line(int i) {
+            return byRow ? A.rowView(i) : A.colView(i);
+        }
+    }
+
+    /**
+     * Node computing {@code child*scale + shift}
+     */
+    static final class Affine extends Node {
+        final Node child;
+        final double scale;
+        final double shift;
+
+        Affine(Node child, double scale, double shift) {
+            this.child = child;
+            this.scale = scale;
+            this.shift = shift;
+        }
+
+        /**
+         * Returns {@code node*scale + shift}, merged with the node when it is affine itself
+         */
+        static Node of(Node node, double scale, double shift) {
+            if (node instanceof Affine) {
+                Affine a = (Affine) node;
+                return new Affine(a.child, a.scale * scale, a.shift * scale + shift);
+            }
+            return new Affine(node, scale, shift);
+        }
+
+        @Override
+        int length() {
+            return child.length();
+        }
+
+        @Override
+        void eval(int from, Vector out) {
+            child.eval(from, out);
+
+            if (scale != 1)
+                out.mulInPlace(scale);
+            if (shift != 0)
+                out.addInPlace(shift);
+        }
+
+        @Override
+        boolean reads(Vector v) {
+            return child.reads(v);
+        }
+
+        @Override
+        boolean aliases(Vector v) {
+            return child.aliases(v);
+        }
+    }
+
+    /**
+     * Node combining two nodes element by element
+     */
+    static final class Binary extends Node {
+        /** Element-wise operations */
+        enum Op { ADD, SUB, MUL }
+
+        final Op op;
+        final Node left;
+        final Node right;
+        private Vector scratch;
+
+        Binary(Op op, Node left, Node right) {
+            if (left.length() != right.length())
+                throw new IllegalArgumentException("Vectors have different sizes");
+
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        int length() {
+            return left.length();
+        }
+
+        @Override
+        void eval(int from, Vector out) {
+            int n = out.length();
+            left.eval(from, out);
+
+            if (right instanceof Leaf) {
+                apply(out, ((Leaf) right).slice(from, n));
+                return;
+            }
+
+            if (op != Op.MUL && right instanceof Affine) {
+                Affine a = (Affine) right;
+                if (a.shift == 0 && a.child instanceof Leaf) {
+                    out.axpy(op == Op.ADD ? a.scale : -a.scale, ((Leaf) a.child).slice(from, n));
+                    return;
+                }
+            }
+
+            if (scratch == null || scratch.length() < n)
+                scratch = Vector.blankOfLength(n);
+
+            Vector tmp = scratch.slice(0, n);
+            right.eval(from, tmp);
+            apply(out, tmp);
+        }
+
+        @Override
+        boolean reads(Vector v) {
+            return left.reads(v) || right.reads(v);
+        }
+
+        @Override
+        boolean aliases(Vector v) {
+            return left.aliases(v) || right.aliases(v);
+        }
+
+        /**
+         * Computes {@code out = out op u}
+         */
+        private void apply(Vector out, Vector u) {
+            switch (op) {
+                case ADD:
+                    out.addInPlace(u);
+                    break;
+                case SUB:
+                    out.subInPlace(u);
+                    break;
+                default:
+                    out.mulInPlace(u);
+            }
+        }
+    }
+}
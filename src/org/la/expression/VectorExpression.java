@@ -0,0 +1,159 @@
+package org.la.expression;
+
+import org.la.Vector;
+
+/**
+ * Lazy element-wise expression over vectors of the same length.
+ * <p>Operations only build an expression tree. {@link #eval()} computes the whole tree in a
+ * single pass over its operands, a chunk of {@link #CHUNK} elements at a time, so a chain like
+ * {@code a.lazy().mul(2).add(b).sub(c).eval()} reads each operand once and writes one result
+ * instead of allocating and streaming an intermediate vector per operation</p>
+ * <p>Operands are read when the expression is evaluated, not when it is built. An expression
+ * must not be evaluated by several threads at once</p>
+ * @see org.la.Vector#lazy()
+ */
+public final class VectorExpression {
+    /** Number of elements computed per pass over the tree */
+    public static final int CHUNK = 1024;
+
+    private final Node node;
+
+    VectorExpression(Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Creates an expression reading the elements of {@code v}
+     */
+    public static VectorExpression of(Vector v) {
+        return new VectorExpression(new Node.Leaf(v));
+    }
+
+    /**
+     * Returns the length of the value of the expression
+     */
+    public int length() {
+        return node.length();
+    }
+
+    /**
+     * Returns the expression with {@code a} added to all elements
+     */
+    public VectorExpression add(double a) {
+        return new VectorExpression(Node.Affine.of(node, 1, a));
+    }
+
+    /**
+     * Returns the sum of the expression and {@code u}
+     */
+    public VectorExpression add(Vector u) {
+        return add(of(u));
+    }
+
+    /**
+     * Returns the sum of the expression and {@code e}
+     */
+    public VectorExpression add(VectorExpression e) {
+        return new VectorExpression(new Node.Binary(Node.Binary.Op.ADD, node, e.node));
+    }
+
+    /**
+     * Returns the expression with {@code a} subtracted from all elements
+     */
+    public VectorExpression sub(double a) {
+        return add(-a);
+    }
+
+    /**
+     * Returns the difference of the expression and {@code u}
+     */
+    public VectorExpression sub(Vector u) {
+        return sub(of(u));
+    }
+
+    /**
+     * Returns the difference of the expression and {@code e}
+     */
+    public VectorExpression sub(VectorExpression e) {
+        return new VectorExpression(new Node.Binary(Node.Binary.Op.SUB, node, e.node));
+    }
+
+    /**
+     * Returns the expression multiplied with {@code a}
+     */
+    public VectorExpression mul(double a) {
+        return new VectorExpression(Node.Affine.of(node, a, 0));
+    }
+
+    /**
+     * Returns the expression multiplied by elements of {@code u}
+     */
+    public VectorExpression mul(Vector u) {
+        return mul(of(u));
+    }
+
+    /**
+     * Returns the expression multiplied by elements of {@code e}
+     */
+    public VectorExpression mul(VectorExpression e) {
+        return new VectorExpression(new Node.Binary(Node.Binary.Op.MUL, node, e.node));
+    }
+
+    /**
+     * Returns the expression divided by {@code a}
+     * @param a a non zero value
+     */
+    public VectorExpression div(double a) {
+        if (a == 0)
+            throw new ArithmeticException("Can't divide by zero");
+        return mul(1.0/a);
+    }
+
+    /**
+     * Returns the negation of the expression
+     */
+    public VectorExpression negate() {
+        return mul(-1);
+    }
+
+    /**
+     * Evaluates the expression into a new vector
+     */
+    public Vector eval() {
+        return eval(Vector.blankOfLength(length()));
+    }
+
+    /**
+     * Evaluates the expression into {@code out}, which may be one of its operands. When
+     * {@code out} partially overlaps an operand the expression is evaluated into a new
+     * vector first
+     * @param out destination vector
+     * @return out
+     */
+    public Vector eval(Vector out) {
+        int n = length();
+        if (out.length() != n)
+            throw new IllegalArgumentException("Output vector has a different size");
+
+        if (node.aliases(out)) {
+            out.setAll(eval());
+            return out;
+        }
+
+        Vector buffer = node.reads(out) ? Vector.blankOfLength(Math.min(n, CHUNK)) : null;
+
+        for (int from = 0; from < n; from += CHUNK) {
+            int to = Math.min(n, from + CHUNK);
+            Vector chunk = out.slice(from, to);
+
+            if (buffer == null) {
+                node.eval(from, chunk);
+            } else {
+                Vector tmp = buffer.slice(0, to - from);
+                node.eval(from, tmp);
+                chunk.setAll(tmp);
+            }
+        }
+        return out;
+    }
+}
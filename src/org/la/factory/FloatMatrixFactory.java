@@ -0,0 +1,56 @@
+package org.la.factory;
+
+import org.la.FloatMatrix;
+import org.la.Matrix;
+
+
+public class FloatMatrixFactory {
+	/**
+	 * Creates a new matrix from given array {@code arr} while copying the given array
+	 */
+	public static FloatMatrix fromArray(float[][] arr) {
+		FloatMatrix res = fromSize(arr.length, arr[0].length);
+
+		for (int i = 0; i < arr.length; i++)
+			for (int j = 0; j < arr[i].length; j++)
+				res.set(i, j, arr[i][j]);
+		return res;
+	}
+
+	/**
+	 * Creates a new matrix of given size {@code rows x cols}
+	 */
+	public static FloatMatrix fromSize(int rows, int cols) {
+		return new FloatMatrix(rows, cols);
+	}
+
+	/**
+	 * Creates a new matrix of given size {@code rows x cols} laid out according to {@code layout}
+	 */
+	public static FloatMatrix fromSize(int rows, int cols, Matrix.Layout layout) {
+		return new FloatMatrix(rows, cols, layout);
+	}
+
+	/**
+	 * Creates a new matrix of the elements of {@code A} rounded to float, with the same layout
+	 */
+	public static FloatMatrix fromMatrix(Matrix A) {
+		FloatMatrix res = fromSize(A.rows(), A.cols(), A.layout());
+
+		for (int i = 0; i < A.rows(); i++)
+			for (int j = 0; j < A.cols(); j++)
+				res.set(i, j, (float) A.get(i, j));
+		return res;
+	}
+
+	/**
+	 * Creates an identity matrix of size {@code size x size}
+	 */
+	public static FloatMatrix identity(int size) {
+		FloatMatrix res = fromSize(size, size);
+
+		for (int i = 0; i < size; i++)
+			res.set(i, i, 1);
+		return res;
+	}
+}
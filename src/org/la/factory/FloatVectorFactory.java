@@ -0,0 +1,36 @@
+package org.la.factory;
+
+import java.util.Arrays;
+
+import org.la.FloatVector;
+import org.la.Vector;
+
+
+public class FloatVectorFactory {
+    /**
+     * Creates a new vector of given length {@code length}
+     */
+    public static FloatVector fromLength(int length) {
+        return new FloatVector(new float[length], false);
+    }
+
+    /**
+     * Creates a new vector of {@code value}s of length {@code length}
+     */
+    public static FloatVector fromConstant(int length, float value) {
+        float[] arr = new float[length];
+        Arrays.fill(arr, value);
+        return new FloatVector(arr, false);
+    }
+
+    /**
+     * Creates a new vector of the elements of {@code u} rounded to float
+     */
+    public static FloatVector fromVector(Vector u) {
+        float[] arr = new float[u.length()];
+
+        for (int i = 0; i < arr.length; i++)
+            arr[i] = (float) u.get(i);
+        return new FloatVector(arr, false);
+    }
+}
@@ -55,7 +55,14 @@ public class MatrixFactory {
      * Creates a new matrix of given size {@code rows x cols}
 	 */
 	public static Matrix fromSize(int rows, int cols) {
-		return new Matrix(new double[rows][cols], false);
+		return new Matrix(rows, cols);
+	}
+
+	/**
+     * Creates a new matrix of given size {@code rows x cols} laid out according to {@code layout}
+	 */
+	public static Matrix fromSize(int rows, int cols, Matrix.Layout layout) {
+		return new Matrix(rows, cols, layout);
 	}
 
 	/**
@@ -99,10 +106,10 @@ public class MatrixFactory {
      * Creates an identitiy matrix of size {@code n x n}
      */
 	public static Matrix identity(int size) {
-		double[][] m = new double[size][size];
+		Matrix res = fromSize(size);
 		for (int i = 0; i < size; i++) {
-			m[i][i] = 1;
+			res.set(i, i, 1);
 		}
-		return new Matrix(m);
+		return res;
 	}
 }
@@ -0,0 +1,25 @@
+package org.la.factory;
+
+import org.la.Matrix;
+import org.la.offheap.OffHeapMatrix;
+
+
+public class OffHeapMatrixFactory {
+	/**
+	 * Creates a new off-heap matrix of given size {@code rows x cols} in its own scope
+	 */
+	public static OffHeapMatrix fromSize(int rows, int cols) {
+		return new OffHeapMatrix(rows, cols);
+	}
+
+	/**
+	 * Creates a new off-heap matrix holding the elements of {@code A}, copied row by row
+	 */
+	public static OffHeapMatrix fromMatrix(Matrix A) {
+		OffHeapMatrix res = fromSize(A.rows(), A.cols());
+
+		for (int i = 0; i < A.rows(); i++)
+			res.setRow(i, A.rowView(i));
+		return res;
+	}
+}
@@ -0,0 +1,21 @@
+package org.la.factory;
+
+import org.la.Vector;
+import org.la.offheap.OffHeapVector;
+
+
+public class OffHeapVectorFactory {
+    /**
+     * Creates a new off-heap vector holding the elements of {@code v}
+     */
+    public static OffHeapVector fromVector(Vector v) {
+        return new OffHeapVector(v.length()).setAll(0, v);
+    }
+
+    /**
+     * Creates a new off-heap vector of length {@code length} with all elements set to {@code value}
+     */
+    public static OffHeapVector fromConstant(long length, double value) {
+        return new OffHeapVector(length).setAll(value);
+    }
+}
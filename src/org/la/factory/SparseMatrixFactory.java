@@ -0,0 +1,131 @@
+package org.la.factory;
+
+import java.util.Arrays;
+
+import org.la.Matrix;
+import org.la.sparse.SparseMatrix;
+
+
+public class SparseMatrixFactory {
+	/**
+	 * Creates a new sparse matrix of size {@code rows x cols} from coordinate triplets,
+	 * element {@code k} having value {@code values[k]} at row {@code rowIdx[k]} and col {@code colIdx[k]}.
+	 * Duplicate entries are summed
+	 */
+	public static SparseMatrix fromTriplets(int rows, int cols, int[] rowIdx, int[] colIdx, double[] values) {
+		int n = rowIdx.length;
+		if (colIdx.length != n || values.length != n)
+			throw new IllegalArgumentException("Triplet arrays have different sizes");
+
+		int[] ptr = new int[rows + 1];
+		for (int k = 0; k < n; k++) {
+			if (rowIdx[k] < 0 || rowIdx[k] >= rows || colIdx[k] < 0 || colIdx[k] >= cols)
+				throw new IndexOutOfBoundsException("Invalid index (" + rowIdx[k] + ", " + colIdx[k] + ")");
+			ptr[rowIdx[k] + 1]++;
+		}
+		for (int i = 0; i < rows; i++)
+			ptr[i + 1] += ptr[i];
+
+		int[] next = Arrays.copyOf(ptr, rows);
+		int[] idx = new int[n];
+		double[] vals = new double[n];
+
+		for (int k = 0; k < n; k++) {
+			int dst = next[rowIdx[k]]++;
+			idx[dst] = colIdx[k];
+			vals[dst] = values[k];
+		}
+
+		int[] resPtr = new int[rows + 1];
+		int nnz = 0;
+
+		for (int i = 0; i < rows; i++) {
+			int start = nnz;
+			sortRow(idx, vals, ptr[i], ptr[i + 1]);
+
+			for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+				if (nnz > start && idx[nnz - 1] == idx[k]) {
+					vals[nnz - 1] += vals[k];
+				} else {
+					idx[nnz] = idx[k];
+					vals[nnz++] = vals[k];
+				}
+			}
+			resPtr[i + 1] = nnz;
+		}
+		return new SparseMatrix(rows, cols, resPtr, Arrays.copyOf(idx, nnz), Arrays.copyOf(vals, nnz));
+	}
+
+	/**
+	 * Creates a new sparse matrix storing the non-zero elements of {@code A}
+	 */
+	public static SparseMatrix fromDense(Matrix A) {
+		int rows = A.rows();
+		int cols = A.cols();
+		int[] ptr = new int[rows + 1];
+
+		for (int i = 0; i < rows; i++) {
+			ptr[i + 1] = ptr[i];
+			for (int j = 0; j < cols; j++)
+				if (A.get(i, j) != 0)
+					ptr[i + 1]++;
+		}
+
+		int[] idx = new int[ptr[rows]];
+		double[] vals = new double[ptr[rows]];
+		int k = 0;
+
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < cols; j++) {
+				double x = A.get(i, j);
+				if (x != 0) {
+					idx[k] = j;
+					vals[k++] = x;
+				}
+			}
+		return new SparseMatrix(rows, cols, ptr, idx, vals);
+	}
+
+	/**
+	 * Creates a new sparse matrix of size {@code rows x cols} without stored elements
+	 */
+	public static SparseMatrix fromSize(int rows, int cols) {
+		return new SparseMatrix(rows, cols, new int[rows + 1], new int[0], new double[0]);
+	}
+
+	/**
+	 * Creates a sparse identity matrix of size {@code n x n}
+	 */
+	public static SparseMatrix identity(int size) {
+		int[] ptr = new int[size + 1];
+		int[] idx = new int[size];
+		double[] vals = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			ptr[i + 1] = i + 1;
+			idx[i] = i;
+			vals[i] = 1;
+		}
+		return new SparseMatrix(size, size, ptr, idx, vals);
+	}
+
+	/**
+	 * Sorts the entries {@code [from, to)} of a row by column index with insertion sort,
+	 * rows being short in practice
+	 */
+	private static void sortRow(int[] idx, double[] vals, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			int c = idx[i];
+			double v = vals[i];
+			int j = i - 1;
+
+			while (j >= from && idx[j] > c) {
+				idx[j + 1] = idx[j];
+				vals[j + 1] = vals[j];
+				j--;
+			}
+			idx[j + 1] = c;
+			vals[j + 1] = v;
+		}
+	}
+}
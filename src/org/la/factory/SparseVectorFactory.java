@@ -0,0 +1,67 @@
+package org.la.factory;
+
+import java.util.Arrays;
+
+import org.la.Vector;
+import org.la.sparse.SparseVector;
+
+
+public class SparseVectorFactory {
+    /**
+     * Creates a new sparse vector storing the non-zero elements of {@code v}
+     */
+    public static SparseVector fromDense(Vector v) {
+        int nnz = 0;
+        for (int i = 0; i < v.length(); i++)
+            if (v.get(i) != 0)
+                nnz++;
+
+        int[] idx = new int[nnz];
+        double[] vals = new double[nnz];
+        int k = 0;
+
+        for (int i = 0; i < v.length(); i++) {
+            double x = v.get(i);
+            if (x != 0) {
+                idx[k] = i;
+                vals[k++] = x;
+            }
+        }
+        return new SparseVector(v.length(), idx, vals);
+    }
+
+    /**
+     * Creates a new sparse vector of length {@code length} from unsorted index/value pairs.
+     * Duplicate indices are summed
+     */
+    public static SparseVector fromPairs(int length, int[] indices, double[] values) {
+        if (indices.length != values.length)
+            throw new IllegalArgumentException("Indices and values have different sizes");
+
+        Integer[] order = new Integer[indices.length];
+        for (int k = 0; k < order.length; k++)
+            order[k] = k;
+        Arrays.sort(order, (a, b) -> Integer.compare(indices[a], indices[b]));
+
+        int[] idx = new int[indices.length];
+        double[] vals = new double[indices.length];
+        int n = 0;
+
+        for (int k : order) {
+            if (n > 0 && idx[n - 1] == indices[k]) {
+                vals[n - 1] += values[k];
+            } else {
+                idx[n] = indices[k];
+                vals[n++] = values[k];
+            }
+        }
+        return new SparseVector(length, Arrays.copyOf(idx, n), Arrays.copyOf(vals, n));
+    }
+
+    /**
+     * Creates a new sparse vector of length {@code length} without stored elements
+     */
+    public static SparseVector fromLength(int length) {
+        return new SparseVector(length, new int[0], new double[0]);
+    }
+}
@@ -0,0 +1,14 @@
+package org.la.function;
+
+/**
+ * Operation accepting an index and the value of the element at that index, without
+ * boxing the value
+ * @see org.la.Vector#forEachIndexed(IntDoubleConsumer)
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    /**
+     * Performs the operation on the element at {@code index}
+     */
+    void accept(int index, double value);
+}
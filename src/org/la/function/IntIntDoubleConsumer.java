@@ -0,0 +1,14 @@
+package org.la.function;
+
+/**
+ * Operation accepting a row index, a column index and the value of the element at
+ * that position, without boxing the value
+ * @see org.la.Matrix#forEachIndexed(IntIntDoubleConsumer)
+ */
+@FunctionalInterface
+public interface IntIntDoubleConsumer {
+    /**
+     * Performs the operation on the element at row {@code i} and col {@code j}
+     */
+    void accept(int i, int j, double value);
+}
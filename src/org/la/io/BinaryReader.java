@@ -0,0 +1,207 @@
+package org.la.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Reader of the matrices and vectors written by {@link BinaryWriter}, in the byte order and
+ * element type stated by each {@link Header}. {@code FLOAT32} elements are widened to double
+ * <p>{@link #readMatrix()} and {@link #readVector()} read a whole matrix or vector. A large
+ * matrix can be read row by row instead with {@link #next()} and {@link #readRow(Vector)}</p>
+ */
+public final class BinaryReader implements Closeable {
+    private static final int BUFFER = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocate(BUFFER).flip();
+    private final double[] scratch = new double[BUFFER / Double.BYTES];
+    private final Vector scratchVector = new Vector(scratch, false);
+
+    private Header header;
+    private long remaining;
+
+    /**
+     * Creates a reader from {@code in}
+     */
+    public BinaryReader(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Creates a reader from {@code channel}
+     */
+    public BinaryReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Reads the header of the next matrix or vector, skipping the values left unread in the
+     * current one
+     * @return the header, or null at the end of the stream
+     */
+    public Header next() throws IOException {
+        while (remaining > 0) {
+            int n = (int) Math.min(scratch.length, remaining);
+            read(scratch, 0, n);
+        }
+        if (!fill(1))
+            return null;
+        if (!fill(Header.SIZE))
+            throw new EOFException("Stream ends in a header");
+
+        header = Header.read(buf);
+        remaining = header.rows() * header.cols();
+        return header;
+    }
+
+    /**
+     * Returns the header of the current matrix or vector, or null before the first one
+     */
+    public Header header() {
+        return header;
+    }
+
+    /**
+     * Reads the next matrix
+     * @throws IOException if the stream ends or the next element is not a matrix
+     */
+    public Matrix readMatrix() throws IOException {
+        Header h = nextOrFail();
+
+        if (h.isVector())
+            throw new IOException("Expected a matrix, found a " + h);
+        if (h.rows() > Integer.MAX_VALUE || h.cols() > Integer.MAX_VALUE)
+            throw new IOException("Matrix has too many rows or columns");
+        if (remaining > Integer.MAX_VALUE - 8)
+            throw new IOException("Matrix is too large for an array");
+
+        double[] data = new double[(int) remaining];
+        read(data, 0, data.length);
+        return new Matrix((int) h.rows(), (int) h.cols(), data, Matrix.Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Reads the next vector
+     * @throws IOException if the stream ends or the next element is not a vector
+     */
+    public Vector readVector() throws IOException {
+        Header h = nextOrFail();
+
+        if (!h.isVector())
+            throw new IOException("Expected a vector, found a " + h);
+        if (remaining > Integer.MAX_VALUE - 8)
+            throw new IOException("Vector is too long for an array");
+
+        double[] data = new double[(int) remaining];
+        read(data, 0, data.length);
+        return new Vector(data, false);
+    }
+
+    /**
+     * Reads the next row of the current matrix into a new vector
+     */
+    public Vector readRow() throws IOException {
+        if (header == null || header.isVector())
+            throw new IllegalStateException("No matrix is being read");
+        if (header.cols() > Integer.MAX_VALUE - 8)
+            throw new IOException("Row is too long for an array");
+        return readRow(Vector.blankOfLength((int) header.cols()));
+    }
+
+    /**
+     * Reads the next row of the current matrix into {@code out}
+     * @param out a vector of length {@code cols}
+     * @return out
+     */
+    public Vector readRow(Vector out) throws IOException {
+        if (header == null || header.isVector() || out.length() != header.cols())
+            throw new IllegalArgumentException("Row does not match the current matrix");
+        return readValues(out);
+    }
+
+    /**
+     * Reads the next {@code out.length()} values of the current matrix or vector into {@code out}
+     * @return out
+     */
+    public Vector readValues(Vector out) throws IOException {
+        int length = out.length();
+
+        if (length > remaining)
+            throw new IllegalStateException("Only " + remaining + " values are left");
+
+        for (int from = 0; from < length; from += scratch.length) {
+            int n = Math.min(scratch.length, length - from);
+
+            read(scratch, 0, n);
+            out.slice(from, from + n).setAll(scratchVector.slice(0, n));
+        }
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Header nextOrFail() throws IOException {
+        Header h = next();
+
+        if (h == null)
+            throw new EOFException("No more matrices or vectors");
+        return h;
+    }
+
+    /**
+     * Reads {@code n} values of the current matrix or vector into {@code dst} at {@code off}.
+     * The values left are counted as they arrive, so they stay right if the stream fails midway
+     */
+    private void read(double[] dst, int off, int n) throws IOException {
+        int size = header.type().bytes();
+
+        while (n > 0) {
+            if (!fill(size))
+                throw new EOFException("Stream ends in the middle of a " + header);
+
+            int k = Math.min(n, buf.remaining() / size);
+            buf.order(header.order());
+
+            if (header.type() == DataType.FLOAT64) {
+                buf.asDoubleBuffer().get(dst, off, k);
+            } else {
+                for (int i = 0; i < k; i++)
+                    dst[off + i] = buf.getFloat(buf.position() + i * size);
+            }
+            buf.position(buf.position() + k * size);
+            off += k;
+            n -= k;
+            remaining -= k;
+        }
+    }
+
+    /**
+     * Makes at least {@code n} bytes available in the buffer unless the stream ends before
+     * @return true if they are available
+     */
+    private boolean fill(int n) throws IOException {
+        if (buf.remaining() >= n)
+            return true;
+
+        buf.compact();
+        try {
+            while (buf.position() < n)
+                if (channel.read(buf) < 0)
+                    return false;
+        } finally {
+            buf.flip();
+        }
+        return true;
+    }
+}
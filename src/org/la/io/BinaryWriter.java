@@ -0,0 +1,197 @@
+package org.la.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Writer of matrices and vectors in a lossless binary format: a {@link Header} followed by the
+ * elements as {@code FLOAT64} row by row. Several matrices and vectors can be written one after
+ * the other and read back with {@link BinaryReader}
+ * <p>The elements go through a fixed buffer in bulk transfers, and a matrix can be written
+ * row by row after {@link #beginMatrix(int, int)} so it never has to be in memory as a whole.
+ * A file holding a single matrix written in the native byte order can also be mapped by
+ * {@link org.la.offheap.MappedFiles}</p>
+ */
+public final class BinaryWriter implements Closeable, Flushable {
+    private static final int BUFFER = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buf;
+    private final double[] scratch = new double[BUFFER / Double.BYTES];
+    private final Vector scratchVector = new Vector(scratch, false);
+
+    private Header header;
+    private long remaining;
+
+    /**
+     * Creates a writer to {@code out} in the native byte order
+     */
+    public BinaryWriter(OutputStream out) {
+        this(Channels.newChannel(out));
+    }
+
+    /**
+     * Creates a writer to {@code channel} in the native byte order
+     */
+    public BinaryWriter(WritableByteChannel channel) {
+        this(channel, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a writer to {@code channel} storing the elements in byte order {@code order}
+     */
+    public BinaryWriter(WritableByteChannel channel, ByteOrder order) {
+        this.channel = channel;
+        this.buf = ByteBuffer.allocate(BUFFER).order(order);
+    }
+
+    /**
+     * Writes matrix {@code A}
+     */
+    public void write(Matrix A) throws IOException {
+        beginMatrix(A.rows(), A.cols());
+
+        for (int i = 0; i < A.rows(); i++)
+            writeRow(A.rowView(i));
+    }
+
+    /**
+     * Writes vector {@code v}
+     */
+    public void write(Vector v) throws IOException {
+        beginVector(v.length());
+        writeValues(v);
+    }
+
+    /**
+     * Writes the header of a {@code rows x cols} matrix, whose rows must then be written
+     * with {@link #writeRow(Vector)}
+     * @throws IllegalStateException if the previous matrix or vector is incomplete
+     */
+    public void beginMatrix(int rows, int cols) throws IOException {
+        begin(Header.ofMatrix(DataType.FLOAT64, buf.order(), rows, cols));
+    }
+
+    /**
+     * Writes the header of a vector of length {@code length}, whose values must then be
+     * written with {@link #writeValues(Vector)}
+     * @throws IllegalStateException if the previous matrix or vector is incomplete
+     */
+    public void beginVector(int length) throws IOException {
+        begin(Header.ofVector(DataType.FLOAT64, buf.order(), length));
+    }
+
+    /**
+     * Writes the next row of the current matrix
+     * @param row a vector of length {@code cols}
+     */
+    public void writeRow(Vector row) throws IOException {
+        if (!isRowOfLength(row.length()))
+            throw new IllegalArgumentException("Row does not match the current matrix");
+        writeValues(row);
+    }
+
+    /**
+     * Writes the next row of the current matrix
+     * @param row an array of length {@code cols}
+     */
+    public void writeRow(double... row) throws IOException {
+        if (!isRowOfLength(row.length))
+            throw new IllegalArgumentException("Row does not match the current matrix");
+        take(row.length);
+        put(row, 0, row.length);
+    }
+
+    /**
+     * Writes the next values of the current vector or matrix
+     */
+    public void writeValues(Vector values) throws IOException {
+        int length = values.length();
+        take(length);
+
+        for (int from = 0; from < length; from += scratch.length) {
+            int n = Math.min(scratch.length, length - from);
+
+            scratchVector.slice(0, n).setAll(values.slice(from, from + n));
+            put(scratch, 0, n);
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel
+     */
+    @Override
+    public void flush() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining())
+            channel.write(buf);
+        buf.clear();
+    }
+
+    /**
+     * Flushes the writer and closes the channel
+     * @throws IOException if the last matrix or vector is incomplete
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+        if (remaining != 0)
+            throw new IOException("Closed with " + remaining + " values missing");
+    }
+
+    private void begin(Header header) throws IOException {
+        if (remaining != 0)
+            throw new IllegalStateException(remaining + " values of the previous " + kind() + " are missing");
+        if (buf.remaining() < Header.SIZE)
+            flush();
+
+        header.write(buf);
+        this.header = header;
+        remaining = header.rows() * header.cols();
+    }
+
+    /**
+     * Checks that {@code n} more values belong to the current matrix or vector
+     */
+    private void take(int n) {
+        if (header == null)
+            throw new IllegalStateException("No matrix or vector was begun");
+        if (n > remaining)
+            throw new IllegalStateException("Too many values for the current " + kind());
+        remaining -= n;
+    }
+
+    private boolean isRowOfLength(int length) {
+        return header != null && !header.isVector() && header.cols() == length;
+    }
+
+    private String kind() {
+        return header.isVector() ? "vector" : "matrix";
+    }
+
+    private void put(double[] values, int off, int n) throws IOException {
+        while (n > 0) {
+            if (buf.remaining() < Double.BYTES)
+                flush();
+
+            int k = Math.min(n, buf.remaining() / Double.BYTES);
+            buf.asDoubleBuffer().put(values, off, k);
+            buf.position(buf.position() + k * Double.BYTES);
+            off += k;
+            n -= k;
+        }
+    }
+}
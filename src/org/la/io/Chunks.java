@@ -0,0 +1,100 @@
+package org.la.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel parsing of a text file split at line breaks. Each chunk is mapped and parsed on
+ * its own by a task of a {@code ForkJoinPool}, and the results are returned in file order
+ */
+final class Chunks {
+    /** Files smaller than this are parsed sequentially */
+    static final long MIN_PARALLEL_BYTES = 1 << 22;
+    /** Largest chunk, well below the 2 GB limit of a mapped buffer */
+    private static final long MAX_CHUNK_BYTES = 1 << 28;
+
+    /**
+     * Parser of the text of one chunk
+     */
+    interface Parser<T> {
+        T parse(TextInput in) throws IOException;
+    }
+
+    private Chunks() {}
+
+    /**
+     * Parses the bytes of {@code channel} from {@code start} to its end with {@code parser}
+     * in chunks run on {@code pool}
+     * @return the result of each chunk, in file order
+     */
+    static <T> List<T> parse(FileChannel channel, long start, ForkJoinPool pool, Parser<T> parser) throws IOException {
+        long end = channel.size();
+        int parts = (int) Math.max(pool.getParallelism() * 4L, (end - start + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        long[] bounds = split(channel, start, end, parts);
+        List<Callable<T>> tasks = new ArrayList<>();
+
+        for (int k = 0; k + 1 < bounds.length; k++) {
+            long from = bounds[k], to = bounds[k + 1];
+
+            tasks.add(() -> parser.parse(TextInput.of(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from), from)));
+        }
+
+        List<T> res = new ArrayList<>();
+        try {
+            for (Future<T> future : pool.invokeAll(tasks))
+                res.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+        return res;
+    }
+
+    /**
+     * Returns the bounds of about {@code parts} chunks of {@code [start, end)}, each one
+     * starting right after a line break
+     */
+    static long[] split(FileChannel channel, long start, long end, int parts) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        long last = start;
+
+        bounds.add(start);
+        for (int k = 1; k < parts; k++) {
+            long at = Math.max(last, start + (end - start) * k / parts);
+            long next = end;
+
+            search:
+            while (at < end) {
+                buf.clear();
+                int n = channel.read(buf, at);
+                if (n <= 0)
+                    break;
+
+                for (int i = 0; i < n; i++)
+                    if (buf.get(i) == '\n') {
+                        next = at + i + 1;
+                        break search;
+                    }
+                at += n;
+            }
+            if (next > last && next < end)
+                bounds.add(last = next);
+        }
+        bounds.add(end);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+}
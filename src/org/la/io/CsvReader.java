@@ -0,0 +1,213 @@
+package org.la.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.la.Matrix;
+import org.la.Vector;
+
+/**
+ * Streaming reader of matrices stored as delimiter separated values, one row per line
+ * <p>The text is read in blocks and the numbers are parsed straight from the buffer, so no
+ * string is created per value. Blank lines are skipped, spaces around values are ignored and
+ * lines may end with {@code \n} or {@code \r\n}. Quoted values are not supported</p>
+ * <p>Files can also be read in parallel: they are split at line breaks into chunks parsed
+ * by the tasks of a {@code ForkJoinPool}, see {@link #read(Path, ForkJoinPool)}</p>
+ */
+public class CsvReader {
+    private final char delimiter;
+    private int headerLines;
+
+    /**
+     * Creates a reader of values separated by {@code delimiter}
+     */
+    public CsvReader(char delimiter) {
+        if (delimiter == '\n' || delimiter == '\r' || delimiter == ' ' || delimiter == '.'
+                || delimiter == '-' || delimiter == '+' || Character.isLetterOrDigit(delimiter))
+            throw new IllegalArgumentException("Invalid delimiter '" + delimiter + "'");
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Returns a reader of comma separated values
+     */
+    public static CsvReader csv() {
+        return new CsvReader(',');
+    }
+
+    /**
+     * Returns a reader of tab separated values
+     */
+    public static CsvReader tsv() {
+        return new CsvReader('\t');
+    }
+
+    /**
+     * Sets the number of lines skipped at the start of the text, such as a header with
+     * the names of the columns. There are none by default
+     * @return this
+     */
+    public CsvReader setHeaderLines(int headerLines) {
+        if (headerLines < 0)
+            throw new IllegalArgumentException("Number of header lines must not be negative");
+        this.headerLines = headerLines;
+        return this;
+    }
+
+    /**
+     * Reads a matrix from {@code in}
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Matrix read(Reader in) throws IOException {
+        return read(TextInput.of(in));
+    }
+
+    /**
+     * Reads a matrix from {@code in}
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Matrix read(ReadableByteChannel in) throws IOException {
+        return read(TextInput.of(in));
+    }
+
+    /**
+     * Reads a matrix from file {@code path}
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Matrix read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads a matrix from file {@code path}, splitting it into chunks parsed in parallel by
+     * the tasks of {@code pool}. Small files are read sequentially
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Matrix read(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < Chunks.MIN_PARALLEL_BYTES || pool.getParallelism() == 1)
+                return read(channel);
+
+            TextInput in = TextInput.of(channel);
+            skipHeader(in);
+
+            return toMatrix(Chunks.parse(channel, in.position(), pool, this::parseRows));
+        }
+    }
+
+    /**
+     * Reads all values of {@code in} row by row as a vector
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Vector readVector(Reader in) throws IOException {
+        return read(in).flatView();
+    }
+
+    /**
+     * Reads all values of file {@code path} row by row as a vector
+     * @throws IOException if reading fails or the text is not a matrix
+     */
+    public Vector readVector(Path path) throws IOException {
+        return read(path).flatView();
+    }
+
+    private Matrix read(TextInput in) throws IOException {
+        skipHeader(in);
+        return toMatrix(List.of(parseRows(in)));
+    }
+
+    private void skipHeader(TextInput in) throws IOException {
+        for (int i = 0; i < headerLines; i++)
+            in.skipLine();
+    }
+
+    /**
+     * Values and shape of the rows read from a chunk
+     */
+    private static final class Rows {
+        final DoubleList values = new DoubleList();
+        int rows;
+        int cols = -1;
+    }
+
+    /**
+     * Parses the rows of {@code in} until the end of the text
+     */
+    private Rows parseRows(TextInput in) throws IOException {
+        Rows res = new Rows();
+        boolean tabs = delimiter != '\t';
+
+        while (true) {
+            in.skipBlanks(tabs);
+            if (in.atEnd())
+                break;
+            if (in.atLineEnd()) {
+                in.skipLine();
+                continue;
+            }
+
+            int n = 0;
+            do {
+                in.skipBlanks(tabs);
+                res.values.add(in.nextDouble());
+                n++;
+                in.skipBlanks(tabs);
+            } while (in.accept(delimiter));
+
+            if (!in.atLineEnd())
+                throw in.error("Expected '" + delimiter + "' or a line break");
+            if (res.cols < 0)
+                res.cols = n;
+            else if (n != res.cols)
+                throw in.error("Row has " + n + " values instead of " + res.cols);
+
+            in.skipLine();
+            res.rows++;
+        }
+        return res;
+    }
+
+    /**
+     * Concatenates the rows of all chunks into a row-major matrix
+     */
+    private static Matrix toMatrix(List<Rows> chunks) throws IOException {
+        int cols = -1;
+        long rows = 0;
+
+        for (Rows chunk : chunks) {
+            if (chunk.rows == 0)
+                continue;
+            if (cols >= 0 && chunk.cols != cols)
+                throw new IOException("Rows have " + chunk.cols + " values instead of " + cols);
+            cols = chunk.cols;
+            rows += chunk.rows;
+        }
+        if (cols < 0)
+            return Matrix.fromSize(0, 0);
+        if (rows * cols > Integer.MAX_VALUE - 8)
+            throw new IOException("Matrix is too large for an array");
+
+        if (chunks.size() == 1) {
+            Rows chunk = chunks.get(0);
+            return new Matrix(chunk.rows, cols, Arrays.copyOf(chunk.values.array(), chunk.values.size()), Matrix.Layout.ROW_MAJOR);
+        }
+
+        double[] data = new double[(int) (rows * cols)];
+        int off = 0;
+
+        for (Rows chunk : chunks) {
+            chunk.values.copyTo(data, off);
+            off += chunk.values.size();
+        }
+        return new Matrix((int) rows, cols, data, Matrix.Layout.ROW_MAJOR);
+    }
+}
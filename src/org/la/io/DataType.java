@@ -0,0 +1,43 @@
+package org.la.io;
+
+/**
+ * Type of the elements stored in a file, with the code written in its {@link Header}
+ */
+public enum DataType {
+    /** IEEE 754 double, 8 bytes */
+    FLOAT64(1, Double.BYTES),
+    /** IEEE 754 float, 4 bytes */
+    FLOAT32(2, Float.BYTES);
+
+    private final int code;
+    private final int bytes;
+
+    DataType(int code, int bytes) {
+        this.code = code;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Returns the code of the type in a header
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Returns the number of bytes of an element
+     */
+    public int bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the type of code {@code code}, or null if there is none
+     */
+    public static DataType fromCode(int code) {
+        for (DataType type : values())
+            if (type.code == code)
+                return type;
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package org.la.io;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of doubles collecting the values read from a file
+ */
+final class DoubleList {
+    private double[] values = new double[1024];
+    private int size;
+
+    void add(double value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, grow(size));
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the backing array, which may be longer than {@link #size()}
+     */
+    double[] array() {
+        return values;
+    }
+
+    /**
+     * Copies the values to {@code dst} at {@code off}
+     */
+    void copyTo(double[] dst, int off) {
+        System.arraycopy(values, 0, dst, off, size);
+    }
+
+    /**
+     * Returns the next capacity of an array of length {@code size}
+     */
+    static int grow(int size) {
+        if (size >= Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many values for an array");
+        return (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+    }
+}
@@ -0,0 +1,119 @@
+package org.la.io;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal significand and exponent to the nearest double without going through
+ * a {@code String}
+ * <p>Exactly representable cases are computed with one floating point operation (Clinger's fast
+ * path). The other cases use the algorithm of Eisel and Lemire, which multiplies the significand
+ * by a 128 bit approximation of the power of ten and detects the rare cases where the result
+ * could be wrongly rounded. For those it returns {@code NaN} and the caller falls back to
+ * {@link Double#parseDouble(String)}</p>
+ */
+final class DoubleParser {
+    private static final int MIN_POWER = -342;
+    private static final int MAX_POWER = 308;
+
+    private static final double[] POWERS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** High and low 64 bits of the normalized 128 bit approximations of {@code 5^q} */
+    private static final long[] HIGH = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] LOW = new long[MAX_POWER - MIN_POWER + 1];
+
+    static {
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            BigInteger c;
+
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0)
+                    c = c.shiftRight(1);
+            } else {
+                c = BigInteger.valueOf(5).pow(q);
+                while (c.compareTo(two127) < 0)
+                    c = c.shiftLeft(1);
+                while (c.compareTo(two128) >= 0)
+                    c = c.shiftRight(1);
+            }
+            HIGH[q - MIN_POWER] = c.shiftRight(64).longValue();
+            LOW[q - MIN_POWER] = c.and(mask).longValue();
+        }
+    }
+
+    private DoubleParser() {}
+
+    /**
+     * Returns the double nearest to {@code significand * 10^power}, or {@code NaN} when it
+     * cannot be computed exactly and the caller must fall back to {@code Double.parseDouble}
+     * @param significand unsigned value of at most 19 decimal digits
+     */
+    static double toDouble(boolean negative, long significand, int power) {
+        if (significand == 0)
+            return negative ? -0.0 : 0.0;
+
+        if (-22 <= power && power <= 22 && significand >= 0 && significand <= (1L << 53)) {
+            double d = significand;
+            d = power < 0 ? d / POWERS[-power] : d * POWERS[power];
+            return negative ? -d : d;
+        }
+        if (power < MIN_POWER || power > MAX_POWER)
+            return Double.NaN;
+
+        long factor = HIGH[power - MIN_POWER];
+        long exponent = (((152170L + 65536L) * power) >> 16) + 1024 + 63;
+        int lz = Long.numberOfLeadingZeros(significand);
+        long w = significand << lz;
+
+        long upper = unsignedMultiplyHigh(w, factor);
+        long lower = w * factor;
+
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + w, lower) < 0) {
+            long factorLow = LOW[power - MIN_POWER];
+            long productLow = w * factorLow;
+            long productMiddle = lower + unsignedMultiplyHigh(w, factorLow);
+
+            if (Long.compareUnsigned(productMiddle, lower) < 0)
+                upper++;
+            if (productMiddle + 1 == 0 && (upper & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + w, productLow) < 0)
+                return Double.NaN;
+            lower = productMiddle;
+        }
+
+        long upperBit = upper >>> 63;
+        long mantissa = upper >>> (upperBit + 9);
+        lz += (int) (1 ^ upperBit);
+
+        if ((upper & 0x1FF) == 0x1FF || ((upper & 0x1FF) == 0 && (mantissa & 3) == 1))
+            return Double.NaN;
+
+        mantissa = (mantissa + 1) >>> 1;
+        if (mantissa >= (1L << 53)) {
+            mantissa = 1L << 52;
+            lz--;
+        }
+        mantissa &= ~(1L << 52);
+
+        long realExponent = exponent - lz;
+        if (realExponent < 1 || realExponent > 2046)
+            return Double.NaN;
+
+        return Double.longBitsToDouble(mantissa | realExponent << 52 | (negative ? 1L << 63 : 0));
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
@@ -0,0 +1,185 @@
+package org.la.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Header of the binary files of matrices and vectors. It is {@link #SIZE} bytes long and
+ * followed by the elements, row by row
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "LAMF"
+ *      4     1  version
+ *      5     1  byte order of the elements, 'L' or 'B'
+ *      6     1  element type, see {@link DataType#code()}
+ *      7     1  rank, 1 for a vector and 2 for a matrix
+ *      8     8  rows, or the length of a vector
+ *     16     8  cols, 1 for a vector
+ *     24    40  reserved, zero
+ * </pre>
+ * <p>The fields are big-endian. The header size keeps the elements aligned on 64 bytes</p>
+ */
+public final class Header {
+    /**
+     * Size of the header in bytes
+     */
+    public static final int SIZE = 64;
+
+    /**
+     * First four bytes of a file, {@code "LAMF"}
+     */
+    public static final int MAGIC = 0x4C414D46;
+
+    /**
+     * Version of the format written by this class
+     */
+    public static final int VERSION = 1;
+
+    private final DataType type;
+    private final ByteOrder order;
+    private final int rank;
+    private final long rows;
+    private final long cols;
+
+    private Header(DataType type, ByteOrder order, int rank, long rows, long cols) {
+        if (rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Invalid size " + rows + "x" + cols);
+        this.type = type;
+        this.order = order;
+        this.rank = rank;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Creates the header of a {@code rows x cols} matrix of elements of {@code type} in byte order {@code order}
+     */
+    public static Header ofMatrix(DataType type, ByteOrder order, long rows, long cols) {
+        return new Header(type, order, 2, rows, cols);
+    }
+
+    /**
+     * Creates the header of a vector of length {@code length} of elements of {@code type} in byte order {@code order}
+     */
+    public static Header ofVector(DataType type, ByteOrder order, long length) {
+        return new Header(type, order, 1, length, 1);
+    }
+
+    /**
+     * Returns the type of the elements
+     */
+    public DataType type() {
+        return type;
+    }
+
+    /**
+     * Returns the byte order of the elements
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    /**
+     * Checks if the header is the one of a vector
+     */
+    public boolean isVector() {
+        return rank == 1;
+    }
+
+    /**
+     * Returns the number of rows, or the length of a vector
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns, 1 for a vector
+     */
+    public long cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of bytes of the elements following the header
+     */
+    public long dataBytes() {
+        return Math.multiplyExact(Math.multiplyExact(rows, cols), (long) type.bytes());
+    }
+
+    /**
+     * Writes the header at the position of {@code out}, which must have {@link #SIZE} bytes remaining
+     */
+    public void write(ByteBuffer out) {
+        ByteOrder previous = out.order();
+        int start = out.position();
+
+        out.order(ByteOrder.BIG_ENDIAN)
+           .putInt(MAGIC)
+           .put((byte) VERSION)
+           .put((byte) (order == ByteOrder.LITTLE_ENDIAN ? 'L' : 'B'))
+           .put((byte) type.code())
+           .put((byte) rank)
+           .putLong(rows)
+           .putLong(cols);
+        while (out.position() < start + SIZE)
+            out.put((byte) 0);
+        out.order(previous);
+    }
+
+    /**
+     * Reads a header at the position of {@code in}
+     * @throws IOException if the bytes are not a valid header, or describe more bytes than a
+     * {@code long} can count
+     */
+    public static Header read(ByteBuffer in) throws IOException {
+        if (in.remaining() < SIZE)
+            throw new IOException("File is too short for a header");
+
+        ByteOrder previous = in.order();
+        int start = in.position();
+        in.order(ByteOrder.BIG_ENDIAN);
+
+        try {
+            if (in.getInt() != MAGIC)
+                throw new IOException("Not a matrix file");
+
+            int version = in.get();
+            if (version != VERSION)
+                throw new IOException("Unsupported version " + version);
+
+            int order = in.get();
+            if (order != 'L' && order != 'B')
+                throw new IOException("Invalid byte order '" + (char) order + "'");
+
+            DataType type = DataType.fromCode(in.get());
+            if (type == null)
+                throw new IOException("Unknown element type");
+
+            int rank = in.get();
+            if (rank != 1 && rank != 2)
+                throw new IOException("Invalid rank " + rank);
+
+            long rows = in.getLong();
+            long cols = in.getLong();
+            if (rows < 0 || cols < 0 || (rank == 1 && cols != 1))
+                throw new IOException("Invalid size " + rows + "x" + cols);
+
+            Header header = new Header(type, order == 'L' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN, rank, rows, cols);
+            try {
+                header.dataBytes();
+            } catch (ArithmeticException e) {
+                throw new IOException("Size " + rows + "x" + cols + " is too large", e);
+            }
+            return header;
+        } finally {
+            in.order(previous).position(start + SIZE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (isVector() ? "vector of length " + rows : rows + "x" + cols + " matrix") + " of " + type + ", " + order;
+    }
+}
@@ -0,0 +1,28 @@
+package org.la.io;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of ints collecting the indices read from a file
+ */
+final class IntList {
+    private int[] values = new int[1024];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, DoubleList.grow(size));
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies the values to {@code dst} at {@code off}
+     */
+    void copyTo(int[] dst, int off) {
+        System.arraycopy(values, 0, dst, off, size);
+    }
+}
@@ -0,0 +1,261 @@
+package org.la.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import org.la.Matrix;
+import org.la.RealMatrix;
+import org.la.factory.SparseMatrixFactory;
+
+/**
+ * Streaming reader of the Matrix Market exchange format
+ * <p>Files in {@code coordinate} format are read as a {@link org.la.sparse.SparseMatrix} and
+ * files in {@code array} format as a dense {@link Matrix}. The {@code real}, {@code integer}
+ * and {@code pattern} fields are supported, with {@code general}, {@code symmetric} or
+ * {@code skew-symmetric} symmetry. Entries stored once for a symmetric matrix are mirrored</p>
+ * <p>The numbers are parsed straight from the read buffer as by {@link CsvReader}, and files can
+ * be read in parallel chunks, see {@link #read(Path, ForkJoinPool)}</p>
+ */
+public final class MatrixMarket {
+    private MatrixMarket() {}
+
+    /**
+     * Reads a matrix from {@code in}
+     * @throws IOException if reading fails or the text is not a supported Matrix Market matrix
+     */
+    public static RealMatrix read(Reader in) throws IOException {
+        return read(TextInput.of(in));
+    }
+
+    /**
+     * Reads a matrix from {@code in}
+     * @throws IOException if reading fails or the text is not a supported Matrix Market matrix
+     */
+    public static RealMatrix read(ReadableByteChannel in) throws IOException {
+        return read(TextInput.of(in));
+    }
+
+    /**
+     * Reads a matrix from file {@code path}
+     * @throws IOException if reading fails or the file is not a supported Matrix Market matrix
+     */
+    public static RealMatrix read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads a matrix from file {@code path}, splitting its entries into chunks parsed in parallel
+     * by the tasks of {@code pool}. Small files are read sequentially
+     * @throws IOException if reading fails or the file is not a supported Matrix Market matrix
+     */
+    public static RealMatrix read(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < Chunks.MIN_PARALLEL_BYTES || pool.getParallelism() == 1)
+                return read(channel);
+
+            TextInput in = TextInput.of(channel);
+            Banner banner = readBanner(in);
+
+            return banner.toMatrix(Chunks.parse(channel, in.position(), pool, banner::parseEntries));
+        }
+    }
+
+    private static RealMatrix read(TextInput in) throws IOException {
+        Banner banner = readBanner(in);
+        return banner.toMatrix(List.of(banner.parseEntries(in)));
+    }
+
+    /**
+     * Reads the banner line, the comments and the size line
+     */
+    private static Banner readBanner(TextInput in) throws IOException {
+        String[] words = in.nextLine().trim().toLowerCase(Locale.ROOT).split("\\s+");
+
+        if (words.length != 5 || !words[0].equals("%%matrixmarket") || !words[1].equals("matrix"))
+            throw in.error("Not a Matrix Market matrix");
+
+        Banner res = new Banner();
+        res.coordinate = parse(in, words[2], "coordinate", "array");
+        res.pattern = parse(in, words[3], "pattern", "real", "integer") == 0;
+        res.symmetry = parse(in, words[4], "general", "symmetric", "skew-symmetric");
+
+        if (res.pattern && res.coordinate != 0)
+            throw in.error("Pattern matrices must be in coordinate format");
+
+        for (in.skipWhitespace(); in.peek() == '%'; in.skipWhitespace())
+            in.skipLine();
+
+        long rows = in.nextLong();
+        in.skipBlanks(true);
+        long cols = in.nextLong();
+        if (rows > Integer.MAX_VALUE || cols > Integer.MAX_VALUE)
+            throw in.error("Matrix is too large");
+
+        res.rows = (int) rows;
+        res.cols = (int) cols;
+        if (res.symmetry != 0 && res.rows != res.cols)
+            throw in.error("Symmetric matrix is not square");
+
+        if (res.coordinate == 0) {
+            in.skipBlanks(true);
+            res.entries = in.nextLong();
+        } else {
+            res.entries = res.symmetry == 0 ? rows * cols
+                        : res.symmetry == 1 ? rows * (rows + 1) / 2 : rows * (rows - 1) / 2;
+        }
+        if (res.entries > Integer.MAX_VALUE - 8)
+            throw in.error("Matrix has too many entries");
+
+        in.skipBlanks(true);
+        if (!in.atLineEnd())
+            throw in.error("Expected a line break after the size");
+        in.skipLine();
+        return res;
+    }
+
+    /**
+     * Returns the index of {@code word} in {@code allowed}
+     */
+    private static int parse(TextInput in, String word, String... allowed) throws IOException {
+        for (int i = 0; i < allowed.length; i++)
+            if (allowed[i].equals(word))
+                return i;
+        throw in.error("Unsupported '" + word + "'");
+    }
+
+    /**
+     * Entries read from a chunk
+     */
+    private static final class Entries {
+        final IntList rowIdx = new IntList();
+        final IntList colIdx = new IntList();
+        final DoubleList values = new DoubleList();
+        long count;
+    }
+
+    /**
+     * Description of the matrix given by the banner and the size line
+     */
+    private static final class Banner {
+        int coordinate;
+        boolean pattern;
+        int symmetry;
+        int rows;
+        int cols;
+        long entries;
+
+        /**
+         * Parses the entries of {@code in} until the end of the text
+         */
+        Entries parseEntries(TextInput in) throws IOException {
+            Entries res = new Entries();
+
+            for (in.skipWhitespace(); !in.atEnd(); in.skipWhitespace()) {
+                if (coordinate == 0) {
+                    long i = in.nextLong();
+                    in.skipBlanks(true);
+                    long j = in.nextLong();
+
+                    if (i < 1 || i > rows || j < 1 || j > cols)
+                        throw in.error("Invalid index (" + i + ", " + j + ")");
+
+                    double value = 1;
+                    if (!pattern) {
+                        in.skipBlanks(true);
+                        value = in.nextDouble();
+                    }
+                    add(res, (int) i - 1, (int) j - 1, value);
+                } else {
+                    res.values.add(in.nextDouble());
+                }
+                res.count++;
+
+                in.skipBlanks(true);
+                if (!in.atLineEnd())
+                    throw in.error("Expected a line break after the entry");
+            }
+            return res;
+        }
+
+        /**
+         * Adds the entry at row {@code i} and col {@code j}, and its mirror for a symmetric matrix
+         */
+        private void add(Entries res, int i, int j, double value) {
+            res.rowIdx.add(i);
+            res.colIdx.add(j);
+            res.values.add(value);
+
+            if (symmetry != 0 && i != j) {
+                res.rowIdx.add(j);
+                res.colIdx.add(i);
+                res.values.add(symmetry == 1 ? value : -value);
+            }
+        }
+
+        /**
+         * Builds the matrix from the entries of all chunks
+         */
+        RealMatrix toMatrix(List<Entries> chunks) throws IOException {
+            long count = 0;
+            long total = 0;
+
+            for (Entries chunk : chunks) {
+                count += chunk.count;
+                total += chunk.values.size();
+            }
+            if (count != entries)
+                throw new IOException("Matrix has " + count + " entries instead of " + entries);
+            if (total > Integer.MAX_VALUE - 8)
+                throw new IOException("Matrix has too many entries");
+
+            int size = (int) total;
+            double[] values = new double[size];
+            int off = 0;
+            for (Entries chunk : chunks) {
+                chunk.values.copyTo(values, off);
+                off += chunk.values.size();
+            }
+
+            if (coordinate == 1)
+                return toDense(values);
+
+            int[] rowIdx = new int[size];
+            int[] colIdx = new int[size];
+            off = 0;
+            for (Entries chunk : chunks) {
+                chunk.rowIdx.copyTo(rowIdx, off);
+                chunk.colIdx.copyTo(colIdx, off);
+                off += chunk.values.size();
+            }
+            return SparseMatrixFactory.fromTriplets(rows, cols, rowIdx, colIdx, values);
+        }
+
+        /**
+         * Builds a dense matrix from the values of an array file, stored column by column
+         */
+        private Matrix toDense(double[] values) {
+            if (symmetry == 0)
+                return new Matrix(rows, cols, values, Matrix.Layout.COLUMN_MAJOR);
+
+            Matrix res = Matrix.fromSize(rows, cols, Matrix.Layout.COLUMN_MAJOR);
+            int k = 0;
+
+            for (int j = 0; j < cols; j++)
+                for (int i = symmetry == 1 ? j : j + 1; i < rows; i++) {
+                    res.set(i, j, values[k]);
+                    res.set(j, i, symmetry == 1 ? values[k] : -values[k]);
+                    k++;
+                }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package org.la.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered lexer over ASCII text, used by the readers of this package
+ * <p>The text is read in blocks into a reusable byte buffer and numbers are parsed straight
+ * from it, so reading a number allocates nothing. Characters of a {@code Reader} outside of
+ * ASCII are replaced by {@code '?'}, which only matters in comments</p>
+ */
+final class TextInput {
+    private static final int BUFFER = 1 << 16;
+    /** Longest token that can be read, the buffer keeps at least this many bytes ahead */
+    private static final int MAX_TOKEN = 512;
+
+    /**
+     * Source of the bytes of the text
+     */
+    interface Source {
+        /**
+         * Reads up to {@code len} bytes into {@code buf} at {@code off}
+         * @return the number of bytes read, or -1 at the end of the text
+         */
+        int read(byte[] buf, int off, int len) throws IOException;
+    }
+
+    private final Source source;
+    private final byte[] buf = new byte[BUFFER];
+    private final long base;
+    private int pos;
+    private int limit;
+    private long consumed;
+    private long line = 1;
+    private boolean eof;
+
+    TextInput(Source source, long base) {
+        this.source = source;
+        this.base = base;
+    }
+
+    static TextInput of(ReadableByteChannel channel) {
+        return new TextInput((buf, off, len) -> channel.read(ByteBuffer.wrap(buf, off, len)), 0);
+    }
+
+    static TextInput of(Reader reader) {
+        char[] chars = new char[BUFFER];
+
+        return new TextInput((buf, off, len) -> {
+            int n = reader.read(chars, 0, Math.min(len, chars.length));
+
+            for (int i = 0; i < n; i++)
+                buf[off + i] = chars[i] < 128 ? (byte) chars[i] : (byte) '?';
+            return n;
+        }, 0);
+    }
+
+    /**
+     * Creates a lexer over the remaining bytes of {@code bytes}, which start at byte {@code base} of a file
+     */
+    static TextInput of(ByteBuffer bytes, long base) {
+        return new TextInput((buf, off, len) -> {
+            if (!bytes.hasRemaining())
+                return -1;
+
+            int n = Math.min(len, bytes.remaining());
+            bytes.get(buf, off, n);
+            return n;
+        }, base);
+    }
+
+    /**
+     * Returns the number of bytes consumed so far
+     */
+    long position() {
+        return consumed + pos;
+    }
+
+    /**
+     * Returns the next byte without consuming it, or -1 at the end of the text
+     */
+    int peek() throws IOException {
+        if (pos == limit && !fill(1))
+            return -1;
+        return buf[pos];
+    }
+
+    /**
+     * Checks if the whole text was consumed
+     */
+    boolean atEnd() throws IOException {
+        return peek() < 0;
+    }
+
+    /**
+     * Skips spaces, and tabs unless {@code tabs} is false
+     */
+    void skipBlanks(boolean tabs) throws IOException {
+        for (int c; (c = peek()) == ' ' || (tabs && c == '\t') || c == '\r'; pos++);
+    }
+
+    /**
+     * Skips spaces, tabs and line breaks
+     */
+    void skipWhitespace() throws IOException {
+        for (int c; (c = peek()) == ' ' || c == '\t' || c == '\r' || c == '\n'; pos++)
+            if (c == '\n')
+                line++;
+    }
+
+    /**
+     * Checks if the lexer is at a line break or at the end of the text
+     */
+    boolean atLineEnd() throws IOException {
+        int c = peek();
+        return c < 0 || c == '\n';
+    }
+
+    /**
+     * Skips the rest of the current line including its line break
+     */
+    void skipLine() throws IOException {
+        for (int c; (c = peek()) >= 0; ) {
+            pos++;
+            if (c == '\n') {
+                line++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consumes the byte {@code c} if it is the next one
+     * @return true if it was consumed
+     */
+    boolean accept(char c) throws IOException {
+        if (peek() != c)
+            return false;
+        pos++;
+        return true;
+    }
+
+    /**
+     * Reads the characters up to the next whitespace
+     */
+    String nextWord() throws IOException {
+        StringBuilder out = new StringBuilder();
+
+        for (int c; (c = peek()) > ' '; pos++)
+            out.append((char) c);
+        return out.toString();
+    }
+
+    /**
+     * Reads the rest of the current line without its line break
+     */
+    String nextLine() throws IOException {
+        StringBuilder out = new StringBuilder();
+
+        for (int c; (c = peek()) >= 0 && c != '\n'; pos++)
+            if (c != '\r')
+                out.append((char) c);
+        skipLine();
+        return out.toString();
+    }
+
+    /**
+     * Reads a non-negative integer
+     */
+    long nextLong() throws IOException {
+        fill(MAX_TOKEN);
+
+        int p = pos;
+        long res = 0;
+
+        while (p < limit && isDigit(buf[p])) {
+            if (res > (Long.MAX_VALUE - 9) / 10)
+                throw error("Integer is too large");
+            res = res * 10 + (buf[p++] - '0');
+        }
+        if (p == pos)
+            throw error("Expected an integer");
+        pos = p;
+        return res;
+    }
+
+    /**
+     * Reads a decimal number with an optional sign, fraction and exponent. {@code NaN} and
+     * {@code Infinity} are also accepted
+     */
+    double nextDouble() throws IOException {
+        fill(MAX_TOKEN);
+
+        int start = pos;
+        int p = pos;
+        boolean negative = false;
+
+        if (p < limit && (buf[p] == '-' || buf[p] == '+'))
+            negative = buf[p++] == '-';
+
+        long significand = 0;
+        int digits = 0;
+        int power = 0;
+        boolean any = false;
+
+        for (; p < limit && buf[p] == '0'; p++)
+            any = true;
+        for (; p < limit && isDigit(buf[p]); p++, any = true) {
+            if (digits < 19) {
+                significand = significand * 10 + (buf[p] - '0');
+                digits++;
+            } else {
+                power++;
+                digits++;
+            }
+        }
+        if (p < limit && buf[p] == '.') {
+            p++;
+            if (significand == 0)
+                for (; p < limit && buf[p] == '0'; p++, power--)
+                    any = true;
+            for (; p < limit && isDigit(buf[p]); p++, any = true) {
+                if (digits < 19) {
+                    significand = significand * 10 + (buf[p] - '0');
+                    power--;
+                }
+                digits++;
+            }
+        }
+        if (!any)
+            return nextSpecial(start);
+
+        if (p < limit && (buf[p] == 'e' || buf[p] == 'E')) {
+            p++;
+            boolean negativeExponent = false;
+
+            if (p < limit && (buf[p] == '-' || buf[p] == '+'))
+                negativeExponent = buf[p++] == '-';
+            if (p == limit || !isDigit(buf[p]))
+                throw error("Invalid exponent");
+
+            int exponent = 0;
+            for (; p < limit && isDigit(buf[p]); p++)
+                if (exponent < 100000)
+                    exponent = exponent * 10 + (buf[p] - '0');
+            power += negativeExponent ? -exponent : exponent;
+        }
+        if (p - start >= MAX_TOKEN)
+            throw error("Number is too long");
+
+        pos = p;
+        double res = digits > 19 ? Double.NaN : DoubleParser.toDouble(negative, significand, power);
+
+        if (Double.isNaN(res))
+            res = Double.parseDouble(new String(buf, start, p - start, StandardCharsets.US_ASCII));
+        return res;
+    }
+
+    /**
+     * Reads {@code NaN}, {@code Inf} or {@code Infinity} in any case and with an optional sign,
+     * starting at {@code start}
+     */
+    private double nextSpecial(int start) throws IOException {
+        int p = start;
+
+        if (p < limit && (buf[p] == '-' || buf[p] == '+'))
+            p++;
+        while (p < limit && Character.isLetter(buf[p]))
+            p++;
+
+        String word = new String(buf, start, p - start, StandardCharsets.US_ASCII);
+        String name = word.toLowerCase().replaceFirst("^[-+]", "");
+
+        if (name.equals("nan") || name.equals("inf") || name.equals("infinity")) {
+            pos = p;
+            if (name.equals("nan"))
+                return Double.NaN;
+            return word.startsWith("-") ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        throw error(word.isEmpty() ? "Expected a number" : "Invalid number '" + word + "'");
+    }
+
+    /**
+     * Returns an exception for a syntax error at the current position
+     */
+    IOException error(String message) {
+        String where = base == 0 ? "Line " + line : "Line " + line + " of the chunk at byte " + base;
+        return new IOException(where + ": " + message);
+    }
+
+    /**
+     * Makes at least {@code n} bytes available after the position unless the text ends before
+     * @return true if at least one byte is available
+     */
+    private boolean fill(int n) throws IOException {
+        if (limit - pos >= n || eof)
+            return pos < limit;
+
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            consumed += pos;
+            limit -= pos;
+            pos = 0;
+        }
+        while (limit < n) {
+            int read = source.read(buf, limit, buf.length - limit);
+
+            if (read < 0) {
+                eof = true;
+                break;
+            }
+            limit += read;
+        }
+        return pos < limit;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+}
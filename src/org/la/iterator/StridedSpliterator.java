@@ -0,0 +1,114 @@
+package org.la.iterator;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Spliterator over the elements of a strided {@code rows x cols} grid of an array, in row
+ * by row order, where the element at row {@code i} and col {@code j} is
+ * {@code arr[off + i*rowStride + j*colStride]}. A vector is a grid with a single row
+ * <p>It splits its range in halves, so streams over it can run in parallel</p>
+ */
+public final class StridedSpliterator implements Spliterator.OfDouble {
+    private final double[] arr;
+    private final int off;
+    private final int cols;
+    private final int rowStride;
+    private final int colStride;
+    private long index;
+    private final long end;
+    private int i;
+    private int j;
+    private int pos;
+
+    /**
+     * Creates a spliterator over all the elements of the grid
+     */
+    public StridedSpliterator(double[] arr, int off, int rows, int cols, int rowStride, int colStride) {
+        this(arr, off, cols, rowStride, colStride, 0, (long) rows * cols);
+    }
+
+    private StridedSpliterator(double[] arr, int off, int cols, int rowStride, int colStride, long index, long end) {
+        this.arr = arr;
+        this.off = off;
+        this.cols = cols;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+        this.end = end;
+        moveTo(index);
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+        if (index >= end)
+            return false;
+
+        double value = arr[pos];
+        index++;
+        if (++j < cols) {
+            pos += colStride;
+        } else {
+            j = 0;
+            pos = off + ++i * rowStride;
+        }
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+        if (index >= end)
+            return;
+
+        int row = i, col = j;
+        long remaining = end - index;
+        moveTo(end);
+
+        while (remaining > 0) {
+            int n = (int) Math.min(cols - col, remaining);
+            int k = off + row * rowStride + col * colStride;
+
+            for (int c = 0; c < n; c++, k += colStride)
+                action.accept(arr[k]);
+
+            remaining -= n;
+            row++;
+            col = 0;
+        }
+    }
+
+    @Override
+    public Spliterator.OfDouble trySplit() {
+        long mid = (index + end) >>> 1;
+        if (mid <= index)
+            return null;
+
+        StridedSpliterator prefix = new StridedSpliterator(arr, off, cols, rowStride, colStride, index, mid);
+        moveTo(mid);
+        return prefix;
+    }
+
+    /**
+     * Moves the cursors to element {@code index} of the grid in row by row order. This is the
+     * only place dividing by the number of columns, the other moves advance the cursors
+     */
+    private void moveTo(long index) {
+        this.index = index;
+        if (index >= end)
+            return;
+
+        i = (int) (index / cols);
+        j = (int) (index - (long) i * cols);
+        pos = off + i * rowStride + j * colStride;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
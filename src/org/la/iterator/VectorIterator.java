@@ -1,8 +1,12 @@
 package org.la.iterator;
 
-import java.util.Iterator;
+import java.util.PrimitiveIterator;
 
-public abstract class VectorIterator implements Iterator<Double> {
+/**
+ * Iterator over the elements of a vector, which can also set the element it is at.
+ * <p>{@link #nextDouble()} returns the next element without boxing it</p>
+ */
+public abstract class VectorIterator implements PrimitiveIterator.OfDouble {
     /**
      * Default constructor
      */
@@ -0,0 +1,13 @@
+package org.la.kernel;
+
+/**
+ * Precision of the running sums of the single precision dot products and products
+ * @see org.la.kernel.FloatKernels
+ * @see org.la.kernel.FloatGemm
+ */
+public enum Accumulation {
+    /** Sums are kept in float, which is the fastest */
+    FLOAT,
+    /** Sums are kept in double and rounded to float once at the end, which keeps the error bounded */
+    DOUBLE
+}
@@ -0,0 +1,328 @@
+package org.la.kernel;
+
+/**
+ * Single precision counterpart of {@link Gemm}, computing {@code C += A * B} on strided
+ * float arrays with the same packed panels and register blocked micro kernel.
+ * <p>With {@link Accumulation#DOUBLE} the micro kernel keeps its running sums in double
+ * and rounds them into {@code C} once per panel of depth {@code kc}, so a product of depth
+ * {@code k} is rounded {@code ceil(k/kc)} times instead of {@code k} times. Products smaller
+ * than the threshold sum each element of {@code C} in double before rounding it once</p>
+ * <p>Operands are described as in {@link Gemm}. Products are computed on the calling thread</p>
+ */
+public final class FloatGemm {
+    /** Number of rows of {@code A} handled by the micro kernel */
+    public static final int MR = Gemm.MR;
+    /** Number of columns of {@code B} handled by the micro kernel */
+    public static final int NR = Gemm.NR;
+
+    private static volatile FloatGemm defaultGemm = new FloatGemm(128, 384, 4096, 64 * 64 * 64, Accumulation.FLOAT);
+
+    private final int mc;
+    private final int kc;
+    private final int nc;
+    private final long threshold;
+    private final Accumulation accumulation;
+
+    /**
+     * Creates a kernel with the given block sizes
+     * @param mc number of rows of {@code A} packed at once
+     * @param kc depth of the packed panels of {@code A} and {@code B}
+     * @param nc number of columns of {@code B} packed at once
+     * @param threshold products with {@code m*n*k} below it use the simple loop
+     * @param accumulation precision of the running sums
+     */
+    public FloatGemm(int mc, int kc, int nc, long threshold, Accumulation accumulation) {
+        if (mc <= 0 || kc <= 0 || nc <= 0)
+            throw new IllegalArgumentException("Block sizes must be positive");
+        if (accumulation == null)
+            throw new IllegalArgumentException("Accumulation must not be null");
+
+        this.mc = roundUp(mc, MR);
+        this.kc = kc;
+        this.nc = roundUp(nc, NR);
+        this.threshold = threshold;
+        this.accumulation = accumulation;
+    }
+
+    /**
+     * Returns the kernel used by {@link org.la.FloatMatrix#mul(org.la.FloatMatrix)}
+     */
+    public static FloatGemm getDefault() {
+        return defaultGemm;
+    }
+
+    /**
+     * Replaces the kernel used by {@link org.la.FloatMatrix#mul(org.la.FloatMatrix)}
+     */
+    public static void setDefault(FloatGemm gemm) {
+        if (gemm == null)
+            throw new IllegalArgumentException("Kernel must not be null");
+        defaultGemm = gemm;
+    }
+
+    /**
+     * Returns a kernel with the block sizes of the instance and the given {@code accumulation}
+     */
+    public FloatGemm withAccumulation(Accumulation accumulation) {
+        if (accumulation == this.accumulation)
+            return this;
+        return new FloatGemm(mc, kc, nc, threshold, accumulation);
+    }
+
+    /**
+     * Returns the precision of the running sums
+     */
+    public Accumulation accumulation() {
+        return accumulation;
+    }
+
+    /**
+     * Checks if a {@code m x k} by {@code k x n} product is small enough for the simple loop
+     */
+    public boolean isSmall(int m, int n, int k) {
+        return (long) m * n * k < threshold;
+    }
+
+    /**
+     * Computes {@code C += A * B} where {@code A} is {@code m x k}, {@code B} is {@code k x n}
+     * and {@code C} is {@code m x n}. {@code C} must not share elements with {@code A} or {@code B}
+     */
+    public void multiply(int m, int n, int k,
+                         float[] a, int aOff, int aRs, int aCs,
+                         float[] b, int bOff, int bRs, int bCs,
+                         float[] c, int cOff, int cRs, int cCs) {
+        if (m == 0 || n == 0 || k == 0)
+            return;
+
+        if (isSmall(m, n, k))
+            simple(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs);
+        else
+            blocked(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs);
+    }
+
+    /**
+     * Multiplies with packed panels, used for large products
+     */
+    private void blocked(int m, int n, int k,
+                         float[] a, int aOff, int aRs, int aCs,
+                         float[] b, int bOff, int bRs, int bCs,
+                         float[] c, int cOff, int cRs, int cCs) {
+        float[] aPack = new float[Math.min(mc, roundUp(m, MR)) * Math.min(kc, k)];
+        float[] bPack = new float[Math.min(nc, roundUp(n, NR)) * Math.min(kc, k)];
+        boolean wide = accumulation == Accumulation.DOUBLE;
+
+        for (int jc = 0; jc < n; jc += nc) {
+            int nb = Math.min(nc, n - jc);
+
+            for (int pc = 0; pc < k; pc += kc) {
+                int kb = Math.min(kc, k - pc);
+                packB(kb, nb, b, bOff + pc * bRs + jc * bCs, bRs, bCs, bPack);
+
+                for (int ic = 0; ic < m; ic += mc) {
+                    int mb = Math.min(mc, m - ic);
+                    packA(mb, kb, a, aOff + ic * aRs + pc * aCs, aRs, aCs, aPack);
+                    macroKernel(mb, nb, kb, aPack, bPack, c, cOff + ic * cRs + jc * cCs, cRs, cCs, wide);
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies with plain loops, used for small products
+     */
+    private void simple(int m, int n, int k,
+                        float[] a, int aOff, int aRs, int aCs,
+                        float[] b, int bOff, int bRs, int bCs,
+                        float[] c, int cOff, int cRs, int cCs) {
+        if (accumulation == Accumulation.DOUBLE) {
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    int ai = aOff + i * aRs, bi = bOff + j * bCs;
+                    double sum = 0;
+
+                    for (int p = 0; p < k; p++, ai += aCs, bi += bRs)
+                        sum += (double) a[ai] * b[bi];
+
+                    int ci = cOff + i * cRs + j * cCs;
+                    c[ci] = (float) (c[ci] + sum);
+                }
+            }
+            return;
+        }
+
+        for (int p = 0; p < k; p++) {
+            for (int i = 0; i < m; i++) {
+                float x = a[aOff + i * aRs + p * aCs];
+                int bi = bOff + p * bRs;
+                int ci = cOff + i * cRs;
+
+                for (int j = 0; j < n; j++, bi += bCs, ci += cCs)
+                    c[ci] += x * b[bi];
+            }
+        }
+    }
+
+    /**
+     * Packs a {@code mb x kb} block of {@code A} into panels of {@link #MR} rows stored
+     * column by column. The last panel is padded with zeros
+     */
+    private static void packA(int mb, int kb, float[] a, int off, int rs, int cs, float[] pack) {
+        int dst = 0;
+
+        for (int ir = 0; ir < mb; ir += MR) {
+            int rows = Math.min(MR, mb - ir);
+            int base = off + ir * rs;
+
+            for (int p = 0; p < kb; p++) {
+                int src = base + p * cs;
+                int i = 0;
+
+                for (; i < rows; i++, src += rs)
+                    pack[dst++] = a[src];
+                for (; i < MR; i++)
+                    pack[dst++] = 0;
+            }
+        }
+    }
+
+    /**
+     * Packs a {@code kb x nb} block of {@code B} into panels of {@link #NR} columns stored
+     * row by row. The last panel is padded with zeros
+     */
+    private static void packB(int kb, int nb, float[] b, int off, int rs, int cs, float[] pack) {
+        int dst = 0;
+
+        for (int jr = 0; jr < nb; jr += NR) {
+            int cols = Math.min(NR, nb - jr);
+            int base = off + jr * cs;
+
+            for (int p = 0; p < kb; p++) {
+                int src = base + p * rs;
+                int j = 0;
+
+                for (; j < cols; j++, src += cs)
+                    pack[dst++] = b[src];
+                for (; j < NR; j++)
+                    pack[dst++] = 0;
+            }
+        }
+    }
+
+    /**
+     * Multiplies the packed blocks of {@code A} and {@code B} into {@code C}
+     */
+    private static void macroKernel(int mb, int nb, int kb, float[] aPack, float[] bPack,
+                                    float[] c, int cOff, int cRs, int cCs, boolean wide) {
+        for (int jr = 0; jr < nb; jr += NR) {
+            int nr = Math.min(NR, nb - jr);
+            int bi = jr * kb;
+
+            for (int ir = 0; ir < mb; ir += MR) {
+                int mr = Math.min(MR, mb - ir);
+                int ai = ir * kb;
+                int ci = cOff + ir * cRs + jr * cCs;
+
+                if (wide)
+                    microKernelDouble(kb, aPack, ai, bPack, bi, c, ci, cRs, cCs, mr, nr);
+                else
+                    microKernel(kb, aPack, ai, bPack, bi, c, ci, cRs, cCs, mr, nr);
+            }
+        }
+    }
+
+    /**
+     * Multiplies a packed {@code MR x kb} panel by a packed {@code kb x NR} panel keeping
+     * the {@code MR x NR} result in float registers, then adds the top left {@code mr x nr}
+     * corner of it to {@code C}
+     */
+    private static void microKernel(int kb, float[] a, int ai, float[] b, int bi,
+                                    float[] c, int ci, int rs, int cs, int mr, int nr) {
+        float c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        float c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        float c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        float c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int p = 0; p < kb; p++, ai += MR, bi += NR) {
+            float a0 = a[ai], a1 = a[ai + 1], a2 = a[ai + 2], a3 = a[ai + 3];
+            float b0 = b[bi], b1 = b[bi + 1], b2 = b[bi + 2], b3 = b[bi + 3];
+
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (mr == MR && nr == NR) {
+            int r0 = ci, r1 = ci + rs, r2 = ci + 2 * rs, r3 = ci + 3 * rs;
+            c[r0] += c00; c[r0 + cs] += c01; c[r0 + 2 * cs] += c02; c[r0 + 3 * cs] += c03;
+            c[r1] += c10; c[r1 + cs] += c11; c[r1 + 2 * cs] += c12; c[r1 + 3 * cs] += c13;
+            c[r2] += c20; c[r2 + cs] += c21; c[r2 + 2 * cs] += c22; c[r2 + 3 * cs] += c23;
+            c[r3] += c30; c[r3 + cs] += c31; c[r3 + 2 * cs] += c32; c[r3 + 3 * cs] += c33;
+            return;
+        }
+
+        store(new double[] {
+            c00, c01, c02, c03,
+            c10, c11, c12, c13,
+            c20, c21, c22, c23,
+            c30, c31, c32, c33
+        }, c, ci, rs, cs, mr, nr);
+    }
+
+    /**
+     * Same as {@link #microKernel} with the running sums kept in double registers
+     */
+    private static void microKernelDouble(int kb, float[] a, int ai, float[] b, int bi,
+                                          float[] c, int ci, int rs, int cs, int mr, int nr) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int p = 0; p < kb; p++, ai += MR, bi += NR) {
+            double a0 = a[ai], a1 = a[ai + 1], a2 = a[ai + 2], a3 = a[ai + 3];
+            double b0 = b[bi], b1 = b[bi + 1], b2 = b[bi + 2], b3 = b[bi + 3];
+
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (mr == MR && nr == NR) {
+            int r0 = ci, r1 = ci + rs, r2 = ci + 2 * rs, r3 = ci + 3 * rs;
+            c[r0] = (float) (c[r0] + c00); c[r0 + cs] = (float) (c[r0 + cs] + c01);
+            c[r0 + 2 * cs] = (float) (c[r0 + 2 * cs] + c02); c[r0 + 3 * cs] = (float) (c[r0 + 3 * cs] + c03);
+            c[r1] = (float) (c[r1] + c10); c[r1 + cs] = (float) (c[r1 + cs] + c11);
+            c[r1 + 2 * cs] = (float) (c[r1 + 2 * cs] + c12); c[r1 + 3 * cs] = (float) (c[r1 + 3 * cs] + c13);
+            c[r2] = (float) (c[r2] + c20); c[r2 + cs] = (float) (c[r2 + cs] + c21);
+            c[r2 + 2 * cs] = (float) (c[r2 + 2 * cs] + c22); c[r2 + 3 * cs] = (float) (c[r2 + 3 * cs] + c23);
+            c[r3] = (float) (c[r3] + c30); c[r3 + cs] = (float) (c[r3 + cs] + c31);
+            c[r3 + 2 * cs] = (float) (c[r3 + 2 * cs] + c32); c[r3 + 3 * cs] = (float) (c[r3 + 3 * cs] + c33);
+            return;
+        }
+
+        store(new double[] {
+            c00, c01, c02, c03,
+            c10, c11, c12, c13,
+            c20, c21, c22, c23,
+            c30, c31, c32, c33
+        }, c, ci, rs, cs, mr, nr);
+    }
+
+    /**
+     * Adds the top left {@code mr x nr} corner of the {@code MR x NR} tile {@code t} to {@code C},
+     * rounding each element once
+     */
+    private static void store(double[] t, float[] c, int ci, int rs, int cs, int mr, int nr) {
+        for (int i = 0; i < mr; i++)
+            for (int j = 0; j < nr; j++) {
+                int k = ci + i * rs + j * cs;
+                c[k] = (float) (c[k] + t[i * NR + j]);
+            }
+    }
+
+    private static int roundUp(int x, int multiple) {
+        return (x + multiple - 1) / multiple * multiple;
+    }
+}
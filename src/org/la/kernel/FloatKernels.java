@@ -0,0 +1,150 @@
+package org.la.kernel;
+
+/**
+ * Single precision kernels used by {@link org.la.FloatVector} and {@link org.la.FloatMatrix}
+ * over strided ranges of float arrays.
+ * <p>Like {@link VectorKernels} they use SIMD instructions when the {@code jdk.incubator.vector}
+ * module is present, unless the system property {@code org.la.simd=false} is set</p>
+ * <p>The element {@code i} of a range is at {@code off + i*inc} and all ranges of a call hold
+ * {@code n} elements. Ranges with an increment of 1 run on the SIMD kernels. The output range
+ * may be the same as one of the inputs</p>
+ */
+public final class FloatKernels {
+    private static final FloatOps OPS = load();
+
+    private FloatKernels() {}
+
+    /**
+     * Checks if the kernels use the SIMD implementation
+     */
+    public static boolean isSimd() {
+        return !(OPS instanceof ScalarFloatOps);
+    }
+
+    /**
+     * Computes {@code out = x + a}
+     */
+    public static void add(float[] x, int xOff, int xInc, float a, float[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && outInc == 1) {
+            OPS.add(x, xOff, a, out, outOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, outOff += outInc)
+            out[outOff] = x[xOff] + a;
+    }
+
+    /**
+     * Computes {@code out = x + y}
+     */
+    public static void add(float[] x, int xOff, int xInc, float[] y, int yOff, int yInc,
+                           float[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1) {
+            OPS.add(x, xOff, y, yOff, out, outOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] + y[yOff];
+    }
+
+    /**
+     * Computes {@code out = x - y}
+     */
+    public static void sub(float[] x, int xOff, int xInc, float[] y, int yOff, int yInc,
+                           float[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1) {
+            OPS.sub(x, xOff, y, yOff, out, outOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] - y[yOff];
+    }
+
+    /**
+     * Computes {@code out = x * a}
+     */
+    public static void mul(float[] x, int xOff, int xInc, float a, float[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && outInc == 1) {
+            OPS.mul(x, xOff, a, out, outOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, outOff += outInc)
+            out[outOff] = x[xOff] * a;
+    }
+
+    /**
+     * Computes {@code out = x * y} element by element
+     */
+    public static void mul(float[] x, int xOff, int xInc, float[] y, int yOff, int yInc,
+                           float[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1) {
+            OPS.mul(x, xOff, y, yOff, out, outOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] * y[yOff];
+    }
+
+    /**
+     * Computes {@code y = a*x + y}
+     */
+    public static void axpy(float a, float[] x, int xOff, int xInc, float[] y, int yOff, int yInc, int n) {
+        if (xInc == 1 && yInc == 1) {
+            OPS.axpy(a, x, xOff, y, yOff, n);
+            return;
+        }
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc)
+            y[yOff] += a * x[xOff];
+    }
+
+    /**
+     * Returns the dot product {@code x.y} with sums kept in the precision of {@code acc}
+     */
+    public static double dot(float[] x, int xOff, int xInc, float[] y, int yOff, int yInc, int n, Accumulation acc) {
+        if (xInc == 1 && yInc == 1)
+            return acc == Accumulation.DOUBLE ? OPS.dotDouble(x, xOff, y, yOff, n) : OPS.dot(x, xOff, y, yOff, n);
+
+        if (acc == Accumulation.DOUBLE) {
+            double result = 0;
+            for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc)
+                result += (double) x[xOff] * y[yOff];
+            return result;
+        }
+
+        float result = 0;
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc)
+            result += x[xOff] * y[yOff];
+        return result;
+    }
+
+    /**
+     * Returns the sum of the absolute values of {@code x}
+     */
+    public static float sumAbs(float[] x, int xOff, int xInc, int n) {
+        if (xInc == 1)
+            return OPS.sumAbs(x, xOff, n);
+
+        float result = 0;
+        for (int i = 0; i < n; i++, xOff += xInc)
+            result += Math.abs(x[xOff]);
+        return result;
+    }
+
+    /**
+     * Picks the SIMD kernels if the incubator module can be loaded, the scalar ones otherwise
+     */
+    private static FloatOps load() {
+        if (!Boolean.parseBoolean(System.getProperty("org.la.simd", "true")))
+            return new ScalarFloatOps();
+
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+            return new ScalarFloatOps();
+
+        try {
+            return (FloatOps) Class.forName("org.la.kernel.SimdFloatOps")
+                                   .getDeclaredConstructor()
+                                   .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarFloatOps();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.la.kernel;
+
+/**
+ * Single precision counterpart of {@link VectorOps}, over contiguous ranges of float arrays.
+ * <p>Dot products come in two flavors: accumulating in float, which is the fastest, or in
+ * double, which keeps the rounding error of long sums bounded</p>
+ * @see org.la.kernel.FloatKernels
+ */
+interface FloatOps {
+    /** {@code out = x + a} */
+    void add(float[] x, int xOff, float a, float[] out, int outOff, int n);
+
+    /** {@code out = x + y} */
+    void add(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n);
+
+    /** {@code out = x - y} */
+    void sub(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n);
+
+    /** {@code out = x * a} */
+    void mul(float[] x, int xOff, float a, float[] out, int outOff, int n);
+
+    /** {@code out = x * y} element by element */
+    void mul(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n);
+
+    /** {@code y = a*x + y} */
+    void axpy(float a, float[] x, int xOff, float[] y, int yOff, int n);
+
+    /** Returns {@code x.y} accumulated in float */
+    float dot(float[] x, int xOff, float[] y, int yOff, int n);
+
+    /** Returns {@code x.y} accumulated in double */
+    double dotDouble(float[] x, int xOff, float[] y, int yOff, int n);
+
+    /** Returns the sum of the absolute values of {@code x} */
+    float sumAbs(float[] x, int xOff, int n);
+}
@@ -0,0 +1,364 @@
+package org.la.kernel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * General matrix multiplication kernel computing {@code C += A * B} on strided arrays.
+ * <p>Large products are split in cache sized blocks. For each block the operands are
+ * packed into contiguous panels of {@link #MR} rows of {@code A} and {@link #NR} columns
+ * of {@code B}, which are multiplied by a register blocked micro kernel. Products smaller
+ * than the threshold go through a simple triple loop instead</p>
+ * <p>Products can also be computed on a {@code ForkJoinPool} by splitting {@code C} in
+ * blocks of rows or columns. Every element of {@code C} is accumulated in the same order
+ * as in the sequential kernel, so both give bit-identical results</p>
+ * <p>An operand is described by its array, the offset of its first element and its row
+ * and column strides, so the element at row {@code i} and col {@code j} is
+ * {@code arr[off + i*rowStride + j*colStride]}</p>
+ */
+public final class Gemm {
+    /** Number of rows of {@code A} handled by the micro kernel */
+    public static final int MR = 4;
+    /** Number of columns of {@code B} handled by the micro kernel */
+    public static final int NR = 4;
+
+    /** Smallest number of columns of {@code C} given to a parallel task */
+    private static final int MIN_TASK_COLS = 256;
+
+    private static volatile Gemm defaultGemm = new Gemm(96, 256, 2048, 64 * 64 * 64, 256L * 256 * 256);
+
+    private final int mc;
+    private final int kc;
+    private final int nc;
+    private final long threshold;
+    private final long parallelThreshold;
+
+    /**
+     * Creates a kernel with the given block sizes
+     * @param mc number of rows of {@code A} packed at once
+     * @param kc depth of the packed panels of {@code A} and {@code B}
+     * @param nc number of columns of {@code B} packed at once
+     * @param threshold products with {@code m*n*k} below it use the simple loop
+     */
+    public Gemm(int mc, int kc, int nc, long threshold) {
+        this(mc, kc, nc, threshold, 256L * 256 * 256);
+    }
+
+    /**
+     * Creates a kernel with the given block sizes
+     * @param mc number of rows of {@code A} packed at once
+     * @param kc depth of the packed panels of {@code A} and {@code B}
+     * @param nc number of columns of {@code B} packed at once
+     * @param threshold products with {@code m*n*k} below it use the simple loop
+     * @param parallelThreshold products with {@code m*n*k} below it stay sequential
+     *                          even when a pool is given
+     */
+    public Gemm(int mc, int kc, int nc, long threshold, long parallelThreshold) {
+        if (mc <= 0 || kc <= 0 || nc <= 0)
+            throw new IllegalArgumentException("Block sizes must be positive");
+
+        this.mc = roundUp(mc, MR);
+        this.kc = kc;
+        this.nc = roundUp(nc, NR);
+        this.threshold = threshold;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the kernel used by {@link org.la.Matrix#mul(org.la.Matrix)}
+     */
+    public static Gemm getDefault() {
+        return defaultGemm;
+    }
+
+    /**
+     * Replaces the kernel used by {@link org.la.Matrix#mul(org.la.Matrix)}
+     */
+    public static void setDefault(Gemm gemm) {
+        if (gemm == null)
+            throw new IllegalArgumentException("Kernel must not be null");
+        defaultGemm = gemm;
+    }
+
+    /**
+     * Returns the number of rows of {@code A} packed at once
+     */
+    public int mc() {
+        return mc;
+    }
+
+    /**
+     * Returns the depth of the packed panels
+     */
+    public int kc() {
+        return kc;
+    }
+
+    /**
+     * Returns the number of columns of {@code B} packed at once
+     */
+    public int nc() {
+        return nc;
+    }
+
+    /**
+     * Returns the size {@code m*n*k} below which products use the simple loop
+     */
+    public long threshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the size {@code m*n*k} below which products stay sequential
+     */
+    public long parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Checks if a {@code m x k} by {@code k x n} product is small enough for the simple loop
+     */
+    public boolean isSmall(int m, int n, int k) {
+        return (long) m * n * k < threshold;
+    }
+
+    /**
+     * Computes {@code C += A * B} where {@code A} is {@code m x k}, {@code B} is {@code k x n}
+     * and {@code C} is {@code m x n}. {@code C} must not share elements with {@code A} or {@code B}
+     */
+    public void multiply(int m, int n, int k,
+                         double[] a, int aOff, int aRs, int aCs,
+                         double[] b, int bOff, int bRs, int bCs,
+                         double[] c, int cOff, int cRs, int cCs) {
+        multiply(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs, null);
+    }
+
+    /**
+     * Computes {@code C += A * B} like {@link #multiply(int, int, int, double[], int, int, int,
+     * double[], int, int, int, double[], int, int, int)} splitting the work over {@code pool}.
+     * Products below the parallel threshold, or any product when {@code pool} is null,
+     * are computed on the calling thread
+     */
+    public void multiply(int m, int n, int k,
+                         double[] a, int aOff, int aRs, int aCs,
+                         double[] b, int bOff, int bRs, int bCs,
+                         double[] c, int cOff, int cRs, int cCs,
+                         ForkJoinPool pool) {
+        if (m == 0 || n == 0 || k == 0)
+            return;
+
+        if (isSmall(m, n, k)) {
+            simple(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs);
+            return;
+        }
+
+        if (pool == null || pool.getParallelism() == 1 || (long) m * n * k < parallelThreshold) {
+            blocked(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs);
+            return;
+        }
+
+        pool.invoke(new BlockTask(0, m, 0, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs));
+    }
+
+    /**
+     * Multiplies with packed panels, used for large products
+     */
+    private void blocked(int m, int n, int k,
+                         double[] a, int aOff, int aRs, int aCs,
+                         double[] b, int bOff, int bRs, int bCs,
+                         double[] c, int cOff, int cRs, int cCs) {
+        double[] aPack = new double[Math.min(mc, roundUp(m, MR)) * Math.min(kc, k)];
+        double[] bPack = new double[Math.min(nc, roundUp(n, NR)) * Math.min(kc, k)];
+
+        for (int jc = 0; jc < n; jc += nc) {
+            int nb = Math.min(nc, n - jc);
+
+            for (int pc = 0; pc < k; pc += kc) {
+                int kb = Math.min(kc, k - pc);
+                packB(kb, nb, b, bOff + pc * bRs + jc * bCs, bRs, bCs, bPack);
+
+                for (int ic = 0; ic < m; ic += mc) {
+                    int mb = Math.min(mc, m - ic);
+                    packA(mb, kb, a, aOff + ic * aRs + pc * aCs, aRs, aCs, aPack);
+                    macroKernel(mb, nb, kb, aPack, bPack, c, cOff + ic * cRs + jc * cCs, cRs, cCs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the block of rows {@code [i0, i1)} and columns {@code [j0, j1)} of {@code C},
+     * splitting it in halves along block boundaries until it holds at most {@code mc} rows
+     * or, for short and wide products, a few hundred columns
+     */
+    private final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int i0, i1, j0, j1, k;
+        private final double[] a, b, c;
+        private final int aOff, aRs, aCs, bOff, bRs, bCs, cOff, cRs, cCs;
+
+        BlockTask(int i0, int i1, int j0, int j1, int k,
+                  double[] a, int aOff, int aRs, int aCs,
+                  double[] b, int bOff, int bRs, int bCs,
+                  double[] c, int cOff, int cRs, int cCs) {
+            this.i0 = i0; this.i1 = i1; this.j0 = j0; this.j1 = j1; this.k = k;
+            this.a = a; this.aOff = aOff; this.aRs = aRs; this.aCs = aCs;
+            this.b = b; this.bOff = bOff; this.bRs = bRs; this.bCs = bCs;
+            this.c = c; this.cOff = cOff; this.cRs = cRs; this.cCs = cCs;
+        }
+
+        @Override
+        protected void compute() {
+            int m = i1 - i0;
+            int n = j1 - j0;
+
+            if (m > mc) {
+                int mid = i0 + roundUp((m + 1) / 2, mc);
+                invokeAll(split(i0, mid, j0, j1), split(mid, i1, j0, j1));
+            } else if (n > 2 * MIN_TASK_COLS) {
+                int mid = j0 + roundUp((n + 1) / 2, NR);
+                invokeAll(split(i0, i1, j0, mid), split(i0, i1, mid, j1));
+            } else {
+                blocked(m, n, k,
+                        a, aOff + i0 * aRs, aRs, aCs,
+                        b, bOff + j0 * bCs, bRs, bCs,
+                        c, cOff + i0 * cRs + j0 * cCs, cRs, cCs);
+            }
+        }
+
+        private BlockTask split(int i0, int i1, int j0, int j1) {
+            return new BlockTask(i0, i1, j0, j1, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs);
+        }
+    }
+
+    /**
+     * Multiplies with the textbook k-i-j loop, used for small products
+     */
+    private static void simple(int m, int n, int k,
+                               double[] a, int aOff, int aRs, int aCs,
+                               double[] b, int bOff, int bRs, int bCs,
+                               double[] c, int cOff, int cRs, int cCs) {
+        for (int p = 0; p < k; p++) {
+            for (int i = 0; i < m; i++) {
+                double x = a[aOff + i * aRs + p * aCs];
+                int bi = bOff + p * bRs;
+                int ci = cOff + i * cRs;
+
+                for (int j = 0; j < n; j++, bi += bCs, ci += cCs)
+                    c[ci] += x * b[bi];
+            }
+        }
+    }
+
+    /**
+     * Packs a {@code mb x kb} block of {@code A} into panels of {@link #MR} rows stored
+     * column by column. The last panel is padded with zeros
+     */
+    private static void packA(int mb, int kb, double[] a, int off, int rs, int cs, double[] pack) {
+        int dst = 0;
+
+        for (int ir = 0; ir < mb; ir += MR) {
+            int rows = Math.min(MR, mb - ir);
+            int base = off + ir * rs;
+
+            for (int p = 0; p < kb; p++) {
+                int src = base + p * cs;
+                int i = 0;
+
+                for (; i < rows; i++, src += rs)
+                    pack[dst++] = a[src];
+                for (; i < MR; i++)
+                    pack[dst++] = 0;
+            }
+        }
+    }
+
+    /**
+     * Packs a {@code kb x nb} block of {@code B} into panels of {@link #NR} columns stored
+     * row by row. The last panel is padded with zeros
+     */
+    private static void packB(int kb, int nb, double[] b, int off, int rs, int cs, double[] pack) {
+        int dst = 0;
+
+        for (int jr = 0; jr < nb; jr += NR) {
+            int cols = Math.min(NR, nb - jr);
+            int base = off + jr * cs;
+
+            for (int p = 0; p < kb; p++) {
+                int src = base + p * rs;
+                int j = 0;
+
+                for (; j < cols; j++, src += cs)
+                    pack[dst++] = b[src];
+                for (; j < NR; j++)
+                    pack[dst++] = 0;
+            }
+        }
+    }
+
+    /**
+     * Multiplies the packed blocks of {@code A} and {@code B} into {@code C}
+     */
+    private static void macroKernel(int mb, int nb, int kb, double[] aPack, double[] bPack,
+                                    double[] c, int cOff, int cRs, int cCs) {
+        for (int jr = 0; jr < nb; jr += NR) {
+            int nr = Math.min(NR, nb - jr);
+            int bi = jr * kb;
+
+            for (int ir = 0; ir < mb; ir += MR) {
+                int mr = Math.min(MR, mb - ir);
+                int ai = ir * kb;
+
+                microKernel(kb, aPack, ai, bPack, bi, c, cOff + ir * cRs + jr * cCs, cRs, cCs, mr, nr);
+            }
+        }
+    }
+
+    /**
+     * Multiplies a packed {@code MR x kb} panel by a packed {@code kb x NR} panel keeping
+     * the {@code MR x NR} result in registers, then adds the top left {@code mr x nr}
+     * corner of it to {@code C}
+     */
+    private static void microKernel(int kb, double[] a, int ai, double[] b, int bi,
+                                    double[] c, int ci, int rs, int cs, int mr, int nr) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int p = 0; p < kb; p++, ai += MR, bi += NR) {
+            double a0 = a[ai], a1 = a[ai + 1], a2 = a[ai + 2], a3 = a[ai + 3];
+            double b0 = b[bi], b1 = b[bi + 1], b2 = b[bi + 2], b3 = b[bi + 3];
+
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (mr == MR && nr == NR) {
+            int r0 = ci, r1 = ci + rs, r2 = ci + 2 * rs, r3 = ci + 3 * rs;
+            c[r0] += c00; c[r0 + cs] += c01; c[r0 + 2 * cs] += c02; c[r0 + 3 * cs] += c03;
+            c[r1] += c10; c[r1 + cs] += c11; c[r1 + 2 * cs] += c12; c[r1 + 3 * cs] += c13;
+            c[r2] += c20; c[r2 + cs] += c21; c[r2 + 2 * cs] += c22; c[r2 + 3 * cs] += c23;
+            c[r3] += c30; c[r3 + cs] += c31; c[r3 + 2 * cs] += c32; c[r3 + 3 * cs] += c33;
+            return;
+        }
+
+        double[] t = {
+            c00, c01, c02, c03,
+            c10, c11, c12, c13,
+            c20, c21, c22, c23,
+            c30, c31, c32, c33
+        };
+
+        for (int i = 0; i < mr; i++)
+            for (int j = 0; j < nr; j++)
+                c[ci + i * rs + j * cs] += t[i * NR + j];
+    }
+
+    private static int roundUp(int x, int multiple) {
+        return (x + multiple - 1) / multiple * multiple;
+    }
+}
@@ -0,0 +1,70 @@
+package org.la.kernel;
+
+/**
+ * Plain loop implementation of the single precision kernels, used when the
+ * {@code jdk.incubator.vector} module is not available
+ */
+final class ScalarFloatOps implements FloatOps {
+    @Override
+    public void add(float[] x, int xOff, float a, float[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] + a;
+    }
+
+    @Override
+    public void add(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] + y[yOff + i];
+    }
+
+    @Override
+    public void sub(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] - y[yOff + i];
+    }
+
+    @Override
+    public void mul(float[] x, int xOff, float a, float[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] * a;
+    }
+
+    @Override
+    public void mul(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] * y[yOff + i];
+    }
+
+    @Override
+    public void axpy(float a, float[] x, int xOff, float[] y, int yOff, int n) {
+        for (int i = 0; i < n; i++)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public float dot(float[] x, int xOff, float[] y, int yOff, int n) {
+        float result = 0;
+
+        for (int i = 0; i < n; i++)
+            result += x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public double dotDouble(float[] x, int xOff, float[] y, int yOff, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++)
+            result += (double) x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public float sumAbs(float[] x, int xOff, int n) {
+        float result = 0;
+
+        for (int i = 0; i < n; i++)
+            result += Math.abs(x[xOff + i]);
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package org.la.kernel;
+
+/**
+ * Plain loop implementation of the vector kernels, used when the
+ * {@code jdk.incubator.vector} module is not available
+ */
+final class ScalarVectorOps implements VectorOps {
+    @Override
+    public void add(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] + a;
+    }
+
+    @Override
+    public void add(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] + y[yOff + i];
+    }
+
+    @Override
+    public void sub(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] - y[yOff + i];
+    }
+
+    @Override
+    public void mul(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] * a;
+    }
+
+    @Override
+    public void mul(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOff + i] = x[xOff + i] * y[yOff + i];
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n) {
+        for (int i = 0; i < n; i++)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public double dot(double[] x, int xOff, double[] y, int yOff, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++)
+            result += x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public double sumSq(double[] x, int xOff, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++) {
+            double a = x[xOff + i];
+            result += a * a;
+        }
+        return result;
+    }
+
+    @Override
+    public double sumAbs(double[] x, int xOff, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++)
+            result += Math.abs(x[xOff + i]);
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package org.la.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the single precision kernels on {@code jdk.incubator.vector}. Full lanes
+ * of the preferred species are processed with SIMD instructions and the remaining tail with
+ * a scalar loop
+ * <p>Double accumulation loads half as many floats per step, so that they widen into a
+ * full double vector</p>
+ * <p>This class must only be loaded when the incubator module is present</p>
+ */
+final class SimdFloatOps implements FloatOps {
+    private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> HALF =
+        FloatVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(D.vectorBitSize() / 2));
+
+    @Override
+    public void add(float[] x, int xOff, float a, float[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length())
+            FloatVector.fromArray(S, x, xOff + i).add(a).intoArray(out, outOff + i);
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] + a;
+    }
+
+    @Override
+    public void add(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            FloatVector vx = FloatVector.fromArray(S, x, xOff + i);
+            FloatVector vy = FloatVector.fromArray(S, y, yOff + i);
+            vx.add(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] + y[yOff + i];
+    }
+
+    @Override
+    public void sub(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            FloatVector vx = FloatVector.fromArray(S, x, xOff + i);
+            FloatVector vy = FloatVector.fromArray(S, y, yOff + i);
+            vx.sub(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] - y[yOff + i];
+    }
+
+    @Override
+    public void mul(float[] x, int xOff, float a, float[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length())
+            FloatVector.fromArray(S, x, xOff + i).mul(a).intoArray(out, outOff + i);
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] * a;
+    }
+
+    @Override
+    public void mul(float[] x, int xOff, float[] y, int yOff, float[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            FloatVector vx = FloatVector.fromArray(S, x, xOff + i);
+            FloatVector vy = FloatVector.fromArray(S, y, yOff + i);
+            vx.mul(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] * y[yOff + i];
+    }
+
+    @Override
+    public void axpy(float a, float[] x, int xOff, float[] y, int yOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector va = FloatVector.broadcast(S, a);
+
+        for (; i < bound; i += S.length()) {
+            FloatVector vx = FloatVector.fromArray(S, x, xOff + i);
+            FloatVector vy = FloatVector.fromArray(S, y, yOff + i);
+            vx.fma(va, vy).intoArray(y, yOff + i);
+        }
+        for (; i < n; i++)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public float dot(float[] x, int xOff, float[] y, int yOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector acc = FloatVector.zero(S);
+
+        for (; i < bound; i += S.length()) {
+            FloatVector vx = FloatVector.fromArray(S, x, xOff + i);
+            FloatVector vy = FloatVector.fromArray(S, y, yOff + i);
+            acc = vx.fma(vy, acc);
+        }
+
+        float result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++)
+            result += x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public double dotDouble(float[] x, int xOff, float[] y, int yOff, int n) {
+        int i = 0;
+        int bound = HALF.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(D);
+
+        for (; i < bound; i += HALF.length()) {
+            DoubleVector vx = (DoubleVector) FloatVector.fromArray(HALF, x, xOff + i).convertShape(VectorOperators.F2D, D, 0);
+            DoubleVector vy = (DoubleVector) FloatVector.fromArray(HALF, y, yOff + i).convertShape(VectorOperators.F2D, D, 0);
+            acc = vx.fma(vy, acc);
+        }
+
+        double result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++)
+            result += (double) x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public float sumAbs(float[] x, int xOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector acc = FloatVector.zero(S);
+
+        for (; i < bound; i += S.length())
+            acc = acc.add(FloatVector.fromArray(S, x, xOff + i).abs());
+
+        float result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++)
+            result += Math.abs(x[xOff + i]);
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package org.la.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the vector kernels on {@code jdk.incubator.vector}. Full lanes of the
+ * preferred species are processed with SIMD instructions and the remaining tail with
+ * a scalar loop
+ * <p>This class must only be loaded when the incubator module is present</p>
+ */
+final class SimdVectorOps implements VectorOps {
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void add(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length())
+            DoubleVector.fromArray(S, x, xOff + i).add(a).intoArray(out, outOff + i);
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] + a;
+    }
+
+    @Override
+    public void add(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+            vx.add(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] + y[yOff + i];
+    }
+
+    @Override
+    public void sub(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+            vx.sub(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] - y[yOff + i];
+    }
+
+    @Override
+    public void mul(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length())
+            DoubleVector.fromArray(S, x, xOff + i).mul(a).intoArray(out, outOff + i);
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] * a;
+    }
+
+    @Override
+    public void mul(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+            vx.mul(vy).intoArray(out, outOff + i);
+        }
+        for (; i < n; i++)
+            out[outOff + i] = x[xOff + i] * y[yOff + i];
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        DoubleVector va = DoubleVector.broadcast(S, a);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+            vx.fma(va, vy).intoArray(y, yOff + i);
+        }
+        for (; i < n; i++)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public double dot(double[] x, int xOff, double[] y, int yOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(S);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+            acc = vx.fma(vy, acc);
+        }
+
+        double result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++)
+            result += x[xOff + i] * y[yOff + i];
+        return result;
+    }
+
+    @Override
+    public double sumSq(double[] x, int xOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(S);
+
+        for (; i < bound; i += S.length()) {
+            DoubleVector vx = DoubleVector.fromArray(S, x, xOff + i);
+            acc = vx.fma(vx, acc);
+        }
+
+        double result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            double a = x[xOff + i];
+            result += a * a;
+        }
+        return result;
+    }
+
+    @Override
+    public double sumAbs(double[] x, int xOff, int n) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(S);
+
+        for (; i < bound; i += S.length())
+            acc = acc.add(DoubleVector.fromArray(S, x, xOff + i).abs());
+
+        double result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++)
+            result += Math.abs(x[xOff + i]);
+        return result;
+    }
+}
@@ -0,0 +1,320 @@
+package org.la.kernel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Strassen-Winograd matrix multiplication kernel computing {@code C = A * B} on strided arrays.
+ * <p>Each level splits the operands in quadrants and forms the product with 7 half sized
+ * products and 15 additions instead of 8 products, so a level saves an eighth of the
+ * multiplications. The recursion stops when a dimension is at most the cutoff, where the
+ * blocks are multiplied by the classical {@link Gemm} kernel</p>
+ * <p>Odd dimensions are peeled: the even sized leading block goes through the recursion and
+ * the last row, column or rank one update are added by {@code Gemm}. The temporaries of the
+ * schedule are allocated once per product, a set of three buffers per level, and reused by
+ * every product of that level</p>
+ * <p>The result differs from the classical product by rounding, with an error bound that
+ * grows with the number of levels. The classical kernel stays the default, see
+ * {@link #setDefault(Strassen)}</p>
+ * @see Gemm
+ */
+public final class Strassen {
+    private static volatile Strassen defaultStrassen = Boolean.getBoolean("org.la.strassen") ? new Strassen() : null;
+
+    /** Classical kernel of the blocks, null for the current default */
+    private final Gemm gemm;
+    private final int cutoff;
+    private final int threshold;
+
+    /**
+     * Creates a kernel with a cutoff of 256 and a threshold of 1024 multiplying the blocks with
+     * the default {@link Gemm}, as it is when each product starts
+     * @see Gemm#setDefault(Gemm)
+     */
+    public Strassen() {
+        this(256, 1024);
+    }
+
+    /**
+     * Creates a kernel multiplying the blocks with the default {@link Gemm}, as it is when each
+     * product starts
+     * @param cutoff blocks with a dimension at most this size are multiplied classically
+     * @param threshold products with a dimension below it are multiplied classically
+     *                  when the kernel is picked by size
+     */
+    public Strassen(int cutoff, int threshold) {
+        this(null, cutoff, threshold, true);
+    }
+
+    /**
+     * Creates a kernel
+     * @param gemm classical kernel multiplying the blocks at the bottom of the recursion
+     * @param cutoff blocks with a dimension at most this size are multiplied classically
+     * @param threshold products with a dimension below it are multiplied classically
+     *                  when the kernel is picked by size
+     */
+    public Strassen(Gemm gemm, int cutoff, int threshold) {
+        this(gemm, cutoff, threshold, false);
+    }
+
+    private Strassen(Gemm gemm, int cutoff, int threshold, boolean useDefault) {
+        if (gemm == null && !useDefault)
+            throw new IllegalArgumentException("Kernel must not be null");
+        if (cutoff < 1)
+            throw new IllegalArgumentException("Cutoff must be positive");
+
+        this.gemm = gemm;
+        this.cutoff = cutoff;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the kernel {@link org.la.Matrix#mul(org.la.Matrix)} uses for products above its
+     * threshold, {@code null} if products are always classical. It is set at startup when
+     * {@code org.la.strassen} is true
+     */
+    public static Strassen getDefault() {
+        return defaultStrassen;
+    }
+
+    /**
+     * Replaces the kernel used by {@link org.la.Matrix#mul(org.la.Matrix)} for products above
+     * its threshold, or disables it when null
+     */
+    public static void setDefault(Strassen strassen) {
+        defaultStrassen = strassen;
+    }
+
+    /**
+     * Returns the classical kernel of the blocks
+     */
+    public Gemm gemm() {
+        return gemm != null ? gemm : Gemm.getDefault();
+    }
+
+    /**
+     * Returns the size of the blocks multiplied classically
+     */
+    public int cutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Returns the smallest dimension of the products picked by size
+     */
+    public int threshold() {
+        return threshold;
+    }
+
+    /**
+     * Checks if a {@code m x k} by {@code k x n} product is large enough for the kernel to pay off
+     */
+    public boolean isLarge(int m, int n, int k) {
+        return Math.min(m, Math.min(n, k)) >= threshold;
+    }
+
+    /**
+     * Computes {@code C = A * B} where {@code A} is {@code m x k}, {@code B} is {@code k x n}
+     * and {@code C} is {@code m x n}, overwriting {@code C}. {@code C} must not share elements
+     * with {@code A} or {@code B}
+     */
+    public void multiply(int m, int n, int k,
+                         double[] a, int aOff, int aRs, int aCs,
+                         double[] b, int bOff, int bRs, int bCs,
+                         double[] c, int cOff, int cRs, int cCs) {
+        multiply(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs, null);
+    }
+
+    /**
+     * Computes {@code C = A * B} like {@link #multiply(int, int, int, double[], int, int, int,
+     * double[], int, int, int, double[], int, int, int)}, running the classical blocks on
+     * {@code pool} when it is not null
+     */
+    public void multiply(int m, int n, int k,
+                         double[] a, int aOff, int aRs, int aCs,
+                         double[] b, int bOff, int bRs, int bCs,
+                         double[] c, int cOff, int cRs, int cCs,
+                         ForkJoinPool pool) {
+        if (m == 0 || n == 0)
+            return;
+
+        Gemm gemm = gemm();
+        int levels = levels(m, n, k);
+        if (levels == 0) {
+            zero(m, n, c, cOff, cRs, cCs);
+            gemm.multiply(m, n, k, a, aOff, aRs, aCs, b, bOff, bRs, bCs, c, cOff, cRs, cCs, pool);
+            return;
+        }
+
+        // The schedule works on row major blocks, other layouts are copied
+        if (aCs != 1) {
+            a = copy(m, k, a, aOff, aRs, aCs);
+            aOff = 0;
+            aRs = k;
+        }
+        if (bCs != 1) {
+            b = copy(k, n, b, bOff, bRs, bCs);
+            bOff = 0;
+            bRs = n;
+        }
+
+        Scratch s = new Scratch(gemm, m, n, k, levels);
+        if (cCs == 1) {
+            multiply(0, m, n, k, a, aOff, aRs, b, bOff, bRs, c, cOff, cRs, s, pool);
+            return;
+        }
+
+        double[] res = new double[m * n];
+        multiply(0, m, n, k, a, aOff, aRs, b, bOff, bRs, res, 0, n, s, pool);
+        for (int i = 0; i < m; i++)
+            for (int j = 0; j < n; j++)
+                c[cOff + i * cRs + j * cCs] = res[i * n + j];
+    }
+
+    /**
+     * Returns the number of levels of recursion of a product
+     */
+    int levels(int m, int n, int k) {
+        int levels = 0;
+
+        while (Math.min(m, Math.min(n, k)) > cutoff) {
+            m /= 2;
+            n /= 2;
+            k /= 2;
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Computes {@code C = A * B} on row major blocks with leading dimensions {@code lda},
+     * {@code ldb} and {@code ldc}, using the temporaries of {@code level} and below
+     */
+    private void multiply(int level, int m, int n, int k,
+                          double[] a, int aOff, int lda,
+                          double[] b, int bOff, int ldb,
+                          double[] c, int cOff, int ldc,
+                          Scratch s, ForkJoinPool pool) {
+        if (level == s.levels) {
+            zero(m, n, c, cOff, ldc, 1);
+            s.gemm.multiply(m, n, k, a, aOff, lda, 1, b, bOff, ldb, 1, c, cOff, ldc, 1, pool);
+            return;
+        }
+
+        int hm = m / 2, hn = n / 2, hk = k / 2;
+        int next = level + 1;
+        double[] x = s.x[level], y = s.y[level], z = s.z[level];
+
+        int a11 = aOff, a12 = aOff + hk, a21 = aOff + hm * lda, a22 = a21 + hk;
+        int b11 = bOff, b12 = bOff + hn, b21 = bOff + hk * ldb, b22 = b21 + hn;
+        int c11 = cOff, c12 = cOff + hn, c21 = cOff + hm * ldc, c22 = c21 + hn;
+
+        // Schedule of Douglas et al. with two temporaries for the operands and one for P1
+        sub(hm, hk, a, a11, lda, a, a21, lda, x, 0, hk);                          // X = A11 - A21
+        sub(hk, hn, b, b22, ldb, b, b12, ldb, y, 0, hn);                          // Y = B22 - B12
+        multiply(next, hm, hn, hk, x, 0, hk, y, 0, hn, c, c21, ldc, s, pool);     // C21 = P7
+        add(hm, hk, a, a21, lda, a, a22, lda, x, 0, hk);                          // X = A21 + A22
+        sub(hk, hn, b, b12, ldb, b, b11, ldb, y, 0, hn);                          // Y = B12 - B11
+        multiply(next, hm, hn, hk, x, 0, hk, y, 0, hn, c, c22, ldc, s, pool);     // C22 = P5
+        sub(hm, hk, x, 0, hk, a, a11, lda, x, 0, hk);                             // X = X - A11
+        sub(hk, hn, b, b22, ldb, y, 0, hn, y, 0, hn);                             // Y = B22 - Y
+        multiply(next, hm, hn, hk, x, 0, hk, y, 0, hn, c, c12, ldc, s, pool);     // C12 = P6
+        sub(hm, hk, a, a12, lda, x, 0, hk, x, 0, hk);                             // X = A12 - X
+        multiply(next, hm, hn, hk, x, 0, hk, b, b22, ldb, c, c11, ldc, s, pool);  // C11 = P3
+        multiply(next, hm, hn, hk, a, a11, lda, b, b11, ldb, z, 0, hn, s, pool);  // Z = P1
+        add(hm, hn, z, 0, hn, c, c12, ldc, c, c12, ldc);                          // C12 = P1 + P6
+        add(hm, hn, c, c12, ldc, c, c21, ldc, c, c21, ldc);                       // C21 += C12
+        add(hm, hn, c, c12, ldc, c, c22, ldc, c, c12, ldc);                       // C12 += C22
+        add(hm, hn, c, c21, ldc, c, c22, ldc, c, c22, ldc);                       // C22 += C21
+        add(hm, hn, c, c12, ldc, c, c11, ldc, c, c12, ldc);                       // C12 += C11
+        sub(hk, hn, y, 0, hn, b, b21, ldb, y, 0, hn);                             // Y = Y - B21
+        multiply(next, hm, hn, hk, a, a22, lda, y, 0, hn, c, c11, ldc, s, pool);  // C11 = P4
+        sub(hm, hn, c, c21, ldc, c, c11, ldc, c, c21, ldc);                       // C21 -= P4
+        multiply(next, hm, hn, hk, a, a12, lda, b, b21, ldb, c, c11, ldc, s, pool); // C11 = P2
+        add(hm, hn, z, 0, hn, c, c11, ldc, c, c11, ldc);                          // C11 = P1 + P2
+
+        peel(s.gemm, m, n, k, 2 * hm, 2 * hn, 2 * hk, a, aOff, lda, b, bOff, ldb, c, cOff, ldc, pool);
+    }
+
+    /**
+     * Completes a product whose leading {@code m2 x n2} block only holds the product of the
+     * leading {@code k2} columns of {@code A} by the leading {@code k2} rows of {@code B}
+     */
+    private static void peel(Gemm gemm, int m, int n, int k, int m2, int n2, int k2,
+                             double[] a, int aOff, int lda,
+                             double[] b, int bOff, int ldb,
+                             double[] c, int cOff, int ldc,
+                             ForkJoinPool pool) {
+        if (k2 < k)
+            gemm.multiply(m2, n2, k - k2, a, aOff + k2, lda, 1, b, bOff + k2 * ldb, ldb, 1, c, cOff, ldc, 1, pool);
+
+        if (n2 < n) {
+            zero(m, n - n2, c, cOff + n2, ldc, 1);
+            gemm.multiply(m, n - n2, k, a, aOff, lda, 1, b, bOff + n2, ldb, 1, c, cOff + n2, ldc, 1, pool);
+        }
+
+        if (m2 < m) {
+            zero(m - m2, n2, c, cOff + m2 * ldc, ldc, 1);
+            gemm.multiply(m - m2, n2, k, a, aOff + m2 * lda, lda, 1, b, bOff, ldb, 1, c, cOff + m2 * ldc, ldc, 1, pool);
+        }
+    }
+
+    /**
+     * Classical kernel and temporaries of every level of the recursion of a product
+     */
+    private static final class Scratch {
+        final Gemm gemm;
+        final int levels;
+        final double[][] x, y, z;
+
+        Scratch(Gemm gemm, int m, int n, int k, int levels) {
+            this.gemm = gemm;
+            this.levels = levels;
+            this.x = new double[levels][];
+            this.y = new double[levels][];
+            this.z = new double[levels][];
+
+            for (int l = 0; l < levels; l++) {
+                m /= 2;
+                n /= 2;
+                k /= 2;
+                x[l] = new double[m * k];
+                y[l] = new double[k * n];
+                z[l] = new double[m * n];
+            }
+        }
+    }
+
+    private static void add(int rows, int cols, double[] x, int xOff, int ldx, double[] y, int yOff, int ldy,
+                            double[] out, int outOff, int ldo) {
+        for (int i = 0; i < rows; i++)
+            VectorKernels.add(x, xOff + i * ldx, y, yOff + i * ldy, out, outOff + i * ldo, cols);
+    }
+
+    private static void sub(int rows, int cols, double[] x, int xOff, int ldx, double[] y, int yOff, int ldy,
+                            double[] out, int outOff, int ldo) {
+        for (int i = 0; i < rows; i++)
+            VectorKernels.sub(x, xOff + i * ldx, y, yOff + i * ldy, out, outOff + i * ldo, cols);
+    }
+
+    private static void zero(int rows, int cols, double[] c, int off, int rs, int cs) {
+        if (cs == 1) {
+            for (int i = 0; i < rows; i++)
+                Arrays.fill(c, off + i * rs, off + i * rs + cols, 0);
+            return;
+        }
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                c[off + i * rs + j * cs] = 0;
+    }
+
+    private static double[] copy(int rows, int cols, double[] x, int off, int rs, int cs) {
+        double[] res = new double[rows * cols];
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                res[i * cols + j] = x[off + i * rs + j * cs];
+        return res;
+    }
+}
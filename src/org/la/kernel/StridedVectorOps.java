@@ -0,0 +1,67 @@
+package org.la.kernel;
+
+/**
+ * Plain loop kernels over strided ranges of arrays, used by {@link VectorKernels}
+ * when a range does not hold adjacent elements
+ * <p>The element {@code i} of a range is at {@code off + i*inc}</p>
+ */
+final class StridedVectorOps {
+    private StridedVectorOps() {}
+
+    static void add(double[] x, int xOff, int xInc, double a, double[] out, int outOff, int outInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, outOff += outInc)
+            out[outOff] = x[xOff] + a;
+    }
+
+    static void add(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                    double[] out, int outOff, int outInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] + y[yOff];
+    }
+
+    static void sub(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                    double[] out, int outOff, int outInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] - y[yOff];
+    }
+
+    static void mul(double[] x, int xOff, int xInc, double a, double[] out, int outOff, int outInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, outOff += outInc)
+            out[outOff] = x[xOff] * a;
+    }
+
+    static void mul(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                    double[] out, int outOff, int outInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc, outOff += outInc)
+            out[outOff] = x[xOff] * y[yOff];
+    }
+
+    static void axpy(double a, double[] x, int xOff, int xInc, double[] y, int yOff, int yInc, int n) {
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc)
+            y[yOff] += a * x[xOff];
+    }
+
+    static double dot(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++, xOff += xInc, yOff += yInc)
+            result += x[xOff] * y[yOff];
+        return result;
+    }
+
+    static double sumSq(double[] x, int xOff, int xInc, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++, xOff += xInc)
+            result += x[xOff] * x[xOff];
+        return result;
+    }
+
+    static double sumAbs(double[] x, int xOff, int xInc, int n) {
+        double result = 0;
+
+        for (int i = 0; i < n; i++, xOff += xInc)
+            result += Math.abs(x[xOff]);
+        return result;
+    }
+}
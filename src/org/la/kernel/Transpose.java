@@ -0,0 +1,92 @@
+package org.la.kernel;
+
+/**
+ * Cache-oblivious transpose kernels on strided arrays.
+ * <p>The matrix is split along its larger dimension until the pieces hold at most
+ * {@link #BLOCK} x {@link #BLOCK} elements, so both the reads and the writes of a piece
+ * stay in cache whatever the cache sizes, without tuning a block size per machine</p>
+ * <p>An operand is described by its array, the offset of its first element and its row
+ * and column strides, as in {@link Gemm}</p>
+ */
+public final class Transpose {
+    /** Largest side of the pieces transposed by a plain loop */
+    public static final int BLOCK = 32;
+
+    private Transpose() {}
+
+    /**
+     * Computes {@code B = transpose(A)} where {@code A} is {@code m x n}
+     * and {@code B} is {@code n x m}. The operands must not share storage
+     */
+    public static void transpose(int m, int n,
+                                 double[] a, int aOff, int aRs, int aCs,
+                                 double[] b, int bOff, int bRs, int bCs) {
+        if (m <= BLOCK && n <= BLOCK) {
+            for (int i = 0; i < m; i++) {
+                int ka = aOff + i * aRs;
+                int kb = bOff + i * bCs;
+
+                for (int j = 0; j < n; j++, ka += aCs, kb += bRs)
+                    b[kb] = a[ka];
+            }
+        } else if (m >= n) {
+            int h = m / 2;
+            transpose(h, n, a, aOff, aRs, aCs, b, bOff, bRs, bCs);
+            transpose(m - h, n, a, aOff + h * aRs, aRs, aCs, b, bOff + h * bCs, bRs, bCs);
+        } else {
+            int h = n / 2;
+            transpose(m, h, a, aOff, aRs, aCs, b, bOff, bRs, bCs);
+            transpose(m, n - h, a, aOff + h * aCs, aRs, aCs, b, bOff + h * bRs, bRs, bCs);
+        }
+    }
+
+    /**
+     * Transposes the square {@code n x n} matrix {@code A} in place
+     */
+    public static void transposeInPlace(int n, double[] a, int off, int rs, int cs) {
+        if (n <= BLOCK) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    int p = off + i * rs + j * cs;
+                    int q = off + j * rs + i * cs;
+                    double t = a[p];
+                    a[p] = a[q];
+                    a[q] = t;
+                }
+            }
+            return;
+        }
+
+        int h = n / 2;
+        transposeInPlace(h, a, off, rs, cs);
+        transposeInPlace(n - h, a, off + h * (rs + cs), rs, cs);
+        swap(h, n - h, a, off + h * cs, a, off + h * rs, rs, cs);
+    }
+
+    /**
+     * Swaps the {@code m x n} block {@code A} with the transpose of the {@code n x m} block {@code B},
+     * both having the strides {@code rs} and {@code cs}
+     */
+    private static void swap(int m, int n, double[] a, int aOff, double[] b, int bOff, int rs, int cs) {
+        if (m <= BLOCK && n <= BLOCK) {
+            for (int i = 0; i < m; i++) {
+                int ka = aOff + i * rs;
+                int kb = bOff + i * cs;
+
+                for (int j = 0; j < n; j++, ka += cs, kb += rs) {
+                    double t = a[ka];
+                    a[ka] = b[kb];
+                    b[kb] = t;
+                }
+            }
+        } else if (m >= n) {
+            int h = m / 2;
+            swap(h, n, a, aOff, b, bOff, rs, cs);
+            swap(m - h, n, a, aOff + h * rs, b, bOff + h * cs, rs, cs);
+        } else {
+            int h = n / 2;
+            swap(m, h, a, aOff, b, bOff, rs, cs);
+            swap(m, n - h, a, aOff + h * cs, b, bOff + h * rs, rs, cs);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.la.kernel;
+
+/**
+ * Kernels used by {@link org.la.Vector} over ranges of arrays.
+ * <p>When the {@code jdk.incubator.vector} module is present (for instance with
+ * {@code --add-modules jdk.incubator.vector}) the kernels use SIMD instructions through
+ * {@code DoubleVector}, otherwise they fall back to plain loops. The SIMD kernels can be
+ * turned off with the system property {@code org.la.simd=false}</p>
+ * <p>Each range is given by its array and the offset of its first element and all ranges
+ * of a call hold {@code n} elements. The output range may be the same as one of the inputs</p>
+ * <p>The overloads taking an increment after each offset work on strided ranges, where
+ * the element {@code i} is at {@code off + i*inc}. They use the contiguous kernels when
+ * all increments are 1</p>
+ */
+public final class VectorKernels {
+    private static final VectorOps OPS = load();
+
+    private VectorKernels() {}
+
+    /**
+     * Checks if the kernels use the SIMD implementation
+     */
+    public static boolean isSimd() {
+        return !(OPS instanceof ScalarVectorOps);
+    }
+
+    /**
+     * Computes {@code out = x + a}
+     */
+    public static void add(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        OPS.add(x, xOff, a, out, outOff, n);
+    }
+
+    /**
+     * Computes {@code out = x + y}
+     */
+    public static void add(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        OPS.add(x, xOff, y, yOff, out, outOff, n);
+    }
+
+    /**
+     * Computes {@code out = x - y}
+     */
+    public static void sub(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        OPS.sub(x, xOff, y, yOff, out, outOff, n);
+    }
+
+    /**
+     * Computes {@code out = x * a}
+     */
+    public static void mul(double[] x, int xOff, double a, double[] out, int outOff, int n) {
+        OPS.mul(x, xOff, a, out, outOff, n);
+    }
+
+    /**
+     * Computes {@code out = x * y} element by element
+     */
+    public static void mul(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n) {
+        OPS.mul(x, xOff, y, yOff, out, outOff, n);
+    }
+
+    /**
+     * Computes {@code y = a*x + y}
+     */
+    public static void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n) {
+        OPS.axpy(a, x, xOff, y, yOff, n);
+    }
+
+    /**
+     * Returns the dot product {@code x.y}
+     */
+    public static double dot(double[] x, int xOff, double[] y, int yOff, int n) {
+        return OPS.dot(x, xOff, y, yOff, n);
+    }
+
+    /**
+     * Returns the sum of the squares {@code x.x}
+     */
+    public static double sumSq(double[] x, int xOff, int n) {
+        return OPS.sumSq(x, xOff, n);
+    }
+
+    /**
+     * Returns the sum of the absolute values of {@code x}
+     */
+    public static double sumAbs(double[] x, int xOff, int n) {
+        return OPS.sumAbs(x, xOff, n);
+    }
+
+    /**
+     * Computes {@code out = x + a} over strided ranges
+     */
+    public static void add(double[] x, int xOff, int xInc, double a, double[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && outInc == 1)
+            OPS.add(x, xOff, a, out, outOff, n);
+        else
+            StridedVectorOps.add(x, xOff, xInc, a, out, outOff, outInc, n);
+    }
+
+    /**
+     * Computes {@code out = x + y} over strided ranges
+     */
+    public static void add(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                           double[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1)
+            OPS.add(x, xOff, y, yOff, out, outOff, n);
+        else
+            StridedVectorOps.add(x, xOff, xInc, y, yOff, yInc, out, outOff, outInc, n);
+    }
+
+    /**
+     * Computes {@code out = x - y} over strided ranges
+     */
+    public static void sub(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                           double[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1)
+            OPS.sub(x, xOff, y, yOff, out, outOff, n);
+        else
+            StridedVectorOps.sub(x, xOff, xInc, y, yOff, yInc, out, outOff, outInc, n);
+    }
+
+    /**
+     * Computes {@code out = x * a} over strided ranges
+     */
+    public static void mul(double[] x, int xOff, int xInc, double a, double[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && outInc == 1)
+            OPS.mul(x, xOff, a, out, outOff, n);
+        else
+            StridedVectorOps.mul(x, xOff, xInc, a, out, outOff, outInc, n);
+    }
+
+    /**
+     * Computes {@code out = x * y} element by element over strided ranges
+     */
+    public static void mul(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc,
+                           double[] out, int outOff, int outInc, int n) {
+        if (xInc == 1 && yInc == 1 && outInc == 1)
+            OPS.mul(x, xOff, y, yOff, out, outOff, n);
+        else
+            StridedVectorOps.mul(x, xOff, xInc, y, yOff, yInc, out, outOff, outInc, n);
+    }
+
+    /**
+     * Computes {@code y = a*x + y} over strided ranges
+     */
+    public static void axpy(double a, double[] x, int xOff, int xInc, double[] y, int yOff, int yInc, int n) {
+        if (xInc == 1 && yInc == 1)
+            OPS.axpy(a, x, xOff, y, yOff, n);
+        else
+            StridedVectorOps.axpy(a, x, xOff, xInc, y, yOff, yInc, n);
+    }
+
+    /**
+     * Returns the dot product {@code x.y} of strided ranges
+     */
+    public static double dot(double[] x, int xOff, int xInc, double[] y, int yOff, int yInc, int n) {
+        if (xInc == 1 && yInc == 1)
+            return OPS.dot(x, xOff, y, yOff, n);
+        return StridedVectorOps.dot(x, xOff, xInc, y, yOff, yInc, n);
+    }
+
+    /**
+     * Returns the sum of the squares {@code x.x} of a strided range
+     */
+    public static double sumSq(double[] x, int xOff, int xInc, int n) {
+        if (xInc == 1)
+            return OPS.sumSq(x, xOff, n);
+        return StridedVectorOps.sumSq(x, xOff, xInc, n);
+    }
+
+    /**
+     * Returns the sum of the absolute values of a strided range
+     */
+    public static double sumAbs(double[] x, int xOff, int xInc, int n) {
+        if (xInc == 1)
+            return OPS.sumAbs(x, xOff, n);
+        return StridedVectorOps.sumAbs(x, xOff, xInc, n);
+    }
+
+    /**
+     * Picks the SIMD kernels if the incubator module can be loaded, the scalar ones otherwise
+     */
+    private static VectorOps load() {
+        if (!Boolean.parseBoolean(System.getProperty("org.la.simd", "true")))
+            return new ScalarVectorOps();
+
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+            return new ScalarVectorOps();
+
+        try {
+            return (VectorOps) Class.forName("org.la.kernel.SimdVectorOps")
+                                    .getDeclaredConstructor()
+                                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarVectorOps();
+        }
+    }
+}
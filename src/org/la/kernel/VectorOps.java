@@ -0,0 +1,37 @@
+package org.la.kernel;
+
+/**
+ * Element-wise and reduction kernels over contiguous ranges of arrays.
+ * <p>Each range is given by its array and the offset of its first element and all
+ * ranges of a call hold {@code n} elements. The output range may be the same as one
+ * of the inputs</p>
+ * @see org.la.kernel.VectorKernels
+ */
+interface VectorOps {
+    /** {@code out = x + a} */
+    void add(double[] x, int xOff, double a, double[] out, int outOff, int n);
+
+    /** {@code out = x + y} */
+    void add(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n);
+
+    /** {@code out = x - y} */
+    void sub(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n);
+
+    /** {@code out = x * a} */
+    void mul(double[] x, int xOff, double a, double[] out, int outOff, int n);
+
+    /** {@code out = x * y} element by element */
+    void mul(double[] x, int xOff, double[] y, int yOff, double[] out, int outOff, int n);
+
+    /** {@code y = a*x + y} */
+    void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n);
+
+    /** Returns {@code x.y} */
+    double dot(double[] x, int xOff, double[] y, int yOff, int n);
+
+    /** Returns {@code x.x} */
+    double sumSq(double[] x, int xOff, int n);
+
+    /** Returns the sum of the absolute values of {@code x} */
+    double sumAbs(double[] x, int xOff, int n);
+}
@@ -0,0 +1,126 @@
+package org.la.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the metrics of the instrumented operations of the library
+ * <p>Instrumentation is off unless the JVM is started with {@code -Dorg.la.metrics=true}. When it
+ * is off the probes compile to nothing. When it is on, every instrumented operation updates the
+ * counters of its {@link Operation} here and commits an {@code org.la.Operation} Flight Recorder
+ * event, which is recorded when a recording is running with the event enabled, for instance with
+ * {@code -XX:StartFlightRecording}</p>
+ * <p>Nested operations are all reported, for instance {@code Matrix.inverse} and the
+ * {@code LUDecomposition} it runs, but each is credited with its own time, operations and
+ * allocations only: the ones of {@code LUDecomposition} are not counted again under
+ * {@code Matrix.inverse}, so the totals of the report add up. The latency histograms
+ * still measure whole calls</p>
+ */
+public final class Metrics {
+    /** Whether the operations are instrumented, read once from {@code org.la.metrics} */
+    static final boolean ENABLED = Boolean.getBoolean("org.la.metrics");
+
+    private static final int BUCKETS = 64;
+    private static final Recorder[] RECORDERS = new Recorder[Operation.values().length];
+
+    static {
+        for (int i = 0; i < RECORDERS.length; i++)
+            RECORDERS[i] = new Recorder();
+    }
+
+    private Metrics() {}
+
+    /**
+     * Checks if the operations are instrumented
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the metrics of {@code operation} collected so far
+     */
+    public static OperationStats stats(Operation operation) {
+        return RECORDERS[operation.ordinal()].snapshot(operation);
+    }
+
+    /**
+     * Returns the metrics of every operation called at least once
+     */
+    public static Map<Operation, OperationStats> snapshot() {
+        Map<Operation, OperationStats> res = new EnumMap<>(Operation.class);
+
+        for (Operation operation : Operation.values()) {
+            OperationStats stats = stats(operation);
+            if (stats.count() > 0)
+                res.put(operation, stats);
+        }
+        return res;
+    }
+
+    /**
+     * Clears the metrics of every operation
+     */
+    public static void reset() {
+        for (Recorder recorder : RECORDERS)
+            recorder.reset();
+    }
+
+    /**
+     * Returns one line per operation called at least once, the most time consuming first
+     */
+    public static String report() {
+        StringBuilder out = new StringBuilder();
+
+        snapshot().values().stream()
+                  .sorted((a, b) -> Long.compare(b.totalNanos(), a.totalNanos()))
+                  .forEach(s -> out.append(s).append(System.lineSeparator()));
+        return out.toString();
+    }
+
+    /**
+     * Records a call of {@code operation} which spent {@code nanos} in its own work out of a
+     * latency of {@code latency}
+     */
+    static void record(Operation operation, long nanos, long latency, long flops, long allocated) {
+        RECORDERS[operation.ordinal()].record(nanos, latency, flops, allocated);
+    }
+
+    /**
+     * Counters of one operation, updated concurrently
+     */
+    private static final class Recorder {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder flops = new LongAdder();
+        final LongAdder allocated = new LongAdder();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(long time, long latency, long ops, long bytes) {
+            count.increment();
+            nanos.add(time);
+            flops.add(ops);
+            allocated.add(bytes);
+            histogram.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(Math.max(0, latency)));
+        }
+
+        OperationStats snapshot(Operation operation) {
+            long[] buckets = new long[BUCKETS];
+
+            for (int b = 0; b < BUCKETS; b++)
+                buckets[b] = histogram.get(b);
+            return new OperationStats(operation, count.sum(), nanos.sum(), flops.sum(), allocated.sum(), buckets);
+        }
+
+        void reset() {
+            count.reset();
+            nanos.reset();
+            flops.reset();
+            allocated.reset();
+            for (int b = 0; b < BUCKETS; b++)
+                histogram.set(b, 0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.la.metrics;
+
+/**
+ * Operations reported by the instrumentation, with their nominal floating point operation
+ * counts for operands of shape {@code m x n} and inner size {@code k}
+ * @see Metrics
+ */
+public enum Operation {
+    MATRIX_MUL("Matrix.mul(Matrix)", (m, n, k) -> 2 * m * n * k),
+    MATRIX_VECTOR_MUL("Matrix.mul(Vector)", (m, n, k) -> 2 * m * n),
+    SPARSE_MATRIX_VECTOR_MUL("SparseMatrix.mul(Vector)", (m, n, k) -> 2 * k),
+    TRANSPOSE("Matrix.transpose", (m, n, k) -> 0),
+    DET("Matrix.det", (m, n, k) -> 2 * m * m * m / 3),
+    INVERSE("Matrix.inverse", (m, n, k) -> 2 * m * m * m),
+    LU("LUDecomposition", (m, n, k) -> 2 * m * m * m / 3),
+    QR("QRDecomposition", (m, n, k) -> 2 * m * n * n - 2 * n * n * n / 3),
+    SVD("SVDDecomposition", (m, n, k) -> 4 * m * n * n + 8 * n * n * n),
+    EIGEN("EigenDecomposition", (m, n, k) -> 9 * m * m * m),
+    ITERATIVE_SOLVE("IterativeSolver.solve", (m, n, k) -> 0),
+    VECTOR_DOT("Vector.dot", (m, n, k) -> 2 * m),
+    VECTOR_ADD("Vector.add", (m, n, k) -> m),
+    VECTOR_SUB("Vector.sub", (m, n, k) -> m),
+    VECTOR_MUL("Vector.mul", (m, n, k) -> m),
+    VECTOR_AXPY("Vector.axpy", (m, n, k) -> 2 * m),
+    VECTOR_NORM("Vector.norm", (m, n, k) -> 2 * m);
+
+    /**
+     * Floating point operation count of an operation from the shape of its operands
+     */
+    interface FlopCount {
+        long of(long m, long n, long k);
+    }
+
+    private final String label;
+    private final FlopCount flops;
+
+    Operation(String label, FlopCount flops) {
+        this.label = label;
+        this.flops = flops;
+    }
+
+    /**
+     * Returns the name of the operation as it appears in the events
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Returns the nominal number of floating point operations for operands of shape
+     * {@code m x n} and inner size {@code k}
+     */
+    public long flops(long m, long n, long k) {
+        return flops.of(m, n, k);
+    }
+}
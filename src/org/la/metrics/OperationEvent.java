@@ -0,0 +1,41 @@
+package org.la.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event committed for every instrumented operation, see {@link Probe}
+ */
+@Name("org.la.Operation")
+@Label("Linear Algebra Operation")
+@Category("Linear Algebra")
+@Description("A matrix or vector operation with the shape of its operands")
+@StackTrace(true)
+final class OperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Columns")
+    long cols;
+
+    @Label("Inner Size")
+    @Description("Inner dimension of a product, or the number of stored elements of a sparse matrix")
+    long inner;
+
+    @Label("Floating Point Operations")
+    @Description("Nominal operations of the call, without the ones of the operations it called")
+    long flops;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the call, without the ones of the operations it called")
+    @DataAmount
+    long allocated;
+}
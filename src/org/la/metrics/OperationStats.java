@@ -0,0 +1,129 @@
+package org.la.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the metrics of one operation: number of calls, total time, floating point
+ * operations, allocated bytes and a histogram of the latencies
+ * <p>Bucket {@code b} of the histogram counts the calls that took {@code [2^(b-1), 2^b)}
+ * nanoseconds, bucket 0 the ones that took no measurable time</p>
+ */
+public final class OperationStats {
+    private final Operation operation;
+    private final long count;
+    private final long nanos;
+    private final long flops;
+    private final long allocated;
+    private final long[] histogram;
+
+    OperationStats(Operation operation, long count, long nanos, long flops, long allocated, long[] histogram) {
+        this.operation = operation;
+        this.count = count;
+        this.nanos = nanos;
+        this.flops = flops;
+        this.allocated = allocated;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns the operation
+     */
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * Returns the number of calls
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the total time spent in the operation in nanoseconds, without the instrumented
+     * operations it called
+     */
+    public long totalNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the mean time of a call in nanoseconds, without the instrumented operations it called
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) nanos / count;
+    }
+
+    /**
+     * Returns the total nominal number of floating point operations, without the ones of the
+     * instrumented operations it called
+     * @see Operation#flops(long, long, long)
+     */
+    public long flops() {
+        return flops;
+    }
+
+    /**
+     * Returns the rate of floating point operations in GFLOP/s over the time spent in the operation
+     */
+    public double gflops() {
+        return nanos == 0 ? 0 : (double) flops / nanos;
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the calls, without the instrumented
+     * operations they called, zero if the JVM cannot measure it
+     */
+    public long bytesAllocated() {
+        return allocated;
+    }
+
+    /**
+     * Returns a copy of the histogram of the latencies of whole calls
+     */
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns an upper bound of the latency below which a fraction {@code p} of the calls fall,
+     * in nanoseconds, with the precision of the histogram buckets
+     * @param p a fraction in {@code [0, 1]}
+     */
+    public long percentileNanos(double p) {
+        if (p < 0 || p > 1)
+            throw new IllegalArgumentException("Fraction must be in [0, 1]");
+
+        long target = (long) Math.ceil(p * count);
+        long seen = 0;
+
+        for (int b = 0; b < histogram.length; b++) {
+            seen += histogram[b];
+            if (seen >= target && seen > 0)
+                return b == 0 ? 0 : b >= 63 ? Long.MAX_VALUE : 1L << b;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, %.3f ms, mean %.1f us, p99 < %.1f us, %.3f GFLOP/s, %d bytes allocated",
+                             operation.label(), count, nanos / 1e6, meanNanos() / 1e3,
+                             percentileNanos(0.99) / 1e3, gflops(), allocated);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof OperationStats))
+            return false;
+
+        OperationStats s = (OperationStats) obj;
+        return operation == s.operation && count == s.count && nanos == s.nanos && flops == s.flops
+            && allocated == s.allocated && Arrays.equals(histogram, s.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * operation.hashCode() + Long.hashCode(count);
+    }
+}
@@ -0,0 +1,121 @@
+package org.la.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures one call of an instrumented operation: its duration, its floating point operations
+ * and the bytes allocated by the calling thread
+ * <p>Operations are instrumented as</p>
+ * <pre>{@code
+ * Probe probe = Probe.begin(Operation.MATRIX_MUL, m, n, k);
+ * try {
+ *     ...
+ * } finally {
+ *     Probe.end(probe);
+ * }
+ * }</pre>
+ * <p>{@link #begin} returns {@code null} when instrumentation is off, a constant the JIT folds
+ * away with the rest of the probe</p>
+ * <p>Probes begun while another one is open on the same thread are its children. The time,
+ * operations and bytes of a child are subtracted from its parent, so each operation is credited
+ * with its own work only, and {@code SVDDecomposition} does not count again the
+ * {@code QRDecomposition} it runs</p>
+ * @see Metrics
+ */
+public final class Probe {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+    /** Innermost open probe of each thread */
+    private static final ThreadLocal<Probe> CURRENT = new ThreadLocal<>();
+
+    private final Operation operation;
+    private final long rows;
+    private final long cols;
+    private final long inner;
+    private final OperationEvent event;
+    private final long allocated;
+    private final long start;
+    private final Probe parent;
+    private long childNanos;
+    private long childFlops;
+    private long childBytes;
+
+    private Probe(Operation operation, long rows, long cols, long inner) {
+        this.operation = operation;
+        this.rows = rows;
+        this.cols = cols;
+        this.inner = inner;
+        this.event = new OperationEvent();
+        this.event.begin();
+        this.allocated = allocatedBytes();
+        this.parent = CURRENT.get();
+        CURRENT.set(this);
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a call of {@code operation} on operands of shape {@code rows x cols}
+     * and inner size {@code inner}
+     * @return the probe to pass to {@link #end}, {@code null} if instrumentation is off
+     */
+    public static Probe begin(Operation operation, long rows, long cols, long inner) {
+        return Metrics.ENABLED ? new Probe(operation, rows, cols, inner) : null;
+    }
+
+    /**
+     * Ends the measure started by {@link #begin}, records it in {@link Metrics} and commits
+     * its Flight Recorder event, with the work of the child probes subtracted. Probes must be
+     * ended in the reverse order they were begun, as the pattern above does. Does nothing if
+     * {@code probe} is {@code null}
+     */
+    public static void end(Probe probe) {
+        if (probe != null)
+            probe.end();
+    }
+
+    private void end() {
+        long nanos = System.nanoTime() - start;
+        long bytes = allocated < 0 ? 0 : Math.max(0, allocatedBytes() - allocated);
+        long flops = operation.flops(rows, cols, inner);
+
+        CURRENT.set(parent);
+        if (parent != null) {
+            parent.childNanos += nanos;
+            parent.childFlops += flops;
+            parent.childBytes += bytes;
+        }
+        Metrics.record(operation, nanos - childNanos, nanos,
+                       Math.max(0, flops - childFlops), Math.max(0, bytes - childBytes));
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.label();
+            event.rows = rows;
+            event.cols = cols;
+            event.inner = inner;
+            event.flops = Math.max(0, flops - childFlops);
+            event.allocated = Math.max(0, bytes - childBytes);
+            event.commit();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (!Metrics.ENABLED)
+            return null;
+
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+                    return threads;
+            }
+        } catch (LinkageError | SecurityException e) {
+            // no allocation measure
+        }
+        return null;
+    }
+}
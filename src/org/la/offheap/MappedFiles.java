@@ -0,0 +1,173 @@
+package org.la.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+import org.la.Matrix;
+import org.la.Vector;
+import org.la.io.DataType;
+import org.la.io.Header;
+
+/**
+ * Memory-mapped files of matrices and vectors. A file is a {@link Header} followed by the elements
+ * in row-major order, and it is used in place: opening it maps the elements as the segment of an
+ * {@link OffHeapMatrix} or {@link OffHeapVector} without reading them into the heap
+ * <p>Files opened with {@code READ_ONLY} throw an {@code UnsupportedOperationException} on writes.
+ * Writes to a file opened with {@code READ_WRITE} reach the file when the pages are written back
+ * by the system or when {@link OffHeapMatrix#force()} is called. Closing the matrix unmaps the file</p>
+ * <p>Only files of {@code FLOAT64} elements in the native byte order can be mapped, which is
+ * what this class writes</p>
+ */
+public final class MappedFiles {
+    private MappedFiles() {}
+
+    /**
+     * Creates the file {@code path} for a {@code rows x cols} matrix of zeros, replacing any
+     * existing file, and maps it for reading and writing
+     */
+    public static OffHeapMatrix create(Path path, int rows, int cols) throws IOException {
+        Header header = Header.ofMatrix(DataType.FLOAT64, ByteOrder.nativeOrder(), rows, cols);
+        ResourceScope scope = ResourceScope.newSharedScope();
+
+        return new OffHeapMatrix(create(path, header, scope), rows, cols, scope);
+    }
+
+    /**
+     * Creates the file {@code path} for a vector of length {@code length} of zeros, replacing
+     * any existing file, and maps it for reading and writing
+     */
+    public static OffHeapVector createVector(Path path, long length) throws IOException {
+        Header header = Header.ofVector(DataType.FLOAT64, ByteOrder.nativeOrder(), length);
+        ResourceScope scope = ResourceScope.newSharedScope();
+
+        return new OffHeapVector(create(path, header, scope), scope);
+    }
+
+    /**
+     * Maps the matrix stored in file {@code path}
+     * @param mode {@code READ_ONLY}, {@code READ_WRITE}, or {@code PRIVATE} for copy-on-write
+     * @throws IOException if the file is not a matrix file that can be mapped
+     */
+    public static OffHeapMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        Header header = readHeader(path);
+
+        if (header.isVector())
+            throw new IOException("File holds a vector");
+        if (header.rows() > Integer.MAX_VALUE || header.cols() > Integer.MAX_VALUE)
+            throw new IOException("Matrix has too many rows or columns");
+        checkLength(path, header);
+
+        ResourceScope scope = ResourceScope.newSharedScope();
+        return new OffHeapMatrix(map(path, header, mode, scope), (int) header.rows(), (int) header.cols(), scope);
+    }
+
+    /**
+     * Maps the vector stored in file {@code path}
+     * @param mode {@code READ_ONLY}, {@code READ_WRITE}, or {@code PRIVATE} for copy-on-write
+     * @throws IOException if the file is not a vector file that can be mapped
+     */
+    public static OffHeapVector openVector(Path path, FileChannel.MapMode mode) throws IOException {
+        Header header = readHeader(path);
+
+        if (!header.isVector())
+            throw new IOException("File holds a matrix");
+        checkLength(path, header);
+
+        ResourceScope scope = ResourceScope.newSharedScope();
+        return new OffHeapVector(map(path, header, mode, scope), scope);
+    }
+
+    /**
+     * Writes matrix {@code A} to file {@code path}, replacing any existing file
+     */
+    public static void write(Path path, Matrix A) throws IOException {
+        try (OffHeapMatrix res = create(path, A.rows(), A.cols())) {
+            for (int i = 0; i < A.rows(); i++)
+                res.setRow(i, A.rowView(i));
+            res.force();
+        }
+    }
+
+    /**
+     * Writes off-heap matrix {@code A} to file {@code path}, replacing any existing file
+     */
+    public static void write(Path path, OffHeapMatrix A) throws IOException {
+        try (OffHeapMatrix res = create(path, A.rows(), A.cols())) {
+            res.setAll(A);
+            res.force();
+        }
+    }
+
+    /**
+     * Writes vector {@code v} to file {@code path}, replacing any existing file
+     */
+    public static void write(Path path, Vector v) throws IOException {
+        try (OffHeapVector res = createVector(path, v.length())) {
+            res.setAll(0, v);
+            res.force();
+        }
+    }
+
+    /**
+     * Reads the header of file {@code path}
+     * @throws IOException if the file does not start with a valid header
+     */
+    public static Header readHeader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(Header.SIZE);
+
+            while (buf.hasRemaining() && channel.read(buf) >= 0);
+            return Header.read(buf.flip());
+        }
+    }
+
+    /**
+     * Checks that file {@code path} holds all the elements its {@code header} states. Mapping
+     * beyond the end would grow a truncated file with zeros instead of rejecting it
+     */
+    private static void checkLength(Path path, Header header) throws IOException {
+        if (Files.size(path) - Header.SIZE < header.dataBytes())
+            throw new IOException("File is shorter than its header states");
+    }
+
+    /**
+     * Writes {@code header} to a new file {@code path} and maps the space of its elements
+     */
+    private static MemorySegment create(Path path, Header header, ResourceScope scope) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(Header.SIZE);
+
+            header.write(buf);
+            channel.write(buf.flip(), 0);
+        }
+        return map(path, header, FileChannel.MapMode.READ_WRITE, scope);
+    }
+
+    /**
+     * Maps the elements following {@code header} in file {@code path}, growing the file
+     * if it is shorter and {@code mode} is {@code READ_WRITE}
+     */
+    private static MemorySegment map(Path path, Header header, FileChannel.MapMode mode, ResourceScope scope)
+            throws IOException {
+        if (header.type() != DataType.FLOAT64)
+            throw new IOException("Cannot map elements of type " + header.type());
+        if (header.order() != ByteOrder.nativeOrder())
+            throw new IOException("Cannot map elements in " + header.order() + " byte order");
+
+        try {
+            return MemorySegment.mapFile(path, Header.SIZE, header.dataBytes(), mode, scope);
+        } catch (IOException | RuntimeException e) {
+            scope.close();
+            throw e;
+        }
+    }
+}
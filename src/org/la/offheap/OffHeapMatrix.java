@@ -0,0 +1,502 @@
+package org.la.offheap;
+
+import java.util.NoSuchElementException;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+import org.la.Linear;
+import org.la.Matrix;
+import org.la.RealMatrix;
+import org.la.Vector;
+import org.la.factory.OffHeapMatrixFactory;
+import org.la.iterator.MatrixIterator;
+import org.la.kernel.VectorKernels;
+
+/**
+ * A dense matrix stored outside of the Java heap in a native {@code MemorySegment}, in row-major
+ * order. Its number of elements may exceed the size of an array and it is not scanned by the
+ * garbage collector
+ * <p>The element at row {@code i} and col {@code j} is at index {@code i*cols + j} of the segment,
+ * computed in {@code long}. The memory belongs to a {@code ResourceScope} as for
+ * {@link OffHeapVector}: a matrix created without a scope owns it and releases it in {@link #close()}</p>
+ * <p>Products stream the rows to the heap in chunks and run the array kernels on them, and
+ * element-wise operations work on the whole segment, see {@link #asVector()}. As a
+ * {@link RealMatrix} it can be given to the iterative solvers of {@code org.la.solver}</p>
+ * <p>A matrix can also be mapped from a file and used in place, see {@link MappedFiles}</p>
+ * <p>This class needs the {@code jdk.incubator.foreign} module</p>
+ */
+public class OffHeapMatrix implements RealMatrix, AutoCloseable {
+    /** Heap buffer of each thread for the rows streamed by the products with vectors */
+    private static final ThreadLocal<RowBuffer> BUFFER = ThreadLocal.withInitial(RowBuffer::new);
+
+    private final MemorySegment segment;
+    private final int rows;
+    private final int cols;
+    private final ResourceScope owned;
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros in its own scope
+     */
+    public OffHeapMatrix(int rows, int cols) {
+        this(rows, cols, ResourceScope.newSharedScope(), true);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} initialized to all zeros whose memory
+     * is released when {@code scope} is closed
+     */
+    public OffHeapMatrix(int rows, int cols, ResourceScope scope) {
+        this(rows, cols, scope, false);
+    }
+
+    private OffHeapMatrix(int rows, int cols, ResourceScope scope, boolean owner) {
+        this(MemorySegment.allocateNative(OffHeapVector.checkedBytes((long) rows * cols), OffHeapVector.ALIGNMENT, scope),
+             rows, cols, owner ? scope : null);
+    }
+
+    /**
+     * Creates a new matrix of size {@code rows x cols} over {@code segment}, which holds its
+     * elements in row-major order and native byte order. The segment is not copied and its
+     * scope is not owned by the matrix
+     */
+    public OffHeapMatrix(MemorySegment segment, int rows, int cols) {
+        this(segment, rows, cols, null);
+    }
+
+    OffHeapMatrix(MemorySegment segment, int rows, int cols, ResourceScope owned) {
+        if (rows < 0 || cols < 0)
+            OffHeapVector.fail("Invalid matrix size " + rows + "x" + cols);
+        if (segment.byteSize() < (long) rows * cols * Double.BYTES)
+            OffHeapVector.fail("Segment is too small for a " + rows + "x" + cols + " matrix");
+        this.segment = segment;
+        this.rows = rows;
+        this.cols = cols;
+        this.owned = owned;
+    }
+
+    /**
+     * Creates a new off-heap matrix holding the elements of {@code A}
+     * @see org.la.factory.OffHeapMatrixFactory
+     */
+    public static OffHeapMatrix fromMatrix(Matrix A) {
+        return OffHeapMatrixFactory.fromMatrix(A);
+    }
+
+    /**
+     * Creates a new off-heap matrix of given size {@code rows x cols} in its own scope
+     * @see org.la.factory.OffHeapMatrixFactory
+     */
+    public static OffHeapMatrix fromSize(int rows, int cols) {
+        return OffHeapMatrixFactory.fromSize(rows, cols);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of elements of the matrix
+     */
+    public long size() {
+        return (long) rows * cols;
+    }
+
+    /**
+     * Returns the segment holding the elements of the matrix
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Checks if the memory of the matrix is still available
+     */
+    public boolean isAlive() {
+        return segment.scope().isAlive();
+    }
+
+    /**
+     * Writes the changes of a memory-mapped matrix to its file
+     * @throws IllegalStateException if the matrix is not mapped from a file
+     * @see MappedFiles
+     */
+    public void force() {
+        if (!segment.isMapped())
+            throw new IllegalStateException("Matrix is not mapped from a file");
+        segment.force();
+    }
+
+    /**
+     * Releases the memory of the matrix
+     * @throws IllegalStateException if the matrix does not own its scope
+     */
+    @Override
+    public void close() {
+        if (owned == null)
+            throw new IllegalStateException("Memory belongs to an external scope");
+        owned.close();
+    }
+
+    /**
+     * Returns value at row {@code i} and col {@code j}
+     */
+    @Override
+    public double get(int i, int j) {
+        return MemoryAccess.getDoubleAtIndex(segment, index(i, j));
+    }
+
+    /**
+     * Sets the value at row {@code i} and col {@code j} to {@code value}
+     */
+    public void set(int i, int j, double value) {
+        MemoryAccess.setDoubleAtIndex(segment, index(i, j), value);
+    }
+
+    /**
+     * Returns all elements of the matrix in row-major order as a vector sharing its memory
+     */
+    public OffHeapVector asVector() {
+        return new OffHeapVector(segment.asSlice(0, size() * Double.BYTES));
+    }
+
+    /**
+     * Returns a view of row {@code i} sharing the memory of the matrix
+     */
+    public OffHeapVector rowView(int i) {
+        if (i < 0 || i >= rows)
+            throw new IndexOutOfBoundsException("Invalid row index");
+        return new OffHeapVector(segment.asSlice((long) i * cols * Double.BYTES, (long) cols * Double.BYTES));
+    }
+
+    /**
+     * Returns a heap copy of row {@code i}
+     */
+    public Vector getRow(int i) {
+        return rowView(i).toVector();
+    }
+
+    /**
+     * Sets the elements of row {@code i} to the elements of {@code v}
+     * @param v a vector of length {@code cols}
+     */
+    public void setRow(int i, Vector v) {
+        if (v.length() != cols)
+            OffHeapVector.fail("Vector has a different size");
+        rowView(i).setAll(0, v);
+    }
+
+    /**
+     * Sets all elements of the matrix to {@code value}
+     */
+    public OffHeapMatrix setAll(double value) {
+        asVector().setAll(value);
+        return this;
+    }
+
+    /**
+     * Sets the values of the matrix to the values of {@code A}
+     * @param A a matrix of the same size
+     */
+    public OffHeapMatrix setAll(OffHeapMatrix A) {
+        checkSizes(A);
+        asVector().setAll(A.asVector());
+        return this;
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance matrix {@code M} in place
+     * @return M = M + a
+     */
+    public OffHeapMatrix addInPlace(double a) {
+        asVector().addInPlace(a);
+        return this;
+    }
+
+    /**
+     * Multiplies instance matrix {@code M} with {@code a} in place
+     * @return M = M * a
+     */
+    public OffHeapMatrix mulInPlace(double a) {
+        asVector().mulInPlace(a);
+        return this;
+    }
+
+    /**
+     * Adds {@code A} to instance matrix {@code M} in place
+     * @return M = M + A
+     */
+    public OffHeapMatrix addInPlace(OffHeapMatrix A) {
+        return axpy(1, A);
+    }
+
+    /**
+     * Subtracts {@code A} from instance matrix {@code M} in place
+     * @return M = M - A
+     */
+    public OffHeapMatrix subInPlace(OffHeapMatrix A) {
+        return axpy(-1, A);
+    }
+
+    /**
+     * Adds {@code X} scaled by {@code a} to instance matrix {@code M} in place
+     * @return M = a*X + M
+     */
+    public OffHeapMatrix axpy(double a, OffHeapMatrix X) {
+        checkSizes(X);
+        asVector().axpy(a, X.asVector());
+        return this;
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by instance matrix {@code M}
+     * @param v a vector
+     * @return M * v
+     */
+    @Override
+    public Vector mul(Vector v) {
+        return mul(v, Vector.blankOfLength(rows));
+    }
+
+    /**
+     * Writes {@code v} multiplied/transformed by instance matrix {@code M} into {@code out}.
+     * The columns are processed in chunks of {@link OffHeapVector#CHUNK}: the chunk of {@code v}
+     * is copied once into a heap buffer kept by the calling thread, and the chunk of each row is
+     * copied next to it and multiplied with the array kernel. The buffers are reused by repeated
+     * products as in the iterative solvers, the only object created per chunk is the slice of the
+     * segment given to the bulk copy, which the JIT can usually remove
+     * @param v a vector
+     * @param out destination vector, must not share storage with {@code v}
+     * @return out = M * v
+     */
+    @Override
+    public Vector mul(Vector v, Vector out) {
+        if (v.length() != cols || out.length() != rows)
+            OffHeapVector.fail("Vectors have different sizes");
+        if (out.overlaps(v))
+            OffHeapVector.fail("Output vector must not share storage with the input vector");
+
+        RowBuffer buf = BUFFER.get();
+        out.setAll(0);
+
+        for (int from = 0; from < cols; from += OffHeapVector.CHUNK) {
+            int n = Math.min(OffHeapVector.CHUNK, cols - from);
+
+            for (int j = 0; j < n; j++)
+                buf.operand[j] = v.get(from + j);
+            for (int i = 0; i < rows; i++) {
+                buf.load(segment, (long) i * cols + from, n);
+                out.set(i, out.get(i) + VectorKernels.dot(buf.array, 0, buf.operand, 0, n));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by the transpose of instance
+     * matrix {@code M}, reading {@code M} row by row
+     * @param v a vector of length {@code rows}
+     * @return transpose(M) * v
+     */
+    public Vector transposeMul(Vector v) {
+        if (v.length() != rows)
+            OffHeapVector.fail("Vectors have different sizes");
+
+        double[] res = new double[cols];
+        RowBuffer buf = BUFFER.get();
+
+        for (int i = 0; i < rows; i++) {
+            double a = v.get(i);
+
+            for (int from = 0; from < cols; from += OffHeapVector.CHUNK) {
+                int n = Math.min(OffHeapVector.CHUNK, cols - from);
+                buf.load(segment, (long) i * cols + from, n);
+                VectorKernels.axpy(a, buf.array, 0, res, from, n);
+            }
+        }
+        return new Vector(res, false);
+    }
+
+    /**
+     * Returns a new dense matrix of the product of the instance {@code M} and the dense matrix {@code A}.
+     * Panels of rows of {@code M} are copied to the heap and multiplied by {@code A} with
+     * the kernel of {@code Matrix}, so the result must fit in an array
+     * @param A a matrix
+     * @return M x A
+     */
+    @Override
+    public Matrix mul(Matrix A) {
+        if (cols != A.rows())
+            OffHeapVector.fail("Matrices have different sizes");
+
+        Matrix res = Matrix.fromSize(rows, A.cols());
+        if (cols == 0)
+            return res;
+
+        int panel = Math.max(1, Math.min(rows, (1 << 20) / cols));
+        double[] buf = new double[panel * cols];
+
+        for (int r0 = 0; r0 < rows; r0 += panel) {
+            int r = Math.min(panel, rows - r0);
+            long bytes = (long) r * cols * Double.BYTES;
+
+            MemorySegment.ofArray(buf).asSlice(0, bytes)
+                         .copyFrom(segment.asSlice((long) r0 * cols * Double.BYTES, bytes));
+            res.block(r0, 0, r, A.cols()).setAll(new Matrix(r, cols, buf, Matrix.Layout.ROW_MAJOR).mul(A));
+        }
+        return res;
+    }
+
+    /**
+     * Returns a dense matrix holding the same elements
+     * @throws IllegalArgumentException if the matrix is too large for an array
+     */
+    @Override
+    public Matrix toDense() {
+        if (size() > Integer.MAX_VALUE - 8)
+            OffHeapVector.fail("Matrix is too large for an array");
+
+        double[] res = new double[(int) size()];
+        MemorySegment.ofArray(res).copyFrom(segment.asSlice(0, size() * Double.BYTES));
+        return new Matrix(rows, cols, res, Matrix.Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Creates a new iterator over the elements of the matrix, row by row
+     * @see org.la.iterator.MatrixIterator
+     */
+    @Override
+    public MatrixIterator iterator() {
+        return new MatrixIterator() {
+            private int i = 0;
+            private int j = -1;
+            private long k = -1;
+
+            @Override
+            public int rowIndex() {
+                return i;
+            }
+
+            @Override
+            public int colIndex() {
+                return j;
+            }
+
+            @Override
+            public double get() {
+                return MemoryAccess.getDoubleAtIndex(segment, k);
+            }
+
+            @Override
+            public void set(double value) {
+                MemoryAccess.setDoubleAtIndex(segment, k, value);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return k + 1 < size();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                k++;
+                if (++j == cols) {
+                    j = 0;
+                    i++;
+                }
+                return get();
+            }
+        };
+    }
+
+    /**
+     * Checks if matrix is equal to {@code obj} with tolerance of {@code 1.0E-6}. Only off-heap
+     * matrices can be equal, like {@link org.la.Matrix#equals(Object)} only accepts dense ones, use
+     * {@link #equals(RealMatrix, double)} to compare with other storages
+     * @see org.la.Linear
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof OffHeapMatrix)
+            return equals((OffHeapMatrix) obj, Linear.EPS);
+        return false;
+    }
+
+    /**
+     * Checks if matrix {@code M} equals {@code A} by given {@code tolerance}, element by element
+     * @param A a matrix
+     * @param tolerance precision used to calculate equality
+     * @return M = A
+     */
+    public boolean equals(RealMatrix A, double tolerance) {
+        if (this == A)
+            return true;
+        if (rows != A.rows() || cols != A.cols())
+            return false;
+
+        if (A instanceof OffHeapMatrix)
+            return asVector().equals(((OffHeapMatrix) A).asVector(), tolerance);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (Math.abs(get(i, j) - A.get(i, j)) >= tolerance)
+                    return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + cols;
+    }
+
+    /**
+     * Returns the size of the matrix, without its elements
+     */
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " off-heap matrix";
+    }
+
+    /**
+     * Returns the index of the element at row {@code i} and col {@code j} in the segment
+     */
+    private long index(int i, int j) {
+        if (i < 0 || i >= rows || j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid index (" + i + ", " + j + ")");
+        return (long) i * cols + j;
+    }
+
+    /**
+     * Verifies that the instance and {@code A} have the same sizes
+     */
+    private void checkSizes(OffHeapMatrix A) {
+        if (rows != A.rows || cols != A.cols)
+            OffHeapVector.fail("Matrices have different sizes");
+    }
+
+    /**
+     * Chunk of a row copied to the heap, next to the matching chunk of the operand vector
+     */
+    private static final class RowBuffer {
+        final double[] array = new double[OffHeapVector.CHUNK];
+        final double[] operand = new double[OffHeapVector.CHUNK];
+        final MemorySegment heap = MemorySegment.ofArray(array);
+
+        /**
+         * Copies {@code n} elements of {@code segment} from index {@code from} to the start of the buffer
+         */
+        void load(MemorySegment segment, long from, int n) {
+            heap.copyFrom(segment.asSlice(from * Double.BYTES, (long) n * Double.BYTES));
+        }
+    }
+}
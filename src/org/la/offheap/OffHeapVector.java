@@ -0,0 +1,406 @@
+package org.la.offheap;
+
+import java.util.Arrays;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+import org.la.Linear;
+import org.la.Vector;
+import org.la.factory.OffHeapVectorFactory;
+import org.la.kernel.VectorKernels;
+
+/**
+ * A vector of real numbers stored outside of the Java heap in a native {@code MemorySegment}.
+ * It has a fixed length, which may exceed the size of an array
+ * <p>The memory belongs to a {@code ResourceScope}. A vector created without a scope owns a
+ * new shared scope, released by {@link #close()}; otherwise it lives as long as the given
+ * scope. Accessing a vector after its memory was released throws an {@code IllegalStateException}</p>
+ * <p>Arithmetic copies the segment to the heap in chunks of {@link #CHUNK} elements and runs
+ * the kernels of {@link org.la.kernel.VectorKernels} on them, so bounds are checked once per
+ * chunk rather than per element</p>
+ * <p>This class needs the {@code jdk.incubator.foreign} module, for instance with
+ * {@code --add-modules jdk.incubator.foreign}. Native memory counts against
+ * {@code -XX:MaxDirectMemorySize}</p>
+ */
+public class OffHeapVector implements AutoCloseable {
+    /**
+     * Number of elements processed per chunk by the bulk operations
+     */
+    public static final int CHUNK = 4096;
+
+    static final long ALIGNMENT = 64;
+
+    private final MemorySegment segment;
+    private final long length;
+    private final ResourceScope owned;
+
+    /**
+     * Creates a new vector of length {@code length} initialized to all zeros in its own scope
+     */
+    public OffHeapVector(long length) {
+        this(length, ResourceScope.newSharedScope(), true);
+    }
+
+    /**
+     * Creates a new vector of length {@code length} initialized to all zeros whose memory
+     * is released when {@code scope} is closed
+     */
+    public OffHeapVector(long length, ResourceScope scope) {
+        this(length, scope, false);
+    }
+
+    private OffHeapVector(long length, ResourceScope scope, boolean owner) {
+        this(MemorySegment.allocateNative(checkedBytes(length), ALIGNMENT, scope), owner ? scope : null);
+    }
+
+    /**
+     * Creates a new vector over {@code segment}, which holds {@code segment.byteSize() / 8} doubles
+     * in native byte order. The segment is not copied and its scope is not owned by the vector
+     */
+    public OffHeapVector(MemorySegment segment) {
+        this(segment, null);
+    }
+
+    OffHeapVector(MemorySegment segment, ResourceScope owned) {
+        if (segment.byteSize() % Double.BYTES != 0)
+            fail("Segment size is not a multiple of " + Double.BYTES);
+        this.segment = segment;
+        this.length = segment.byteSize() / Double.BYTES;
+        this.owned = owned;
+    }
+
+    /**
+     * Creates a new off-heap vector holding the elements of {@code v}
+     * @see org.la.factory.OffHeapVectorFactory
+     */
+    public static OffHeapVector fromVector(Vector v) {
+        return OffHeapVectorFactory.fromVector(v);
+    }
+
+    /**
+     * Creates a new off-heap vector of length {@code length} with all elements set to {@code value}
+     * @see org.la.factory.OffHeapVectorFactory
+     */
+    public static OffHeapVector fromConstant(long length, double value) {
+        return OffHeapVectorFactory.fromConstant(length, value);
+    }
+
+    /**
+     * Returns the length of the vector
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the segment holding the elements of the vector
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Checks if the memory of the vector is still available
+     */
+    public boolean isAlive() {
+        return segment.scope().isAlive();
+    }
+
+    /**
+     * Writes the changes of a memory-mapped vector to its file
+     * @throws IllegalStateException if the vector is not mapped from a file
+     * @see MappedFiles
+     */
+    public void force() {
+        if (!segment.isMapped())
+            throw new IllegalStateException("Vector is not mapped from a file");
+        segment.force();
+    }
+
+    /**
+     * Releases the memory of the vector
+     * @throws IllegalStateException if the vector does not own its scope
+     */
+    @Override
+    public void close() {
+        if (owned == null)
+            throw new IllegalStateException("Memory belongs to an external scope");
+        owned.close();
+    }
+
+    /**
+     * Returns value at index {@code i}
+     */
+    public double get(long i) {
+        return MemoryAccess.getDoubleAtIndex(segment, i);
+    }
+
+    /**
+     * Sets the value at index {@code i} to {@code value}
+     */
+    public void set(long i, double value) {
+        MemoryAccess.setDoubleAtIndex(segment, i, value);
+    }
+
+    /**
+     * Sets all elements of the vector to {@code value}
+     */
+    public OffHeapVector setAll(double value) {
+        if (value == 0) {
+            segment.fill((byte) 0);
+            return this;
+        }
+
+        double[] buf = new double[(int) Math.min(CHUNK, length)];
+        Arrays.fill(buf, value);
+
+        for (long from = 0; from < length; from += CHUNK)
+            store(buf, from, (int) Math.min(CHUNK, length - from));
+        return this;
+    }
+
+    /**
+     * Sets the values of the vector to the values of {@code u}
+     * @param u a vector of the same length
+     */
+    public OffHeapVector setAll(OffHeapVector u) {
+        checkLengths(u);
+        segment.copyFrom(u.segment);
+        return this;
+    }
+
+    /**
+     * Copies the elements of {@code u} to the vector starting at index {@code from}
+     */
+    public OffHeapVector setAll(long from, Vector u) {
+        if (from < 0 || from + u.length() > length)
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + (from + u.length()) + ")");
+
+        store(u.toArray(), from, u.length());
+        return this;
+    }
+
+    /**
+     * Returns a view of the elements {@code [from, to)} sharing the memory of the vector
+     */
+    public OffHeapVector slice(long from, long to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("Invalid slice [" + from + ", " + to + ")");
+        return new OffHeapVector(segment.asSlice(from * Double.BYTES, (to - from) * Double.BYTES));
+    }
+
+    /**
+     * Adds {@code a} to all elements of instance vector {@code v} in place
+     * @return v = v + a
+     */
+    public OffHeapVector addInPlace(double a) {
+        double[] buf = new double[chunk()];
+
+        for (long from = 0; from < length; from += CHUNK) {
+            int n = load(from, buf);
+            VectorKernels.add(buf, 0, a, buf, 0, n);
+            store(buf, from, n);
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies all elements of instance vector {@code v} with {@code a} in place
+     * @return v = v * a
+     */
+    public OffHeapVector mulInPlace(double a) {
+        double[] buf = new double[chunk()];
+
+        for (long from = 0; from < length; from += CHUNK) {
+            int n = load(from, buf);
+            VectorKernels.mul(buf, 0, a, buf, 0, n);
+            store(buf, from, n);
+        }
+        return this;
+    }
+
+    /**
+     * Adds {@code u} to instance vector {@code v} in place
+     * @return v = v + u
+     */
+    public OffHeapVector addInPlace(OffHeapVector u) {
+        return axpy(1, u);
+    }
+
+    /**
+     * Subtracts {@code u} from instance vector {@code v} in place
+     * @return v = v - u
+     */
+    public OffHeapVector subInPlace(OffHeapVector u) {
+        return axpy(-1, u);
+    }
+
+    /**
+     * Adds {@code x} scaled by {@code a} to instance vector {@code v} in place
+     * @return v = a*x + v
+     */
+    public OffHeapVector axpy(double a, OffHeapVector x) {
+        checkLengths(x);
+
+        double[] bx = new double[chunk()];
+        double[] by = new double[bx.length];
+
+        for (long from = 0; from < length; from += CHUNK) {
+            int n = x.load(from, bx);
+            load(from, by);
+            VectorKernels.axpy(a, bx, 0, by, 0, n);
+            store(by, from, n);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the dot product of instance vector {@code v} and {@code u}
+     * @return v.u
+     */
+    public double dot(OffHeapVector u) {
+        checkLengths(u);
+
+        double[] bx = new double[chunk()];
+        double[] by = new double[bx.length];
+        double result = 0;
+
+        for (long from = 0; from < length; from += CHUNK) {
+            int n = load(from, bx);
+            u.load(from, by);
+            result += VectorKernels.dot(bx, 0, by, 0, n);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the euclidean norm of the vector
+     */
+    public double norm() {
+        double[] buf = new double[chunk()];
+        double result = 0;
+
+        for (long from = 0; from < length; from += CHUNK)
+            result += VectorKernels.sumSq(buf, 0, load(from, buf));
+        return Math.sqrt(result);
+    }
+
+    /**
+     * Returns a new heap vector holding the elements of the vector
+     * @throws IllegalArgumentException if the vector is too long for an array
+     */
+    public Vector toVector() {
+        if (length > Integer.MAX_VALUE - 8)
+            fail("Vector is too long for an array");
+
+        double[] res = new double[(int) length];
+        MemorySegment.ofArray(res).copyFrom(segment);
+        return new Vector(res, false);
+    }
+
+    /**
+     * Checks if vector is equal to {@code obj} with tolerance of {@code 1.0E-6}
+     * @see org.la.Linear
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof OffHeapVector)
+            return equals((OffHeapVector) obj, Linear.EPS);
+        return false;
+    }
+
+    /**
+     * Checks if vector {@code v} equals {@code u} by given {@code tolerance}
+     * @return v = u
+     */
+    public boolean equals(OffHeapVector u, double tolerance) {
+        if (this == u)
+            return true;
+        if (length != u.length)
+            return false;
+
+        double[] bx = new double[chunk()];
+        double[] by = new double[bx.length];
+
+        for (long from = 0; from < length; from += CHUNK) {
+            int n = load(from, bx);
+            u.load(from, by);
+
+            for (int i = 0; i < n; i++)
+                if (Math.abs(bx[i] - by[i]) >= tolerance)
+                    return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(length);
+    }
+
+    /**
+     * Returns the length of the vector and its first elements
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+
+        for (long i = 0; i < Math.min(length, 8); i++)
+            out.append(i == 0 ? "" : " ").append(String.format("%.3f", get(i)));
+        return out.append(length > 8 ? " ...]" : "]").append(" (").append(length).append(")").toString();
+    }
+
+    /**
+     * Copies up to {@code buf.length} elements starting at index {@code from} into {@code buf}
+     * @return the number of elements copied
+     */
+    int load(long from, double[] buf) {
+        int n = (int) Math.min(buf.length, length - from);
+
+        MemorySegment.ofArray(buf).asSlice(0, (long) n * Double.BYTES)
+                     .copyFrom(segment.asSlice(from * Double.BYTES, (long) n * Double.BYTES));
+        return n;
+    }
+
+    /**
+     * Copies the first {@code n} elements of {@code buf} to the vector starting at index {@code from}
+     */
+    void store(double[] buf, long from, int n) {
+        segment.asSlice(from * Double.BYTES, (long) n * Double.BYTES)
+               .copyFrom(MemorySegment.ofArray(buf).asSlice(0, (long) n * Double.BYTES));
+    }
+
+    /**
+     * Returns the size of the chunks used for the vector
+     */
+    private int chunk() {
+        return (int) Math.min(CHUNK, length);
+    }
+
+    /**
+     * Verifies that the instance and {@code u} have the same length
+     */
+    private void checkLengths(OffHeapVector u) {
+        if (length != u.length)
+            fail("Vectors have different sizes");
+    }
+
+    /**
+     * Returns the number of bytes of {@code length} doubles
+     */
+    static long checkedBytes(long length) {
+        if (length < 0 || length > Long.MAX_VALUE / Double.BYTES)
+            fail("Invalid length " + length);
+        return length * Double.BYTES;
+    }
+
+    /**
+     * Fails with an {@code IllegalArgumentException}
+     * @param message error message
+     */
+    static void fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,62 @@
+package org.la.solver;
+
+import org.la.LinearOperator;
+import org.la.Vector;
+
+/**
+ * Right preconditioned biconjugate gradient stabilized method, for general square systems
+ */
+public class BiCGSTAB extends IterativeSolver {
+    private Vector[] work;
+
+    @Override
+    protected SolverResult iterate(LinearOperator A, Vector b, Vector x, double bNorm) {
+        work = workspace(work, 8, b.length());
+        Vector r = work[0], rHat = work[1], p = work[2], v = work[3];
+        Vector pHat = work[4], s = work[5], sHat = work[6], t = work[7];
+
+        residual(A, b, x, r, t);
+        double res = r.norm() / bNorm;
+        if (res <= getTolerance())
+            return new SolverResult(true, 0, res);
+
+        rHat.setAll(r);
+        p.setAll(0);
+        v.setAll(0);
+        double rho = 1, alpha = 1, omega = 1;
+
+        for (int it = 1; it <= getMaxIterations(); it++) {
+            double rhoNext = rHat.dot(r);
+            if (rhoNext == 0 || omega == 0)
+                return new SolverResult(false, it, res);
+
+            double beta = (rhoNext / rho) * (alpha / omega);
+            p.axpy(-omega, v).mulInPlace(beta).addInPlace(r);
+
+            precondition(p, pHat);
+            A.mul(pHat, v);
+            alpha = rhoNext / rHat.dot(v);
+            r.sub(v.mul(alpha, s), s);
+
+            res = s.norm() / bNorm;
+            if (res <= getTolerance()) {
+                x.axpy(alpha, pHat);
+                return new SolverResult(true, it, res);
+            }
+
+            precondition(s, sHat);
+            A.mul(sHat, t);
+            omega = t.dot(s) / t.dot(t);
+            x.axpy(alpha, pHat).axpy(omega, sHat);
+            s.sub(t.mul(omega, r), r);
+            rho = rhoNext;
+
+            res = r.norm() / bNorm;
+            if (res <= getTolerance())
+                return new SolverResult(true, it, res);
+            if (!notify(it, res))
+                return new SolverResult(false, it, res);
+        }
+        return new SolverResult(false, getMaxIterations(), res);
+    }
+}
@@ -0,0 +1,49 @@
+package org.la.solver;
+
+import org.la.LinearOperator;
+import org.la.Vector;
+
+/**
+ * Preconditioned conjugate gradient method, for symmetric positive definite systems
+ */
+public class ConjugateGradient extends IterativeSolver {
+    private Vector[] work;
+
+    @Override
+    protected SolverResult iterate(LinearOperator A, Vector b, Vector x, double bNorm) {
+        work = workspace(work, 4, b.length());
+        Vector r = work[0], z = work[1], p = work[2], Ap = work[3];
+
+        residual(A, b, x, r, Ap);
+        double res = r.norm() / bNorm;
+        if (res <= getTolerance())
+            return new SolverResult(true, 0, res);
+
+        precondition(r, z);
+        p.setAll(z);
+        double rz = r.dot(z);
+
+        for (int it = 1; it <= getMaxIterations(); it++) {
+            A.mul(p, Ap);
+            double pAp = p.dot(Ap);
+            if (pAp == 0)
+                return new SolverResult(false, it, res);
+
+            double alpha = rz / pAp;
+            x.axpy(alpha, p);
+            r.axpy(-alpha, Ap);
+
+            res = r.norm() / bNorm;
+            if (res <= getTolerance())
+                return new SolverResult(true, it, res);
+            if (!notify(it, res))
+                return new SolverResult(false, it, res);
+
+            precondition(r, z);
+            double rzNext = r.dot(z);
+            p.mulInPlace(rzNext / rz).addInPlace(z);
+            rz = rzNext;
+        }
+        return new SolverResult(false, getMaxIterations(), res);
+    }
+}
@@ -0,0 +1,14 @@
+package org.la.solver;
+
+/**
+ * Callback notified by iterative solvers after every iteration
+ */
+@FunctionalInterface
+public interface ConvergenceListener {
+    /**
+     * Called after iteration {@code iteration} with the relative residual norm
+     * {@code ||b - A*x|| / ||b||} reached so far
+     * @return false to stop the solver
+     */
+    boolean onIteration(int iteration, double residual);
+}
@@ -0,0 +1,166 @@
+package org.la.solver;
+
+import java.util.Arrays;
+
+import org.la.LinearOperator;
+import org.la.Vector;
+
+/**
+ * Restarted generalized minimal residual method, GMRES(m), for general square systems.
+ * The Krylov basis is built by modified Gram-Schmidt and the least squares problem is
+ * updated with Givens rotations. Preconditioning is applied on the right, so the tracked
+ * residual is the residual of the original system
+ */
+public class GMRES extends IterativeSolver {
+    private final int restart;
+    private Vector[] basis;
+    private Vector[] work;
+    private double[][] h;
+    private double[] cs, sn, g, y;
+
+    /**
+     * Creates a solver restarting every 30 iterations
+     */
+    public GMRES() {
+        this(30);
+    }
+
+    /**
+     * Creates a solver restarting every {@code restart} iterations
+     * @param restart dimension of the Krylov subspace
+     */
+    public GMRES(int restart) {
+        if (restart <= 0)
+            throw new IllegalArgumentException("Restart must be positive");
+        this.restart = restart;
+    }
+
+    /**
+     * Returns the dimension of the Krylov subspace
+     */
+    public int getRestart() {
+        return restart;
+    }
+
+    @Override
+    protected SolverResult iterate(LinearOperator A, Vector b, Vector x, double bNorm) {
+        int n = b.length();
+        int m = Math.min(restart, n);
+        allocate(n, m);
+        Vector r = work[0], z = work[1];
+
+        residual(A, b, x, r, z);
+        double beta = r.norm();
+        double res = beta / bNorm;
+        if (res <= getTolerance())
+            return new SolverResult(true, 0, res);
+
+        int it = 0;
+        while (it < getMaxIterations()) {
+            r.div(beta, basis[0]);
+            Arrays.fill(g, 0);
+            g[0] = beta;
+
+            int j = 0;
+            boolean stop = false;
+            while (j < m && it < getMaxIterations()) {
+                it++;
+                Vector w = basis[j + 1];
+                precondition(basis[j], z);
+                A.mul(z, w);
+
+                for (int i = 0; i <= j; i++) {
+                    h[i][j] = w.dot(basis[i]);
+                    w.axpy(-h[i][j], basis[i]);
+                }
+                double hNext = w.norm();
+                h[j + 1][j] = hNext;
+
+                for (int i = 0; i < j; i++) {
+                    double t = cs[i] * h[i][j] + sn[i] * h[i + 1][j];
+                    h[i + 1][j] = -sn[i] * h[i][j] + cs[i] * h[i + 1][j];
+                    h[i][j] = t;
+                }
+                rotation(j);
+                h[j][j] = cs[j] * h[j][j] + sn[j] * h[j + 1][j];
+                h[j + 1][j] = 0;
+                g[j + 1] = -sn[j] * g[j];
+                g[j] = cs[j] * g[j];
+
+                j++;
+                res = Math.abs(g[j]) / bNorm;
+
+                if (res <= getTolerance() || !notify(it, res)) {
+                    stop = true;
+                    break;
+                }
+                if (hNext == 0)
+                    break;
+                w.divInPlace(hNext);
+            }
+
+            update(x, j, z, r);
+            residual(A, b, x, r, z);
+            beta = r.norm();
+            res = beta / bNorm;
+
+            if (res <= getTolerance())
+                return new SolverResult(true, it, res);
+            if (stop || beta == 0)
+                return new SolverResult(false, it, res);
+        }
+        return new SolverResult(false, it, res);
+    }
+
+    /**
+     * Computes the Givens rotation zeroing {@code h[j + 1][j]}
+     */
+    private void rotation(int j) {
+        double a = h[j][j], b = h[j + 1][j];
+        double d = Math.hypot(a, b);
+
+        if (d == 0) {
+            cs[j] = 1;
+            sn[j] = 0;
+        } else {
+            cs[j] = a / d;
+            sn[j] = b / d;
+        }
+    }
+
+    /**
+     * Solves the triangular system of the first {@code k} rotated columns and adds the
+     * preconditioned combination of the basis to {@code x}
+     */
+    private void update(Vector x, int k, Vector z, Vector sum) {
+        for (int i = k - 1; i >= 0; i--) {
+            double s = g[i];
+            for (int l = i + 1; l < k; l++)
+                s -= h[i][l] * y[l];
+            y[i] = s / h[i][i];
+        }
+
+        sum.setAll(0);
+        for (int i = 0; i < k; i++)
+            sum.axpy(y[i], basis[i]);
+
+        precondition(sum, z);
+        x.addInPlace(z);
+    }
+
+    /**
+     * Allocates the basis and the Hessenberg matrix unless the previous solve used the same sizes
+     */
+    private void allocate(int n, int m) {
+        work = workspace(work, 2, n);
+        basis = workspace(basis, m + 1, n);
+
+        if (h == null || h.length != m + 1) {
+            h = new double[m + 1][m];
+            cs = new double[m];
+            sn = new double[m];
+            g = new double[m + 1];
+            y = new double[m];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.la.solver;
+
+import java.util.Arrays;
+
+import org.la.RealMatrix;
+import org.la.Vector;
+import org.la.sparse.SparseMatrix;
+
+/**
+ * Incomplete LU preconditioner with no fill-in, ILU(0). The factors {@code L} and {@code U}
+ * have the sparsity pattern of the matrix, and applying the preconditioner solves with both
+ * <p>Dense matrices are factored on the pattern of their non-zero elements</p>
+ */
+public class ILU0Preconditioner implements Preconditioner {
+    private final int n;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] lu;
+    private final int[] diag;
+
+    /**
+     * Factors the square matrix {@code A}
+     * @throws ArithmeticException if a zero pivot is met or a diagonal element is not stored
+     */
+    public ILU0Preconditioner(RealMatrix A) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("Preconditioned matrix must be square");
+
+        SparseMatrix S = A instanceof SparseMatrix ? (SparseMatrix) A : SparseMatrix.fromDense(A.toDense());
+        n = S.rows();
+        rowPtr = S.rowPointers();
+        colIdx = S.columnIndices();
+        lu = S.values();
+        diag = new int[n];
+        factor();
+    }
+
+    @Override
+    public void apply(Vector r, Vector z) {
+        for (int i = 0; i < n; i++) {
+            double sum = r.get(i);
+            for (int k = rowPtr[i]; k < diag[i]; k++)
+                sum -= lu[k] * z.get(colIdx[k]);
+            z.set(i, sum);
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = z.get(i);
+            for (int k = diag[i] + 1; k < rowPtr[i + 1]; k++)
+                sum -= lu[k] * z.get(colIdx[k]);
+            z.set(i, sum / lu[diag[i]]);
+        }
+    }
+
+    /**
+     * Runs the IKJ variant of Gaussian elimination, dropping every update that falls
+     * outside the pattern
+     */
+    private void factor() {
+        int[] pos = new int[n];
+        Arrays.fill(pos, -1);
+
+        for (int i = 0; i < n; i++) {
+            int start = rowPtr[i], end = rowPtr[i + 1];
+            diag[i] = -1;
+
+            for (int k = start; k < end; k++) {
+                pos[colIdx[k]] = k;
+                if (colIdx[k] == i)
+                    diag[i] = k;
+            }
+
+            if (diag[i] < 0)
+                throw new ArithmeticException("Diagonal element is not stored at row " + i);
+
+            for (int k = start; k < end && colIdx[k] < i; k++) {
+                int row = colIdx[k];
+                double pivot = lu[diag[row]];
+                if (pivot == 0)
+                    throw new ArithmeticException("Zero pivot at row " + row);
+
+                double l = lu[k] / pivot;
+                lu[k] = l;
+
+                for (int j = diag[row] + 1; j < rowPtr[row + 1]; j++) {
+                    int p = pos[colIdx[j]];
+                    if (p >= 0)
+                        lu[p] -= l * lu[j];
+                }
+            }
+
+            for (int k = start; k < end; k++)
+                pos[colIdx[k]] = -1;
+        }
+
+        for (int i = 0; i < n; i++)
+            if (lu[diag[i]] == 0)
+                throw new ArithmeticException("Zero pivot at row " + i);
+    }
+}
@@ -0,0 +1,158 @@
+package org.la.solver;
+
+import org.la.LinearOperator;
+import org.la.Vector;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * Base of the Krylov subspace solvers of {@code A*x = b}, which only access {@code A}
+ * through its product with vectors
+ * <p>A solver iterates until the relative residual {@code ||b - A*x|| / ||b||} falls below
+ * its tolerance or it reaches its iteration limit. Work vectors are allocated when a solve
+ * starts, and reused by later solves of the same size, so iterations do not allocate</p>
+ */
+public abstract class IterativeSolver {
+    private double tolerance = 1.0E-10;
+    private int maxIterations = 1000;
+    private Preconditioner preconditioner = Preconditioner.identity();
+    private ConvergenceListener listener;
+
+    /**
+     * Returns the relative residual under which the solver stops
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets the relative residual under which the solver stops, {@code 1.0E-10} by default
+     */
+    public IterativeSolver setTolerance(double tolerance) {
+        if (tolerance <= 0)
+            throw new IllegalArgumentException("Tolerance must be positive");
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of iterations
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Sets the maximum number of iterations, {@code 1000} by default
+     */
+    public IterativeSolver setMaxIterations(int maxIterations) {
+        if (maxIterations <= 0)
+            throw new IllegalArgumentException("Iteration limit must be positive");
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    /**
+     * Returns the preconditioner
+     */
+    public Preconditioner getPreconditioner() {
+        return preconditioner;
+    }
+
+    /**
+     * Sets the preconditioner, none by default
+     */
+    public IterativeSolver setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner == null ? Preconditioner.identity() : preconditioner;
+        return this;
+    }
+
+    /**
+     * Sets the listener notified after every iteration, or removes it when null
+     */
+    public IterativeSolver setListener(ConvergenceListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Solves {@code A*x = b} starting from zero
+     * @return x
+     * @throws ArithmeticException if the solver does not converge
+     */
+    public Vector solve(LinearOperator A, Vector b) {
+        Vector x = Vector.blankOfLength(A.cols());
+        SolverResult result = solve(A, b, x);
+
+        if (!result.converged())
+            throw new ArithmeticException("Solver did not converge: " + result);
+        return x;
+    }
+
+    /**
+     * Solves {@code A*x = b} in place, starting from the current value of {@code x}
+     * @param A a square operator
+     * @param b right hand side
+     * @param x initial guess, overwritten by the solution
+     */
+    public SolverResult solve(LinearOperator A, Vector b, Vector x) {
+        if (A.rows() != A.cols())
+            throw new IllegalArgumentException("Operator must be square");
+        if (b.length() != A.rows() || x.length() != A.cols())
+            throw new IllegalArgumentException("Vectors have different sizes than the operator");
+
+        Probe probe = Probe.begin(Operation.ITERATIVE_SOLVE, A.rows(), A.cols(), 0);
+        try {
+            double bNorm = b.norm();
+            if (bNorm == 0) {
+                x.setAll(0);
+                return new SolverResult(true, 0, 0);
+            }
+            return iterate(A, b, x, bNorm);
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Runs the iterations of the method
+     * @param bNorm non-zero norm of {@code b}
+     */
+    protected abstract SolverResult iterate(LinearOperator A, Vector b, Vector x, double bNorm);
+
+    /**
+     * Notifies the listener and returns false if it asked to stop
+     */
+    protected boolean notify(int iteration, double residual) {
+        return listener == null || listener.onIteration(iteration, residual);
+    }
+
+    /**
+     * Applies the preconditioner, {@code z = M^-1 * r}
+     */
+    protected void precondition(Vector r, Vector z) {
+        preconditioner.apply(r, z);
+    }
+
+    /**
+     * Returns {@code work} if it holds {@code count} vectors of length {@code n}, or new
+     * vectors otherwise
+     */
+    protected static Vector[] workspace(Vector[] work, int count, int n) {
+        if (work != null && work.length == count && work[0].length() == n)
+            return work;
+
+        Vector[] res = new Vector[count];
+        for (int i = 0; i < count; i++)
+            res[i] = Vector.blankOfLength(n);
+        return res;
+    }
+
+    /**
+     * Writes the residual {@code b - A*x} into {@code r}, using {@code tmp} for {@code A*x}
+     */
+    protected static void residual(LinearOperator A, Vector b, Vector x, Vector r, Vector tmp) {
+        A.mul(x, tmp);
+        b.sub(tmp, r);
+    }
+}
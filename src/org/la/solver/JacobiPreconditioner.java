@@ -0,0 +1,35 @@
+package org.la.solver;
+
+import org.la.RealMatrix;
+import org.la.Vector;
+
+/**
+ * Jacobi preconditioner, scaling each element of the residual by the inverse of the
+ * matching diagonal element of the matrix
+ */
+public class JacobiPreconditioner implements Preconditioner {
+    private final double[] invDiag;
+
+    /**
+     * Creates the preconditioner of the square matrix {@code A}
+     * @throws ArithmeticException if the diagonal of {@code A} has a zero
+     */
+    public JacobiPreconditioner(RealMatrix A) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("Preconditioned matrix must be square");
+
+        invDiag = new double[A.rows()];
+        for (int i = 0; i < invDiag.length; i++) {
+            double d = A.get(i, i);
+            if (d == 0)
+                throw new ArithmeticException("Zero on the diagonal at row " + i);
+            invDiag[i] = 1 / d;
+        }
+    }
+
+    @Override
+    public void apply(Vector r, Vector z) {
+        for (int i = 0; i < invDiag.length; i++)
+            z.set(i, r.get(i) * invDiag[i]);
+    }
+}
@@ -0,0 +1,24 @@
+package org.la.solver;
+
+import org.la.Vector;
+
+/**
+ * Approximate inverse {@code M^-1} of a linear operator, applied by iterative solvers
+ * to speed up their convergence
+ */
+@FunctionalInterface
+public interface Preconditioner {
+    /**
+     * Solves {@code M*z = r} for {@code z}
+     * @param r residual vector
+     * @param z destination vector, must not share storage with {@code r}
+     */
+    void apply(Vector r, Vector z);
+
+    /**
+     * Returns the preconditioner that does nothing, {@code z = r}
+     */
+    static Preconditioner identity() {
+        return (r, z) -> z.setAll(r);
+    }
+}
@@ -0,0 +1,49 @@
+package org.la.solver;
+
+/**
+ * Outcome of a run of an iterative solver
+ */
+public class SolverResult {
+    private final boolean converged;
+    private final int iterations;
+    private final double residual;
+
+    /**
+     * Creates a new result
+     * @param converged whether the tolerance was reached
+     * @param iterations number of iterations performed
+     * @param residual final relative residual norm
+     */
+    public SolverResult(boolean converged, int iterations, double residual) {
+        this.converged = converged;
+        this.iterations = iterations;
+        this.residual = residual;
+    }
+
+    /**
+     * Returns whether the tolerance was reached
+     */
+    public boolean converged() {
+        return converged;
+    }
+
+    /**
+     * Returns the number of iterations performed
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the final relative residual norm {@code ||b - A*x|| / ||b||}
+     */
+    public double residual() {
+        return residual;
+    }
+
+    @Override
+    public String toString() {
+        return (converged ? "converged" : "not converged") + " after " + iterations
+             + " iterations, residual " + residual;
+    }
+}
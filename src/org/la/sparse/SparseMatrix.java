@@ -0,0 +1,489 @@
+package org.la.sparse;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.la.Linear;
+import org.la.Matrix;
+import org.la.RealMatrix;
+import org.la.Vector;
+import org.la.factory.SparseMatrixFactory;
+import org.la.iterator.MatrixIterator;
+import org.la.metrics.Operation;
+import org.la.metrics.Probe;
+
+/**
+ * A sparse matrix stored in compressed sparse row (CSR) format. It has a fixed size and
+ * a fixed set of stored elements
+ * <p>The column indices and values of row {@code i} are stored at positions
+ * {@code [rowPtr[i], rowPtr[i+1])} of {@code colIdx} and {@code values}, sorted by column.
+ * A compressed sparse column (CSC) copy is built the first time the matrix is accessed
+ * by column, and shared with its {@link #transpose()} until an element is set</p>
+ */
+public class SparseMatrix implements RealMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    private SparseMatrix transposed;
+
+    /**
+     * Creates a new sparse matrix of size {@code rows x cols} from its CSR arrays, which are not copied.
+     * The column indices of each row must be sorted and unique
+     * @param rowPtr start of each row in {@code colIdx} and {@code values}, of length {@code rows + 1}
+     * @param colIdx column index of each stored element
+     * @param values value of each stored element
+     */
+    public SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        if (rowPtr.length != rows + 1 || rowPtr[0] != 0)
+            throw new IllegalArgumentException("Invalid row pointers");
+        if (colIdx.length < rowPtr[rows] || values.length < rowPtr[rows])
+            throw new IllegalArgumentException("Invalid number of stored elements");
+
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Creates a new sparse matrix of size {@code rows x cols} from coordinate triplets.
+     * Duplicate entries are summed
+     * @see org.la.factory.SparseMatrixFactory
+     */
+    public static SparseMatrix fromTriplets(int rows, int cols, int[] rowIdx, int[] colIdx, double[] values) {
+        return SparseMatrixFactory.fromTriplets(rows, cols, rowIdx, colIdx, values);
+    }
+
+    /**
+     * Creates a new sparse matrix storing the non-zero elements of {@code A}
+     * @see org.la.factory.SparseMatrixFactory
+     */
+    public static SparseMatrix fromDense(Matrix A) {
+        return SparseMatrixFactory.fromDense(A);
+    }
+
+    /**
+     * Creates a new sparse matrix of size {@code rows x cols} without stored elements
+     * @see org.la.factory.SparseMatrixFactory
+     */
+    public static SparseMatrix fromSize(int rows, int cols) {
+        return SparseMatrixFactory.fromSize(rows, cols);
+    }
+
+    /**
+     * Creates a sparse identity matrix of size {@code n x n}
+     * @see org.la.factory.SparseMatrixFactory
+     */
+    public static SparseMatrix eye(int n) {
+        return SparseMatrixFactory.identity(n);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of stored elements
+     */
+    public int nnz() {
+        return rowPtr[rows];
+    }
+
+    /**
+     * Returns value at row {@code i} and col {@code j}, zero if it is not stored
+     */
+    @Override
+    public double get(int i, int j) {
+        int k = find(i, j);
+        return k < 0 ? 0 : values[k];
+    }
+
+    /**
+     * Sets the value at row {@code i} and col {@code j} to {@code value}.
+     * Only stored elements can be set
+     * @throws IllegalArgumentException if the element is not stored
+     */
+    public void set(int i, int j, double value) {
+        int k = find(i, j);
+
+        if (k < 0)
+            throw new IllegalArgumentException("Element (" + i + ", " + j + ") is not stored");
+        values[k] = value;
+        dropTransposed();
+    }
+
+    /**
+     * Returns a copy of the row pointers
+     */
+    public int[] rowPointers() {
+        return Arrays.copyOf(rowPtr, rows + 1);
+    }
+
+    /**
+     * Returns a copy of the column indices of the stored elements
+     */
+    public int[] columnIndices() {
+        return Arrays.copyOf(colIdx, nnz());
+    }
+
+    /**
+     * Returns a copy of the values of the stored elements
+     */
+    public double[] values() {
+        return Arrays.copyOf(values, nnz());
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by instance matrix {@code M}
+     * @param v a vector
+     * @return M * v
+     */
+    @Override
+    public Vector mul(Vector v) {
+        return mul(v, Vector.blankOfLength(rows));
+    }
+
+    /**
+     * Writes {@code v} multiplied/transformed by instance matrix {@code M} into {@code out}
+     * @param v a vector
+     * @param out destination vector, must not share storage with {@code v}
+     * @return out = M * v
+     */
+    @Override
+    public Vector mul(Vector v, Vector out) {
+        if (v.length() != cols || out.length() != rows)
+            fail("Vectors have different sizes");
+        if (out.overlaps(v))
+            fail("Output vector must not share storage with the input vector");
+
+        Probe probe = Probe.begin(Operation.SPARSE_MATRIX_VECTOR_MUL, rows, cols, rowPtr[rows]);
+        try {
+            for (int i = 0; i < rows; i++) {
+                double sum = 0;
+
+                for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++)
+                    sum += values[k] * v.get(colIdx[k]);
+                out.set(i, sum);
+            }
+            return out;
+        } finally {
+            Probe.end(probe);
+        }
+    }
+
+    /**
+     * Returns a new vector of {@code v} multiplied/transformed by the transpose of instance
+     * matrix {@code M}, reading {@code M} by column
+     * @param v a vector
+     * @return M^T * v
+     */
+    public Vector transposeMul(Vector v) {
+        return transpose().mul(v);
+    }
+
+    /**
+     * Returns a new dense matrix of the product of the instance {@code M} and the dense matrix {@code A}.
+     * Each stored element {@code M[i][k]} adds row {@code k} of {@code A} scaled by it to row {@code i}
+     * of the result with the axpy kernel
+     * @param A a matrix
+     * @return M x A
+     */
+    @Override
+    public Matrix mul(Matrix A) {
+        if (cols != A.rows())
+            fail("Matrices have different sizes");
+
+        Matrix res = new Matrix(rows, A.cols());
+        Vector[] sources = new Vector[A.rows()];
+
+        for (int i = 0; i < rows; i++) {
+            Vector target = res.rowView(i);
+
+            for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++) {
+                int row = colIdx[k];
+
+                if (sources[row] == null)
+                    sources[row] = A.rowView(row);
+                target.axpy(values[k], sources[row]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns a new sparse matrix of the product of instance {@code M} and {@code a}
+     * @param a a value
+     * @return M * a
+     */
+    public SparseMatrix mul(double a) {
+        double[] res = new double[nnz()];
+
+        for (int k = 0; k < res.length; k++)
+            res[k] = values[k] * a;
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, res);
+    }
+
+    /**
+     * Returns the sum of instance sparse matrix {@code M} and {@code A}, whose stored elements
+     * are the union of the stored elements of both
+     * @param A a sparse matrix
+     * @return M + A
+     */
+    public SparseMatrix add(SparseMatrix A) {
+        return add(1, A);
+    }
+
+    /**
+     * Returns the difference of instance sparse matrix {@code M} and {@code A}
+     * @param A a sparse matrix
+     * @return M - A
+     */
+    public SparseMatrix sub(SparseMatrix A) {
+        return add(-1, A);
+    }
+
+    /**
+     * Returns a new dense matrix of the sum of instance {@code M} and the dense matrix {@code A}
+     * @param A a matrix
+     * @return M + A
+     */
+    public Matrix add(Matrix A) {
+        if (rows != A.rows() || cols != A.cols())
+            fail("Matrices have different sizes");
+
+        Matrix res = A.clone();
+        for (int i = 0; i < rows; i++)
+            for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++)
+                res.set(i, colIdx[k], res.get(i, colIdx[k]) + values[k]);
+        return res;
+    }
+
+    /**
+     * Returns the transpose of the matrix. Its CSR arrays are the CSC arrays of the instance,
+     * which are built on the first call and reused afterwards
+     */
+    public SparseMatrix transpose() {
+        if (transposed == null) {
+            int nnz = nnz();
+            int[] colPtr = new int[cols + 1];
+            int[] rowIdx = new int[nnz];
+            double[] vals = new double[nnz];
+
+            for (int k = 0; k < nnz; k++)
+                colPtr[colIdx[k] + 1]++;
+            for (int j = 0; j < cols; j++)
+                colPtr[j + 1] += colPtr[j];
+
+            int[] next = Arrays.copyOf(colPtr, cols);
+            for (int i = 0; i < rows; i++) {
+                for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++) {
+                    int dst = next[colIdx[k]]++;
+                    rowIdx[dst] = i;
+                    vals[dst] = values[k];
+                }
+            }
+
+            transposed = new SparseMatrix(cols, rows, colPtr, rowIdx, vals);
+            transposed.transposed = this;
+        }
+        return transposed;
+    }
+
+    /**
+     * Returns a dense matrix holding the same elements
+     */
+    @Override
+    public Matrix toDense() {
+        Matrix res = Matrix.fromSize(rows, cols);
+
+        for (int i = 0; i < rows; i++)
+            for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++)
+                res.set(i, colIdx[k], values[k]);
+        return res;
+    }
+
+    /**
+     * Creates a new iterator over the stored elements, row by row. Elements that are not
+     * stored are skipped
+     * @see org.la.iterator.MatrixIterator
+     */
+    @Override
+    public MatrixIterator iterator() {
+        return new MatrixIterator() {
+            private int row = 0;
+            private int index = -1;
+
+            @Override
+            public int rowIndex() {
+                return row;
+            }
+
+            @Override
+            public int colIndex() {
+                return colIdx[index];
+            }
+
+            @Override
+            public double get() {
+                return values[index];
+            }
+
+            @Override
+            public void set(double value) {
+                values[index] = value;
+                dropTransposed();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index + 1 < nnz();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                index++;
+                while (rowPtr[row + 1] <= index)
+                    row++;
+                return get();
+            }
+        };
+    }
+
+    /**
+     * Checks if matrix is equal to {@code obj} with tolerance of {@code 1.0E-6}. Only sparse
+     * matrices can be equal, like {@link org.la.Matrix#equals(Object)} only accepts dense ones, use
+     * {@link #equals(RealMatrix, double)} to compare with other storages
+     * @see org.la.Linear
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SparseMatrix)
+            return equals((SparseMatrix) obj, Linear.EPS);
+        return false;
+    }
+
+    /**
+     * Checks if matrix {@code M} equals {@code A} by given {@code tolerance}, element by element
+     * @param A a matrix
+     * @param tolerance precision used to calculate equality
+     * @return M = A
+     */
+    public boolean equals(RealMatrix A, double tolerance) {
+        if (this == A)
+            return true;
+
+        if (rows != A.rows() || cols != A.cols())
+            return false;
+
+        if (A instanceof SparseMatrix) {
+            SparseMatrix diff = sub((SparseMatrix) A);
+            for (int k = 0; k < diff.nnz(); k++)
+                if (Math.abs(diff.values[k]) >= tolerance)
+                    return false;
+            return true;
+        }
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (Math.abs(get(i, j) - A.get(i, j)) >= tolerance)
+                    return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + cols;
+    }
+
+    /**
+     * Returns the stored elements as a list of {@code (row, col) value} lines
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(rows).append('x').append(cols).append(", ").append(nnz()).append(" stored");
+
+        for (int i = 0; i < rows; i++)
+            for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++)
+                out.append(String.format("%n(%d, %d) %.3f", i, colIdx[k], values[k]));
+        return out.toString();
+    }
+
+    /**
+     * Returns {@code alpha*A} added to the instance, merging the sorted rows of both
+     */
+    private SparseMatrix add(double alpha, SparseMatrix A) {
+        if (rows != A.rows || cols != A.cols)
+            fail("Matrices have different sizes");
+
+        int[] ptr = new int[rows + 1];
+        int[] idx = new int[nnz() + A.nnz()];
+        double[] vals = new double[idx.length];
+        int n = 0;
+
+        for (int i = 0; i < rows; i++) {
+            int a = rowPtr[i], aEnd = rowPtr[i + 1];
+            int b = A.rowPtr[i], bEnd = A.rowPtr[i + 1];
+
+            while (a < aEnd || b < bEnd) {
+                int ca = a < aEnd ? colIdx[a] : Integer.MAX_VALUE;
+                int cb = b < bEnd ? A.colIdx[b] : Integer.MAX_VALUE;
+
+                if (ca == cb) {
+                    idx[n] = ca;
+                    vals[n++] = values[a++] + alpha * A.values[b++];
+                } else if (ca < cb) {
+                    idx[n] = ca;
+                    vals[n++] = values[a++];
+                } else {
+                    idx[n] = cb;
+                    vals[n++] = alpha * A.values[b++];
+                }
+            }
+            ptr[i + 1] = n;
+        }
+        return new SparseMatrix(rows, cols, ptr, idx, vals);
+    }
+
+    /**
+     * Forgets the cached transpose after an element was set, on both sides
+     */
+    private void dropTransposed() {
+        if (transposed != null) {
+            transposed.transposed = null;
+            transposed = null;
+        }
+    }
+
+    /**
+     * Returns the position of element {@code (i, j)} in the stored arrays, or a negative value
+     */
+    private int find(int i, int j) {
+        if (i < 0 || i >= rows || j < 0 || j >= cols)
+            throw new IndexOutOfBoundsException("Invalid index (" + i + ", " + j + ")");
+
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k < rowPtr[i] ? -1 : k;
+    }
+
+    /**
+     * Fails with an {@code IllegalArgumentException}
+     * @param message error message
+     */
+    private static void fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,429 @@
+package org.la.sparse;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.la.Linear;
+import org.la.Vector;
+import org.la.factory.SparseVectorFactory;
+import org.la.iterator.VectorIterator;
+
+/**
+ * A sparse vector is represented by the sorted indices and the values of its stored elements.
+ * It has a fixed length and a fixed set of stored elements
+ * <p>Operations merge or gather over the stored elements only, so their cost depends on the
+ * number of stored elements and not on the length of the vector</p>
+ */
+public class SparseVector implements Iterable<Double> {
+    private final int length;
+    private final int[] indices;
+    private final double[] values;
+    private final int nnz;
+
+    /**
+     * Creates a new sparse vector of length {@code length} from its stored elements, which are
+     * not copied. The indices must be sorted and unique
+     * @param indices index of each stored element
+     * @param values value of each stored element
+     */
+    public SparseVector(int length, int[] indices, double[] values) {
+        this(length, indices, values, indices.length);
+
+        for (int k = 0; k < nnz; k++)
+            if (indices[k] < 0 || indices[k] >= length || (k > 0 && indices[k] <= indices[k - 1]))
+                throw new IllegalArgumentException("Indices must be sorted, unique and within the length");
+    }
+
+    private SparseVector(int length, int[] indices, double[] values, int nnz) {
+        if (values.length < nnz)
+            throw new IllegalArgumentException("Indices and values have different sizes");
+
+        this.length = length;
+        this.indices = indices;
+        this.values = values;
+        this.nnz = nnz;
+    }
+
+    /**
+     * Creates a new sparse vector storing the non-zero elements of {@code v}
+     * @see org.la.factory.SparseVectorFactory
+     */
+    public static SparseVector fromDense(Vector v) {
+        return SparseVectorFactory.fromDense(v);
+    }
+
+    /**
+     * Creates a new sparse vector of length {@code length} from unsorted index/value pairs.
+     * Duplicate indices are summed
+     * @see org.la.factory.SparseVectorFactory
+     */
+    public static SparseVector fromPairs(int length, int[] indices, double[] values) {
+        return SparseVectorFactory.fromPairs(length, indices, values);
+    }
+
+    /**
+     * Creates a new sparse vector of length {@code length} without stored elements
+     * @see org.la.factory.SparseVectorFactory
+     */
+    public static SparseVector fromLength(int length) {
+        return SparseVectorFactory.fromLength(length);
+    }
+
+    /**
+     * Returns the length of the vector
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of stored elements
+     */
+    public int nnz() {
+        return nnz;
+    }
+
+    /**
+     * Returns the value at {@code index}, zero if it is not stored
+     */
+    public double get(int index) {
+        int k = find(index);
+        return k < 0 ? 0 : values[k];
+    }
+
+    /**
+     * Sets the value at {@code index} to {@code value}. Only stored elements can be set
+     * @throws IllegalArgumentException if the element is not stored
+     */
+    public void set(int index, double value) {
+        int k = find(index);
+
+        if (k < 0)
+            throw new IllegalArgumentException("Element " + index + " is not stored");
+        values[k] = value;
+    }
+
+    /**
+     * Returns a copy of the sorted indices of the stored elements
+     */
+    public int[] indices() {
+        return Arrays.copyOf(indices, nnz);
+    }
+
+    /**
+     * Returns a copy of the values of the stored elements
+     */
+    public double[] values() {
+        return Arrays.copyOf(values, nnz);
+    }
+
+    /**
+     * Calculates the dot product of instance vector {@code v} and {@code u} by merging their indices
+     * @param u a sparse vector
+     * @return v.u
+     */
+    public double dot(SparseVector u) {
+        checkLengths(u.length);
+
+        double result = 0;
+        int a = 0, b = 0;
+
+        while (a < nnz && b < u.nnz) {
+            int ia = indices[a];
+            int ib = u.indices[b];
+
+            if (ia == ib)
+                result += values[a++] * u.values[b++];
+            else if (ia < ib)
+                a++;
+            else
+                b++;
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the dot product of instance vector {@code v} and the dense vector {@code u},
+     * reading only the elements of {@code u} stored in {@code v}
+     * @param u a vector
+     * @return v.u
+     */
+    public double dot(Vector u) {
+        checkLengths(u.length());
+
+        double result = 0;
+        for (int k = 0; k < nnz; k++)
+            result += values[k] * u.get(indices[k]);
+        return result;
+    }
+
+    /**
+     * Returns sum of instance vector {@code v} and {@code u}, whose stored elements are the
+     * union of the stored elements of both
+     * @param u a sparse vector
+     * @return v + u
+     */
+    public SparseVector add(SparseVector u) {
+        return add(1, u);
+    }
+
+    /**
+     * Returns difference of instance vector {@code v} and {@code u}
+     * @param u a sparse vector
+     * @return v - u
+     */
+    public SparseVector sub(SparseVector u) {
+        return add(-1, u);
+    }
+
+    /**
+     * Returns a new dense vector of the sum of instance vector {@code v} and the dense vector {@code u}
+     * @param u a vector
+     * @return v + u
+     */
+    public Vector add(Vector u) {
+        checkLengths(u.length());
+        return axpy(1, u.clone());
+    }
+
+    /**
+     * Adds instance vector {@code v} scaled by {@code a} to the dense vector {@code y} in place,
+     * touching only the elements stored in {@code v}
+     * @param a a value
+     * @param y a vector
+     * @return y = a*v + y
+     */
+    public Vector axpy(double a, Vector y) {
+        checkLengths(y.length());
+
+        for (int k = 0; k < nnz; k++) {
+            int i = indices[k];
+            y.set(i, y.get(i) + a * values[k]);
+        }
+        return y;
+    }
+
+    /**
+     * Returns a new sparse vector of instance {@code v} multiplied with {@code a}
+     * @param a a value
+     * @return v * a
+     */
+    public SparseVector mul(double a) {
+        double[] res = new double[nnz];
+
+        for (int k = 0; k < nnz; k++)
+            res[k] = values[k] * a;
+        return new SparseVector(length, indices, res, nnz);
+    }
+
+    /**
+     * Returns a new sparse vector of instance {@code v} multiplied by elements of the dense vector {@code u}
+     * @param u a vector
+     * @return v * u
+     */
+    public SparseVector mul(Vector u) {
+        checkLengths(u.length());
+
+        double[] res = new double[nnz];
+        for (int k = 0; k < nnz; k++)
+            res[k] = values[k] * u.get(indices[k]);
+        return new SparseVector(length, indices, res, nnz);
+    }
+
+    /**
+     * Returns new sparse vector of instance {@code v} divided by {@code a}
+     * @param a a non zero value
+     * @return v / a
+     */
+    public SparseVector div(double a) {
+        if (a == 0)
+            throw new ArithmeticException("Can't divide by zero");
+        return mul(1.0/a);
+    }
+
+    /**
+     * Calculates the euclidean norm of instance vector {@code v}
+     * @return euclidean norm
+     */
+    public double norm() {
+        return Math.sqrt(normSq());
+    }
+
+    /**
+     * Calculates the square of the euclidean norm of instance
+     * @return eucliedean norm squared
+     */
+    public double normSq() {
+        double result = 0;
+
+        for (int k = 0; k < nnz; k++)
+            result += values[k] * values[k];
+        return result;
+    }
+
+    /**
+     * Returns whether all the elements of the vector are zero or not
+     */
+    public boolean isZero() {
+        for (int k = 0; k < nnz; k++)
+            if (values[k] != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns normalized vector of instance vector
+     */
+    public SparseVector normalize() {
+        if (isZero())
+            fail("Cannot normalize zero vector");
+        return div(norm());
+    }
+
+    /**
+     * Returns a dense vector holding the same elements
+     */
+    public Vector toDense() {
+        return axpy(1, Vector.blankOfLength(length));
+    }
+
+    /**
+     * Creates a new iterator over the stored elements. Elements that are not stored are skipped
+     * @see org.la.iterator.VectorIterator
+     */
+    @Override
+    public VectorIterator iterator() {
+        return new VectorIterator() {
+            private int k = -1;
+
+            @Override
+            public int index() {
+                return indices[k];
+            }
+
+            @Override
+            public double get() {
+                return values[k];
+            }
+
+            @Override
+            public void set(double value) {
+                values[k] = value;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return k + 1 < nnz;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                k++;
+                return get();
+            }
+        };
+    }
+
+    /**
+     * Checks if instance vector is equal to {@code obj} with tolerance of {@code 1.0E-6}
+     * @see org.la.Linear
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SparseVector)
+            return equals((SparseVector) obj, Linear.EPS);
+        return false;
+    }
+
+    /**
+     * Checks if instance vector {@code v} equals {@code u} by given {@code tolerance}
+     * @param u a sparse vector
+     * @param tolerance precision used to calculate equality
+     * @return v = u
+     */
+    public boolean equals(SparseVector u, double tolerance) {
+        if (this == u)
+            return true;
+
+        if (length != u.length)
+            return false;
+
+        SparseVector diff = sub(u);
+        for (int k = 0; k < diff.nnz; k++)
+            if (Math.abs(diff.values[k]) >= tolerance)
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return length;
+    }
+
+    /**
+     * Returns the stored elements as a list of {@code index: value} pairs
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+
+        for (int k = 0; k < nnz; k++) {
+            if (k > 0)
+                out.append(", ");
+            out.append(indices[k]).append(": ").append(String.format("%.3f", values[k]));
+        }
+        return out.append("] (length ").append(length).append(')').toString();
+    }
+
+    /**
+     * Returns {@code alpha*u} added to the instance, merging the sorted indices of both
+     */
+    private SparseVector add(double alpha, SparseVector u) {
+        checkLengths(u.length);
+
+        int[] idx = new int[nnz + u.nnz];
+        double[] vals = new double[idx.length];
+        int a = 0, b = 0, n = 0;
+
+        while (a < nnz || b < u.nnz) {
+            int ia = a < nnz ? indices[a] : Integer.MAX_VALUE;
+            int ib = b < u.nnz ? u.indices[b] : Integer.MAX_VALUE;
+
+            if (ia == ib) {
+                idx[n] = ia;
+                vals[n++] = values[a++] + alpha * u.values[b++];
+            } else if (ia < ib) {
+                idx[n] = ia;
+                vals[n++] = values[a++];
+            } else {
+                idx[n] = ib;
+                vals[n++] = alpha * u.values[b++];
+            }
+        }
+        return new SparseVector(length, idx, vals, n);
+    }
+
+    private int find(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Invalid index " + index);
+
+        int k = Arrays.binarySearch(indices, 0, nnz, index);
+        return k < 0 ? -1 : k;
+    }
+
+    private void checkLengths(int otherLength) {
+        if (length != otherLength)
+            fail("Vectors have different sizes");
+    }
+
+    /**
+     * Fails with an {@code IllegalArgumentException}
+     * @param message error message
+     */
+    private static void fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+}